@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.database;
+
+import eu.cloudnetservice.driver.document.Document;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The default cursor implementation which pulls the chunks of entries from the database on demand.
+ *
+ * @since 4.0
+ */
+final class ChunkedDatabaseCursor implements DatabaseCursor {
+
+  static final int DEFAULT_CHUNK_SIZE = 256;
+
+  private final Database database;
+  private final Map<String, String> filters;
+  private final int chunkSize;
+
+  private Iterator<Map.Entry<String, Document>> currentChunk = Collections.emptyIterator();
+  private @Nullable String continuationKey;
+  private boolean exhausted;
+
+  public ChunkedDatabaseCursor(@NonNull Database database, @NonNull Map<String, String> filters, int chunkSize) {
+    this.database = database;
+    this.filters = filters;
+    this.chunkSize = chunkSize;
+  }
+
+  @Override
+  public boolean hasNext() {
+    // pull chunks until an entry is available, chunks of filtered cursors might be empty
+    while (!this.currentChunk.hasNext()) {
+      if (this.exhausted) {
+        return false;
+      }
+
+      var chunk = this.database.readChunkAfter(this.continuationKey, this.filters, this.chunkSize);
+      this.currentChunk = chunk.entries().entrySet().iterator();
+      this.continuationKey = chunk.continuationKey();
+      this.exhausted = chunk.last();
+    }
+
+    return true;
+  }
+
+  @Override
+  public @NonNull Map.Entry<String, Document> next() {
+    if (!this.hasNext()) {
+      throw new NoSuchElementException();
+    }
+
+    return this.currentChunk.next();
+  }
+
+  @Override
+  public void close() {
+    this.exhausted = true;
+    this.currentChunk = Collections.emptyIterator();
+  }
+}
@@ -16,6 +16,7 @@
 
 package eu.cloudnetservice.driver.database;
 
+import com.google.common.base.Preconditions;
 import eu.cloudnetservice.common.Named;
 import eu.cloudnetservice.common.concurrent.TaskUtil;
 import eu.cloudnetservice.driver.document.Document;
@@ -94,6 +95,92 @@ public interface Database extends Named, AutoCloseable {
   @Nullable
   Document get(@NonNull String key);
 
+  /**
+   * Associates all keys in the given map with their document in the database, overriding existing associations. All
+   * documents are written using a single operation, which is much cheaper than inserting each document separately.
+   *
+   * @param documents the documents to insert, mapped by their key.
+   * @return true if all documents were associated with their key successfully, false otherwise.
+   * @throws NullPointerException if the given document map is null.
+   */
+  boolean insertAll(@NonNull Map<String, Document> documents);
+
+  /**
+   * Gets the documents associated with the given keys from the database using a single operation. Keys which are not
+   * associated with a document are not contained in the returned map.
+   *
+   * @param keys the keys of the documents to get.
+   * @return the documents associated with the given keys, mapped by their key.
+   * @throws NullPointerException if the given key collection is null.
+   */
+  @NonNull
+  Map<String, Document> getAll(@NonNull Collection<String> keys);
+
+  /**
+   * Removes the given keys and their associated documents from the database using a single operation.
+   *
+   * @param keys the keys to remove.
+   * @return the amount of documents which were removed from the database.
+   * @throws NullPointerException if the given key collection is null.
+   */
+  long deleteAll(@NonNull Collection<String> keys);
+
+  /**
+   * Reads the next chunk of entries from the database. The entries are ordered by their key, the chunk contains at most
+   * the given amount of entries whose key is after the given key and whose document matches all given filters. The
+   * returned chunk holds the key to pass to this method to read the next chunk. A chunk of a filtered read might be
+   * empty even if it is not the last chunk, as only a bounded amount of entries is examined per call.
+   * <p>
+   * Use {@link #stream()} to iterate over the entries of the database instead of calling this method directly.
+   *
+   * @param afterKey   the key after which the chunk starts, null to start at the first entry.
+   * @param filters    the top-level key-value pairs which the documents must contain, empty to match all documents.
+   * @param maxEntries the maximum amount of entries in the chunk, might be capped by the database.
+   * @return the next chunk of entries after the given key.
+   * @throws NullPointerException     if the given filters are null.
+   * @throws IllegalArgumentException if the given max entries count is not positive.
+   */
+  @NonNull
+  DatabaseChunk readChunkAfter(@Nullable String afterKey, @NonNull Map<String, String> filters, int maxEntries);
+
+  /**
+   * Opens a cursor over all entries in the database. Unlike {@link #entries()} the entries are not loaded into memory
+   * at once, but transferred in chunks while iterating.
+   *
+   * @return a new cursor over all entries in the database.
+   */
+  default @NonNull DatabaseCursor stream() {
+    return this.stream(Map.of());
+  }
+
+  /**
+   * Opens a cursor over all entries in the database whose document contains all given top-level key-value pairs.
+   * Unlike {@link #find(Map)} the entries are not loaded into memory at once, but transferred in chunks while
+   * iterating.
+   *
+   * @param filters the key-value pairs which the documents must contain.
+   * @return a new cursor over all matching entries in the database.
+   * @throws NullPointerException if the given filters are null.
+   */
+  default @NonNull DatabaseCursor stream(@NonNull Map<String, String> filters) {
+    return this.stream(filters, ChunkedDatabaseCursor.DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Opens a cursor over all entries in the database whose document contains all given top-level key-value pairs. The
+   * entries are transferred in chunks of the given size while iterating, only the current chunk is held in memory.
+   *
+   * @param filters   the key-value pairs which the documents must contain.
+   * @param chunkSize the maximum amount of entries to transfer at once.
+   * @return a new cursor over all matching entries in the database.
+   * @throws NullPointerException     if the given filters are null.
+   * @throws IllegalArgumentException if the given chunk size is not positive.
+   */
+  default @NonNull DatabaseCursor stream(@NonNull Map<String, String> filters, int chunkSize) {
+    Preconditions.checkArgument(chunkSize > 0, "chunk size must be positive");
+    return new ChunkedDatabaseCursor(this, Map.copyOf(filters), chunkSize);
+  }
+
   /**
    * Searches for all entries in the database which value contains the given field and the field value matches the given
    * value. Null as the field value is permitted and will be used as literally null. The search is not deep meaning that
@@ -230,6 +317,49 @@ public interface Database extends Named, AutoCloseable {
     return TaskUtil.supplyAsync(() -> this.get(key));
   }
 
+  /**
+   * Associates all keys in the given map with their document in the database, overriding existing associations. All
+   * documents are written using a single operation, which is much cheaper than inserting each document separately.
+   * <p>
+   * The returned future, if completed successfully, completes with true to indicate that all documents were written
+   * into the database successfully. Will be completed with false if the data wasn't written without specifying a
+   * reason.
+   *
+   * @param documents the documents to insert, mapped by their key.
+   * @return a future completed with the write operation status.
+   * @throws NullPointerException if the given document map is null.
+   */
+  default @NonNull CompletableFuture<Boolean> insertAllAsync(@NonNull Map<String, Document> documents) {
+    return TaskUtil.supplyAsync(() -> this.insertAll(documents));
+  }
+
+  /**
+   * Gets the documents associated with the given keys from the database using a single operation. Keys which are not
+   * associated with a document are not contained in the returned map.
+   * <p>
+   * The returned future, if completed successfully, completes with the documents associated with the given keys.
+   *
+   * @param keys the keys of the documents to get.
+   * @return a future completed with the documents associated with the given keys, mapped by their key.
+   * @throws NullPointerException if the given key collection is null.
+   */
+  default @NonNull CompletableFuture<Map<String, Document>> getAllAsync(@NonNull Collection<String> keys) {
+    return TaskUtil.supplyAsync(() -> this.getAll(keys));
+  }
+
+  /**
+   * Removes the given keys and their associated documents from the database using a single operation.
+   * <p>
+   * The returned future, if completed successfully, completes with the amount of documents which were removed.
+   *
+   * @param keys the keys to remove.
+   * @return a future completed with the amount of removed documents.
+   * @throws NullPointerException if the given key collection is null.
+   */
+  default @NonNull CompletableFuture<Long> deleteAllAsync(@NonNull Collection<String> keys) {
+    return TaskUtil.supplyAsync(() -> this.deleteAll(keys));
+  }
+
   /**
    * Searches for all entries in the database which value contains the given field and the field value matches the given
    * value. Null as the field value is permitted and will be used as literally null. The search is not deep meaning that
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.database;
+
+import eu.cloudnetservice.driver.document.Document;
+import java.util.Map;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A chunk of entries read from a database, ordered by their key. The chunk holds the key to continue reading from,
+ * which is null if there are no more entries to read.
+ *
+ * @param entries         the entries of the chunk, mapped by their key.
+ * @param continuationKey the key after which the next chunk starts, null if this is the last chunk.
+ * @see Database#readChunkAfter(String, Map, int)
+ * @since 4.0
+ */
+public record DatabaseChunk(@NonNull Map<String, Document> entries, @Nullable String continuationKey) {
+
+  /**
+   * Get if this chunk is the last chunk of the database, meaning that there are no more entries to read.
+   *
+   * @return true if this chunk is the last chunk, false otherwise.
+   */
+  public boolean last() {
+    return this.continuationKey == null;
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.database;
+
+import eu.cloudnetservice.driver.document.Document;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * An iterator over the entries of a database which are transferred in chunks. Only the current chunk is held in memory,
+ * the next chunk is requested once the current chunk was fully consumed. The cursor is weakly consistent, entries which
+ * are inserted or removed while iterating might or might not be returned by the cursor.
+ * <p>
+ * A cursor should be closed when it is no longer needed, for example using a try-with-resources block. Closing the
+ * cursor releases the current chunk, any further call to {@link #hasNext()} will return false.
+ *
+ * @see Database#stream()
+ * @since 4.0
+ */
+public interface DatabaseCursor extends Iterator<Map.Entry<String, Document>>, AutoCloseable {
+
+  /**
+   * Closes this cursor and releases the current chunk.
+   */
+  @Override
+  void close();
+}
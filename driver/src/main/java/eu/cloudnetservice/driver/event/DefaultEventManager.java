@@ -18,6 +18,8 @@
 
 import dev.derklaro.aerogel.auto.Provides;
 import eu.cloudnetservice.driver.inject.InjectionLayer;
+import eu.cloudnetservice.driver.metrics.Histogram;
+import eu.cloudnetservice.driver.metrics.MetricRegistry;
 import jakarta.inject.Singleton;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
@@ -40,6 +42,16 @@
 @Provides(EventManager.class)
 public class DefaultEventManager implements EventManager {
 
+  private static final ClassValue<Histogram> EVENT_CALL_HISTOGRAMS = new ClassValue<>() {
+    @Override
+    protected Histogram computeValue(@NonNull Class<?> type) {
+      return MetricRegistry.defaultRegistry().histogram(
+        "cloudnet_event_call_seconds",
+        "The time it took to call all listeners of an event",
+        "event", type.getName());
+    }
+  };
+
   protected final Lock bakeLock = new ReentrantLock(true);
   protected final Map<Class<?>, List<RegisteredEventListener>> listeners = new HashMap<>();
 
@@ -72,6 +84,8 @@ public class DefaultEventManager implements EventManager {
     // get all registered listeners of the event
     var listeners = this.listeners.get(event.getClass());
     if (listeners != null && !listeners.isEmpty()) {
+      // only events which are actually listened to are measured, the call time of other events is negligible
+      var callStart = System.nanoTime();
       // check if there is only one listener
       if (listeners.size() == 1) {
         var listener = listeners.get(0);
@@ -88,6 +102,7 @@ public class DefaultEventManager implements EventManager {
           }
         }
       }
+      EVENT_CALL_HISTOGRAMS.get(event.getClass()).recordSince(callStart);
     }
     // for chaining
     return event;
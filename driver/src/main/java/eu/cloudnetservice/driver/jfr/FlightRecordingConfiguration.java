@@ -0,0 +1,50 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.jfr;
+
+import lombok.NonNull;
+
+/**
+ * The configuration of a rolling flight recording. The recording only keeps the data of the given amount of minutes,
+ * bounded by the given maximum size on the disk.
+ *
+ * @param enabled          if the recording should be started.
+ * @param maxAgeMinutes    the amount of minutes the recorded data should be kept.
+ * @param maxSizeMegabytes the maximum size of the recorded data on the disk, in megabytes.
+ * @since 4.0
+ */
+public record FlightRecordingConfiguration(boolean enabled, int maxAgeMinutes, int maxSizeMegabytes) {
+
+  /**
+   * The default configuration, keeping the data of the last 10 minutes with a maximum size of 64 megabytes.
+   */
+  public static final FlightRecordingConfiguration DEFAULT = new FlightRecordingConfiguration(true, 10, 64);
+  /**
+   * A configuration which does not start a recording at all.
+   */
+  public static final FlightRecordingConfiguration DISABLED = new FlightRecordingConfiguration(false, 10, 64);
+
+  /**
+   * Get a copy of this configuration which has the given enabled state.
+   *
+   * @param enabled if the recording should be started.
+   * @return a copy of this configuration with the given enabled state.
+   */
+  public @NonNull FlightRecordingConfiguration withEnabled(boolean enabled) {
+    return new FlightRecordingConfiguration(enabled, this.maxAgeMinutes, this.maxSizeMegabytes);
+  }
+}
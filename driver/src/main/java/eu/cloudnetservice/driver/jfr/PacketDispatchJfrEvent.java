@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A flight recorder event which is emitted for each packet that gets dispatched to the registered packet listeners.
+ *
+ * @since 4.0
+ */
+@StackTrace(false)
+@Name(PacketDispatchJfrEvent.NAME)
+@Label("Packet Dispatch")
+@Category({"CloudNet", "Network"})
+@Description("The dispatch of a packet received from a network channel to the registered packet listeners")
+public final class PacketDispatchJfrEvent extends Event {
+
+  public static final String NAME = "eu.cloudnetservice.PacketDispatch";
+
+  @Label("Packet Channel")
+  public int packetChannel;
+
+  @Label("Prioritized")
+  public boolean prioritized;
+
+  @Label("Queue Time")
+  @Timespan(Timespan.NANOSECONDS)
+  @Description("The time the packet waited for a dispatcher thread before being handled")
+  public long queueTime;
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event which is emitted for each rpc that is handled by invoking the target method.
+ *
+ * @since 4.0
+ */
+@StackTrace(false)
+@Name(RPCInvocationJfrEvent.NAME)
+@Label("RPC Invocation")
+@Category({"CloudNet", "Network"})
+@Description("The invocation of a method requested by a remote procedure call")
+public final class RPCInvocationJfrEvent extends Event {
+
+  public static final String NAME = "eu.cloudnetservice.RPCInvocation";
+
+  @Label("Target Class")
+  public String targetClass;
+
+  @Label("Method Name")
+  public String methodName;
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.jfr;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A continuous flight recording which keeps the data of the last minutes in a bounded ring on the disk. The recording
+ * uses the low overhead default settings of the jvm and additionally records the events emitted by CloudNet hot paths.
+ * The recorded data can be dumped at any time, for example to analyze why a component was slow a few minutes ago.
+ *
+ * @since 4.0
+ */
+public final class RollingFlightRecording implements AutoCloseable {
+
+  /**
+   * The names of all flight recorder events which are emitted by CloudNet.
+   */
+  public static final List<String> CLOUDNET_EVENTS = List.of(
+    TickJfrEvent.NAME,
+    RPCInvocationJfrEvent.NAME,
+    TemplateIOJfrEvent.NAME,
+    PacketDispatchJfrEvent.NAME,
+    ServicePrepareJfrEvent.NAME);
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RollingFlightRecording.class);
+
+  // packets and rpcs are handled very frequently, only record the ones that took a noticeable amount of time
+  private static final Duration HOT_PATH_THRESHOLD = Duration.ofMillis(1);
+
+  private final Recording recording;
+  private final FlightRecordingConfiguration configuration;
+
+  private RollingFlightRecording(@NonNull Recording recording, @NonNull FlightRecordingConfiguration configuration) {
+    this.recording = recording;
+    this.configuration = configuration;
+  }
+
+  /**
+   * Starts a new rolling flight recording using the given configuration. This method returns null if the recording is
+   * disabled in the given configuration or the flight recorder is not available in the current jvm.
+   *
+   * @param configuration the configuration of the recording to start.
+   * @return the started recording, null if the recording is disabled or couldn't be started.
+   * @throws NullPointerException if the given configuration is null.
+   */
+  public static @Nullable RollingFlightRecording start(@NonNull FlightRecordingConfiguration configuration) {
+    if (!configuration.enabled() || !FlightRecorder.isAvailable()) {
+      return null;
+    }
+
+    try {
+      // use the default settings of the jvm, which are made to be used in continuous recordings
+      var recording = new Recording(Configuration.getConfiguration("default"));
+      recording.setName("CloudNet");
+      recording.setToDisk(true);
+      recording.setMaxAge(Duration.ofMinutes(configuration.maxAgeMinutes()));
+      recording.setMaxSize(configuration.maxSizeMegabytes() * 1024L * 1024L);
+
+      // enable the cloudnet events
+      enableEvent(recording, TickJfrEvent.class, Duration.ZERO);
+      enableEvent(recording, TemplateIOJfrEvent.class, Duration.ZERO);
+      enableEvent(recording, ServicePrepareJfrEvent.class, Duration.ZERO);
+      enableEvent(recording, RPCInvocationJfrEvent.class, HOT_PATH_THRESHOLD);
+      enableEvent(recording, PacketDispatchJfrEvent.class, HOT_PATH_THRESHOLD);
+
+      recording.start();
+      return new RollingFlightRecording(recording, configuration);
+    } catch (IOException | ParseException | IllegalStateException | SecurityException exception) {
+      LOGGER.warn("Unable to start the continuous flight recording", exception);
+      return null;
+    }
+  }
+
+  private static void enableEvent(
+    @NonNull Recording recording,
+    @NonNull Class<? extends Event> eventType,
+    @NonNull Duration threshold
+  ) {
+    recording.enable(eventType).withThreshold(threshold).withoutStackTrace();
+  }
+
+  /**
+   * Get the configuration which was used to start this recording.
+   *
+   * @return the configuration of this recording.
+   */
+  public @NonNull FlightRecordingConfiguration configuration() {
+    return this.configuration;
+  }
+
+  /**
+   * Dumps all data which is currently kept by this recording into the file at the given path. Due to the ring nature of
+   * the recording, the dump contains at most the data of the configured amount of last minutes.
+   *
+   * @param target the path to the file to dump the recording data to.
+   * @throws NullPointerException if the given target path is null.
+   * @throws IOException          if an I/O error occurs while dumping the data.
+   */
+  public void dump(@NonNull Path target) throws IOException {
+    this.recording.dump(target);
+  }
+
+  /**
+   * Stops this recording and removes the recorded data from the disk.
+   */
+  @Override
+  public void close() {
+    this.recording.close();
+  }
+}
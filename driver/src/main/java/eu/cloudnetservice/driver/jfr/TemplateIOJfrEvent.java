@@ -0,0 +1,48 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event which is emitted when the files of a template are copied from or to a template storage.
+ *
+ * @since 4.0
+ */
+@StackTrace(false)
+@Name(TemplateIOJfrEvent.NAME)
+@Label("Template I/O")
+@Category({"CloudNet", "Template"})
+@Description("The copy of template files from or to a template storage")
+public final class TemplateIOJfrEvent extends Event {
+
+  public static final String NAME = "eu.cloudnetservice.TemplateIO";
+
+  @Label("Template")
+  public String template;
+
+  @Label("Operation")
+  public String operation;
+
+  @Label("Success")
+  public boolean success;
+}
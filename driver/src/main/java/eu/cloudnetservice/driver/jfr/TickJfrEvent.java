@@ -0,0 +1,46 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event which is emitted for each tick executed by the main tick loop of a node.
+ *
+ * @since 4.0
+ */
+@StackTrace(false)
+@Name(TickJfrEvent.NAME)
+@Label("Tick")
+@Category({"CloudNet", "Node"})
+@Description("The execution of a single tick of the node tick loop")
+public final class TickJfrEvent extends Event {
+
+  public static final String NAME = "eu.cloudnetservice.Tick";
+
+  @Label("Tick")
+  public long tick;
+
+  @Label("Scheduled Tasks")
+  @Description("The amount of scheduled tasks which were checked for execution during the tick")
+  public int scheduledTasks;
+}
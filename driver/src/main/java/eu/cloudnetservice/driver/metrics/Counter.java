@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.metrics;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+
+/**
+ * A metric which counts the occurrences of something, for example received packets. The value of a counter can only
+ * increase. Updates are cheap and do not block, even when done concurrently by many threads.
+ *
+ * @since 4.0
+ */
+public final class Counter implements Metric {
+
+  private final String name;
+  private final String help;
+  private final Map<String, String> labels;
+  private final LongAdder value = new LongAdder();
+
+  Counter(@NonNull String name, @NonNull String help, @NonNull Map<String, String> labels) {
+    this.name = name;
+    this.help = help;
+    this.labels = labels;
+  }
+
+  /**
+   * Increments this counter by one.
+   */
+  public void increment() {
+    this.value.increment();
+  }
+
+  /**
+   * Increments this counter by the given amount.
+   *
+   * @param amount the amount to increment this counter by, must not be negative.
+   */
+  public void add(long amount) {
+    this.value.add(amount);
+  }
+
+  /**
+   * Get the current value of this counter.
+   *
+   * @return the current value of this counter.
+   */
+  public long value() {
+    return this.value.sum();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull String name() {
+    return this.name;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull String help() {
+    return this.help;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Map<String, String> labels() {
+    return this.labels;
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.metrics;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A metric which represents a value that can go up and down, for example the amount of pending queries. A gauge either
+ * holds a value which is updated explicitly, or reads the value from a supplier each time it is requested.
+ *
+ * @since 4.0
+ */
+public final class Gauge implements Metric {
+
+  private final String name;
+  private final String help;
+  private final Map<String, String> labels;
+
+  private final AtomicLong value = new AtomicLong();
+  private final DoubleSupplier valueSupplier;
+
+  Gauge(
+    @NonNull String name,
+    @NonNull String help,
+    @NonNull Map<String, String> labels,
+    @Nullable DoubleSupplier valueSupplier
+  ) {
+    this.name = name;
+    this.help = help;
+    this.labels = labels;
+    this.valueSupplier = valueSupplier;
+  }
+
+  /**
+   * Increments the value of this gauge by one. This method has no effect if the value of this gauge is supplied.
+   */
+  public void increment() {
+    this.value.incrementAndGet();
+  }
+
+  /**
+   * Decrements the value of this gauge by one. This method has no effect if the value of this gauge is supplied.
+   */
+  public void decrement() {
+    this.value.decrementAndGet();
+  }
+
+  /**
+   * Sets the value of this gauge. This method has no effect if the value of this gauge is supplied.
+   *
+   * @param value the new value of this gauge.
+   */
+  public void set(long value) {
+    this.value.set(value);
+  }
+
+  /**
+   * Get the current value of this gauge.
+   *
+   * @return the current value of this gauge.
+   */
+  public double value() {
+    return this.valueSupplier == null ? this.value.get() : this.valueSupplier.getAsDouble();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull String name() {
+    return this.name;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull String help() {
+    return this.help;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Map<String, String> labels() {
+    return this.labels;
+  }
+}
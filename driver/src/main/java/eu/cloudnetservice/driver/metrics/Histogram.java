@@ -0,0 +1,197 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.metrics;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+
+/**
+ * A metric which records the distribution of durations, for example the time it took to handle a packet. Recorded
+ * values are counted in log-linear buckets: each power of two is split into eight equally sized buckets, which keeps
+ * the relative error of the reported percentiles below 12.5% over the full value range while using a fixed amount of
+ * memory. Recording a value does not allocate and does not block.
+ *
+ * @since 4.0
+ */
+public final class Histogram implements Metric {
+
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final String name;
+  private final String help;
+  private final Map<String, String> labels;
+
+  private final LongAdder sum = new LongAdder();
+  private final LongAdder count = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+  Histogram(@NonNull String name, @NonNull String help, @NonNull Map<String, String> labels) {
+    this.name = name;
+    this.help = help;
+    this.labels = labels;
+  }
+
+  private static int bucketIndex(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+
+    var exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+    var subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  private static long bucketUpperBound(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+
+    var shift = index / SUB_BUCKETS - 1;
+    var subBucket = index % SUB_BUCKETS;
+    return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+  }
+
+  /**
+   * Records the given duration in nanoseconds. Negative durations are recorded as zero.
+   *
+   * @param nanos the duration to record, in nanoseconds.
+   */
+  public void record(long nanos) {
+    var value = Math.max(0, nanos);
+    this.buckets.incrementAndGet(bucketIndex(value));
+    this.sum.add(value);
+    this.count.increment();
+    this.max.accumulate(value);
+  }
+
+  /**
+   * Records the time that passed since the given start time, which must be obtained from {@link System#nanoTime()}.
+   *
+   * @param startNanos the start time of the operation, obtained from {@link System#nanoTime()}.
+   */
+  public void recordSince(long startNanos) {
+    this.record(System.nanoTime() - startNanos);
+  }
+
+  /**
+   * Get the amount of values which were recorded in this histogram.
+   *
+   * @return the amount of recorded values.
+   */
+  public long count() {
+    return this.count.sum();
+  }
+
+  /**
+   * Get the sum of all values which were recorded in this histogram, in nanoseconds.
+   *
+   * @return the sum of all recorded values.
+   */
+  public long sum() {
+    return this.sum.sum();
+  }
+
+  /**
+   * Get the highest value which was recorded in this histogram, in nanoseconds.
+   *
+   * @return the highest recorded value.
+   */
+  public long max() {
+    return this.max.get();
+  }
+
+  /**
+   * Get the amount of recorded values which are less than or equal to the given bound. As values are counted in
+   * buckets, the count includes all values of the bucket the given bound is in.
+   *
+   * @param boundNanos the upper bound of the values to count, in nanoseconds.
+   * @return the amount of recorded values which are less than or equal to the given bound.
+   */
+  public long countAtOrBelow(long boundNanos) {
+    if (boundNanos < 0) {
+      return 0;
+    }
+
+    long count = 0;
+    var lastIndex = bucketIndex(boundNanos);
+    for (var index = 0; index <= lastIndex; index++) {
+      count += this.buckets.get(index);
+    }
+    return count;
+  }
+
+  /**
+   * Get the estimated value at the given percentile, in nanoseconds. The returned value is the upper bound of the
+   * bucket the percentile is in, but never higher than the highest recorded value.
+   *
+   * @param percentile the percentile to get the value of, between 0 and 1.
+   * @return the estimated value at the given percentile, 0 if no values were recorded.
+   * @throws IllegalArgumentException if the given percentile is not between 0 and 1.
+   */
+  public long percentile(double percentile) {
+    if (percentile < 0 || percentile > 1) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 1, got " + percentile);
+    }
+
+    var total = this.count();
+    if (total == 0) {
+      return 0;
+    }
+
+    var target = Math.max(1, (long) Math.ceil(total * percentile));
+    long count = 0;
+    for (var index = 0; index < BUCKET_COUNT; index++) {
+      count += this.buckets.get(index);
+      if (count >= target) {
+        return Math.min(bucketUpperBound(index), this.max());
+      }
+    }
+
+    // values were recorded concurrently while iterating
+    return this.max();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull String name() {
+    return this.name;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull String help() {
+    return this.help;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Map<String, String> labels() {
+    return this.labels;
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.metrics;
+
+import java.util.Map;
+import lombok.NonNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+/**
+ * A metric which is registered in a metric registry. Metrics are identified by their name and labels, multiple metrics
+ * can share the same name if their labels differ.
+ *
+ * @since 4.0
+ */
+public sealed interface Metric permits Counter, Gauge, Histogram {
+
+  /**
+   * Get the name of this metric, for example {@code cloudnet_packets_received}.
+   *
+   * @return the name of this metric.
+   */
+  @NonNull String name();
+
+  /**
+   * Get the description of this metric.
+   *
+   * @return the description of this metric.
+   */
+  @NonNull String help();
+
+  /**
+   * Get the labels of this metric, in the order they were given when registering the metric.
+   *
+   * @return the labels of this metric.
+   */
+  @Unmodifiable
+  @NonNull Map<String, String> labels();
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.metrics;
+
+import dev.derklaro.aerogel.auto.Factory;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+/**
+ * A registry holding all metrics of the current component. Metrics are registered lazily on first access and are
+ * identified by their name and labels, calling a registration method multiple times with the same name and labels
+ * returns the same metric. All metrics are lock-free, making it safe to update them from hot code paths. Metrics should
+ * be obtained once and stored in a field, rather than looking them up each time they are updated.
+ * <p>
+ * Metric names should follow the OpenMetrics naming conventions, for example {@code cloudnet_tick_duration_seconds}.
+ * Counter names must not end with {@code _total}, the suffix is appended when exporting the counter.
+ *
+ * @since 4.0
+ */
+public final class MetricRegistry {
+
+  private static final MetricRegistry DEFAULT_REGISTRY = new MetricRegistry();
+
+  private final Map<MetricId, Metric> metrics = new ConcurrentHashMap<>();
+
+  /**
+   * Get the registry which is shared by all parts of the current component.
+   *
+   * @return the registry which is shared by all parts of the current component.
+   */
+  @Factory
+  public static @NonNull MetricRegistry defaultRegistry() {
+    return DEFAULT_REGISTRY;
+  }
+
+  private static @NonNull Map<String, String> labelMap(@NonNull String... labels) {
+    if (labels.length % 2 != 0) {
+      throw new IllegalArgumentException("Labels must be given as key-value pairs");
+    }
+
+    if (labels.length == 0) {
+      return Map.of();
+    }
+
+    // use a linked map to keep the order in which the labels were given
+    Map<String, String> labelMap = new LinkedHashMap<>();
+    for (var index = 0; index < labels.length; index += 2) {
+      labelMap.put(labels[index], labels[index + 1]);
+    }
+    return Collections.unmodifiableMap(labelMap);
+  }
+
+  /**
+   * Get or registers the counter with the given name and labels.
+   *
+   * @param name   the name of the counter.
+   * @param help   the description of the counter, only used if the counter gets registered.
+   * @param labels the labels of the counter, given as alternating keys and values.
+   * @return the counter with the given name and labels.
+   * @throws NullPointerException     if the given name, help or labels array is null.
+   * @throws IllegalArgumentException if the labels are not key-value pairs or a different metric type is registered.
+   */
+  public @NonNull Counter counter(@NonNull String name, @NonNull String help, @NonNull String... labels) {
+    return this.register(Counter.class, name, labels, labelMap -> new Counter(name, help, labelMap));
+  }
+
+  /**
+   * Get or registers the gauge with the given name and labels. The value of the gauge must be updated explicitly.
+   *
+   * @param name   the name of the gauge.
+   * @param help   the description of the gauge, only used if the gauge gets registered.
+   * @param labels the labels of the gauge, given as alternating keys and values.
+   * @return the gauge with the given name and labels.
+   * @throws NullPointerException     if the given name, help or labels array is null.
+   * @throws IllegalArgumentException if the labels are not key-value pairs or a different metric type is registered.
+   */
+  public @NonNull Gauge gauge(@NonNull String name, @NonNull String help, @NonNull String... labels) {
+    return this.register(Gauge.class, name, labels, labelMap -> new Gauge(name, help, labelMap, null));
+  }
+
+  /**
+   * Get or registers the gauge with the given name and labels. The value of the gauge is read from the given supplier
+   * each time it is requested, the supplier is ignored if the gauge is already registered.
+   *
+   * @param name          the name of the gauge.
+   * @param help          the description of the gauge, only used if the gauge gets registered.
+   * @param valueSupplier the supplier of the gauge value, only used if the gauge gets registered.
+   * @param labels        the labels of the gauge, given as alternating keys and values.
+   * @return the gauge with the given name and labels.
+   * @throws NullPointerException     if the given name, help, supplier or labels array is null.
+   * @throws IllegalArgumentException if the labels are not key-value pairs or a different metric type is registered.
+   */
+  public @NonNull Gauge gauge(
+    @NonNull String name,
+    @NonNull String help,
+    @NonNull DoubleSupplier valueSupplier,
+    @NonNull String... labels
+  ) {
+    return this.register(Gauge.class, name, labels, labelMap -> new Gauge(name, help, labelMap, valueSupplier));
+  }
+
+  /**
+   * Get or registers the latency histogram with the given name and labels.
+   *
+   * @param name   the name of the histogram.
+   * @param help   the description of the histogram, only used if the histogram gets registered.
+   * @param labels the labels of the histogram, given as alternating keys and values.
+   * @return the histogram with the given name and labels.
+   * @throws NullPointerException     if the given name, help or labels array is null.
+   * @throws IllegalArgumentException if the labels are not key-value pairs or a different metric type is registered.
+   */
+  public @NonNull Histogram histogram(@NonNull String name, @NonNull String help, @NonNull String... labels) {
+    return this.register(Histogram.class, name, labels, labelMap -> new Histogram(name, help, labelMap));
+  }
+
+  /**
+   * Get the metric with the given name and labels, if registered.
+   *
+   * @param name   the name of the metric.
+   * @param labels the labels of the metric, given as alternating keys and values.
+   * @return the metric with the given name and labels, null if no such metric is registered.
+   * @throws NullPointerException     if the given name or labels array is null.
+   * @throws IllegalArgumentException if the labels are not key-value pairs.
+   */
+  public @Nullable Metric metric(@NonNull String name, @NonNull String... labels) {
+    return this.metrics.get(new MetricId(name, labelMap(labels)));
+  }
+
+  /**
+   * Get all metrics which are registered in this registry.
+   *
+   * @return all metrics which are registered in this registry.
+   */
+  @UnmodifiableView
+  public @NonNull Collection<Metric> metrics() {
+    return Collections.unmodifiableCollection(this.metrics.values());
+  }
+
+  /**
+   * Get all metrics which are registered in this registry, sorted by their name. Metrics with the same name are
+   * guaranteed to be next to each other in the returned list.
+   *
+   * @return all metrics which are registered in this registry, sorted by their name.
+   */
+  public @NonNull List<Metric> sortedMetrics() {
+    return this.metrics.values().stream()
+      .sorted((left, right) -> left.name().compareTo(right.name()))
+      .toList();
+  }
+
+  private <T extends Metric> @NonNull T register(
+    @NonNull Class<T> type,
+    @NonNull String name,
+    @NonNull String[] labels,
+    @NonNull Function<Map<String, String>, T> factory
+  ) {
+    var labelMap = labelMap(labels);
+    var metric = this.metrics.computeIfAbsent(new MetricId(name, labelMap), _ -> factory.apply(labelMap));
+    if (!type.isInstance(metric)) {
+      throw new IllegalArgumentException(String.format(
+        "Metric %s is already registered as %s",
+        name,
+        metric.getClass().getSimpleName()));
+    }
+    return type.cast(metric);
+  }
+
+  private record MetricId(@NonNull String name, @NonNull Map<String, String> labels) {
+
+  }
+}
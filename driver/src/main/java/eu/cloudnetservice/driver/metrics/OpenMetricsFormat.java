@@ -0,0 +1,145 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.metrics;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Formats the metrics of a registry in the OpenMetrics text exposition format, which can be scraped by Prometheus and
+ * other monitoring systems. Durations recorded in histograms are exported in seconds.
+ *
+ * @since 4.0
+ */
+public final class OpenMetricsFormat {
+
+  /**
+   * The content type of the formatted metrics.
+   */
+  public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+  // the bucket bounds which are exported for histograms, in seconds
+  private static final double[] HISTOGRAM_BOUNDS = {
+    0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+  // the formatted bucket bounds, without scientific notation (Double.toString would format 0.0001 as 1.0E-4)
+  private static final String[] HISTOGRAM_BOUND_LABELS = Arrays.stream(HISTOGRAM_BOUNDS)
+    .mapToObj(bound -> BigDecimal.valueOf(bound).stripTrailingZeros().toPlainString())
+    .toArray(String[]::new);
+  private static final double NANOS_PER_SECOND = 1_000_000_000D;
+
+  private OpenMetricsFormat() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Formats all metrics which are registered in the given registry.
+   *
+   * @param registry the registry to format the metrics of.
+   * @return the formatted metrics of the given registry.
+   * @throws NullPointerException if the given registry is null.
+   */
+  public static @NonNull String format(@NonNull MetricRegistry registry) {
+    var builder = new StringBuilder();
+    String currentFamily = null;
+    for (var metric : registry.sortedMetrics()) {
+      // the metadata of a metric family must only be written once
+      if (!metric.name().equals(currentFamily)) {
+        currentFamily = metric.name();
+        builder.append("# TYPE ").append(metric.name()).append(' ').append(type(metric)).append('\n');
+        builder.append("# HELP ").append(metric.name()).append(' ').append(escape(metric.help())).append('\n');
+      }
+
+      switch (metric) {
+        case Counter counter -> appendSample(
+          builder,
+          counter.name() + "_total",
+          counter.labels(),
+          null,
+          counter.value());
+        case Gauge gauge -> appendSample(builder, gauge.name(), gauge.labels(), null, gauge.value());
+        case Histogram histogram -> appendHistogram(builder, histogram);
+      }
+    }
+
+    return builder.append("# EOF\n").toString();
+  }
+
+  private static @NonNull String type(@NonNull Metric metric) {
+    return switch (metric) {
+      case Counter _ -> "counter";
+      case Gauge _ -> "gauge";
+      case Histogram _ -> "histogram";
+    };
+  }
+
+  private static void appendHistogram(@NonNull StringBuilder builder, @NonNull Histogram histogram) {
+    // read the count first, the cumulative bucket counts must not be higher than the total count
+    var count = histogram.count();
+    var sum = histogram.sum();
+    for (var index = 0; index < HISTOGRAM_BOUNDS.length; index++) {
+      var boundNanos = (long) (HISTOGRAM_BOUNDS[index] * NANOS_PER_SECOND);
+      var bucketCount = Math.min(count, histogram.countAtOrBelow(boundNanos));
+      var boundLabel = HISTOGRAM_BOUND_LABELS[index];
+      appendSample(builder, histogram.name() + "_bucket", histogram.labels(), boundLabel, bucketCount);
+    }
+
+    appendSample(builder, histogram.name() + "_bucket", histogram.labels(), "+Inf", count);
+    appendSample(builder, histogram.name() + "_count", histogram.labels(), null, count);
+    appendSample(builder, histogram.name() + "_sum", histogram.labels(), null, sum / NANOS_PER_SECOND);
+  }
+
+  private static void appendSample(
+    @NonNull StringBuilder builder,
+    @NonNull String name,
+    @NonNull Map<String, String> labels,
+    @Nullable String bucketBound,
+    double value
+  ) {
+    builder.append(name);
+    if (!labels.isEmpty() || bucketBound != null) {
+      var first = true;
+      builder.append('{');
+      for (var label : labels.entrySet()) {
+        if (!first) {
+          builder.append(',');
+        }
+        first = false;
+        builder.append(label.getKey()).append("=\"").append(escape(label.getValue())).append('"');
+      }
+
+      if (bucketBound != null) {
+        builder.append(first ? "" : ",").append("le=\"").append(bucketBound).append('"');
+      }
+      builder.append('}');
+    }
+
+    builder.append(' ');
+    if (value == Math.rint(value) && !Double.isInfinite(value)) {
+      builder.append((long) value);
+    } else {
+      builder.append(value);
+    }
+    builder.append('\n');
+  }
+
+  private static @NonNull String escape(@NonNull String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+}
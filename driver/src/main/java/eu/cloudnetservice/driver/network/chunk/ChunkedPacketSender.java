@@ -65,8 +65,8 @@ public interface ChunkedPacketSender extends ChunkedPacketProvider {
   interface Builder {
 
     /**
-     * Sets the size each chunk has except for the last one must have. This defaults to 1 MB. The supplied value must be
-     * greater than 0.
+     * Sets the size each chunk has except for the last one must have. This defaults to 256 KiB. The supplied value must
+     * be greater than 0.
      *
      * @param chunkSize the size of each transferred chunk.
      * @return the same builder as used to call the method, for chaining.
@@ -74,6 +74,49 @@ interface Builder {
     @NonNull
     Builder chunkSize(int chunkSize);
 
+    /**
+     * Sets the amount of chunks that can be sent without being acknowledged by the receivers. The sender waits for
+     * acknowledgements once the window is exhausted, which limits the amount of data that is buffered in memory on both
+     * sides of the transfer. A window size of 0 disables the flow control, sending all chunks as fast as they can be
+     * read from the source. This defaults to 0, a different default can be set using the
+     * {@code cloudnet.chunk.window-size} system property.
+     * <p>
+     * Flow control is only possible if the receivers are known, it is therefore disabled when a custom packet splitter
+     * is used. Flow controlled transfers use an extended chunk format which is not understood by receivers running an
+     * older version, all receivers must therefore be updated before enabling it.
+     *
+     * @param windowSize the amount of chunks that can be unacknowledged at a time.
+     * @return the same builder as used to call the method, for chaining.
+     */
+    @NonNull
+    Builder windowSize(int windowSize);
+
+    /**
+     * Sets if the data of each chunk should be compressed using deflate before sending it. Compression is only useful
+     * for data which is not compressed already. Like flow control, compressed transfers use the extended chunk format
+     * which is not understood by receivers running an older version. This defaults to false.
+     *
+     * @param compress if the chunk data should be compressed.
+     * @return the same builder as used to call the method, for chaining.
+     */
+    @NonNull
+    Builder compress(boolean compress);
+
+    /**
+     * Sets if the transfer resumes a previous attempt which used the same session id, for example after the connection
+     * to a receiver was lost. The receivers are queried for the chunks they received in the previous attempt, and only
+     * the missing chunks are sent. The source must provide the same data as in the previous attempt. This defaults to
+     * false.
+     * <p>
+     * Resuming is only possible if the receivers are known, it is therefore disabled when a custom packet splitter is
+     * used.
+     *
+     * @param resume if the transfer resumes a previous attempt.
+     * @return the same builder as used to call the method, for chaining.
+     */
+    @NonNull
+    Builder resume(boolean resume);
+
     /**
      * Sets the unique id of the session. This defaults to a random id.
      *
@@ -172,7 +215,7 @@ interface Builder {
      *
      * @return the instance build from the information.
      * @throws NullPointerException     if no source, splitter or channel were given.
-     * @throws IllegalArgumentException if the chunk size is not greater than 0.
+     * @throws IllegalArgumentException if the chunk size is not greater than 0 or the window size is negative.
      */
     @NonNull
     ChunkedPacketSender build();
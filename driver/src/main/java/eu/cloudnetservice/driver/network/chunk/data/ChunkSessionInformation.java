@@ -35,6 +35,8 @@
 public final class ChunkSessionInformation implements DataBufable {
 
   private int chunkSize;
+  private int windowSize;
+  private boolean compressed;
   private UUID sessionUniqueId;
   private String transferChannel;
   private DataBuf transferInformation;
@@ -46,10 +48,30 @@ public final class ChunkSessionInformation implements DataBufable {
   public ChunkSessionInformation() {
   }
 
+  /**
+   * Constructs a new chunk session information for a transfer without flow control and compression.
+   *
+   * @param chunkSize           the size of data transferred in each chunk, should always be the exact amount of bytes.
+   * @param sessionUniqueId     the unique id of the transfer session, for identification reasons.
+   * @param transferChannel     the name of the channel the data is transferred in, for identification reasons.
+   * @param transferInformation additional information for the transfer handler to handle the chunks correctly.
+   * @throws NullPointerException if the given session id, transfer channel or transfer information buffer is null.
+   */
+  public ChunkSessionInformation(
+    int chunkSize,
+    @NonNull UUID sessionUniqueId,
+    @NonNull String transferChannel,
+    @NonNull DataBuf transferInformation
+  ) {
+    this(chunkSize, 0, false, sessionUniqueId, transferChannel, transferInformation);
+  }
+
   /**
    * Constructs a new chunk session information.
    *
    * @param chunkSize           the size of data transferred in each chunk, should always be the exact amount of bytes.
+   * @param windowSize          the amount of chunks that can be unacknowledged at a time, 0 to disable acks.
+   * @param compressed          if the data of each chunk is compressed using deflate.
    * @param sessionUniqueId     the unique id of the transfer session, for identification reasons.
    * @param transferChannel     the name of the channel the data is transferred in, for identification reasons.
    * @param transferInformation additional information for the transfer handler to handle the chunks correctly.
@@ -57,11 +79,15 @@ public ChunkSessionInformation() {
    */
   public ChunkSessionInformation(
     int chunkSize,
+    int windowSize,
+    boolean compressed,
     @NonNull UUID sessionUniqueId,
     @NonNull String transferChannel,
     @NonNull DataBuf transferInformation
   ) {
     this.chunkSize = chunkSize;
+    this.windowSize = windowSize;
+    this.compressed = compressed;
     this.sessionUniqueId = sessionUniqueId;
     this.transferChannel = transferChannel;
     this.transferInformation = transferInformation;
@@ -118,6 +144,39 @@ public int chunkSize() {
     return this.chunkSize;
   }
 
+  /**
+   * Get the amount of chunks the sender is allowed to send without receiving an acknowledgement for them. If the window
+   * size is 0 the sender does not wait for acknowledgements and the receiver should not send them.
+   *
+   * @return the amount of chunks that can be unacknowledged at a time.
+   */
+  public int windowSize() {
+    return this.windowSize;
+  }
+
+  /**
+   * Get if the data of each chunk in the transfer is compressed using deflate.
+   *
+   * @return true if the chunk data is compressed, false otherwise.
+   */
+  public boolean compressed() {
+    return this.compressed;
+  }
+
+  /**
+   * Get if this session uses flow control or compression. These options are not understood by receivers running an
+   * older version, chunks of such sessions are therefore sent using the extended chunk format which carries the
+   * options as well as the digest of the transferred data. Sessions without these options use the original format.
+   * <p>
+   * Note that the window size and compression are not part of the serialized session information, they are written
+   * into extended chunks separately.
+   *
+   * @return true if chunks of this session are sent using the extended chunk format, false otherwise.
+   */
+  public boolean extendedFormat() {
+    return this.windowSize > 0 || this.compressed;
+  }
+
   /**
    * Get the session unique id.
    *
@@ -174,6 +233,8 @@ public int hashCode() {
   public @NonNull String toString() {
     return "ChunkSessionInformation[" +
       "chunkSize=" + this.chunkSize + ", " +
+      "windowSize=" + this.windowSize + ", " +
+      "compressed=" + this.compressed + ", " +
       "sessionUniqueId=" + this.sessionUniqueId + ", " +
       "transferChannel=" + this.transferChannel + ", " +
       "transferInformation=" + this.transferInformation + ']';
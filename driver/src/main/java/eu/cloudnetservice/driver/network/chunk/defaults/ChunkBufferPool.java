@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.chunk.defaults;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A pool of the byte arrays used by chunked transfers to read and compress the chunk data. The arrays are reused across
+ * transfers with the same chunk size, arrays that exceed the maximum pooled size are never retained.
+ *
+ * @since 4.0
+ */
+final class ChunkBufferPool {
+
+  private static final int MAX_POOLED_BUFFERS = Integer.getInteger("cloudnet.chunk.max-pooled-buffers", 16);
+  private static final int MAX_POOLED_BUFFER_SIZE = Integer.getInteger(
+    "cloudnet.chunk.max-pooled-buffer-size",
+    1024 * 1024);
+
+  private static final Map<Integer, Queue<byte[]>> POOLED_BUFFERS = new ConcurrentHashMap<>();
+
+  private ChunkBufferPool() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Takes a buffer with the given size from the pool or allocates a new one if no buffer is available.
+   *
+   * @param size the size of the buffer to get.
+   * @return a buffer with exactly the given size, the content of the buffer is undefined.
+   */
+  static byte[] acquire(int size) {
+    var pooledBuffers = POOLED_BUFFERS.get(size);
+    var buffer = pooledBuffers == null ? null : pooledBuffers.poll();
+    return buffer != null ? buffer : new byte[size];
+  }
+
+  /**
+   * Returns the given buffer into the pool. The buffer is dropped if it is too big or the pool is full already. The
+   * caller must not use the buffer after calling this method.
+   *
+   * @param buffer the buffer to return into the pool.
+   */
+  static void release(byte[] buffer) {
+    if (buffer.length <= MAX_POOLED_BUFFER_SIZE) {
+      POOLED_BUFFERS
+        .computeIfAbsent(buffer.length, _ -> new ArrayBlockingQueue<>(MAX_POOLED_BUFFERS))
+        .offer(buffer);
+    }
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.chunk.defaults;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import lombok.NonNull;
+
+/**
+ * Utilities for the compression of chunk data in chunked transfers.
+ *
+ * @since 4.0
+ */
+final class ChunkCompression {
+
+  private ChunkCompression() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Get the size of the output buffer that is required to compress the given amount of bytes. Incompressible data might
+   * take a few bytes more than the input, which is covered by the returned size.
+   *
+   * @param length the amount of bytes to compress.
+   * @return the minimum size of the output buffer for the compression of the given amount of bytes.
+   */
+  static int maxCompressedLength(int length) {
+    return Math.max(64, length + (length >> 6) + 16);
+  }
+
+  /**
+   * Compresses the given chunk data using the given deflater into the given output buffer. The deflater is reset before
+   * compressing.
+   *
+   * @param deflater the deflater to use for compression.
+   * @param data     the array holding the data to compress.
+   * @param length   the amount of bytes in the given array to compress.
+   * @param output   the buffer to write the compressed data to, see {@link #maxCompressedLength(int)}.
+   * @return the amount of compressed bytes written into the given output buffer.
+   * @throws NullPointerException  if the given deflater is null.
+   * @throws IllegalStateException if the given output buffer is too small to hold the compressed data.
+   */
+  static int compress(@NonNull Deflater deflater, byte[] data, int length, byte[] output) {
+    deflater.reset();
+    deflater.setInput(data, 0, length);
+    deflater.finish();
+
+    var written = 0;
+    while (!deflater.finished()) {
+      if (written == output.length) {
+        throw new IllegalStateException("Output buffer too small to hold the compressed chunk data");
+      }
+      written += deflater.deflate(output, written, output.length - written);
+    }
+
+    return written;
+  }
+
+  /**
+   * Decompresses the given chunk data which was compressed using {@link #compress(Deflater, byte[], int, byte[])}.
+   *
+   * @param data      the compressed chunk data.
+   * @param chunkSize the chunk size of the session, the maximum size of the decompressed data.
+   * @return the decompressed chunk data.
+   * @throws IllegalStateException if the given data is not valid deflate data.
+   */
+  static byte[] decompress(byte[] data, int chunkSize) {
+    var inflater = new Inflater();
+    try {
+      inflater.setInput(data);
+      var output = new byte[chunkSize];
+      var read = 0;
+      while (!inflater.finished() && read < output.length) {
+        var inflated = inflater.inflate(output, read, output.length - read);
+        if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new IllegalStateException("Truncated compressed chunk data");
+        }
+        read += inflated;
+      }
+
+      return read == output.length ? output : Arrays.copyOf(output, read);
+    } catch (DataFormatException exception) {
+      throw new IllegalStateException("Invalid compressed chunk data", exception);
+    } finally {
+      inflater.end();
+    }
+  }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.chunk.defaults;
+
+import eu.cloudnetservice.common.io.FileUtil;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * The persistent state of the receiving side of a chunked transfer. The state tracks which chunks were received and is
+ * stored next to the file the chunk data is written to, which allows a sender to resume the transfer after the
+ * connection was lost (or even after the receiver restarted) by only retransmitting the chunks that are missing.
+ *
+ * @since 4.0
+ */
+public final class ChunkSessionState {
+
+  /**
+   * The directory in which the data and state files of chunked sessions are stored by default.
+   */
+  public static final Path SESSION_DIRECTORY = FileUtil.TEMP_DIR.resolve("chunked-sessions");
+
+  private final Path stateFile;
+  private final BitSet receivedChunks;
+
+  private int finalChunkIndex;
+
+  /**
+   * Constructs a new chunk session state.
+   *
+   * @param stateFile       the file to which this state gets persisted.
+   * @param receivedChunks  the chunks that were already received.
+   * @param finalChunkIndex the index of the final chunk of the transfer, -1 if not yet known.
+   * @throws NullPointerException if the given state file or chunk set is null.
+   */
+  private ChunkSessionState(@NonNull Path stateFile, @NonNull BitSet receivedChunks, int finalChunkIndex) {
+    this.stateFile = stateFile;
+    this.receivedChunks = receivedChunks;
+    this.finalChunkIndex = finalChunkIndex;
+  }
+
+  /**
+   * Get the default path of the file to which the data of the chunked session with the given id is written.
+   *
+   * @param sessionId the id of the session to get the data file of.
+   * @return the default data file of the chunked session.
+   * @throws NullPointerException if the given session id is null.
+   */
+  public static @NonNull Path sessionDataFile(@NonNull UUID sessionId) {
+    FileUtil.createDirectory(SESSION_DIRECTORY);
+    return SESSION_DIRECTORY.resolve(sessionId.toString());
+  }
+
+  /**
+   * Deletes the data and state files of all sessions in the default session directory which were not modified within
+   * the given duration. These sessions were abandoned by their sender, for example because the sender was stopped
+   * before it could resume the transfer. This method must only be called while no session is running.
+   *
+   * @param maxAge the duration after which a session without modifications is considered abandoned.
+   * @throws NullPointerException if the given max age is null.
+   */
+  public static void deleteAbandonedSessions(@NonNull Duration maxAge) {
+    if (Files.notExists(SESSION_DIRECTORY)) {
+      return;
+    }
+
+    var expiry = Instant.now().minus(maxAge);
+    FileUtil.walkFileTree(SESSION_DIRECTORY, (_, file) -> {
+      try {
+        if (Files.getLastModifiedTime(file).toInstant().isBefore(expiry)) {
+          FileUtil.delete(file);
+        }
+      } catch (IOException _) {
+        // the file was deleted concurrently
+      }
+    }, false);
+  }
+
+  /**
+   * Loads the state which belongs to the given data file of a chunked session. If no state was persisted yet, a new
+   * state is returned in which no chunks were received.
+   *
+   * @param dataFile the data file of the session to load the state of.
+   * @return the loaded state of the session or a fresh state if there is no state to load.
+   * @throws NullPointerException if the given data file is null.
+   */
+  public static @NonNull ChunkSessionState load(@NonNull Path dataFile) {
+    var stateFile = dataFile.resolveSibling(dataFile.getFileName() + ".state");
+    if (Files.exists(stateFile) && Files.exists(dataFile)) {
+      try (var stream = new DataInputStream(Files.newInputStream(stateFile))) {
+        var finalChunkIndex = stream.readInt();
+        var receivedChunks = BitSet.valueOf(stream.readNBytes(stream.readInt()));
+        return new ChunkSessionState(stateFile, receivedChunks, finalChunkIndex);
+      } catch (IOException _) {
+        // the state is broken, just start over
+      }
+    }
+
+    return new ChunkSessionState(stateFile, new BitSet(), -1);
+  }
+
+  /**
+   * Marks the chunk with the given index as received.
+   *
+   * @param chunkIndex the index of the received chunk.
+   * @return true if the chunk was not received before, false otherwise.
+   */
+  public synchronized boolean markReceived(int chunkIndex) {
+    if (this.receivedChunks.get(chunkIndex)) {
+      return false;
+    }
+
+    this.receivedChunks.set(chunkIndex);
+    return true;
+  }
+
+  /**
+   * Sets the index of the final chunk of the transfer.
+   *
+   * @param finalChunkIndex the index of the final chunk.
+   */
+  public synchronized void finalChunkIndex(int finalChunkIndex) {
+    this.finalChunkIndex = finalChunkIndex;
+  }
+
+  /**
+   * Get the amount of distinct chunks that were received.
+   *
+   * @return the amount of distinct chunks that were received.
+   */
+  public synchronized int receivedChunkCount() {
+    return this.receivedChunks.cardinality();
+  }
+
+  /**
+   * Get if all chunks of the transfer were received. This is only possible once the final chunk was received.
+   *
+   * @return true if all chunks of the transfer were received, false otherwise.
+   */
+  public synchronized boolean complete() {
+    return this.finalChunkIndex != -1 && this.receivedChunks.cardinality() == this.finalChunkIndex + 1;
+  }
+
+  /**
+   * Get a copy of the set of chunks which were received in the session.
+   *
+   * @return a copy of the received chunks.
+   */
+  public synchronized @NonNull BitSet receivedChunks() {
+    return (BitSet) this.receivedChunks.clone();
+  }
+
+  /**
+   * Persists this state, replacing the previously persisted state atomically. The state is synced to the disk before it
+   * replaces the previous state. The caller must ensure that the data of all chunks marked as received was synced to
+   * the disk before calling this method.
+   *
+   * @throws IOException if an i/o error occurs while writing the state.
+   */
+  public synchronized void save() throws IOException {
+    var chunkBytes = this.receivedChunks.toByteArray();
+    var buffer = ByteBuffer.allocate(Integer.BYTES * 2 + chunkBytes.length)
+      .putInt(this.finalChunkIndex)
+      .putInt(chunkBytes.length)
+      .put(chunkBytes)
+      .flip();
+
+    var tempFile = this.stateFile.resolveSibling(this.stateFile.getFileName() + ".tmp");
+    try (var channel = FileChannel.open(
+      tempFile,
+      StandardOpenOption.CREATE,
+      StandardOpenOption.WRITE,
+      StandardOpenOption.TRUNCATE_EXISTING)
+    ) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(true);
+    }
+
+    Files.move(tempFile, this.stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Deletes the persisted state, if it exists.
+   */
+  public void delete() {
+    FileUtil.delete(this.stateFile);
+  }
+}
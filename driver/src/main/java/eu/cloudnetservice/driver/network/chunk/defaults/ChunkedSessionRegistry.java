@@ -19,11 +19,13 @@
 import eu.cloudnetservice.driver.network.chunk.ChunkedPacketHandler;
 import eu.cloudnetservice.driver.network.chunk.data.ChunkSessionInformation;
 import jakarta.inject.Singleton;
+import java.time.Duration;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * A registry for chunked transfer sessions that are currently running and active.
@@ -33,7 +35,19 @@
 @Singleton
 public final class ChunkedSessionRegistry {
 
+  private static final Duration ABANDONED_SESSION_EXPIRY = Duration.ofHours(
+    Long.getLong("cloudnet.chunk.abandoned-session-expiry-hours", 24));
+
   private final Map<UUID, ChunkedPacketHandler> runningSessions = new ConcurrentHashMap<>();
+  private final Map<UUID, ChunkedTransferWindow> transferWindows = new ConcurrentHashMap<>();
+
+  /**
+   * Constructs a new session registry. Persisted sessions of previous runs which were not resumed for a long time are
+   * deleted, as no session is running yet when the registry gets created.
+   */
+  public ChunkedSessionRegistry() {
+    ChunkSessionState.deleteAbandonedSessions(ABANDONED_SESSION_EXPIRY);
+  }
 
   /**
    * Marks the given session as completed by removing it from the lookup registry. Further tries to access a session
@@ -57,6 +71,17 @@ public void registerSession(@NonNull UUID sessionId, @NonNull ChunkedPacketHandl
     this.runningSessions.putIfAbsent(sessionId, handler);
   }
 
+  /**
+   * Get the currently active session with the given id.
+   *
+   * @param sessionId the id of the session to get.
+   * @return the active session with the given id, null if no session with the given id is active.
+   * @throws NullPointerException if the given session id is null.
+   */
+  public @Nullable ChunkedPacketHandler session(@NonNull UUID sessionId) {
+    return this.runningSessions.get(sessionId);
+  }
+
   /**
    * Gets the currently active session or creates a new session using the given instance factory. Sessions are unique by
    * their session id. Concurrently accessing this method to create a new session will return the same session instance
@@ -75,4 +100,37 @@ public void registerSession(@NonNull UUID sessionId, @NonNull ChunkedPacketHandl
       sessionInformation.sessionUniqueId(),
       _ -> sessionFactory.apply(sessionInformation));
   }
+
+  /**
+   * Registers the flow control window of a transfer that is sent by this component, acknowledgements for chunks of the
+   * session are passed to the window until it gets unregistered.
+   *
+   * @param sessionId the id of the session the window belongs to.
+   * @param window    the flow control window of the session.
+   * @throws NullPointerException if the given session id or window is null.
+   */
+  public void registerTransferWindow(@NonNull UUID sessionId, @NonNull ChunkedTransferWindow window) {
+    this.transferWindows.put(sessionId, window);
+  }
+
+  /**
+   * Unregisters the flow control window of the given session, further acknowledgements for the session are ignored.
+   *
+   * @param sessionId the id of the session to unregister the window of.
+   * @throws NullPointerException if the given session id is null.
+   */
+  public void unregisterTransferWindow(@NonNull UUID sessionId) {
+    this.transferWindows.remove(sessionId);
+  }
+
+  /**
+   * Get the flow control window of the outgoing transfer with the given session id.
+   *
+   * @param sessionId the id of the session to get the window of.
+   * @return the flow control window of the session, null if no window is registered for the session.
+   * @throws NullPointerException if the given session id is null.
+   */
+  public @Nullable ChunkedTransferWindow transferWindow(@NonNull UUID sessionId) {
+    return this.transferWindows.get(sessionId);
+  }
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.chunk.defaults;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The credit based flow control of a chunked transfer on the sender side. Each chunk takes a credit before it is sent,
+ * the credit is returned once all receivers of the chunk acknowledged it. This bounds the amount of chunk data that is
+ * in flight (and therefore buffered in memory) to the window size of the transfer.
+ *
+ * @since 4.0
+ */
+public final class ChunkedTransferWindow {
+
+  private static final long ACK_TIMEOUT_MILLIS = Long.getLong("cloudnet.chunk.ack-timeout-millis", 30_000);
+
+  private final int receivers;
+  private final Semaphore credits;
+  private final Map<Integer, AtomicInteger> pendingAcknowledgements = new ConcurrentHashMap<>();
+
+  private volatile boolean failed;
+
+  /**
+   * Constructs a new transfer window.
+   *
+   * @param windowSize the amount of chunks that can be unacknowledged at a time.
+   * @param receivers  the amount of receivers that need to acknowledge each chunk.
+   */
+  public ChunkedTransferWindow(int windowSize, int receivers) {
+    this.receivers = receivers;
+    this.credits = new Semaphore(windowSize);
+  }
+
+  /**
+   * Waits until a credit for sending the chunk with the given index is available and takes it.
+   *
+   * @param chunkIndex the index of the chunk that is about to be sent.
+   * @throws TimeoutException      if no credit was returned by the receivers in time.
+   * @throws InterruptedException  if the current thread was interrupted while waiting for a credit.
+   * @throws IllegalStateException if one of the receivers signaled that it failed to handle a chunk.
+   */
+  public void acquireCredit(int chunkIndex) throws TimeoutException, InterruptedException {
+    this.ensureNotFailed();
+    if (!this.credits.tryAcquire(ACK_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+      throw new TimeoutException("No acknowledgement for chunked transfer received in " + ACK_TIMEOUT_MILLIS + "ms");
+    }
+
+    this.ensureNotFailed();
+    this.pendingAcknowledgements.put(chunkIndex, new AtomicInteger(this.receivers));
+  }
+
+  /**
+   * Waits until all chunks that were sent were acknowledged by all receivers.
+   *
+   * @param windowSize the window size of the transfer.
+   * @throws TimeoutException      if the remaining acknowledgements were not received in time.
+   * @throws InterruptedException  if the current thread was interrupted while waiting.
+   * @throws IllegalStateException if one of the receivers signaled that it failed to handle a chunk.
+   */
+  public void awaitCompletion(int windowSize) throws TimeoutException, InterruptedException {
+    if (!this.credits.tryAcquire(windowSize, ACK_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+      throw new TimeoutException("Chunked transfer was not acknowledged in " + ACK_TIMEOUT_MILLIS + "ms");
+    }
+
+    this.ensureNotFailed();
+  }
+
+  /**
+   * Acknowledges the handling of the chunk with the given index by one receiver. The credit of the chunk is returned
+   * once all receivers acknowledged the chunk.
+   *
+   * @param chunkIndex the index of the acknowledged chunk.
+   * @param success    if the receiver handled the chunk successfully.
+   */
+  public void acknowledge(int chunkIndex, boolean success) {
+    if (!success) {
+      this.failed = true;
+    }
+
+    var pending = this.pendingAcknowledgements.get(chunkIndex);
+    if (pending != null && pending.decrementAndGet() == 0) {
+      this.pendingAcknowledgements.remove(chunkIndex);
+      this.credits.release();
+    } else if (!success) {
+      // wake up the sender in case it waits for a credit
+      this.credits.release();
+    }
+  }
+
+  private void ensureNotFailed() {
+    if (this.failed) {
+      throw new IllegalStateException("A receiver of the chunked transfer failed to handle a chunk");
+    }
+  }
+}
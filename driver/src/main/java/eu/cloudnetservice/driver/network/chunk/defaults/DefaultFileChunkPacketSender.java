@@ -16,32 +16,48 @@
 
 package eu.cloudnetservice.driver.network.chunk.defaults;
 
+import com.google.common.hash.Hashing;
 import eu.cloudnetservice.common.concurrent.TaskUtil;
+import eu.cloudnetservice.driver.inject.InjectionLayer;
+import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.chunk.ChunkedPacketSender;
 import eu.cloudnetservice.driver.network.chunk.TransferStatus;
 import eu.cloudnetservice.driver.network.chunk.data.ChunkSessionInformation;
+import eu.cloudnetservice.driver.network.chunk.network.ChunkSessionQueryPacket;
 import eu.cloudnetservice.driver.network.chunk.network.ChunkedPacket;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import java.io.InputStream;
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
+import java.util.zip.Deflater;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Represents a default implementation of a chunked packet sender specifically created for chunked transferring of a
  * huge file, e.g. a zip archive.
  * <p>
+ * A transfer can be resumed by sending the same data again using the session id of a previous attempt. The receivers
+ * are queried for the chunks they received already in that case, and only the missing chunks are sent.
+ * <p>
  * This class shouldn't get instantiated directly, use {@link ChunkedPacketSender#forFileTransfer()} instead.
  *
  * @since 4.0
  */
 public class DefaultFileChunkPacketSender extends DefaultChunkedPacketProvider implements ChunkedPacketSender {
 
+  private static final Duration SESSION_QUERY_TIMEOUT = Duration.ofSeconds(30);
+
+  protected final boolean resume;
   protected final InputStream source;
   protected final Consumer<Packet> packetSplitter;
+  protected final Collection<NetworkChannel> receivers;
 
   /**
-   * Constructs a new chunked packet sender for file transfer.
+   * Constructs a new chunked packet sender for file transfer which sends the chunks without flow control.
    *
    * @param sessionInformation the information about the chunked session.
    * @param source             the source stream of the file, will be closed automatically.
@@ -53,9 +69,34 @@ public DefaultFileChunkPacketSender(
     @NonNull InputStream source,
     @NonNull Consumer<Packet> packetSplitter
   ) {
-    super(sessionInformation);
+    this(sessionInformation, source, packetSplitter, null, false);
+  }
+
+  /**
+   * Constructs a new chunked packet sender for file transfer. If the window size of the session is greater than 0 and
+   * the receivers are known, each chunk must be acknowledged by all receivers before its credit is returned. If the
+   * receivers are unknown, the window size of the session is reset to 0 which signals the receivers that they should
+   * not send any acknowledgements.
+   *
+   * @param sessionInformation the information about the chunked session.
+   * @param source             the source stream of the file, will be closed automatically.
+   * @param packetSplitter     the splitter for each chunk part to transfer.
+   * @param receivers          the channels to which the packet splitter sends the chunks, null if unknown.
+   * @param resume             if the transfer resumes a previous attempt, requires the receivers to be known.
+   * @throws NullPointerException if either the information, source or splitter is null.
+   */
+  public DefaultFileChunkPacketSender(
+    @NonNull ChunkSessionInformation sessionInformation,
+    @NonNull InputStream source,
+    @NonNull Consumer<Packet> packetSplitter,
+    @Nullable Collection<NetworkChannel> receivers,
+    boolean resume
+  ) {
+    super(receivers == null || receivers.isEmpty() ? withoutFlowControl(sessionInformation) : sessionInformation);
 
     this.source = source;
+    this.resume = resume;
+    this.receivers = receivers;
     this.packetSplitter = packetSplitter;
   }
 
@@ -64,34 +105,178 @@ public DefaultFileChunkPacketSender(
    */
   @Override
   public @NonNull CompletableFuture<TransferStatus> transferChunkedData() {
-    return TaskUtil.supplyAsync(() -> {
-      var chunkIndex = 0;
-      var backingArray = new byte[this.chunkSessionInformation.chunkSize()];
+    // a virtual thread is used as the transfer blocks while waiting for acknowledgements
+    return TaskUtil.supplyVirtualAsync(() -> {
+      var sessionInfo = this.chunkSessionInformation;
+      var windowSize = sessionInfo.windowSize();
+      var receiverCount = this.receivers == null ? 0 : this.receivers.size();
+      var deflater = sessionInfo.compressed() ? new Deflater(Deflater.BEST_SPEED) : null;
+
+      byte[] backingArray = null;
+      byte[] compressionBuffer = null;
+
+      // register the flow control window of the transfer, if enabled
+      ChunkedTransferWindow window = null;
+      ChunkedSessionRegistry sessionRegistry = null;
+      if (windowSize > 0) {
+        window = new ChunkedTransferWindow(windowSize, receiverCount);
+        sessionRegistry = InjectionLayer.boot().instance(ChunkedSessionRegistry.class);
+        sessionRegistry.registerTransferWindow(sessionInfo.sessionUniqueId(), window);
+      }
+
+      try {
+        // resolve the chunks that all receivers already have when resuming a transfer
+        var skippableChunks = this.resume && receiverCount > 0 ? this.queryReceivedChunks() : new BitSet();
+
+        var chunkIndex = 0;
+        var hasher = Hashing.sha256().newHasher();
+        backingArray = ChunkBufferPool.acquire(sessionInfo.chunkSize());
+        if (deflater != null) {
+          compressionBuffer = ChunkBufferPool.acquire(ChunkCompression.maxCompressedLength(sessionInfo.chunkSize()));
+        }
+
+        while (true) {
+          var bytesRead = this.source.readNBytes(backingArray, 0, backingArray.length);
+          hasher.putBytes(backingArray, 0, bytesRead);
 
-      while (true) {
-        var bytesRead = Math.max(0, this.source.read(backingArray));
-        if (bytesRead == backingArray.length) {
           // if the bytes read is the same size as the backing array, then a full chunk of data has been read from the
-          // backing file. this usually indicates that the chunk is not the last chunk in the transfer
-          this.chunkSessionInformation.transferInformation().acquire();
-          var chunkPacket = ChunkedPacket.createFullChunk(chunkIndex++, backingArray, this.chunkSessionInformation);
-          this.packetSplitter.accept(chunkPacket);
-        } else {
-          // final chunk to send out, this is one is allowed to not contain as much data as the other chunks
-          var chunkPacket = ChunkedPacket.createFinalChunk(
-            chunkIndex,
+          // backing file. this usually indicates that the chunk is not the last chunk in the transfer. the final chunk
+          // is allowed to not contain as much data as the other chunks and is always sent to complete the transfer
+          var finalChunk = bytesRead != backingArray.length;
+          if (!finalChunk && skippableChunks.get(chunkIndex)) {
+            chunkIndex++;
+            continue;
+          }
+
+          if (window != null) {
+            window.acquireCredit(chunkIndex);
+          }
+
+          if (finalChunk) {
+            var digest = hasher.hash().asBytes();
+            this.packetSplitter.accept(this.createChunk(
+              chunkIndex,
+              true,
+              bytesRead,
+              backingArray,
+              digest,
+              deflater,
+              compressionBuffer));
+            break;
+          }
+
+          sessionInfo.transferInformation().acquire();
+          this.packetSplitter.accept(this.createChunk(
+            chunkIndex++,
+            false,
             bytesRead,
             backingArray,
-            this.chunkSessionInformation);
-          this.packetSplitter.accept(chunkPacket);
+            null,
+            deflater,
+            compressionBuffer));
+        }
 
-          // close all allocated resources used for the transfer
-          this.source.close();
-          this.chunkSessionInformation.transferInformation().release();
+        // wait for the receivers to acknowledge the remaining chunks
+        if (window != null) {
+          window.awaitCompletion(windowSize);
+        }
 
-          return TransferStatus.SUCCESS;
+        return TransferStatus.SUCCESS;
+      } finally {
+        // close all allocated resources used for the transfer
+        this.source.close();
+        if (deflater != null) {
+          deflater.end();
+        }
+        // the chunk data was copied into the packets, the buffers can be reused by other transfers
+        if (backingArray != null) {
+          ChunkBufferPool.release(backingArray);
+        }
+        if (compressionBuffer != null) {
+          ChunkBufferPool.release(compressionBuffer);
+        }
+        if (sessionRegistry != null) {
+          sessionRegistry.unregisterTransferWindow(sessionInfo.sessionUniqueId());
         }
+        sessionInfo.transferInformation().release();
       }
     });
   }
+
+  /**
+   * Returns a copy of the given session information with a window size of 0, or the given information if the window
+   * size is 0 already.
+   *
+   * @param sessionInfo the session information to disable the flow control of.
+   * @return the session information without flow control.
+   * @throws NullPointerException if the given session information is null.
+   */
+  private static @NonNull ChunkSessionInformation withoutFlowControl(@NonNull ChunkSessionInformation sessionInfo) {
+    if (sessionInfo.windowSize() == 0) {
+      return sessionInfo;
+    }
+
+    return new ChunkSessionInformation(
+      sessionInfo.chunkSize(),
+      0,
+      sessionInfo.compressed(),
+      sessionInfo.sessionUniqueId(),
+      sessionInfo.transferChannel(),
+      sessionInfo.transferInformation());
+  }
+
+  /**
+   * Queries the chunks each receiver received in a previous attempt of the transfer. Only chunks received by all
+   * receivers can be skipped, receivers which do not respond in time are expected to have no chunks.
+   *
+   * @return the chunks which were received by all receivers already.
+   */
+  protected @NonNull BitSet queryReceivedChunks() {
+    BitSet receivedChunks = null;
+    for (var receiver : this.receivers) {
+      var response = TaskUtil.getOrDefault(
+        receiver.sendQueryAsync(new ChunkSessionQueryPacket(this.chunkSessionInformation.sessionUniqueId())),
+        SESSION_QUERY_TIMEOUT,
+        null);
+      var receiverChunks = response == null ? new BitSet() : BitSet.valueOf(response.content().readByteArray());
+
+      if (receivedChunks == null) {
+        receivedChunks = receiverChunks;
+      } else {
+        receivedChunks.and(receiverChunks);
+      }
+    }
+
+    return receivedChunks == null ? new BitSet() : receivedChunks;
+  }
+
+  /**
+   * Creates the packet for the next chunk of the transfer, compressing the chunk data if a deflater is given.
+   *
+   * @param chunkIndex the index of the chunk to create.
+   * @param finalChunk if the chunk is the last chunk of the transfer.
+   * @param bytesRead  the amount of bytes read into the given data array.
+   * @param data       the array holding the data of the chunk.
+   * @param digest     the digest of the transferred data, only present for the final chunk.
+   * @param deflater   the deflater to use for the chunk data compression, null if the data shouldn't be compressed.
+   * @param output     the buffer to write the compressed chunk data to, null if the data shouldn't be compressed.
+   * @return the chunk packet to send to the receivers.
+   */
+  protected @NonNull Packet createChunk(
+    int chunkIndex,
+    boolean finalChunk,
+    int bytesRead,
+    byte[] data,
+    @Nullable byte[] digest,
+    @Nullable Deflater deflater,
+    @Nullable byte[] output
+  ) {
+    var sessionInfo = this.chunkSessionInformation;
+    if (deflater == null || output == null) {
+      return ChunkedPacket.createChunk(chunkIndex, finalChunk, bytesRead, data, digest, sessionInfo);
+    }
+
+    var compressedBytes = ChunkCompression.compress(deflater, data, bytesRead, output);
+    return ChunkedPacket.createChunk(chunkIndex, finalChunk, compressedBytes, output, digest, sessionInfo);
+  }
 }
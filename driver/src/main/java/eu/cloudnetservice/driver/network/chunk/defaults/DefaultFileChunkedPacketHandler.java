@@ -16,6 +16,7 @@
 
 package eu.cloudnetservice.driver.network.chunk.defaults;
 
+import com.google.common.hash.Hashing;
 import eu.cloudnetservice.common.io.FileUtil;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.chunk.ChunkedPacketHandler;
@@ -23,10 +24,12 @@
 import eu.cloudnetservice.driver.network.chunk.data.ChunkSessionInformation;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import lombok.NonNull;
@@ -34,22 +37,30 @@
 
 /**
  * Represents a handler for a chunked packet transfer which transfers a file.
+ * <p>
+ * The chunks which were received are tracked in a {@link ChunkSessionState} which is persisted next to the target file
+ * of the transfer. A sender can therefore resume the transfer after the connection was lost, only sending the chunks
+ * that are missing. The received data is verified against the digest sent in the final chunk of transfers which use the
+ * extended chunk format.
  *
  * @since 4.0
  */
 public class DefaultFileChunkedPacketHandler extends DefaultChunkedPacketProvider implements ChunkedPacketHandler {
 
+  protected static final int STATE_SAVE_INTERVAL = 64;
+
   protected final Path tempFilePath;
-  protected final RandomAccessFile targetFile;
+  protected final FileChannel targetFile;
+  protected final ChunkSessionState sessionState;
   protected final Callback writeCompleteHandler;
   protected final Lock lock = new ReentrantLock();
 
-  protected int writtenFileParts = -1;
-  protected int expectedFileParts = -1;
+  protected volatile byte[] expectedDigest;
 
   /**
    * Creates the session handler initially. Sessions should be manged by some sort of handler which is responsible for
-   * handling incoming chunk parts as well.
+   * handling incoming chunk parts as well. The data is written to the default data file of the session, resuming the
+   * session if it was persisted previously.
    *
    * @param sessionInformation the information transferred by the sender initially.
    * @param completeHandler    the handler to call when the file transfer finished successfully.
@@ -59,12 +70,13 @@ public DefaultFileChunkedPacketHandler(
     @NonNull ChunkSessionInformation sessionInformation,
     @Nullable Callback completeHandler
   ) {
-    this(sessionInformation, completeHandler, FileUtil.createTempFile());
+    this(sessionInformation, completeHandler, ChunkSessionState.sessionDataFile(sessionInformation.sessionUniqueId()));
   }
 
   /**
    * Creates the session handler initially. Sessions should be manged by some sort of handler which is responsible for
-   * handling incoming chunk parts as well.
+   * handling incoming chunk parts as well. If a session state was persisted for the given temp file, the session is
+   * resumed.
    *
    * @param sessionInformation the information transferred by the sender initially.
    * @param completeHandler    the handler to call when the file transfer finished successfully.
@@ -80,30 +92,37 @@ public DefaultFileChunkedPacketHandler(
 
     this.tempFilePath = tempFilePath;
     this.writeCompleteHandler = completeHandler;
+    this.sessionState = ChunkSessionState.load(tempFilePath);
     this.targetFile = this.openTempFile();
   }
 
   /**
-   * Opens a random access file at the provided temp path, creating the file if it does not exist. Note that this method
-   * does not create the parent directory of the file, it must exist prior to invocation.
+   * Opens a file channel at the provided temp path, creating the file if it does not exist. Note that this method does
+   * not create the parent directory of the file, it must exist prior to invocation.
+   * <p>
+   * Chunks are written using positional writes without syncing each write to the disk, the data is synced once when
+   * the transfer completes.
    *
-   * @return the opened temp file for random access.
+   * @return the opened file channel to the temp file.
    * @throws IllegalStateException if the temp file cannot be opened or created.
    */
-  private @NonNull RandomAccessFile openTempFile() {
+  private @NonNull FileChannel openTempFile() {
     try {
-      // create the file in case it does not exist
-      if (Files.notExists(this.tempFilePath)) {
-        Files.createFile(this.tempFilePath);
-      }
-
-      var pathAsFile = this.tempFilePath.toFile();
-      return new RandomAccessFile(pathAsFile, "rwd");
+      return FileChannel.open(this.tempFilePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
     } catch (IOException exception) {
       throw new IllegalStateException("cannot open chunk transfer temp file for writing", exception);
     }
   }
 
+  /**
+   * Get the state of this session, holding the information which chunks were received already.
+   *
+   * @return the state of this session.
+   */
+  public @NonNull ChunkSessionState sessionState() {
+    return this.sessionState;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -114,11 +133,29 @@ public boolean handleChunkPart(int chunkPosition, @NonNull DataBuf dataBuf) {
       return false;
     }
 
-    // check if the given chunk is the last chunk in the transfer, set the amount of chunks to expect
-    // this is used in case not all file parts were received when the final packet arrives
+    // check if the data transfer is still running
     var isFinalPacket = dataBuf.readBoolean();
+    if (this.transferStatus != TransferStatus.RUNNING) {
+      throw new IllegalStateException("chunked transfer received data after completion");
+    }
+
+    try {
+      // write the packet content to disk, positional writes can be done concurrently. chunks that were received before
+      // are written again as the data might not have been synced to disk when the previous session state was saved
+      this.writePacketContent(chunkPosition, dataBuf);
+    } catch (IOException exception) {
+      this.failTransfer();
+      throw new IllegalStateException("Unexpected exception handling chunk part", exception);
+    }
+
+    // the final chunk contains the amount of chunks to expect, this is used in case not all file parts were received
+    // when the final packet arrives. extended final chunks additionally contain the digest of the transferred data
     if (isFinalPacket) {
-      this.expectedFileParts = chunkPosition;
+      if (this.chunkSessionInformation.extendedFormat()) {
+        var digest = dataBuf.readByteArray();
+        this.expectedDigest = digest.length == 0 ? null : digest;
+      }
+      this.sessionState.finalChunkIndex(chunkPosition);
     }
 
     this.lock.lock();
@@ -128,15 +165,30 @@ public boolean handleChunkPart(int chunkPosition, @NonNull DataBuf dataBuf) {
         throw new IllegalStateException("chunked transfer received data after completion");
       }
 
-      // write the packet content to disk
-      this.writePacketContent(chunkPosition, dataBuf);
-      this.writtenFileParts++;
+      // persist the session state from time to time to allow resuming the transfer
+      var newChunk = this.sessionState.markReceived(chunkPosition);
+      if (isFinalPacket || (newChunk && this.sessionState.receivedChunkCount() % STATE_SAVE_INTERVAL == 0)) {
+        // the data of the received chunks must be on the disk before the state claims that they were received
+        this.targetFile.force(false);
+        this.sessionState.save();
+      }
 
       // clean up in case the last chunk was just received
-      if (this.expectedFileParts != -1 && this.expectedFileParts == this.writtenFileParts) {
-        this.transferStatus = TransferStatus.SUCCESS;
+      if (this.sessionState.complete()) {
+        this.targetFile.force(true);
         this.targetFile.close();
 
+        // verify that the data we received is the data that was sent
+        if (!this.verifyReceivedData()) {
+          this.transferStatus = TransferStatus.FAILURE;
+          this.sessionState.delete();
+          FileUtil.delete(this.tempFilePath);
+          throw new IllegalStateException("Digest of chunked transfer data does not match the expected digest");
+        }
+
+        this.transferStatus = TransferStatus.SUCCESS;
+        this.sessionState.delete();
+
         // call the write completion handler, if present
         if (this.writeCompleteHandler != null) {
           var closeStream = true;
@@ -158,7 +210,7 @@ public boolean handleChunkPart(int chunkPosition, @NonNull DataBuf dataBuf) {
       // not the last chunk, continue processing
       return false;
     } catch (IOException exception) {
-      this.transferStatus = TransferStatus.FAILURE;
+      this.failTransfer();
       throw new IllegalStateException("Unexpected exception handling chunk part", exception);
     } finally {
       this.lock.unlock();
@@ -166,7 +218,44 @@ public boolean handleChunkPart(int chunkPosition, @NonNull DataBuf dataBuf) {
   }
 
   /**
-   * Writes the content of a chunk part to the backing file, increasing the amount of written bytes by one.
+   * Marks this transfer as failed and closes the file channel to the temp file. The temp file and the session state
+   * are kept to allow a retry of the transfer to resume from the chunks that were received.
+   */
+  protected void failTransfer() {
+    this.transferStatus = TransferStatus.FAILURE;
+    try {
+      this.targetFile.close();
+    } catch (IOException _) {
+    }
+  }
+
+  /**
+   * Verifies the data written to the temp file against the digest sent by the sender. If the sender did not send a
+   * digest, the data is not verified.
+   *
+   * @return true if the received data matches the digest sent by the sender, false otherwise.
+   * @throws IOException if an i/o error occurs while reading the received data.
+   */
+  protected boolean verifyReceivedData() throws IOException {
+    var digest = this.expectedDigest;
+    if (digest == null) {
+      return true;
+    }
+
+    var hasher = Hashing.sha256().newHasher();
+    try (var stream = Files.newInputStream(this.tempFilePath)) {
+      var buffer = new byte[8192];
+      int read;
+      while ((read = stream.read(buffer)) != -1) {
+        hasher.putBytes(buffer, 0, read);
+      }
+    }
+
+    return MessageDigest.isEqual(digest, hasher.hash().asBytes());
+  }
+
+  /**
+   * Writes the content of a chunk part to the backing file.
    *
    * @param chunkPosition the index of the chunk to write.
    * @param dataBuf       the buf transferred to this handler, the next content should be the actual chunk data.
@@ -174,8 +263,15 @@ public boolean handleChunkPart(int chunkPosition, @NonNull DataBuf dataBuf) {
    * @throws NullPointerException if the given buffer is null.
    */
   protected void writePacketContent(int chunkPosition, @NonNull DataBuf dataBuf) throws IOException {
+    var chunkData = dataBuf.readByteArray();
+    if (this.chunkSessionInformation.compressed()) {
+      chunkData = ChunkCompression.decompress(chunkData, this.chunkSessionInformation.chunkSize());
+    }
+
+    var buffer = ByteBuffer.wrap(chunkData);
     var filePosition = Math.multiplyFull(chunkPosition, this.chunkSessionInformation.chunkSize());
-    this.targetFile.seek(filePosition);
-    this.targetFile.write(dataBuf.readByteArray());
+    while (buffer.hasRemaining()) {
+      filePosition += this.targetFile.write(buffer, filePosition);
+    }
   }
 }
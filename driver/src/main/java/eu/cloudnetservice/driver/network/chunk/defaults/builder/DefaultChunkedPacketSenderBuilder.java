@@ -39,13 +39,18 @@
  */
 public abstract class DefaultChunkedPacketSenderBuilder implements ChunkedPacketSender.Builder {
 
-  public static final int DEFAULT_CHUNK_SIZE = 50 * 1024 * 1024;
+  public static final int DEFAULT_CHUNK_SIZE = 256 * 1024;
+  public static final int DEFAULT_WINDOW_SIZE = Integer.getInteger("cloudnet.chunk.window-size", 0);
 
   protected InputStream source;
   protected String transferChannel;
   protected Consumer<Packet> packetSplitter;
 
+  protected boolean resume;
+  protected boolean compress;
+  protected Collection<NetworkChannel> receivers;
   protected int chunkSize = DEFAULT_CHUNK_SIZE;
+  protected int windowSize = DEFAULT_WINDOW_SIZE;
   protected UUID sessionUniqueId = UUID.randomUUID();
   protected DataBuf transferInformation = DataBuf.empty();
 
@@ -58,6 +63,33 @@ public abstract class DefaultChunkedPacketSenderBuilder implements ChunkedPacket
     return this;
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull ChunkedPacketSender.Builder windowSize(int windowSize) {
+    this.windowSize = windowSize;
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull ChunkedPacketSender.Builder compress(boolean compress) {
+    this.compress = compress;
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull ChunkedPacketSender.Builder resume(boolean resume) {
+    this.resume = resume;
+    return this;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -98,7 +130,9 @@ public abstract class DefaultChunkedPacketSenderBuilder implements ChunkedPacket
    */
   @Override
   public @NonNull ChunkedPacketSender.Builder toChannels(@NonNull Collection<NetworkChannel> channels) {
-    return this.packetSplitter(new NetworkChannelsPacketSplitter(channels));
+    this.packetSplitter = new NetworkChannelsPacketSplitter(channels);
+    this.receivers = channels;
+    return this;
   }
 
   /**
@@ -106,7 +140,9 @@ public abstract class DefaultChunkedPacketSenderBuilder implements ChunkedPacket
    */
   @Override
   public @NonNull ChunkedPacketSender.Builder packetSplitter(@NonNull Consumer<Packet> splitter) {
+    // the receivers of a custom splitter are unknown
     this.packetSplitter = splitter;
+    this.receivers = null;
     return this;
   }
 
@@ -131,6 +167,7 @@ public abstract class DefaultChunkedPacketSenderBuilder implements ChunkedPacket
     Preconditions.checkNotNull(this.transferChannel, "no transfer channel provided");
     Preconditions.checkNotNull(this.sessionUniqueId, "no session unique id provided");
     Preconditions.checkArgument(this.chunkSize > 0, "chunk size must be more than 0");
+    Preconditions.checkArgument(this.windowSize >= 0, "window size must not be negative");
 
     return this.doBuild();
   }
@@ -57,9 +57,11 @@ public class FileChunkedPacketSenderBuilder extends DefaultChunkedPacketSenderBu
   protected @NonNull ChunkedPacketSender doBuild() {
     return new DefaultFileChunkPacketSender(new ChunkSessionInformation(
       this.chunkSize,
+      this.windowSize,
+      this.compress,
       this.sessionUniqueId,
       this.transferChannel,
       this.transferInformation
-    ), this.source, this.packetSplitter);
+    ), this.source, this.packetSplitter, this.receivers, this.resume);
   }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.chunk.network;
+
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.chunk.defaults.ChunkedSessionRegistry;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.protocol.PacketListener;
+import lombok.NonNull;
+
+/**
+ * A listener for chunk acknowledgements, returning the transfer credit to the sender of the acknowledged chunk.
+ *
+ * @since 4.0
+ */
+public class ChunkAcknowledgeListener implements PacketListener {
+
+  private final ChunkedSessionRegistry sessionRegistry;
+
+  /**
+   * Creates a new chunk acknowledge listener instance.
+   *
+   * @param sessionRegistry the registry in which the running transfer windows are registered.
+   * @throws NullPointerException if the given registry is null.
+   */
+  public ChunkAcknowledgeListener(@NonNull ChunkedSessionRegistry sessionRegistry) {
+    this.sessionRegistry = sessionRegistry;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
+    var content = packet.content();
+    var sessionId = content.readUniqueId();
+    var chunkIndex = content.readInt();
+    var success = content.readBoolean();
+
+    var transferWindow = this.sessionRegistry.transferWindow(sessionId);
+    if (transferWindow != null) {
+      transferWindow.acknowledge(chunkIndex, success);
+    }
+  }
+}
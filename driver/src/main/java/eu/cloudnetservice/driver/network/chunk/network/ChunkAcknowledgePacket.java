@@ -0,0 +1,49 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.chunk.network;
+
+import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
+import eu.cloudnetservice.driver.network.def.NetworkConstants;
+import eu.cloudnetservice.driver.network.protocol.BasePacket;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * A packet sent by the receiver of a flow controlled chunked transfer to acknowledge the handling of a single chunk,
+ * granting the sender the credit to send the next chunk.
+ *
+ * @since 4.0
+ */
+public final class ChunkAcknowledgePacket extends BasePacket {
+
+  /**
+   * Constructs a new chunk acknowledge packet.
+   *
+   * @param sessionId  the unique id of the session the acknowledged chunk belongs to.
+   * @param chunkIndex the index of the chunk that was handled.
+   * @param success    if the chunk was handled successfully, false to signal the sender to abort the transfer.
+   * @throws NullPointerException if the given session id is null.
+   */
+  public ChunkAcknowledgePacket(@NonNull UUID sessionId, int chunkIndex, boolean success) {
+    super(
+      NetworkConstants.CHUNKED_PACKET_ACK_CHANNEL,
+      DataBufFactory.defaultFactory().createWithExpectedSize((Long.BYTES * 2) + Integer.BYTES + Byte.BYTES)
+        .writeUniqueId(sessionId)
+        .writeInt(chunkIndex)
+        .writeBoolean(success));
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.chunk.network;
+
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.chunk.defaults.ChunkSessionState;
+import eu.cloudnetservice.driver.network.chunk.defaults.ChunkedSessionRegistry;
+import eu.cloudnetservice.driver.network.chunk.defaults.DefaultFileChunkedPacketHandler;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.protocol.PacketListener;
+import lombok.NonNull;
+
+/**
+ * A listener for chunk session queries, responding with the chunks that were already received in the session. The
+ * chunks are resolved from the running session or, if the session is no longer running, from the persisted state of
+ * the session.
+ *
+ * @since 4.0
+ */
+public class ChunkSessionQueryListener implements PacketListener {
+
+  private final ChunkedSessionRegistry sessionRegistry;
+
+  /**
+   * Creates a new chunk session query listener instance.
+   *
+   * @param sessionRegistry the registry in which the running sessions are registered.
+   * @throws NullPointerException if the given registry is null.
+   */
+  public ChunkSessionQueryListener(@NonNull ChunkedSessionRegistry sessionRegistry) {
+    this.sessionRegistry = sessionRegistry;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
+    var sessionId = packet.content().readUniqueId();
+
+    // prefer the state of the running session, fall back to the persisted state
+    var session = this.sessionRegistry.session(sessionId);
+    var sessionState = session instanceof DefaultFileChunkedPacketHandler fileHandler
+      ? fileHandler.sessionState()
+      : ChunkSessionState.load(ChunkSessionState.sessionDataFile(sessionId));
+
+    var receivedChunks = sessionState.receivedChunks().toByteArray();
+    channel.sendPacket(packet.constructResponse(DataBuf.empty().writeByteArray(receivedChunks)));
+  }
+}
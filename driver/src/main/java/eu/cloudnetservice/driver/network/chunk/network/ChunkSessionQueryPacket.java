@@ -0,0 +1,44 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.chunk.network;
+
+import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
+import eu.cloudnetservice.driver.network.def.NetworkConstants;
+import eu.cloudnetservice.driver.network.protocol.BasePacket;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * A packet sent by the sender of a chunked transfer to query the chunks the receiver already received in a previous
+ * attempt of the transfer, allowing the sender to only retransmit the missing chunks.
+ *
+ * @since 4.0
+ */
+public final class ChunkSessionQueryPacket extends BasePacket {
+
+  /**
+   * Constructs a new chunk session query packet.
+   *
+   * @param sessionId the unique id of the session to query the received chunks of.
+   * @throws NullPointerException if the given session id is null.
+   */
+  public ChunkSessionQueryPacket(@NonNull UUID sessionId) {
+    super(
+      NetworkConstants.CHUNKED_PACKET_QUERY_CHANNEL,
+      DataBufFactory.defaultFactory().createWithExpectedSize(Long.BYTES * 2).writeUniqueId(sessionId));
+  }
+}
@@ -22,7 +22,9 @@
 import eu.cloudnetservice.driver.network.def.NetworkConstants;
 import eu.cloudnetservice.driver.network.netty.NettyUtil;
 import eu.cloudnetservice.driver.network.protocol.BasePacket;
+import eu.cloudnetservice.driver.network.protocol.Packet;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * A transfer packet that holds data about a chunk of data to transfer.
@@ -31,14 +33,44 @@
  */
 public final class ChunkedPacket extends BasePacket {
 
+  private static final byte[] EMPTY_DIGEST = new byte[0];
+
   /**
    * Constructs a new chunked transfer part packet.
    *
+   * @param channel the channel of the packet, depending on the format of the chunk.
    * @param dataBuf the data for the handling process of the chunk part.
    * @throws NullPointerException if the given buffer is null.
    */
-  private ChunkedPacket(@NonNull DataBuf dataBuf) {
-    super(NetworkConstants.CHUNKED_PACKET_COM_CHANNEL, dataBuf);
+  private ChunkedPacket(int channel, @NonNull DataBuf dataBuf) {
+    super(channel, dataBuf);
+  }
+
+  /**
+   * Reads the session information from the given chunk packet. Chunks in the extended format (sent to the extended
+   * chunk channel) additionally carry the flow control and compression options of the session, which are read into
+   * the returned session information as well.
+   *
+   * @param packet the chunk packet to read the session information from.
+   * @return the session information of the given chunk packet.
+   * @throws NullPointerException if the given packet is null.
+   */
+  public static @NonNull ChunkSessionInformation readSessionInformation(@NonNull Packet packet) {
+    var content = packet.content();
+    var sessionInfo = content.readObject(ChunkSessionInformation.class);
+    if (packet.channel() != NetworkConstants.CHUNKED_PACKET_EXTENDED_COM_CHANNEL) {
+      return sessionInfo;
+    }
+
+    var windowSize = content.readInt();
+    var compressed = content.readBoolean();
+    return new ChunkSessionInformation(
+      sessionInfo.chunkSize(),
+      windowSize,
+      compressed,
+      sessionInfo.sessionUniqueId(),
+      sessionInfo.transferChannel(),
+      sessionInfo.transferInformation());
   }
 
   /**
@@ -57,18 +89,7 @@ private ChunkedPacket(@NonNull DataBuf dataBuf) {
     byte[] sourceData,
     @NonNull ChunkSessionInformation sessionInfo
   ) {
-    var sourceDataLengthSize = NettyUtil.varIntBytes(sourceData.length);
-    var transferBytes = Byte.BYTES
-      + Integer.BYTES
-      + sourceDataLengthSize
-      + sourceData.length
-      + sessionInfo.packetSizeBytes();
-    var informationBuffer = DataBufFactory.defaultFactory().createWithExpectedSize(transferBytes)
-      .writeObject(sessionInfo)
-      .writeInt(chunkIndex)
-      .writeBoolean(false) // not the final chunk
-      .writeByteArray(sourceData);
-    return new ChunkedPacket(informationBuffer);
+    return createChunk(chunkIndex, false, sourceData.length, sourceData, null, sessionInfo);
   }
 
   /**
@@ -91,17 +112,64 @@ private ChunkedPacket(@NonNull DataBuf dataBuf) {
     byte[] sourceData,
     @NonNull ChunkSessionInformation sessionInfo
   ) {
-    var sourceDataLengthSize = NettyUtil.varIntBytes(readBytes);
+    return createChunk(chunkIndex, true, readBytes, sourceData, null, sessionInfo);
+  }
+
+  /**
+   * Creates a new chunk packet, only serializing the given amount of bytes from the given chunk data. This method is
+   * mainly useful for transfers in which the chunk data size differs from the chunk size of the session, for example
+   * when the chunk data is compressed.
+   * <p>
+   * If the session uses flow control or compression, the chunk is created in the extended format. The options of the
+   * session are written after the session information in that case, and the final chunk additionally contains the
+   * digest of the transferred data which is used by the receiver to verify the received data. If no digest is given,
+   * the received data is not verified. Chunks of other sessions use the original format which is understood by
+   * receivers running an older version.
+   *
+   * @param chunkIndex  the 0-based index of the chunk that is being sent.
+   * @param finalChunk  if the chunk is the last chunk of the transfer.
+   * @param dataBytes   the amount of bytes in the given data array that are relevant for the chunk.
+   * @param chunkData   the data of the chunk to send.
+   * @param digest      the sha-256 digest of the full transferred data, only written into an extended final chunk.
+   * @param sessionInfo the information about the transfer session that this packet is related to.
+   * @return the created chunk packet based on the information.
+   * @throws NullPointerException if the given chunk information is null.
+   */
+  public static @NonNull ChunkedPacket createChunk(
+    int chunkIndex,
+    boolean finalChunk,
+    int dataBytes,
+    byte[] chunkData,
+    @Nullable byte[] digest,
+    @NonNull ChunkSessionInformation sessionInfo
+  ) {
+    var extended = sessionInfo.extendedFormat();
+    var digestBytes = digest == null ? EMPTY_DIGEST : digest;
+    var dataLengthSize = NettyUtil.varIntBytes(dataBytes);
     var transferBytes = Byte.BYTES
       + Integer.BYTES
-      + sourceDataLengthSize
-      + readBytes
+      + dataLengthSize
+      + dataBytes
+      + (extended ? Integer.BYTES + Byte.BYTES : 0)
+      + (extended && finalChunk ? NettyUtil.varIntBytes(digestBytes.length) + digestBytes.length : 0)
       + sessionInfo.packetSizeBytes();
     var informationBuffer = DataBufFactory.defaultFactory().createWithExpectedSize(transferBytes)
-      .writeObject(sessionInfo)
+      .writeObject(sessionInfo);
+    if (extended) {
+      informationBuffer.writeInt(sessionInfo.windowSize()).writeBoolean(sessionInfo.compressed());
+    }
+
+    informationBuffer
       .writeInt(chunkIndex)
-      .writeBoolean(true) // final chunk
-      .writeByteArray(sourceData, readBytes);
-    return new ChunkedPacket(informationBuffer);
+      .writeBoolean(finalChunk)
+      .writeByteArray(chunkData, dataBytes);
+    if (extended && finalChunk) {
+      informationBuffer.writeByteArray(digestBytes);
+    }
+
+    var channel = extended
+      ? NetworkConstants.CHUNKED_PACKET_EXTENDED_COM_CHANNEL
+      : NetworkConstants.CHUNKED_PACKET_COM_CHANNEL;
+    return new ChunkedPacket(channel, informationBuffer);
   }
 }
@@ -55,14 +55,59 @@ public ChunkedPacketListener(
   @Override
   public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) throws Exception {
     var packetContent = packet.content();
-    var sessionInfo = packetContent.readObject(ChunkSessionInformation.class);
+    var sessionInfo = ChunkedPacket.readSessionInformation(packet);
     var chunkIndex = packetContent.readInt();
 
+    // acknowledge the final chunk before handling it, the handling of the final chunk might complete the transfer which
+    // includes the verification of the received data and the completion handler, which can take longer than the sender
+    // waits for acknowledgements
+    var finalChunk = packetContent.startTransaction().readBoolean();
+    packetContent.redoTransaction();
+    if (finalChunk) {
+      this.acknowledgeChunk(channel, sessionInfo, chunkIndex, true);
+    }
+
     // get or create a new local session for the transfer
-    var sessionHandler = this.sessionRegistry.getOrCreateSession(sessionInfo, this.handlerFactory);
-    var transferComplete = sessionHandler.handleChunkPart(chunkIndex, packetContent);
+    boolean transferComplete;
+    try {
+      var sessionHandler = this.sessionRegistry.getOrCreateSession(sessionInfo, this.handlerFactory);
+      transferComplete = sessionHandler.handleChunkPart(chunkIndex, packetContent);
+    } catch (Exception exception) {
+      // drop the failed session, a retry of the transfer will open a new one, and signal the sender to abort
+      this.sessionRegistry.completeSession(sessionInfo.sessionUniqueId());
+      this.acknowledgeChunk(channel, sessionInfo, chunkIndex, false);
+      throw exception;
+    }
+
     if (transferComplete) {
       this.sessionRegistry.completeSession(sessionInfo.sessionUniqueId());
     }
+
+    // return the transfer credit of the chunk to the sender
+    if (!finalChunk) {
+      this.acknowledgeChunk(channel, sessionInfo, chunkIndex, true);
+    }
+  }
+
+  /**
+   * Sends an acknowledgement for the given chunk to the sender of the chunk, if the transfer is flow controlled. The
+   * window size is only sent by senders which wait for acknowledgements of the receivers, all other senders send a
+   * window size of 0.
+   *
+   * @param channel     the channel from which the chunk was received.
+   * @param sessionInfo the information of the session the chunk belongs to.
+   * @param chunkIndex  the index of the chunk to acknowledge.
+   * @param success     if the chunk was handled successfully.
+   * @throws NullPointerException if the given channel or session information is null.
+   */
+  private void acknowledgeChunk(
+    @NonNull NetworkChannel channel,
+    @NonNull ChunkSessionInformation sessionInfo,
+    int chunkIndex,
+    boolean success
+  ) {
+    if (sessionInfo.windowSize() > 0) {
+      channel.sendPacket(new ChunkAcknowledgePacket(sessionInfo.sessionUniqueId(), chunkIndex, success));
+    }
   }
 }
@@ -35,6 +35,9 @@ public final class NetworkConstants {
   public static final int CHUNKED_PACKET_COM_CHANNEL = 2;
   public static final int INTERNAL_AUTHORIZATION_CHANNEL = 3;
   public static final int INTERNAL_SERVICE_SYNC_ACK_CHANNEL = 4;
+  public static final int CHUNKED_PACKET_ACK_CHANNEL = 5;
+  public static final int CHUNKED_PACKET_QUERY_CHANNEL = 6;
+  public static final int CHUNKED_PACKET_EXTENDED_COM_CHANNEL = 7;
 
   // channel message channels
   public static final String INTERNAL_MSG_CHANNEL = "cloudnet:internal";
@@ -22,21 +22,51 @@
 import eu.cloudnetservice.driver.network.NetworkChannelHandler;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.driver.network.protocol.PacketListenerRegistry;
+import eu.cloudnetservice.driver.network.protocol.SharedPacket;
 import io.netty5.channel.Channel;
+import io.netty5.util.concurrent.Future;
 import io.netty5.util.concurrent.Promise;
 import io.netty5.util.concurrent.PromiseCombiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import lombok.NonNull;
 import org.jetbrains.annotations.ApiStatus;
 
 /**
  * The default netty based implementation of a network channel.
+ * <p>
+ * If write batching is enabled (using the {@code cloudnet.net.write-batching} system property), packets which are not
+ * prioritized are written in batches: the channel is flushed once the maximum amount of batched writes was reached or
+ * when the event loop processed all writes which were submitted before the flush, whichever comes first. Prioritized
+ * packets are always flushed immediately. If write backpressure is enabled (using the
+ * {@code cloudnet.net.write-backpressure} system property), threads which send a packet while the channel is not
+ * writable are blocked until the channel becomes writable again (or the configured timeout elapses), rather than
+ * buffering an unbounded amount of data in the outbound buffer. Threads which are shared between all channels (see
+ * {@link NettyUtil#sharedNetworkThread()}), for example event loop, packet dispatcher and tick loop threads, are never
+ * blocked.
  *
  * @since 4.0
  */
 @ApiStatus.Internal
 public final class NettyNetworkChannel extends DefaultNetworkChannel implements NetworkChannel {
 
+  private static final boolean WRITE_BATCHING = Boolean.getBoolean("cloudnet.net.write-batching");
+  private static final boolean WRITE_BACKPRESSURE = Boolean.getBoolean("cloudnet.net.write-backpressure");
+  private static final int MAX_BATCHED_WRITES = Integer.getInteger("cloudnet.net.max-batched-writes", 64);
+  private static final long WRITABLE_AWAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(
+    Long.getLong("cloudnet.net.writable-await-timeout-millis", 5000));
+
   private final Channel channel;
+  private final Runnable flushTask = this::flushBatchedWrites;
+
+  private final Lock writabilityLock = new ReentrantLock();
+  private final Condition writableCondition = this.writabilityLock.newCondition();
+
+  // only accessed from the event loop of the channel
+  private int batchedWrites;
+  private boolean flushScheduled;
 
   /**
    * Constructs a new netty network channel instance.
@@ -71,7 +101,7 @@ public void sendPacket(@NonNull Packet... packets) {
       // on event loop, start all write operations
       var combiner = new PromiseCombiner(executor);
       for (var packet : packets) {
-        var writeFuture = this.channel.write(packet);
+        var writeFuture = this.write(packet, false);
         combiner.add(writeFuture);
       }
 
@@ -81,6 +111,7 @@ public void sendPacket(@NonNull Packet... packets) {
       promise.asFuture().addListener(_ -> this.channel.flush());
     } else {
       // this has to be called from event loop as promise combiner is not thread safe
+      this.awaitWritable();
       executor.execute(() -> this.sendPacket(packets));
     }
   }
@@ -90,7 +121,20 @@ public void sendPacket(@NonNull Packet... packets) {
    */
   @Override
   public void sendPacket(@NonNull Packet packet) {
-    this.channel.writeAndFlush(packet);
+    // prioritized packets are flushed directly, this also flushes all writes which were batched before
+    if (!WRITE_BATCHING || packet.prioritized()) {
+      this.write(packet, true);
+      return;
+    }
+
+    var executor = this.channel.executor();
+    if (executor.inEventLoop()) {
+      this.writeBatched(packet);
+    } else {
+      // the write count is not thread safe, submit the write to the event loop
+      this.awaitWritable();
+      executor.execute(() -> this.writeBatched(packet));
+    }
   }
 
   /**
@@ -98,7 +142,7 @@ public void sendPacket(@NonNull Packet packet) {
    */
   @Override
   public void sendPacketSync(@NonNull Packet packet) {
-    var future = this.channel.writeAndFlush(packet);
+    var future = this.write(packet, true);
     if (!future.executor().inEventLoop()) {
       // only await the future if we're not currently in the event loop
       // as this would deadlock the write operations triggered previously
@@ -133,4 +177,90 @@ public boolean active() {
   public void close() {
     this.channel.close();
   }
+
+  /**
+   * Notifies this channel that the writability or the active state of the underlying netty channel changed. This
+   * wakes up all threads waiting for the channel to become writable.
+   */
+  public void writabilityChanged() {
+    this.writabilityLock.lock();
+    try {
+      this.writableCondition.signalAll();
+    } finally {
+      this.writabilityLock.unlock();
+    }
+  }
+
+  /**
+   * Writes the given packet into the channel without flushing it directly. The channel is flushed when the maximum
+   * amount of batched writes is reached or after all writes which are currently queued in the event loop were
+   * processed. This method must be called from the event loop of the channel.
+   *
+   * @param packet the packet to write.
+   * @throws NullPointerException if the given packet is null.
+   */
+  private void writeBatched(@NonNull Packet packet) {
+    this.write(packet, false);
+    if (++this.batchedWrites >= MAX_BATCHED_WRITES) {
+      this.flushBatchedWrites();
+    } else if (!this.flushScheduled) {
+      // tasks are executed in submission order, the flush runs after all writes which were already submitted
+      this.flushScheduled = true;
+      this.channel.executor().execute(this.flushTask);
+    }
+  }
+
+  /**
+   * Writes the given packet into the channel, optionally flushing it directly. Shared packets are notified when the
+   * write completed, as the write might fail before the packet reached the encoder (for example if the channel was
+   * closed in the meantime) and the shared packet would never be released otherwise.
+   *
+   * @param packet the packet to write.
+   * @param flush  if the channel should be flushed after writing the packet.
+   * @return a future completed when the write operation completed.
+   * @throws NullPointerException if the given packet is null.
+   */
+  private @NonNull Future<Void> write(@NonNull Packet packet, boolean flush) {
+    var future = flush ? this.channel.writeAndFlush(packet) : this.channel.write(packet);
+    if (packet instanceof SharedPacket sharedPacket) {
+      future.addListener(_ -> sharedPacket.writeCompleted());
+    }
+    return future;
+  }
+
+  /**
+   * Flushes all writes which were batched. This method must be called from the event loop of the channel.
+   */
+  private void flushBatchedWrites() {
+    this.batchedWrites = 0;
+    this.flushScheduled = false;
+    this.channel.flush();
+  }
+
+  /**
+   * Blocks the calling thread until the channel is writable, inactive or the writable await timeout elapsed. This
+   * method does nothing if write backpressure is disabled. Threads which are shared between all channels are never
+   * blocked, the event loop of the channel is responsible to make the channel writable again and a blocked shared
+   * thread would stall the work of other channels and components.
+   */
+  private void awaitWritable() {
+    if (!WRITE_BACKPRESSURE
+      || this.channel.isWritable()
+      || !this.channel.isActive()
+      || NettyUtil.sharedNetworkThread()) {
+      return;
+    }
+
+    this.writabilityLock.lock();
+    try {
+      var remainingNanos = WRITABLE_AWAIT_NANOS;
+      while (remainingNanos > 0 && !this.channel.isWritable() && this.channel.isActive()) {
+        remainingNanos = this.writableCondition.awaitNanos(remainingNanos);
+      }
+    } catch (InterruptedException _) {
+      Thread.currentThread().interrupt(); // reset interrupted state
+    } finally {
+      this.writabilityLock.unlock();
+    }
+  }
 }
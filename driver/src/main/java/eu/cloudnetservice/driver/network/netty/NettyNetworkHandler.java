@@ -16,8 +16,13 @@
 
 package eu.cloudnetservice.driver.network.netty;
 
+import eu.cloudnetservice.driver.jfr.PacketDispatchJfrEvent;
+import eu.cloudnetservice.driver.metrics.Counter;
+import eu.cloudnetservice.driver.metrics.Histogram;
+import eu.cloudnetservice.driver.metrics.MetricRegistry;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.protocol.BasePacket;
+import eu.cloudnetservice.driver.network.scheduler.NetworkTaskLane;
 import io.netty5.channel.ChannelHandlerContext;
 import io.netty5.channel.SimpleChannelInboundHandler;
 import java.io.IOException;
@@ -30,6 +35,10 @@
 
 /**
  * The default netty inbound handler used to call downstream packet listeners when receiving a packet.
+ * <p>
+ * If ordered packet dispatching is enabled, the packets received by the handler are dispatched serially in the order
+ * they were received, while packets of different channels are still dispatched in parallel. Query responses are never
+ * dispatched in order, as the handler waiting for the response might block the dispatch of the channel.
  *
  * @since 4.0
  */
@@ -38,13 +47,31 @@ public abstract class NettyNetworkHandler extends SimpleChannelInboundHandler<Ba
 
   private static final Logger LOGGER = LoggerFactory.getLogger(NettyNetworkHandler.class);
 
+  private static final Counter RECEIVED_PACKETS = MetricRegistry.defaultRegistry().counter(
+    "cloudnet_packets_received",
+    "The amount of packets which were received");
+  private static final Histogram PACKET_DISPATCH = MetricRegistry.defaultRegistry().histogram(
+    "cloudnet_packet_dispatch_seconds",
+    "The time it took to dispatch a received packet, including the time the packet waited for dispatch");
+
+  private static final boolean ORDERED_DISPATCH = Boolean.getBoolean("cloudnet.net.ordered-packet-dispatch");
+
   protected volatile NettyNetworkChannel channel;
 
+  // only accessed from the event loop of the channel
+  private NetworkTaskLane packetLane;
+
   /**
    * {@inheritDoc}
    */
   @Override
   public void channelInactive(@NonNull ChannelHandlerContext ctx) throws Exception {
+    // wake up all threads waiting to write into the channel
+    var channel = this.channel;
+    if (channel != null) {
+      channel.writabilityChanged();
+    }
+
     if (!ctx.channel().isActive() || !ctx.channel().isOpen() || !ctx.channel().isWritable()) {
       this.channel.handler().handleChannelClose(this.channel);
 
@@ -53,6 +80,18 @@ public void channelInactive(@NonNull ChannelHandlerContext ctx) throws Exception
     }
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void channelWritabilityChanged(@NonNull ChannelHandlerContext ctx) {
+    var channel = this.channel;
+    if (channel != null) {
+      channel.writabilityChanged();
+    }
+    ctx.fireChannelWritabilityChanged();
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -77,11 +116,64 @@ public void channelReadComplete(@NonNull ChannelHandlerContext ctx) {
   @Override
   protected void messageReceived(@NonNull ChannelHandlerContext ctx, @NonNull BasePacket msg) {
     // post directly if the packet has a high priority
+    var receiveTime = System.nanoTime();
     if (msg.prioritized()) {
-      this.doHandlePacket(msg);
+      this.dispatchPacket(msg, receiveTime);
+    } else if (ORDERED_DISPATCH && !this.queryResponse(msg)) {
+      this.packetLane().execute(() -> this.dispatchPacket(msg, receiveTime));
     } else {
-      this.packetDispatcher().execute(() -> this.doHandlePacket(msg));
+      this.packetDispatcher().execute(() -> this.dispatchPacket(msg, receiveTime));
+    }
+  }
+
+  /**
+   * Checks if the given packet is a response to a query which was sent to the channel of this handler.
+   *
+   * @param packet the packet to check.
+   * @return true if the given packet is a response to a query sent to the channel, false otherwise.
+   * @throws NullPointerException if the given packet is null.
+   */
+  private boolean queryResponse(@NonNull BasePacket packet) {
+    var uniqueId = packet.uniqueId();
+    return uniqueId != null && this.channel.queryPacketManager().hasWaitingHandler(uniqueId);
+  }
+
+  /**
+   * Get the lane used to dispatch the packets of the channel of this handler in order, creating it if needed. This
+   * method must be called from the event loop of the channel.
+   *
+   * @return the lane to dispatch packets in order.
+   */
+  private @NonNull NetworkTaskLane packetLane() {
+    if (this.packetLane == null) {
+      this.packetLane = new NetworkTaskLane(this.packetDispatcher());
     }
+    return this.packetLane;
+  }
+
+  /**
+   * Handles the given packet and records the dispatch of it if the associated flight recorder event is enabled.
+   *
+   * @param packet      the packet to handle.
+   * @param receiveTime the nano time when the packet was received from the channel.
+   * @throws NullPointerException if the given packet is null.
+   */
+  private void dispatchPacket(@NonNull BasePacket packet, long receiveTime) {
+    RECEIVED_PACKETS.increment();
+    var event = new PacketDispatchJfrEvent();
+    if (!event.isEnabled()) {
+      this.doHandlePacket(packet);
+      PACKET_DISPATCH.recordSince(receiveTime);
+      return;
+    }
+
+    event.begin();
+    event.queueTime = System.nanoTime() - receiveTime;
+    event.packetChannel = packet.channel();
+    event.prioritized = packet.prioritized();
+    this.doHandlePacket(packet);
+    event.commit();
+    PACKET_DISPATCH.recordSince(receiveTime);
   }
 
   /**
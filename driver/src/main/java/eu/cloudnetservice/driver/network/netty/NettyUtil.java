@@ -18,7 +18,9 @@
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import eu.cloudnetservice.driver.DriverEnvironment;
+import eu.cloudnetservice.driver.metrics.MetricRegistry;
 import eu.cloudnetservice.driver.network.netty.buffer.NettyNioBufferReleasingAllocator;
+import eu.cloudnetservice.driver.network.netty.buffer.NettyPooledBufferAllocator;
 import eu.cloudnetservice.driver.network.scheduler.NetworkTaskScheduler;
 import eu.cloudnetservice.driver.network.scheduler.ScalingNetworkTaskScheduler;
 import io.netty5.buffer.Buffer;
@@ -34,7 +36,9 @@
 import io.netty5.handler.ssl.OpenSsl;
 import io.netty5.handler.ssl.SslProvider;
 import io.netty5.util.ResourceLeakDetector;
+import io.netty5.util.concurrent.FastThreadLocalThread;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import lombok.NonNull;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
@@ -48,6 +52,7 @@
 public final class NettyUtil {
 
   private static final int PACKET_DISPATCH_THREADS;
+  private static final ThreadLocal<Boolean> SHARED_THREAD = new ThreadLocal<>();
   private static final int NETTY_EVENT_LOOP_THREADS;
 
   private static final SslProvider SELECTED_SSL_PROVIDER;
@@ -77,10 +82,15 @@ public final class NettyUtil {
 
     // select the buffer allocator to use. our internal allocator will free all buffers provided to it directly
     // which significantly reduces the native memory usage. however, this might not be the designated behaviour for
-    // some users, therefore we leave it to their choice which allocator should be used.
+    // some users, therefore we leave it to their choice which allocator should be used. the pooled allocator trades
+    // a capped amount of retained native memory for less allocations when sending a lot of small packets.
     var preferredBufferAllocator = System.getProperty("cloudnet.net.preferred-buffer-allocator");
     if ("netty-default".equals(preferredBufferAllocator) || NettyNioBufferReleasingAllocator.notAbleToFreeBuffers()) {
       SELECTED_BUFFER_ALLOCATOR = DefaultBufferAllocators.offHeapAllocator();
+    } else if ("pooled".equals(preferredBufferAllocator)) {
+      var pooledAllocator = new NettyPooledBufferAllocator();
+      pooledAllocator.registerMetrics(MetricRegistry.defaultRegistry());
+      SELECTED_BUFFER_ALLOCATOR = pooledAllocator;
     } else {
       SELECTED_BUFFER_ALLOCATOR = new NettyNioBufferReleasingAllocator();
     }
@@ -126,11 +136,45 @@ private static int overriddenCountOrDefault(int overriddenSetting, int defaultVa
 
     var threadFactory = new ThreadFactoryBuilder()
       .setNameFormat("Packet-Dispatcher-%d")
-      .setThreadFactory(Executors.defaultThreadFactory())
+      .setThreadFactory(sharedThreadFactory(Executors.defaultThreadFactory()))
       .build();
     return new ScalingNetworkTaskScheduler(threadFactory, maximumPoolSize);
   }
 
+  /**
+   * Get if the current thread is shared between all network channels, which is the case for netty event loop threads,
+   * packet dispatcher threads and all threads which were marked as shared. These threads should never be blocked
+   * waiting for a single channel, as that would stall all other channels (and the listeners of their packets) as well.
+   *
+   * @return true if the current thread is shared between all network channels, false otherwise.
+   */
+  public static boolean sharedNetworkThread() {
+    return Thread.currentThread() instanceof FastThreadLocalThread || Boolean.TRUE.equals(SHARED_THREAD.get());
+  }
+
+  /**
+   * Marks the current thread as shared, which prevents it from being blocked waiting for a single channel to become
+   * writable. This should be called by threads which drive the work of many components, for example the tick loop.
+   */
+  public static void markSharedThread() {
+    SHARED_THREAD.set(Boolean.TRUE);
+  }
+
+  /**
+   * Wraps the given thread factory into a factory which marks all created threads as shared.
+   *
+   * @param threadFactory the thread factory to wrap.
+   * @return a thread factory which marks all threads created by the given factory as shared.
+   * @throws NullPointerException if the given thread factory is null.
+   * @see #markSharedThread()
+   */
+  public static @NonNull ThreadFactory sharedThreadFactory(@NonNull ThreadFactory threadFactory) {
+    return task -> threadFactory.newThread(() -> {
+      markSharedThread();
+      task.run();
+    });
+  }
+
   /**
    * Creates a new boss event loop group based on the selected netty transport. Boss event loops are used to accept new
    * connections, which only requires a single thread.
@@ -21,7 +21,6 @@
 import eu.cloudnetservice.driver.network.rpc.defaults.object.DefaultObjectMapper;
 import io.netty5.buffer.Buffer;
 import java.lang.reflect.Type;
-import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 import java.util.function.Function;
 import lombok.NonNull;
@@ -143,8 +142,7 @@ public byte[] readByteArray() {
    */
   @Override
   public @NonNull String readString() {
-    var stringBytes = this.readByteArray();
-    return new String(stringBytes, StandardCharsets.UTF_8);
+    return this.hotRead(buf -> NettyUtf8StringCodec.readUtf8(buf, NettyUtil.readVarInt(buf)));
   }
 
   /**
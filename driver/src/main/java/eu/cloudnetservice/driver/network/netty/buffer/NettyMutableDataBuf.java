@@ -20,7 +20,6 @@
 import eu.cloudnetservice.driver.network.netty.NettyUtil;
 import eu.cloudnetservice.driver.network.rpc.defaults.object.DefaultObjectMapper;
 import io.netty5.buffer.Buffer;
-import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 import java.util.function.BiConsumer;
 import lombok.NonNull;
@@ -149,8 +148,13 @@ public NettyMutableDataBuf(@NonNull Buffer buffer) {
    */
   @Override
   public @NonNull DataBuf.Mutable writeString(@NonNull String string) {
-    var bytes = string.getBytes(StandardCharsets.UTF_8);
-    return this.writeByteArray(bytes);
+    // encode the string directly into the buffer, without copying it into a temporary byte array first
+    var utf8Length = NettyUtf8StringCodec.utf8Length(string);
+    var sizeBytes = NettyUtil.varIntBytes(utf8Length);
+    this.buffer.ensureWritable(sizeBytes + utf8Length);
+    NettyUtil.writeVarInt(this.buffer, utf8Length);
+    NettyUtf8StringCodec.writeUtf8(this.buffer, string);
+    return this;
   }
 
   /**
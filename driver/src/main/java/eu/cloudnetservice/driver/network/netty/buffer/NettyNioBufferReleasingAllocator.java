@@ -64,6 +64,17 @@ public static boolean notAbleToFreeBuffers() {
     return DirectBufferFreeDrop.DIRECT_BUFFER_CLEANER == null;
   }
 
+  /**
+   * Frees the given direct buffer directly, without waiting for the garbage collector to clean it up. The given buffer
+   * must not be accessed anymore after calling this method.
+   *
+   * @param buffer the direct buffer to free.
+   * @throws NullPointerException if the given buffer is null.
+   */
+  static void freeDirectBuffer(@NonNull ByteBuffer buffer) {
+    DirectBufferFreeDrop.free(buffer);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -163,20 +174,29 @@ private record DirectBufferFreeDrop(@NonNull ByteBufferMemoryManager memoryManag
     }
 
     /**
-     * {@inheritDoc}
+     * Frees the given buffer using the direct buffer cleaner, if the cleaner is available and the buffer is direct.
+     *
+     * @param buffer the buffer to free.
+     * @throws NullPointerException if the given buffer is null.
      */
-    @Override
-    public void drop(@NonNull Buffer obj) {
-      var recoverableMemory = (ByteBuffer) this.memoryManager.unwrapRecoverableMemory(obj);
-      if (DIRECT_BUFFER_CLEANER != null && recoverableMemory.isDirect()) {
+    private static void free(@NonNull ByteBuffer buffer) {
+      if (DIRECT_BUFFER_CLEANER != null && buffer.isDirect()) {
         try {
-          DIRECT_BUFFER_CLEANER.invokeExact(recoverableMemory);
+          DIRECT_BUFFER_CLEANER.invokeExact(buffer);
         } catch (Throwable exception) {
           LOGGER.debug("Unable to free direct ByteBuf using Unsafe.invokeCleaner: {}", exception.getMessage());
         }
       }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void drop(@NonNull Buffer obj) {
+      free((ByteBuffer) this.memoryManager.unwrapRecoverableMemory(obj));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,406 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.netty.buffer;
+
+import eu.cloudnetservice.driver.metrics.MetricRegistry;
+import io.netty5.buffer.AllocationType;
+import io.netty5.buffer.AllocatorControl;
+import io.netty5.buffer.Buffer;
+import io.netty5.buffer.BufferAllocator;
+import io.netty5.buffer.Drop;
+import io.netty5.buffer.StandardAllocationTypes;
+import io.netty5.buffer.bytebuffer.ByteBufferMemoryManager;
+import io.netty5.buffer.internal.ArcDrop;
+import io.netty5.buffer.internal.CleanerDrop;
+import io.netty5.buffer.internal.InternalBufferUtils;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A buffer allocator that is pooling nio buffers in size classes. Each size class holds direct buffers of a power of
+ * two size, a requested buffer is served by a slice of a pooled buffer of the smallest size class it fits into. Closed
+ * buffers are first cached in the closing thread and then in a pool shared between all threads. The native memory
+ * retained by the caches and the shared pool is capped, buffers which would exceed the cap and buffers that are too
+ * large for all size classes are freed directly when they are closed.
+ *
+ * @since 4.0
+ */
+@ApiStatus.Internal
+public final class NettyPooledBufferAllocator implements BufferAllocator, AllocatorControl {
+
+  private static final int MIN_SIZE_CLASS_SHIFT = 6; // 64 bytes
+  private static final int MAX_SIZE_CLASS_SHIFT = 16; // 64 kilobytes
+  private static final int SIZE_CLASSES = MAX_SIZE_CLASS_SHIFT - MIN_SIZE_CLASS_SHIFT + 1;
+
+  private static final long MAX_RETAINED_BYTES = Long.getLong(
+    "cloudnet.net.pooled-allocator.max-retained-bytes",
+    32L * 1024 * 1024);
+  private static final int THREAD_CACHE_BYTES_PER_CLASS = Integer.getInteger(
+    "cloudnet.net.pooled-allocator.thread-cache-bytes-per-class",
+    64 * 1024);
+
+  private static final Cleaner THREAD_CACHE_CLEANER = Cleaner.create(
+    Thread.ofPlatform().daemon().name("pooled-allocator-cache-cleaner").factory());
+
+  private final ByteBufferMemoryManager manager;
+  private final NettyNioBufferReleasingAllocator unpooledAllocator;
+
+  private final Queue<ByteBuffer>[] sharedPools;
+  private final ThreadLocal<ThreadCache> threadCaches = ThreadLocal.withInitial(this::createThreadCache);
+
+  private final AtomicLong retainedBytes = new AtomicLong();
+  private final LongAdder allocations = new LongAdder();
+  private final LongAdder pooledAllocations = new LongAdder();
+  private final LongAdder unpooledAllocations = new LongAdder();
+  private final LongAdder returnedBuffers = new LongAdder();
+  private final LongAdder freedBuffers = new LongAdder();
+
+  private volatile boolean closed;
+
+  /**
+   * Constructs a new pooled buffer allocator instance. All instances are backed by a byte buffer memory manager.
+   */
+  @SuppressWarnings("unchecked")
+  public NettyPooledBufferAllocator() {
+    this.manager = new ByteBufferMemoryManager();
+    this.unpooledAllocator = new NettyNioBufferReleasingAllocator();
+
+    this.sharedPools = new Queue[SIZE_CLASSES];
+    for (var sizeClass = 0; sizeClass < SIZE_CLASSES; sizeClass++) {
+      this.sharedPools[sizeClass] = new ConcurrentLinkedQueue<>();
+    }
+  }
+
+  /**
+   * Get the index of the smallest size class which can hold a buffer of the given size, or -1 if the given size is too
+   * large for all size classes.
+   *
+   * @param size the size of the buffer to get the size class of.
+   * @return the index of the size class for the given size, -1 if the size cannot be pooled.
+   */
+  static int sizeClass(int size) {
+    if (size > 1 << MAX_SIZE_CLASS_SHIFT) {
+      return -1;
+    }
+
+    var shift = size <= 1 ? 0 : Integer.SIZE - Integer.numberOfLeadingZeros(size - 1);
+    return Math.max(shift, MIN_SIZE_CLASS_SHIFT) - MIN_SIZE_CLASS_SHIFT;
+  }
+
+  /**
+   * Get the size of the buffers which are pooled in the given size class.
+   *
+   * @param sizeClass the index of the size class.
+   * @return the size of the buffers in the given size class.
+   */
+  static int sizeClassSize(int sizeClass) {
+    return 1 << (sizeClass + MIN_SIZE_CLASS_SHIFT);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull AllocationType getAllocationType() {
+    return StandardAllocationTypes.OFF_HEAP;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Buffer allocate(int size) {
+    if (this.closed) {
+      throw InternalBufferUtils.allocatorClosedException();
+    }
+
+    InternalBufferUtils.assertValidBufferSize(size);
+    this.allocations.increment();
+
+    // buffers which are too large are not pooled, they are freed directly when closed
+    var sizeClass = sizeClass(size);
+    if (sizeClass == -1) {
+      this.unpooledAllocations.increment();
+      return this.unpooledAllocator.allocate(size);
+    }
+
+    var chunk = this.takeChunk(sizeClass);
+    if (chunk == null) {
+      chunk = ByteBuffer.allocateDirect(sizeClassSize(sizeClass));
+    } else {
+      this.pooledAllocations.increment();
+    }
+
+    // the returned buffer is a view of the requested size, the whole chunk is returned to the pool when dropping it
+    var chunkDrop = new PooledChunkDrop(this, chunk, sizeClass);
+    var drop = CleanerDrop.wrap(ArcDrop.wrap(chunkDrop), this.manager);
+    var buffer = this.manager.recoverMemory(this, this.manager.sliceMemory(chunk, 0, size), drop);
+    return buffer.fill((byte) 0);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Supplier<Buffer> constBufferSupplier(byte[] bytes) {
+    if (this.closed) {
+      throw InternalBufferUtils.allocatorClosedException();
+    }
+
+    // constant buffers are kept alive for a long time, there is no need to pool them
+    return this.unpooledAllocator.constBufferSupplier(bytes);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull BufferAllocator getAllocator() {
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isPooling() {
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void close() {
+    this.closed = true;
+    this.unpooledAllocator.close();
+
+    // free all buffers which are retained in the shared pools, the thread caches are freed when the threads die
+    for (var sizeClass = 0; sizeClass < SIZE_CLASSES; sizeClass++) {
+      ByteBuffer chunk;
+      while ((chunk = this.sharedPools[sizeClass].poll()) != null) {
+        this.retainedBytes.addAndGet(-chunk.capacity());
+        this.freeChunk(chunk);
+      }
+    }
+  }
+
+  /**
+   * Get a snapshot of the allocation and free rates of this allocator as well as the currently retained native memory.
+   *
+   * @return a snapshot of the metrics of this allocator.
+   */
+  public @NonNull PoolMetrics metrics() {
+    return new PoolMetrics(
+      this.allocations.sum(),
+      this.pooledAllocations.sum(),
+      this.unpooledAllocations.sum(),
+      this.returnedBuffers.sum(),
+      this.freedBuffers.sum(),
+      this.retainedBytes.get());
+  }
+
+  /**
+   * Registers the allocation and free rates of this allocator as well as the currently retained native memory as gauges
+   * in the given metric registry.
+   *
+   * @param registry the registry to register the gauges in.
+   * @throws NullPointerException if the given registry is null.
+   */
+  public void registerMetrics(@NonNull MetricRegistry registry) {
+    registry.gauge(
+      "cloudnet_pooled_allocator_allocations",
+      "The amount of buffers which were allocated by the pooled allocator",
+      this.allocations::sum);
+    registry.gauge(
+      "cloudnet_pooled_allocator_pooled_allocations",
+      "The amount of allocations which were served by a pooled buffer",
+      this.pooledAllocations::sum);
+    registry.gauge(
+      "cloudnet_pooled_allocator_unpooled_allocations",
+      "The amount of allocations which were too large to be pooled",
+      this.unpooledAllocations::sum);
+    registry.gauge(
+      "cloudnet_pooled_allocator_returned_buffers",
+      "The amount of buffers which were returned to the pool after closing them",
+      this.returnedBuffers::sum);
+    registry.gauge(
+      "cloudnet_pooled_allocator_freed_buffers",
+      "The amount of pooled buffers which were freed instead of being returned to the pool",
+      this.freedBuffers::sum);
+    registry.gauge(
+      "cloudnet_pooled_allocator_retained_bytes",
+      "The native memory which is currently retained by the pooled allocator, in bytes",
+      this.retainedBytes::get);
+  }
+
+  private @Nullable ByteBuffer takeChunk(int sizeClass) {
+    var chunk = Thread.currentThread().isVirtual() ? null : this.threadCaches.get().poll(sizeClass);
+    if (chunk == null) {
+      chunk = this.sharedPools[sizeClass].poll();
+    }
+
+    if (chunk != null) {
+      this.retainedBytes.addAndGet(-chunk.capacity());
+    }
+    return chunk;
+  }
+
+  private void returnChunk(@NonNull ByteBuffer chunk, int sizeClass) {
+    // free the buffer if retaining it would exceed the memory cap
+    var chunkSize = chunk.capacity();
+    if (this.closed || this.retainedBytes.addAndGet(chunkSize) > MAX_RETAINED_BYTES) {
+      this.retainedBytes.addAndGet(-chunkSize);
+      this.freeChunk(chunk);
+      return;
+    }
+
+    // virtual threads are short-lived, a cache for them would most likely never be used again
+    this.returnedBuffers.increment();
+    if (Thread.currentThread().isVirtual() || !this.threadCaches.get().offer(sizeClass, chunk)) {
+      this.sharedPools[sizeClass].offer(chunk);
+    }
+  }
+
+  private void freeChunk(@NonNull ByteBuffer chunk) {
+    this.freedBuffers.increment();
+    NettyNioBufferReleasingAllocator.freeDirectBuffer(chunk);
+  }
+
+  private @NonNull ThreadCache createThreadCache() {
+    // free the retained buffers of the cache once the owning thread is gone
+    var cache = new ThreadCache();
+    THREAD_CACHE_CLEANER.register(Thread.currentThread(), () -> cache.release(this));
+    return cache;
+  }
+
+  /**
+   * The allocation and free rates of a pooled buffer allocator.
+   *
+   * @param allocations         the number of buffers that were allocated.
+   * @param pooledAllocations   the number of allocations that were served by a pooled buffer.
+   * @param unpooledAllocations the number of allocations that were too large to be pooled.
+   * @param returnedBuffers     the number of buffers that were returned to the pool after closing them.
+   * @param freedBuffers        the number of pooled buffers that were freed, for example because of the memory cap.
+   * @param retainedBytes       the native memory that is currently retained by the pool, in bytes.
+   * @since 4.0
+   */
+  public record PoolMetrics(
+    long allocations,
+    long pooledAllocations,
+    long unpooledAllocations,
+    long returnedBuffers,
+    long freedBuffers,
+    long retainedBytes
+  ) {
+
+    /**
+     * Get the ratio of allocations which were served by a pooled buffer.
+     *
+     * @return the ratio of allocations which were served by a pooled buffer.
+     */
+    public double hitRatio() {
+      return this.allocations == 0 ? 0 : (double) this.pooledAllocations / this.allocations;
+    }
+  }
+
+  /**
+   * The buffers which are cached for a single thread, the number of buffers per size class is limited by the size of
+   * the buffers in the class.
+   *
+   * @since 4.0
+   */
+  private static final class ThreadCache {
+
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<ByteBuffer>[] chunks = new ArrayDeque[SIZE_CLASSES];
+
+    private @Nullable ByteBuffer poll(int sizeClass) {
+      var cachedChunks = this.chunks[sizeClass];
+      return cachedChunks == null ? null : cachedChunks.pollLast();
+    }
+
+    private boolean offer(int sizeClass, @NonNull ByteBuffer chunk) {
+      var cachedChunks = this.chunks[sizeClass];
+      if (cachedChunks == null) {
+        cachedChunks = this.chunks[sizeClass] = new ArrayDeque<>();
+      }
+
+      var capacity = Math.max(1, THREAD_CACHE_BYTES_PER_CLASS / sizeClassSize(sizeClass));
+      return cachedChunks.size() < capacity && cachedChunks.offerLast(chunk);
+    }
+
+    private void release(@NonNull NettyPooledBufferAllocator allocator) {
+      for (var cachedChunks : this.chunks) {
+        if (cachedChunks != null) {
+          for (var chunk : cachedChunks) {
+            allocator.retainedBytes.addAndGet(-chunk.capacity());
+            allocator.freeChunk(chunk);
+          }
+          cachedChunks.clear();
+        }
+      }
+    }
+  }
+
+  /**
+   * A drop implementation that returns the pooled chunk backing a buffer to the allocator upon dropping.
+   *
+   * @param allocator the allocator which allocated the buffer.
+   * @param chunk     the pooled chunk backing the buffer.
+   * @param sizeClass the size class of the pooled chunk.
+   * @since 4.0
+   */
+  private record PooledChunkDrop(
+    @NonNull NettyPooledBufferAllocator allocator,
+    @NonNull ByteBuffer chunk,
+    int sizeClass
+  ) implements Drop<Buffer> {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void drop(@NonNull Buffer obj) {
+      this.allocator.returnChunk(this.chunk, this.sizeClass);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NonNull Drop<Buffer> fork() {
+      throw new IllegalStateException("Cannot fork PooledChunkDrop, must be guarded by an ArcDrop");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void attach(@NonNull Buffer obj) {
+    }
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.netty.buffer;
+
+import io.netty5.buffer.Buffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import lombok.NonNull;
+
+/**
+ * Encodes strings as UTF-8 directly into netty buffers and decodes them from netty buffers. The encoding is equal to
+ * the encoding of {@link String#getBytes(java.nio.charset.Charset)}, without creating a temporary byte array for it.
+ * <p>
+ * Short decoded strings are kept in a fixed-size table which is shared between all threads, keyed by their encoded
+ * bytes. Strings which are repeated in a lot of packets (for example the names of tasks, services or nodes) are reused
+ * from the table instead of creating a new string instance for each read.
+ *
+ * @since 4.0
+ */
+final class NettyUtf8StringCodec {
+
+  private static final int SCRATCH_BUFFER_SIZE = 8192;
+  private static final int MAX_CACHED_STRING_BYTES = 64;
+  private static final int STRING_CACHE_SIZE = 4096; // must be a power of two
+
+  private static final CachedString[] STRING_CACHE = new CachedString[STRING_CACHE_SIZE];
+  private static final ThreadLocal<byte[]> SCRATCH_BUFFERS = ThreadLocal.withInitial(
+    () -> new byte[SCRATCH_BUFFER_SIZE]);
+
+  private NettyUtf8StringCodec() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Get the amount of bytes the given string takes when encoded as UTF-8.
+   *
+   * @param string the string to get the encoded length of.
+   * @return the amount of bytes the given string takes when encoded as UTF-8.
+   * @throws NullPointerException if the given string is null.
+   */
+  public static int utf8Length(@NonNull String string) {
+    var length = string.length();
+    var utf8Length = length;
+    for (var index = 0; index < length; index++) {
+      var c = string.charAt(index);
+      if (c >= 0x80) {
+        if (c < 0x800) {
+          utf8Length += 1;
+        } else if (Character.isSurrogate(c)) {
+          // a valid surrogate pair takes 4 bytes, an unpaired surrogate is replaced by a single byte
+          if (isSurrogatePair(string, index)) {
+            utf8Length += 2;
+            index++;
+          }
+        } else {
+          utf8Length += 2;
+        }
+      }
+    }
+
+    return utf8Length;
+  }
+
+  /**
+   * Writes the given string encoded as UTF-8 into the given buffer. The caller must ensure that the buffer has enough
+   * space to write the encoded string.
+   *
+   * @param buffer the buffer to write the string to.
+   * @param string the string to write.
+   * @throws NullPointerException if the given buffer or string is null.
+   */
+  public static void writeUtf8(@NonNull Buffer buffer, @NonNull String string) {
+    var length = string.length();
+    for (var index = 0; index < length; index++) {
+      var c = string.charAt(index);
+      if (c < 0x80) {
+        buffer.writeByte((byte) c);
+      } else if (c < 0x800) {
+        buffer.writeByte((byte) (0xC0 | (c >> 6)));
+        buffer.writeByte((byte) (0x80 | (c & 0x3F)));
+      } else if (Character.isSurrogate(c)) {
+        if (isSurrogatePair(string, index)) {
+          var codePoint = Character.toCodePoint(c, string.charAt(++index));
+          buffer.writeByte((byte) (0xF0 | (codePoint >> 18)));
+          buffer.writeByte((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+          buffer.writeByte((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+          buffer.writeByte((byte) (0x80 | (codePoint & 0x3F)));
+        } else {
+          // unpaired surrogate, replace it like the jdk encoder does
+          buffer.writeByte((byte) '?');
+        }
+      } else {
+        buffer.writeByte((byte) (0xE0 | (c >> 12)));
+        buffer.writeByte((byte) (0x80 | ((c >> 6) & 0x3F)));
+        buffer.writeByte((byte) (0x80 | (c & 0x3F)));
+      }
+    }
+  }
+
+  /**
+   * Reads a string which is encoded as UTF-8 and has the given encoded length from the given buffer.
+   *
+   * @param buffer the buffer to read the string from.
+   * @param length the length of the encoded string, in bytes.
+   * @return the decoded string.
+   * @throws NullPointerException if the given buffer is null.
+   */
+  public static @NonNull String readUtf8(@NonNull Buffer buffer, int length) {
+    if (length == 0) {
+      return "";
+    }
+
+    // virtual threads are short-lived, a scratch buffer for them would most likely never be used again
+    var bytes = length > SCRATCH_BUFFER_SIZE || Thread.currentThread().isVirtual()
+      ? new byte[length]
+      : SCRATCH_BUFFERS.get();
+    buffer.readBytes(bytes, 0, length);
+
+    if (length > MAX_CACHED_STRING_BYTES) {
+      return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    // the table is read and written without synchronization, a lost update only results in a cache miss
+    var slot = hash(bytes, length) & (STRING_CACHE_SIZE - 1);
+    var cached = STRING_CACHE[slot];
+    if (cached != null && Arrays.equals(cached.bytes(), 0, cached.bytes().length, bytes, 0, length)) {
+      return cached.value();
+    }
+
+    var string = new String(bytes, 0, length, StandardCharsets.UTF_8);
+    STRING_CACHE[slot] = new CachedString(Arrays.copyOf(bytes, length), string);
+    return string;
+  }
+
+  private static boolean isSurrogatePair(@NonNull String string, int index) {
+    return Character.isHighSurrogate(string.charAt(index))
+      && index + 1 < string.length()
+      && Character.isLowSurrogate(string.charAt(index + 1));
+  }
+
+  private static int hash(byte[] bytes, int length) {
+    var hash = 1;
+    for (var index = 0; index < length; index++) {
+      hash = 31 * hash + bytes[index];
+    }
+    return hash ^ (hash >>> 16);
+  }
+
+  private record CachedString(byte[] bytes, @NonNull String value) {
+
+  }
+}
@@ -19,9 +19,11 @@
 import eu.cloudnetservice.driver.network.netty.NettyUtil;
 import eu.cloudnetservice.driver.network.netty.buffer.NettyImmutableDataBuf;
 import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.protocol.SharedPacket;
 import io.netty5.buffer.Buffer;
 import io.netty5.channel.ChannelHandlerContext;
 import io.netty5.handler.codec.MessageToByteEncoder;
+import io.netty5.util.concurrent.Future;
 import lombok.NonNull;
 import org.jetbrains.annotations.ApiStatus;
 
@@ -34,6 +36,9 @@
  *   <li>An optional query unique id if the packet is a query.
  *   <li>The data transferred to this component, might be empty.
  * </ol>
+ * <p>
+ * Shared packets are only encoded once, each channel they are written to receives a read-only view of the same
+ * encoded packet. The encoded packet itself is closed by the shared packet once the writes to all channels completed.
  *
  * @since 4.0
  */
@@ -42,11 +47,48 @@ public final class NettyPacketEncoder extends MessageToByteEncoder<Packet> {
 
   public static final NettyPacketEncoder INSTANCE = new NettyPacketEncoder();
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Future<Void> write(@NonNull ChannelHandlerContext ctx, @NonNull Object msg) {
+    if (msg instanceof SharedPacket sharedPacket) {
+      // encode the packet once, then write a shared view of the encoded packet into each channel
+      Buffer frame = sharedPacket.encodedFrame(packet -> {
+        var buffer = ctx.bufferAllocator().allocate(frameLength(packet));
+        writeFrame(packet, buffer);
+        return buffer.makeReadOnly();
+      });
+      return ctx.write(frame.copy(frame.readerOffset(), frame.readableBytes(), true));
+    }
+
+    return super.write(ctx, msg);
+  }
+
   /**
    * {@inheritDoc}
    */
   @Override
   protected Buffer allocateBuffer(@NonNull ChannelHandlerContext ctx, @NonNull Packet msg) {
+    return ctx.bufferAllocator().allocate(frameLength(msg));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void encode(@NonNull ChannelHandlerContext ctx, @NonNull Packet msg, @NonNull Buffer out) {
+    writeFrame(msg, out);
+  }
+
+  /**
+   * Calculates the amount of bytes needed to encode the given packet.
+   *
+   * @param msg the packet to calculate the encoded length of.
+   * @return the amount of bytes needed to encode the given packet.
+   * @throws NullPointerException if the given packet is null.
+   */
+  private static int frameLength(@NonNull Packet msg) {
     // we allocate 2 booleans (prioritized and isQuery) + content length + channel in advance
     var bufferLength = 2
       + msg.content().readableBytes()
@@ -57,14 +99,17 @@ protected Buffer allocateBuffer(@NonNull ChannelHandlerContext ctx, @NonNull Pac
       bufferLength += 16;
     }
 
-    return ctx.bufferAllocator().allocate(bufferLength);
+    return bufferLength;
   }
 
   /**
-   * {@inheritDoc}
+   * Writes the given packet into the given buffer and releases the packet content once.
+   *
+   * @param msg the packet to write.
+   * @param out the buffer to write the packet to.
+   * @throws NullPointerException if the given packet or buffer is null.
    */
-  @Override
-  protected void encode(@NonNull ChannelHandlerContext ctx, @NonNull Packet msg, @NonNull Buffer out) {
+  private static void writeFrame(@NonNull Packet msg, @NonNull Buffer out) {
     NettyUtil.writeVarInt(out, msg.channel());
     out.writeBoolean(msg.prioritized());
 
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.protocol;
+
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A packet which gets sent to multiple channels at once. The packet is only encoded when the first channel writes it,
+ * all channels are then writing a shared read-only view of the encoded packet rather than encoding (and copying) the
+ * packet content for each channel again. A shared packet must be sent to exactly the amount of channels that was given
+ * when constructing it. The encoded packet (or the packet content if no channel encoded the packet) is released once
+ * the write to each channel completed, regardless if the write was successful or not.
+ * <p>
+ * Shared packets cannot be used as queries, as the query unique id is different for each channel the packet is sent to.
+ *
+ * @since 4.0
+ */
+public final class SharedPacket implements Packet {
+
+  private final Packet packet;
+  private final AtomicInteger pendingWrites;
+
+  private AutoCloseable encodedFrame;
+
+  /**
+   * Constructs a new shared packet instance.
+   *
+   * @param packet  the packet to share between the given amount of channels.
+   * @param targets the amount of channels the packet will be sent to.
+   * @throws NullPointerException     if the given packet is null.
+   * @throws IllegalArgumentException if the given packet is a query or the given target count is not positive.
+   */
+  public SharedPacket(@NonNull Packet packet, int targets) {
+    if (targets <= 0) {
+      throw new IllegalArgumentException("Shared packet must be sent to at least one channel");
+    }
+    if (packet.uniqueId() != null) {
+      throw new IllegalArgumentException("Query packets cannot be shared between channels");
+    }
+
+    this.packet = packet;
+    this.pendingWrites = new AtomicInteger(targets);
+  }
+
+  /**
+   * Get the encoded form of the wrapped packet, encoding it using the given encoder if this is the first channel that
+   * writes the packet. The content of the wrapped packet is released by the encoder.
+   *
+   * @param encoder the encoder to use if the packet was not yet encoded.
+   * @param <T>     the type of the encoded packet.
+   * @return the encoded form of the wrapped packet.
+   * @throws NullPointerException if the given encoder is null.
+   */
+  @ApiStatus.Internal
+  @SuppressWarnings("unchecked")
+  public synchronized <T extends AutoCloseable> @NonNull T encodedFrame(@NonNull Function<Packet, T> encoder) {
+    if (this.encodedFrame == null) {
+      this.encodedFrame = encoder.apply(this.packet);
+    }
+    return (T) this.encodedFrame;
+  }
+
+  /**
+   * Marks that the write of this packet to one channel completed, either successfully or not. When the writes to all
+   * target channels completed, the encoded packet is closed. If no channel encoded the packet, for example because all
+   * target channels were closed before, the content of the wrapped packet is released instead.
+   */
+  @ApiStatus.Internal
+  public void writeCompleted() {
+    if (this.pendingWrites.decrementAndGet() == 0) {
+      synchronized (this) {
+        if (this.encodedFrame == null) {
+          this.packet.content().release();
+        } else {
+          try {
+            this.encodedFrame.close();
+          } catch (Exception exception) {
+            throw new IllegalStateException("Unable to close encoded shared packet", exception);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Packet constructResponse(@NonNull DataBuf content) {
+    return this.packet.constructResponse(content);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @Nullable UUID uniqueId() {
+    return null;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void uniqueId(@Nullable UUID uniqueId) {
+    if (uniqueId != null) {
+      throw new UnsupportedOperationException("Query packets cannot be shared between channels");
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int channel() {
+    return this.packet.channel();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean prioritized() {
+    return this.packet.prioritized();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean readable() {
+    return this.packet.readable();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull DataBuf content() {
+    return this.packet.content();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Instant creation() {
+    return this.packet.creation();
+  }
+}
@@ -20,6 +20,9 @@
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.github.benmanes.caffeine.cache.RemovalListener;
+import eu.cloudnetservice.driver.metrics.Counter;
+import eu.cloudnetservice.driver.metrics.Gauge;
+import eu.cloudnetservice.driver.metrics.MetricRegistry;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.driver.network.protocol.QueryPacketManager;
@@ -38,6 +41,13 @@
  */
 public class DefaultQueryPacketManager implements QueryPacketManager {
 
+  private static final Gauge PENDING_QUERIES = MetricRegistry.defaultRegistry().gauge(
+    "cloudnet_query_pending",
+    "The amount of query packets which are waiting for a response");
+  private static final Counter QUERY_TIMEOUTS = MetricRegistry.defaultRegistry().counter(
+    "cloudnet_query_timeouts",
+    "The amount of query packets which did not receive a response in time");
+
   protected final NetworkChannel networkChannel;
   protected final Cache<UUID, CompletableFuture<Packet>> waitingHandlers;
 
@@ -102,6 +112,7 @@ public boolean hasWaitingHandler(@NonNull UUID queryUniqueId) {
     var responseTask = new CompletableFuture<Packet>();
     var queryUniqueId = Objects.requireNonNullElseGet(packet.uniqueId(), UUID::randomUUID);
     this.waitingHandlers.put(queryUniqueId, responseTask);
+    PENDING_QUERIES.increment();
 
     packet.uniqueId(queryUniqueId);
     this.networkChannel.sendPacketSync(packet);
@@ -116,6 +127,11 @@ public boolean hasWaitingHandler(@NonNull UUID queryUniqueId) {
    */
   protected @NonNull RemovalListener<UUID, CompletableFuture<Packet>> newRemovalListener() {
     return (_, value, cause) -> {
+      PENDING_QUERIES.decrement();
+      if (cause == RemovalCause.EXPIRED) {
+        QUERY_TIMEOUTS.increment();
+      }
+
       if (cause != RemovalCause.EXPLICIT && value != null) {
         value.completeExceptionally(new TimeoutException());
       }
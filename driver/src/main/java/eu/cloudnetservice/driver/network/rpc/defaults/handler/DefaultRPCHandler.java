@@ -19,6 +19,7 @@
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import eu.cloudnetservice.common.concurrent.TaskUtil;
+import eu.cloudnetservice.driver.jfr.RPCInvocationJfrEvent;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
 import eu.cloudnetservice.driver.network.rpc.defaults.DefaultRPCProvider;
@@ -143,7 +144,15 @@ final class DefaultRPCHandler extends DefaultRPCProvider implements RPCHandler {
 
     try {
       var methodInvoker = maybeMethodInvoker.get();
+      // record the synchronous part of the method invocation, asynchronous results are completed by the callee
+      var invocationEvent = new RPCInvocationJfrEvent();
+      invocationEvent.begin();
       var invocationResult = methodInvoker.callMethod(workingInstance, methodArguments);
+      if (invocationEvent.shouldCommit()) {
+        invocationEvent.targetClass = this.targetClass.getName();
+        invocationEvent.methodName = context.methodName();
+        invocationEvent.commit();
+      }
       if (invocationResult instanceof Future<?> future) {
         // future needs special care as we need to wait for the result to become available
         var futureCompletionStage = switch (future) {
@@ -16,6 +16,8 @@
 
 package eu.cloudnetservice.driver.network.rpc.listener;
 
+import eu.cloudnetservice.driver.metrics.Histogram;
+import eu.cloudnetservice.driver.metrics.MetricRegistry;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
@@ -41,6 +43,10 @@
 @Singleton
 public final class RPCPacketListener implements PacketListener {
 
+  private static final Histogram RPC_HANDLE = MetricRegistry.defaultRegistry().histogram(
+    "cloudnet_rpc_handle_seconds",
+    "The time it took to handle a rpc request, excluding the time waited for asynchronous method results");
+
   private final RPCHandlerRegistry rpcHandlerRegistry;
 
   /**
@@ -62,6 +68,7 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) thro
     var content = packet.content();
     var resultExpected = packet.uniqueId() != null;
 
+    var handleStart = System.nanoTime();
     try {
       var rpcDepth = content.readInt();
       if (rpcDepth <= 0) {
@@ -95,6 +102,7 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) thro
       // specifically release the buffer here to prevent memory leaks, especially if we didn't consume
       // the whole buffer content (for example due to an exception during handling)
       content.forceRelease();
+      RPC_HANDLE.recordSince(handleStart);
     }
   }
 
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.scheduler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An executor which runs all submitted tasks serially in submission order, using a shared executor to run them. Tasks
+ * of different lanes which share the same executor are executed in parallel. A lane only occupies a thread of the
+ * shared executor while it has tasks to run, an idle lane does not hold any resources besides its empty task queue.
+ * <p>
+ * To prevent a lane with a constant stream of tasks from occupying a thread of the shared executor forever, a lane
+ * releases its thread after running a batch of tasks and re-submits itself to the shared executor if there are more
+ * tasks to run.
+ *
+ * @since 4.0
+ */
+public final class NetworkTaskLane implements Executor {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(NetworkTaskLane.class);
+  private static final int MAX_TASKS_PER_RUN = 64;
+
+  private final Executor executor;
+  private final Runnable drainTask = this::drain;
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+  /**
+   * Constructs a new task lane which runs its tasks using the given executor.
+   *
+   * @param executor the executor to run the tasks of this lane.
+   * @throws NullPointerException if the given executor is null.
+   */
+  public NetworkTaskLane(@NonNull Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void execute(@NonNull Runnable command) {
+    this.tasks.add(command);
+    this.scheduleDrain();
+  }
+
+  /**
+   * Submits the drain task of this lane to the shared executor if there are tasks to run and the lane is not already
+   * scheduled or running.
+   *
+   * @throws RejectedExecutionException if the shared executor rejected the drain task.
+   */
+  private void scheduleDrain() {
+    if (!this.tasks.isEmpty() && this.scheduled.compareAndSet(false, true)) {
+      try {
+        this.executor.execute(this.drainTask);
+      } catch (RejectedExecutionException exception) {
+        this.scheduled.set(false);
+        throw exception;
+      }
+    }
+  }
+
+  /**
+   * Runs a batch of the queued tasks of this lane, then re-schedules the lane if more tasks were submitted meanwhile.
+   */
+  private void drain() {
+    try {
+      for (var run = 0; run < MAX_TASKS_PER_RUN; run++) {
+        var task = this.tasks.poll();
+        if (task == null) {
+          break;
+        }
+
+        try {
+          task.run();
+        } catch (Exception exception) {
+          // keep the lane alive, the following tasks must still run
+          LOGGER.error("Exception while running task of network task lane", exception);
+        }
+      }
+    } finally {
+      this.scheduled.set(false);
+      this.scheduleDrain();
+    }
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.service;
+
+import java.util.HashSet;
+import java.util.Set;
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+
+/**
+ * Describes which service info updates a service is interested in. Nodes only send service info updates to a service
+ * if the updated service matches the interest of it. A service always receives updates of its own service info.
+ *
+ * @param all          if the service is interested in the updates of all services.
+ * @param tasks        the names of the tasks the service is interested in.
+ * @param groups       the names of the groups the service is interested in.
+ * @param environments the names of the environments the service is interested in.
+ * @since 4.0
+ */
+public record ServiceInfoInterest(
+  boolean all,
+  @NonNull Set<String> tasks,
+  @NonNull Set<String> groups,
+  @NonNull Set<String> environments
+) {
+
+  /**
+   * An interest in the updates of all services. This is the interest of every service which did not declare one.
+   */
+  public static final ServiceInfoInterest ALL = new ServiceInfoInterest(true, Set.of(), Set.of(), Set.of());
+  /**
+   * An interest in no other service updates than the own service updates.
+   */
+  public static final ServiceInfoInterest NONE = new ServiceInfoInterest(false, Set.of(), Set.of(), Set.of());
+
+  /**
+   * Creates a new interest in the updates of all services of the given tasks.
+   *
+   * @param tasks the names of the tasks to get the service updates of.
+   * @return a new interest in the services of the given tasks.
+   * @throws NullPointerException if the given task array is null.
+   */
+  @Contract("_ -> new")
+  public static @NonNull ServiceInfoInterest tasks(@NonNull String... tasks) {
+    return new ServiceInfoInterest(false, Set.of(tasks), Set.of(), Set.of());
+  }
+
+  /**
+   * Creates a new interest in the updates of all services which are in one of the given groups.
+   *
+   * @param groups the names of the groups to get the service updates of.
+   * @return a new interest in the services of the given groups.
+   * @throws NullPointerException if the given group array is null.
+   */
+  @Contract("_ -> new")
+  public static @NonNull ServiceInfoInterest groups(@NonNull String... groups) {
+    return new ServiceInfoInterest(false, Set.of(), Set.of(groups), Set.of());
+  }
+
+  /**
+   * Creates a new interest in the updates of all services which are using one of the given environments.
+   *
+   * @param environments the names of the environments to get the service updates of.
+   * @return a new interest in the services of the given environments.
+   * @throws NullPointerException if the given environment array is null.
+   */
+  @Contract("_ -> new")
+  public static @NonNull ServiceInfoInterest environments(@NonNull String... environments) {
+    return new ServiceInfoInterest(false, Set.of(), Set.of(), Set.of(environments));
+  }
+
+  /**
+   * Merges this interest with the given one. The resulting interest matches all services which are matched by either
+   * this or the given interest.
+   *
+   * @param other the interest to merge with this one.
+   * @return a new interest matching the services of both interests.
+   * @throws NullPointerException if the given interest is null.
+   */
+  @Contract("_ -> new")
+  public @NonNull ServiceInfoInterest merge(@NonNull ServiceInfoInterest other) {
+    if (this.all || other.all) {
+      return ALL;
+    }
+
+    return new ServiceInfoInterest(
+      false,
+      union(this.tasks, other.tasks),
+      union(this.groups, other.groups),
+      union(this.environments, other.environments));
+  }
+
+  /**
+   * Checks if the given service matches this interest.
+   *
+   * @param snapshot the service to check.
+   * @return true if the service info updates of the given service should be sent, false otherwise.
+   * @throws NullPointerException if the given snapshot is null.
+   */
+  public boolean matches(@NonNull ServiceInfoSnapshot snapshot) {
+    if (this.all) {
+      return true;
+    }
+
+    var serviceId = snapshot.serviceId();
+    return this.tasks.contains(serviceId.taskName())
+      || this.environments.contains(serviceId.environmentName())
+      || snapshot.configuration().groups().stream().anyMatch(this.groups::contains);
+  }
+
+  private static @NonNull Set<String> union(@NonNull Set<String> first, @NonNull Set<String> second) {
+    Set<String> result = new HashSet<>(first);
+    result.addAll(second);
+    return result;
+  }
+}
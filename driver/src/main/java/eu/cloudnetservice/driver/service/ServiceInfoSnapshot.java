@@ -52,6 +52,7 @@
   protected final ServiceLifeCycle lifeCycle;
 
   protected final Document properties;
+  protected final long version;
 
   /**
    * Constructs a new service info snapshot. This constructor is for internal use only, there should be no reason
@@ -75,6 +76,34 @@ public ServiceInfoSnapshot(
     long connectedTime,
     @NonNull ServiceLifeCycle lifeCycle,
     @NonNull Document properties
+  ) {
+    this(creationTime, address, processSnapshot, configuration, connectedTime, lifeCycle, properties, 0);
+  }
+
+  /**
+   * Constructs a new service info snapshot. This constructor is for internal use only, there should be no reason
+   * normally why you need to create a service info snapshot instance yourself.
+   *
+   * @param creationTime    the unix timestamp of the snapshot creation time.
+   * @param address         the address to which the service was bound if started.
+   * @param processSnapshot the current snapshot of the process resource usage.
+   * @param configuration   the configuration base used to create the service.
+   * @param connectedTime   the time when the service connected to the node, -1 if not yet connected.
+   * @param lifeCycle       the lifecycle the service is in when creating the snapshot.
+   * @param properties      the properties of the service.
+   * @param version         the version of the snapshot, assigned by the node which manages the service.
+   * @throws NullPointerException if one of the constructor parameters is null.
+   */
+  @ApiStatus.Internal
+  public ServiceInfoSnapshot(
+    long creationTime,
+    @NonNull HostAndPort address,
+    @NonNull ProcessSnapshot processSnapshot,
+    @NonNull ServiceConfiguration configuration,
+    long connectedTime,
+    @NonNull ServiceLifeCycle lifeCycle,
+    @NonNull Document properties,
+    long version
   ) {
     this.creationTime = creationTime;
     this.connectedTime = connectedTime;
@@ -83,6 +112,7 @@ public ServiceInfoSnapshot(
     this.processSnapshot = processSnapshot;
     this.configuration = configuration;
     this.properties = properties;
+    this.version = version;
   }
 
   /**
@@ -95,6 +125,17 @@ public long creationTime() {
     return this.creationTime;
   }
 
+  /**
+   * Get the version of this snapshot. The node which manages the service increments the version on each change of the
+   * service, a snapshot with a higher version than another snapshot of the same service is therefore newer. Unlike the
+   * creation time, the version is changed on each update of the service.
+   *
+   * @return the version of this snapshot.
+   */
+  public long version() {
+    return this.version;
+  }
+
   /**
    * Get the service id of the service this snapshot was created for.
    *
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.service;
+
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import java.util.Set;
+import java.util.UUID;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * The routing header of a service info update, written in front of the updated snapshot in each service info update
+ * message. Nodes use the header to resolve the services which are interested in the update without decoding the full
+ * snapshot of the updated service.
+ *
+ * @param serviceUniqueId the unique id of the updated service.
+ * @param taskName        the name of the task of the updated service.
+ * @param environmentName the name of the environment of the updated service.
+ * @param groups          the names of the groups of the updated service.
+ * @since 4.0
+ */
+@ApiStatus.Internal
+public record ServiceInfoUpdateHeader(
+  @NonNull UUID serviceUniqueId,
+  @NonNull String taskName,
+  @NonNull String environmentName,
+  @NonNull Set<String> groups
+) {
+
+  /**
+   * Creates the routing header for an update of the given service.
+   *
+   * @param snapshot the updated service.
+   * @return the routing header for an update of the given service.
+   * @throws NullPointerException if the given snapshot is null.
+   */
+  public static @NonNull ServiceInfoUpdateHeader of(@NonNull ServiceInfoSnapshot snapshot) {
+    var serviceId = snapshot.serviceId();
+    return new ServiceInfoUpdateHeader(
+      serviceId.uniqueId(),
+      serviceId.taskName(),
+      serviceId.environmentName(),
+      Set.copyOf(snapshot.configuration().groups()));
+  }
+
+  /**
+   * Writes the content of an update message of the given service, the routing header followed by the snapshot.
+   *
+   * @param snapshot the updated service.
+   * @return a new buffer containing the update of the given service.
+   * @throws NullPointerException if the given snapshot is null.
+   */
+  public static @NonNull DataBuf.Mutable writeUpdate(@NonNull ServiceInfoSnapshot snapshot) {
+    return DataBuf.empty().writeObject(of(snapshot)).writeObject(snapshot);
+  }
+
+  /**
+   * Reads the updated service from the content of an update message, skipping the routing header.
+   *
+   * @param content the content of the update message.
+   * @return the updated service.
+   * @throws NullPointerException if the given content is null.
+   */
+  public static @NonNull ServiceInfoSnapshot readUpdate(@NonNull DataBuf content) {
+    content.readObject(ServiceInfoUpdateHeader.class);
+    return content.readObject(ServiceInfoSnapshot.class);
+  }
+}
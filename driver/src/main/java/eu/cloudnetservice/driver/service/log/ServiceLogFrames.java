@@ -0,0 +1,197 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.service.log;
+
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Encodes and decodes batches of service log lines which are streamed to a remote screen session. The information
+ * about the service is sent inline with the first batch of a session and refreshed every
+ * {@link #HEADER_REFRESH_INTERVAL_MILLIS}, other batches only hold the id of the session and the lines itself. Batches
+ * which exceed {@link #COMPRESSION_THRESHOLD} bytes are compressed.
+ *
+ * @since 4.0
+ */
+public final class ServiceLogFrames {
+
+  /**
+   * The message of the channel message which closes a log stream session.
+   */
+  public static final String SESSION_CLOSE_MESSAGE = "screen_session_close";
+  /**
+   * The message of the channel message which holds a batch of log lines of a session.
+   */
+  public static final String SESSION_LINES_MESSAGE = "screen_session_lines";
+  /**
+   * The interval in which senders include the session header into a batch again. Receivers keep idle sessions for a
+   * longer time, therefore a session which expired on the receiver side is always restored by the next batch.
+   */
+  public static final long HEADER_REFRESH_INTERVAL_MILLIS = 60_000;
+
+  private static final int COMPRESSION_THRESHOLD = 1024;
+
+  private ServiceLogFrames() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Encodes the given log frames of the given session into a new buffer.
+   *
+   * @param sessionId the id of the session the frames belong to.
+   * @param sequence  the sequence number of the batch in the session, increasing with each batch.
+   * @param header    the header of the session to send along with the frames, null to only send the frames.
+   * @param frames    the frames to encode.
+   * @return a new buffer holding the encoded frames.
+   * @throws NullPointerException if the given session id or frame list is null.
+   */
+  public static @NonNull DataBuf.Mutable encode(
+    @NonNull UUID sessionId,
+    long sequence,
+    @Nullable Header header,
+    @NonNull List<Frame> frames
+  ) {
+    var payload = DataBuf.empty();
+    for (var frame : frames) {
+      payload.writeLong(frame.timestamp()).writeBoolean(frame.stderr()).writeString(frame.line());
+    }
+
+    var payloadBytes = payload.toByteArray();
+    payload.release();
+
+    var result = DataBuf.empty()
+      .writeUniqueId(sessionId)
+      .writeLong(sequence)
+      .writeBoolean(header != null);
+    if (header != null) {
+      result.writeObject(header.snapshot()).writeString(header.eventChannel());
+    }
+
+    result.writeInt(frames.size());
+    if (payloadBytes.length > COMPRESSION_THRESHOLD) {
+      // log lines are very repetitive, compression is worth it for bigger batches
+      var out = new ByteArrayOutputStream(payloadBytes.length >> 2);
+      var deflater = new Deflater(Deflater.BEST_SPEED);
+      try (var stream = new DeflaterOutputStream(out, deflater)) {
+        stream.write(payloadBytes);
+      } catch (IOException exception) {
+        throw new UncheckedIOException(exception);
+      } finally {
+        deflater.end();
+      }
+
+      return result.writeBoolean(true).writeByteArray(out.toByteArray());
+    } else {
+      return result.writeBoolean(false).writeByteArray(payloadBytes);
+    }
+  }
+
+  /**
+   * Decodes a batch which was encoded using {@link #encode(UUID, long, Header, List)}.
+   *
+   * @param source the buffer to read the batch from.
+   * @return the batch encoded in the given buffer.
+   * @throws NullPointerException if the given buffer is null.
+   * @throws UncheckedIOException if the compressed data in the buffer is invalid.
+   */
+  public static @NonNull Batch decode(@NonNull DataBuf source) {
+    var sessionId = source.readUniqueId();
+    var sequence = source.readLong();
+    var header = source.readBoolean()
+      ? new Header(source.readObject(ServiceInfoSnapshot.class), source.readString())
+      : null;
+
+    var frameCount = source.readInt();
+    var compressed = source.readBoolean();
+    var payloadBytes = source.readByteArray();
+
+    if (compressed) {
+      var inflater = new Inflater();
+      try (var in = new InflaterInputStream(new ByteArrayInputStream(payloadBytes), inflater)) {
+        payloadBytes = in.readAllBytes();
+      } catch (IOException exception) {
+        throw new UncheckedIOException(exception);
+      } finally {
+        inflater.end();
+      }
+    }
+
+    List<Frame> frames = new ArrayList<>(frameCount);
+    try (var payload = DataBufFactory.defaultFactory().fromBytes(payloadBytes)) {
+      for (var i = 0; i < frameCount; i++) {
+        frames.add(new Frame(payload.readLong(), payload.readBoolean(), payload.readString()));
+      }
+    }
+
+    return new Batch(sessionId, sequence, header, frames);
+  }
+
+  /**
+   * The information about a log stream session which is required to call the log events for the lines of the session.
+   *
+   * @param snapshot     the snapshot of the service whose lines are streamed.
+   * @param eventChannel the event channel to call the log events in.
+   * @since 4.0
+   */
+  public record Header(@NonNull ServiceInfoSnapshot snapshot, @NonNull String eventChannel) {
+
+  }
+
+  /**
+   * A decoded batch of log lines.
+   *
+   * @param sessionId the id of the session the lines belong to.
+   * @param sequence  the sequence number of the batch in the session.
+   * @param header    the header of the session, null if the header was not sent along with this batch.
+   * @param frames    the lines of the batch.
+   * @since 4.0
+   */
+  public record Batch(
+    @NonNull UUID sessionId,
+    long sequence,
+    @Nullable Header header,
+    @NonNull List<Frame> frames
+  ) {
+
+  }
+
+  /**
+   * A single line printed by a service.
+   *
+   * @param timestamp the timestamp when the line was printed.
+   * @param stderr    if the line was printed to stderr rather than stdout.
+   * @param line      the line that was printed.
+   * @since 4.0
+   */
+  public record Frame(long timestamp, boolean stderr, @NonNull String line) {
+
+  }
+}
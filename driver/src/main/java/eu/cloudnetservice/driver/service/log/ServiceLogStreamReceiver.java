@@ -0,0 +1,250 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.service.log;
+
+import eu.cloudnetservice.driver.event.EventManager;
+import eu.cloudnetservice.driver.event.events.service.CloudServiceLogEntryEvent;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import lombok.NonNull;
+
+/**
+ * Keeps track of the log stream sessions which are streamed to the current component and calls the log entry events
+ * for the lines streamed in the sessions.
+ * <p>
+ * A session is opened by the first batch which holds the session header. Batches that arrive before the header are
+ * kept for a short time, the same applies to batches which arrive after the session was closed. Sessions which did not
+ * receive a batch for a long time are removed, the sender includes the header regularly to restore such sessions.
+ * <p>
+ * The lines of a session are delivered in the order of the batch sequence. Each session keeps the sequence of the next
+ * batch to deliver, batches which arrive early are buffered until the missing batches arrive. If a missing batch does
+ * not arrive in time, it is skipped and the buffered batches are delivered.
+ *
+ * @since 4.0
+ */
+@Singleton
+public final class ServiceLogStreamReceiver {
+
+  private static final long IDLE_SESSION_TIMEOUT_MILLIS = ServiceLogFrames.HEADER_REFRESH_INTERVAL_MILLIS * 5;
+  private static final long PENDING_SESSION_TIMEOUT_MILLIS = 10_000;
+  private static final long CLOSED_SESSION_RETENTION_MILLIS = 10_000;
+  private static final long EXPIRY_CHECK_INTERVAL_MILLIS = 5_000;
+  private static final long GAP_TIMEOUT_MILLIS = 5_000;
+  private static final int MAX_PENDING_FRAMES = 1024;
+
+  private final EventManager eventManager;
+  private final Map<UUID, Session> sessions = new ConcurrentHashMap<>();
+
+  private volatile long lastExpiryCheck;
+
+  @Inject
+  public ServiceLogStreamReceiver(@NonNull EventManager eventManager) {
+    this.eventManager = eventManager;
+  }
+
+  /**
+   * Closes the session whose id is given in the session close message content. The session is kept for a short time
+   * to handle lines which were sent before the session was closed, but arrive after the close message.
+   *
+   * @param content the content of the session close message.
+   * @throws NullPointerException if the given content is null.
+   */
+  public void closeSession(@NonNull DataBuf content) {
+    var now = System.currentTimeMillis();
+    this.expireSessions(now);
+
+    var sessionId = content.readUniqueId();
+    while (true) {
+      var session = this.sessions.computeIfAbsent(sessionId, _ -> new Session(now));
+      synchronized (session) {
+        if (!session.removed) {
+          session.closedAt = now;
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Calls the log entry events for all lines in the given session lines message content. The given snapshot refresher
+   * can be used to replace the snapshot which was sent in the session header with a more recent one.
+   *
+   * @param content           the content of the session lines message.
+   * @param snapshotRefresher the function to get the most recent snapshot of the service from the session snapshot.
+   * @throws NullPointerException if the given content or refresher is null.
+   */
+  public void handleLines(@NonNull DataBuf content, @NonNull UnaryOperator<ServiceInfoSnapshot> snapshotRefresher) {
+    var now = System.currentTimeMillis();
+    this.expireSessions(now);
+
+    var batch = ServiceLogFrames.decode(content);
+    while (true) {
+      var session = this.sessions.computeIfAbsent(batch.sessionId(), _ -> new Session(now));
+      synchronized (session) {
+        // the session expired concurrently, retry with a new session
+        if (session.removed) {
+          continue;
+        }
+
+        session.lastActivity = now;
+        session.snapshotRefresher = snapshotRefresher;
+
+        // the batch was delivered already or skipped as it did not arrive in time
+        if (batch.sequence() < session.nextSequence) {
+          return;
+        }
+
+        if (batch.header() != null) {
+          session.header = batch.header();
+        } else if (session.header == null && session.pendingFrameCount + batch.frames().size() > MAX_PENDING_FRAMES) {
+          // the header of the session was not received yet and too many lines are waiting for it
+          return;
+        }
+
+        if (session.pendingBatches.putIfAbsent(batch.sequence(), batch) == null) {
+          session.pendingFrameCount += batch.frames().size();
+        }
+
+        // keep the lines until the header arrives
+        if (session.header == null) {
+          return;
+        }
+
+        // the first header is either sent in the first batch of the session, or in a later batch when the session
+        // expired on this side. the batches before the restored session are lost in the latter case
+        if (session.nextSequence == -1) {
+          session.nextSequence = session.pendingBatches.firstKey();
+        }
+
+        this.deliverPendingBatches(session, now);
+        return;
+      }
+    }
+  }
+
+  /**
+   * Removes all sessions which are expired at the given time. The sessions are only checked once in a while.
+   *
+   * @param now the current time in millis.
+   */
+  void expireSessions(long now) {
+    if (now - this.lastExpiryCheck < EXPIRY_CHECK_INTERVAL_MILLIS) {
+      return;
+    }
+
+    this.lastExpiryCheck = now;
+    for (var entry : this.sessions.entrySet()) {
+      var session = entry.getValue();
+      synchronized (session) {
+        // deliver the lines which are waiting for a batch that did not arrive in time
+        if (session.nextSequence != -1) {
+          this.deliverPendingBatches(session, now);
+        }
+
+        if (session.expired(now)) {
+          session.removed = true;
+          this.sessions.remove(entry.getKey(), session);
+        }
+      }
+    }
+  }
+
+  /**
+   * Delivers the pending batches of the given session in sequence order, stopping at the first missing batch. A missing
+   * batch is skipped if it did not arrive in time or if too many lines are waiting for it. This method must only be
+   * called while holding the lock of the session and after the session header was received.
+   *
+   * @param session the session to deliver the pending batches of.
+   * @param now     the current time in millis.
+   */
+  private void deliverPendingBatches(@NonNull Session session, long now) {
+    ServiceInfoSnapshot snapshot = null;
+    while (!session.pendingBatches.isEmpty()) {
+      var sequence = session.pendingBatches.firstKey();
+      if (sequence != session.nextSequence) {
+        // wait a bit for the missing batch before skipping it
+        if (session.gapSince == -1) {
+          session.gapSince = now;
+        }
+        if (now - session.gapSince < GAP_TIMEOUT_MILLIS && session.pendingFrameCount <= MAX_PENDING_FRAMES) {
+          return;
+        }
+        session.nextSequence = sequence;
+      }
+
+      var batch = session.pendingBatches.pollFirstEntry().getValue();
+      session.gapSince = -1;
+      session.nextSequence++;
+      session.pendingFrameCount -= batch.frames().size();
+
+      // only refresh the snapshot once for all delivered batches
+      if (snapshot == null) {
+        snapshot = session.snapshotRefresher.apply(session.header.snapshot());
+      }
+      this.callLogEvents(session.header, snapshot, batch);
+    }
+  }
+
+  private void callLogEvents(
+    @NonNull ServiceLogFrames.Header header,
+    @NonNull ServiceInfoSnapshot snapshot,
+    @NonNull ServiceLogFrames.Batch batch
+  ) {
+    for (var frame : batch.frames()) {
+      var streamType = frame.stderr()
+        ? CloudServiceLogEntryEvent.StreamType.STDERR
+        : CloudServiceLogEntryEvent.StreamType.STDOUT;
+      var event = new CloudServiceLogEntryEvent(snapshot, frame.line(), streamType);
+      this.eventManager.callEvent(header.eventChannel(), event);
+    }
+  }
+
+  private static final class Session {
+
+    private final NavigableMap<Long, ServiceLogFrames.Batch> pendingBatches = new TreeMap<>();
+
+    private ServiceLogFrames.Header header;
+    private UnaryOperator<ServiceInfoSnapshot> snapshotRefresher;
+    private long nextSequence = -1;
+    private long gapSince = -1;
+    private int pendingFrameCount;
+    private long lastActivity;
+    private long closedAt = -1;
+    private boolean removed;
+
+    private Session(long now) {
+      this.lastActivity = now;
+    }
+
+    private boolean expired(long now) {
+      if (this.closedAt != -1) {
+        return now - this.closedAt > CLOSED_SESSION_RETENTION_MILLIS;
+      }
+
+      var timeout = this.header == null ? PENDING_SESSION_TIMEOUT_MILLIS : IDLE_SESSION_TIMEOUT_MILLIS;
+      return now - this.lastActivity > timeout;
+    }
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.metrics;
+
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class HistogramTest {
+
+  private static Histogram histogram() {
+    return new Histogram("cloudnet_test_seconds", "Test histogram", Map.of());
+  }
+
+  @Test
+  void testSmallValuesAreCountedExactly() {
+    var histogram = histogram();
+    for (var value = 0; value < 16; value++) {
+      histogram.record(value);
+    }
+
+    // values below 16 have a bucket of their own
+    Assertions.assertEquals(16, histogram.count());
+    Assertions.assertEquals(120, histogram.sum());
+    Assertions.assertEquals(15, histogram.max());
+    Assertions.assertEquals(1, histogram.countAtOrBelow(0));
+    Assertions.assertEquals(8, histogram.countAtOrBelow(7));
+    Assertions.assertEquals(16, histogram.countAtOrBelow(15));
+  }
+
+  @Test
+  void testBucketBoundaries() {
+    var histogram = histogram();
+    histogram.record(16);
+    histogram.record(17);
+    histogram.record(18);
+
+    // 16 and 17 share a bucket, the count includes the whole bucket the bound is in
+    Assertions.assertEquals(0, histogram.countAtOrBelow(15));
+    Assertions.assertEquals(2, histogram.countAtOrBelow(16));
+    Assertions.assertEquals(2, histogram.countAtOrBelow(17));
+    Assertions.assertEquals(3, histogram.countAtOrBelow(18));
+
+    // the buckets of a power of two are 1/8 of its size wide
+    histogram.record(1024);
+    histogram.record(1024 + 127);
+    histogram.record(1024 + 128);
+    Assertions.assertEquals(5, histogram.countAtOrBelow(1024));
+    Assertions.assertEquals(6, histogram.countAtOrBelow(1024 + 128));
+  }
+
+  @Test
+  void testNegativeValues() {
+    var histogram = histogram();
+    histogram.record(-5);
+
+    Assertions.assertEquals(1, histogram.count());
+    Assertions.assertEquals(0, histogram.sum());
+    Assertions.assertEquals(0, histogram.countAtOrBelow(-1));
+    Assertions.assertEquals(1, histogram.countAtOrBelow(0));
+  }
+
+  @Test
+  void testPercentiles() {
+    var histogram = histogram();
+    Assertions.assertEquals(0, histogram.percentile(0.5));
+
+    for (var value = 1; value <= 1000; value++) {
+      histogram.record(value * 1_000L);
+    }
+
+    // the reported percentile is the upper bound of its bucket, which is at most 12.5% above the exact value
+    var median = histogram.percentile(0.5);
+    Assertions.assertTrue(median >= 500_000 && median <= 562_500, "median " + median);
+    var p99 = histogram.percentile(0.99);
+    Assertions.assertTrue(p99 >= 990_000 && p99 <= 1_000_000, "p99 " + p99);
+    Assertions.assertEquals(1_000_000, histogram.percentile(1));
+    Assertions.assertEquals(1_023, histogram.percentile(0));
+
+    Assertions.assertThrows(IllegalArgumentException.class, () -> histogram.percentile(-0.1));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> histogram.percentile(1.1));
+  }
+
+  @Test
+  void testLargestValue() {
+    var histogram = histogram();
+    histogram.record(Long.MAX_VALUE);
+
+    Assertions.assertEquals(1, histogram.countAtOrBelow(Long.MAX_VALUE));
+    Assertions.assertEquals(0, histogram.countAtOrBelow(Long.MAX_VALUE / 2));
+    Assertions.assertEquals(Long.MAX_VALUE, histogram.percentile(1));
+  }
+}
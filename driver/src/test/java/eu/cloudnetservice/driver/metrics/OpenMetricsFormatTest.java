@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.metrics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class OpenMetricsFormatTest {
+
+  @Test
+  void testEmptyRegistry() {
+    Assertions.assertEquals("# EOF\n", OpenMetricsFormat.format(new MetricRegistry()));
+  }
+
+  @Test
+  void testCounterAndGauge() {
+    var registry = new MetricRegistry();
+    registry.counter("cloudnet_c_packets", "Handled packets", "type", "query").add(3);
+    registry.counter("cloudnet_c_packets", "Handled packets", "type", "event").increment();
+    registry.gauge("cloudnet_a_pending", "Pending queries", () -> 1.5);
+
+    var output = OpenMetricsFormat.format(registry);
+    var lines = output.split("\n");
+
+    // metrics are sorted by name and the metadata is only written once per family
+    Assertions.assertEquals("# TYPE cloudnet_a_pending gauge", lines[0]);
+    Assertions.assertEquals("# HELP cloudnet_a_pending Pending queries", lines[1]);
+    Assertions.assertEquals("cloudnet_a_pending 1.5", lines[2]);
+    Assertions.assertEquals("# TYPE cloudnet_c_packets counter", lines[3]);
+    Assertions.assertEquals("# HELP cloudnet_c_packets Handled packets", lines[4]);
+    Assertions.assertTrue(output.contains("cloudnet_c_packets_total{type=\"query\"} 3\n"));
+    Assertions.assertTrue(output.contains("cloudnet_c_packets_total{type=\"event\"} 1\n"));
+    Assertions.assertEquals(1, output.split("# TYPE cloudnet_c_packets ", -1).length - 1);
+    Assertions.assertTrue(output.endsWith("# EOF\n"));
+  }
+
+  @Test
+  void testHistogram() {
+    var registry = new MetricRegistry();
+    registry.histogram("cloudnet_latency_seconds", "Latency").record(2_000_000);
+
+    var expected = """
+      # TYPE cloudnet_latency_seconds histogram
+      # HELP cloudnet_latency_seconds Latency
+      cloudnet_latency_seconds_bucket{le="0.0001"} 0
+      cloudnet_latency_seconds_bucket{le="0.00025"} 0
+      cloudnet_latency_seconds_bucket{le="0.0005"} 0
+      cloudnet_latency_seconds_bucket{le="0.001"} 0
+      cloudnet_latency_seconds_bucket{le="0.0025"} 1
+      cloudnet_latency_seconds_bucket{le="0.005"} 1
+      cloudnet_latency_seconds_bucket{le="0.01"} 1
+      cloudnet_latency_seconds_bucket{le="0.025"} 1
+      cloudnet_latency_seconds_bucket{le="0.05"} 1
+      cloudnet_latency_seconds_bucket{le="0.1"} 1
+      cloudnet_latency_seconds_bucket{le="0.25"} 1
+      cloudnet_latency_seconds_bucket{le="0.5"} 1
+      cloudnet_latency_seconds_bucket{le="1"} 1
+      cloudnet_latency_seconds_bucket{le="2.5"} 1
+      cloudnet_latency_seconds_bucket{le="5"} 1
+      cloudnet_latency_seconds_bucket{le="10"} 1
+      cloudnet_latency_seconds_bucket{le="+Inf"} 1
+      cloudnet_latency_seconds_count 1
+      cloudnet_latency_seconds_sum 0.002
+      # EOF
+      """;
+    Assertions.assertEquals(expected, OpenMetricsFormat.format(registry));
+  }
+
+  @Test
+  void testHistogramLabelsPrecedeBound() {
+    var registry = new MetricRegistry();
+    registry.histogram("cloudnet_phase_seconds", "Phases", "phase", "copy").record(1);
+
+    var output = OpenMetricsFormat.format(registry);
+    Assertions.assertTrue(output.contains("cloudnet_phase_seconds_bucket{phase=\"copy\",le=\"0.0001\"} 1\n"));
+    Assertions.assertTrue(output.contains("cloudnet_phase_seconds_count{phase=\"copy\"} 1\n"));
+  }
+
+  @Test
+  void testEscaping() {
+    var registry = new MetricRegistry();
+    registry.counter("cloudnet_escaped", "Line\none \\ two", "name", "a\"b").increment();
+
+    var output = OpenMetricsFormat.format(registry);
+    Assertions.assertTrue(output.contains("# HELP cloudnet_escaped Line\\none \\\\ two\n"));
+    Assertions.assertTrue(output.contains("cloudnet_escaped_total{name=\"a\\\"b\"} 1\n"));
+  }
+}
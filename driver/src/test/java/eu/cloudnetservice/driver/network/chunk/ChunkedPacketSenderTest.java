@@ -16,16 +16,37 @@
 
 package eu.cloudnetservice.driver.network.chunk;
 
+import eu.cloudnetservice.driver.inject.InjectionLayer;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.chunk.data.ChunkSessionInformation;
+import eu.cloudnetservice.driver.network.chunk.defaults.ChunkSessionState;
+import eu.cloudnetservice.driver.network.chunk.defaults.ChunkedSessionRegistry;
+import eu.cloudnetservice.driver.network.chunk.defaults.DefaultFileChunkPacketSender;
+import eu.cloudnetservice.driver.network.chunk.defaults.DefaultFileChunkedPacketHandler;
 import eu.cloudnetservice.driver.network.chunk.defaults.splitter.NetworkChannelsPacketSplitter;
+import eu.cloudnetservice.driver.network.chunk.network.ChunkAcknowledgePacket;
+import eu.cloudnetservice.driver.network.chunk.network.ChunkedPacket;
+import eu.cloudnetservice.driver.network.chunk.network.ChunkedPacketListener;
+import eu.cloudnetservice.driver.network.def.NetworkConstants;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -94,6 +115,208 @@ void testNetworkChannelSplitter() throws Exception {
       .get());
   }
 
+  @Test
+  @Order(20)
+  @Timeout(20)
+  void testCompressedTransferToHandler() throws Exception {
+    var chunkData = this.generateRandomChunkData();
+    var receivedData = new CompletableFuture<byte[]>();
+
+    var handler = new AtomicReference<DefaultFileChunkedPacketHandler>();
+    Assertions.assertEquals(TransferStatus.SUCCESS, ChunkedPacketSender.forFileTransfer()
+      .chunkSize(256)
+      .compress(true)
+      .transferChannel("hello_world")
+      .source(new ByteArrayInputStream(chunkData))
+      .packetSplitter(packet -> {
+        var content = packet.content();
+        var info = ChunkedPacket.readSessionInformation(packet);
+        var chunkIndex = content.readInt();
+        Assertions.assertEquals(NetworkConstants.CHUNKED_PACKET_EXTENDED_COM_CHANNEL, packet.channel());
+        Assertions.assertTrue(info.compressed());
+        Assertions.assertEquals(0, info.windowSize());
+
+        handler.compareAndSet(null, new DefaultFileChunkedPacketHandler(info, (_, stream) -> {
+          receivedData.complete(stream.readAllBytes());
+          return true;
+        }));
+        handler.get().handleChunkPart(chunkIndex, content);
+      })
+      .build()
+      .transferChunkedData()
+      .get());
+    Assertions.assertArrayEquals(chunkData, receivedData.get());
+  }
+
+  @Test
+  @Order(30)
+  @Timeout(20)
+  void testResumeFromPersistedSessionState() throws Exception {
+    var chunkData = this.generateRandomChunkData();
+    var receivedData = new CompletableFuture<byte[]>();
+
+    List<Packet> packets = new ArrayList<>();
+    Assertions.assertEquals(TransferStatus.SUCCESS, ChunkedPacketSender.forFileTransfer()
+      .chunkSize(256)
+      .transferChannel("hello_world")
+      .source(new ByteArrayInputStream(chunkData))
+      .packetSplitter(packets::add)
+      .build()
+      .transferChunkedData()
+      .get());
+
+    // the first handler receives all chunks but the fourth one
+    ChunkSessionInformation sessionInfo = null;
+    DefaultFileChunkedPacketHandler firstHandler = null;
+    for (var chunkIndex = 0; chunkIndex < packets.size(); chunkIndex++) {
+      if (chunkIndex != 3) {
+        var content = packets.get(chunkIndex).content();
+        sessionInfo = content.readObject(ChunkSessionInformation.class);
+        Assertions.assertEquals(chunkIndex, content.readInt());
+
+        if (firstHandler == null) {
+          firstHandler = new DefaultFileChunkedPacketHandler(sessionInfo, (_, _) -> true);
+        }
+        Assertions.assertFalse(firstHandler.handleChunkPart(chunkIndex, content));
+      }
+    }
+
+    // a new handler for the same session resumes from the persisted state
+    Assertions.assertNotNull(sessionInfo);
+    var secondHandler = new DefaultFileChunkedPacketHandler(sessionInfo, (_, stream) -> {
+      receivedData.complete(stream.readAllBytes());
+      return true;
+    });
+    var receivedChunks = secondHandler.sessionState().receivedChunks();
+    Assertions.assertEquals(packets.size() - 1, receivedChunks.cardinality());
+    Assertions.assertFalse(receivedChunks.get(3));
+
+    var missingPacket = packets.get(3).content();
+    missingPacket.readObject(ChunkSessionInformation.class);
+    Assertions.assertTrue(secondHandler.handleChunkPart(missingPacket.readInt(), missingPacket));
+    Assertions.assertArrayEquals(chunkData, receivedData.get());
+  }
+
+  @Test
+  @Order(40)
+  @Timeout(20)
+  void testAcknowledgementsGateSending() throws Exception {
+    var sessionId = UUID.randomUUID();
+    var sentChunks = new LinkedBlockingQueue<Integer>();
+    var transfer = this.windowedSender(sessionId, sentChunks).transferChunkedData();
+
+    // only the chunks that fit into the window are sent before any acknowledgement was received
+    Assertions.assertEquals(0, sentChunks.take());
+    Assertions.assertEquals(1, sentChunks.take());
+    Assertions.assertNull(sentChunks.poll(200, TimeUnit.MILLISECONDS));
+
+    var sessionRegistry = InjectionLayer.boot().instance(ChunkedSessionRegistry.class);
+    var window = sessionRegistry.transferWindow(sessionId);
+    Assertions.assertNotNull(window);
+
+    // each acknowledgement returns the credit for exactly one more chunk (4096 / 256 full chunks + the final chunk)
+    var chunkCount = 17;
+    for (var chunkIndex = 0; chunkIndex < chunkCount; chunkIndex++) {
+      window.acknowledge(chunkIndex, true);
+      if (chunkIndex + 2 < chunkCount) {
+        Assertions.assertEquals(chunkIndex + 2, sentChunks.take());
+        Assertions.assertNull(sentChunks.poll(50, TimeUnit.MILLISECONDS));
+      }
+    }
+
+    Assertions.assertEquals(TransferStatus.SUCCESS, transfer.get());
+    Assertions.assertNull(sessionRegistry.transferWindow(sessionId));
+  }
+
+  @Test
+  @Order(50)
+  @Timeout(20)
+  void testFailedAcknowledgementAbortsTransfer() throws Exception {
+    var sessionId = UUID.randomUUID();
+    var sentChunks = new LinkedBlockingQueue<Integer>();
+    var transfer = this.windowedSender(sessionId, sentChunks).transferChunkedData();
+
+    Assertions.assertEquals(0, sentChunks.take());
+    Assertions.assertEquals(1, sentChunks.take());
+
+    // the sender waits for a credit and must be woken up by the failed acknowledgement
+    var sessionRegistry = InjectionLayer.boot().instance(ChunkedSessionRegistry.class);
+    sessionRegistry.transferWindow(sessionId).acknowledge(0, false);
+
+    var exception = Assertions.assertThrows(ExecutionException.class, transfer::get);
+    Assertions.assertInstanceOf(IllegalStateException.class, exception.getCause());
+    Assertions.assertTrue(sentChunks.isEmpty());
+  }
+
+  @Test
+  @Order(55)
+  @Timeout(20)
+  void testWindowIsDisabledForUnknownReceivers() throws Exception {
+    List<Packet> packets = new ArrayList<>();
+    Assertions.assertEquals(TransferStatus.SUCCESS, ChunkedPacketSender.forFileTransfer()
+      .chunkSize(256)
+      .windowSize(2)
+      .transferChannel("hello_world")
+      .source(new ByteArrayInputStream(this.generateRandomChunkData()))
+      .packetSplitter(packets::add)
+      .build()
+      .transferChunkedData()
+      .get());
+
+    // the receivers must not acknowledge the chunks of a sender that does not wait for acknowledgements
+    for (var packet : packets) {
+      Assertions.assertEquals(NetworkConstants.CHUNKED_PACKET_COM_CHANNEL, packet.channel());
+      Assertions.assertEquals(0, ChunkedPacket.readSessionInformation(packet).windowSize());
+    }
+  }
+
+  @Test
+  @Order(56)
+  void testFinalChunkIsAcknowledgedBeforeHandling() throws Exception {
+    var sessionInfo = new ChunkSessionInformation(256, 2, false, UUID.randomUUID(), "hello_world", DataBuf.empty());
+    var packet = ChunkedPacket.createChunk(0, true, 0, new byte[0], null, sessionInfo);
+
+    var channel = Mockito.mock(NetworkChannel.class);
+    var handler = Mockito.mock(ChunkedPacketHandler.class);
+    Mockito.when(handler.handleChunkPart(Mockito.eq(0), Mockito.any(DataBuf.class))).thenAnswer(invocation -> {
+      // the completion of the transfer might take longer than the sender waits for the acknowledgement
+      Mockito.verify(channel).sendPacket(Mockito.any(ChunkAcknowledgePacket.class));
+      Assertions.assertTrue(invocation.<DataBuf>getArgument(1).readBoolean());
+      return true;
+    });
+
+    new ChunkedPacketListener(new ChunkedSessionRegistry(), _ -> handler).handle(channel, packet);
+    Mockito.verify(handler).handleChunkPart(Mockito.eq(0), Mockito.any(DataBuf.class));
+    Mockito.verify(channel).sendPacket(Mockito.any(ChunkAcknowledgePacket.class));
+  }
+
+  @Test
+  @Order(60)
+  void testAbandonedSessionsAreDeleted() throws Exception {
+    var abandonedSession = ChunkSessionState.sessionDataFile(UUID.randomUUID());
+    var activeSession = ChunkSessionState.sessionDataFile(UUID.randomUUID());
+    Files.write(abandonedSession, new byte[16]);
+    Files.write(activeSession, new byte[16]);
+    Files.setLastModifiedTime(abandonedSession, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+
+    ChunkSessionState.deleteAbandonedSessions(Duration.ofDays(1));
+    Assertions.assertTrue(Files.notExists(abandonedSession));
+    Assertions.assertTrue(Files.exists(activeSession));
+    Files.delete(activeSession);
+  }
+
+  private ChunkedPacketSender windowedSender(UUID sessionId, BlockingQueue<Integer> sentChunks) {
+    return new DefaultFileChunkPacketSender(
+      new ChunkSessionInformation(256, 2, false, sessionId, "hello_world", DataBuf.empty()),
+      new ByteArrayInputStream(this.generateRandomChunkData()),
+      packet -> {
+        Assertions.assertEquals(2, ChunkedPacket.readSessionInformation(packet).windowSize());
+        sentChunks.add(packet.content().readInt());
+      },
+      List.of(Mockito.mock(NetworkChannel.class)),
+      false);
+  }
+
   private byte[] generateRandomChunkData() {
     var data = new byte[4096];
     ThreadLocalRandom.current().nextBytes(data);
@@ -105,6 +328,8 @@ private void validatePacket(Packet packet, UUID sessionId, AtomicInteger splits,
     var chunkIndex = packet.content().readInt();
     var finalChunk = packet.content().readBoolean();
 
+    // transfers without flow control and compression use the original chunk format
+    Assertions.assertEquals(NetworkConstants.CHUNKED_PACKET_COM_CHANNEL, packet.channel());
     Assertions.assertEquals(256, info.chunkSize());
     Assertions.assertEquals(sessionId, info.sessionUniqueId());
     Assertions.assertEquals("hello_world", info.transferChannel());
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.netty;
+
+import eu.cloudnetservice.driver.DriverEnvironment;
+import eu.cloudnetservice.driver.network.HostAndPort;
+import eu.cloudnetservice.driver.network.NetworkChannelHandler;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.protocol.BasePacket;
+import eu.cloudnetservice.driver.network.protocol.PacketListenerRegistry;
+import io.netty5.channel.Channel;
+import io.netty5.channel.EventLoop;
+import io.netty5.util.concurrent.Future;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class NettyNetworkChannelTest {
+
+  private final Queue<Runnable> eventLoopTasks = new ConcurrentLinkedQueue<>();
+
+  private Channel channel;
+  private EventLoop eventLoop;
+  private NettyNetworkChannel networkChannel;
+
+  @BeforeEach
+  void setUp() {
+    Future<Void> writeFuture = Mockito.mock();
+    this.eventLoop = Mockito.mock(EventLoop.class);
+    Mockito.when(this.eventLoop.inEventLoop()).thenReturn(true);
+    Mockito.doAnswer(invocation -> this.eventLoopTasks.add(invocation.getArgument(0)))
+      .when(this.eventLoop)
+      .execute(Mockito.any(Runnable.class));
+
+    this.channel = Mockito.mock(Channel.class);
+    Mockito.when(this.channel.executor()).thenReturn(this.eventLoop);
+    Mockito.when(this.channel.isActive()).thenReturn(true);
+    Mockito.when(this.channel.isWritable()).thenReturn(true);
+    Mockito.when(this.channel.write(Mockito.any())).thenReturn(writeFuture);
+    Mockito.when(this.channel.writeAndFlush(Mockito.any())).thenReturn(writeFuture);
+
+    this.networkChannel = new NettyNetworkChannel(
+      this.channel,
+      Mockito.mock(PacketListenerRegistry.class),
+      Mockito.mock(NetworkChannelHandler.class),
+      new HostAndPort("127.0.0.1", 1410),
+      new HostAndPort("127.0.0.1", 1411),
+      false);
+  }
+
+  @Test
+  void testWritesAreFlushedAfterQueuedWrites() {
+    for (var i = 0; i < 3; i++) {
+      this.networkChannel.sendPacket(packet(false));
+    }
+
+    // the writes are batched into one flush which runs after all writes that were submitted before
+    Mockito.verify(this.channel, Mockito.times(3)).write(Mockito.any());
+    Mockito.verify(this.channel, Mockito.never()).flush();
+    Assertions.assertEquals(1, this.eventLoopTasks.size());
+
+    this.runEventLoopTasks();
+    Mockito.verify(this.channel, Mockito.times(1)).flush();
+
+    // the next write schedules a new flush
+    this.networkChannel.sendPacket(packet(false));
+    Assertions.assertEquals(1, this.eventLoopTasks.size());
+  }
+
+  @Test
+  void testFullBatchIsFlushedDirectly() {
+    for (var i = 0; i < 64; i++) {
+      this.networkChannel.sendPacket(packet(false));
+    }
+
+    // the maximum amount of batched writes was reached, the channel must not wait for the scheduled flush
+    Mockito.verify(this.channel, Mockito.times(64)).write(Mockito.any());
+    Mockito.verify(this.channel, Mockito.times(1)).flush();
+  }
+
+  @Test
+  void testPrioritizedPacketsAreFlushedDirectly() {
+    this.networkChannel.sendPacket(packet(true));
+
+    Mockito.verify(this.channel, Mockito.times(1)).writeAndFlush(Mockito.any());
+    Mockito.verify(this.channel, Mockito.never()).write(Mockito.any());
+    Assertions.assertTrue(this.eventLoopTasks.isEmpty());
+  }
+
+  @Test
+  void testWritesFromOtherThreadsAreSubmittedToEventLoop() {
+    Mockito.when(this.eventLoop.inEventLoop()).thenReturn(false);
+    this.networkChannel.sendPacket(packet(false));
+
+    Mockito.verify(this.channel, Mockito.never()).write(Mockito.any());
+    this.runEventLoopTasks();
+    Mockito.verify(this.channel, Mockito.times(1)).write(Mockito.any());
+    Mockito.verify(this.channel, Mockito.times(1)).flush();
+  }
+
+  @Test
+  void testOtherThreadsWaitUntilWritable() throws Exception {
+    var writable = new AtomicBoolean();
+    Mockito.when(this.eventLoop.inEventLoop()).thenReturn(false);
+    Mockito.when(this.channel.isWritable()).thenAnswer(_ -> writable.get());
+
+    var send = CompletableFuture.runAsync(() -> this.networkChannel.sendPacket(packet(false)));
+    Thread.sleep(100);
+    Assertions.assertFalse(send.isDone());
+
+    writable.set(true);
+    this.networkChannel.writabilityChanged();
+    send.get(1, TimeUnit.SECONDS);
+    Assertions.assertEquals(1, this.eventLoopTasks.size());
+  }
+
+  @Test
+  void testDispatcherThreadsDoNotWaitUntilWritable() throws Exception {
+    Mockito.when(this.eventLoop.inEventLoop()).thenReturn(false);
+    Mockito.when(this.channel.isWritable()).thenReturn(false);
+
+    var dispatcher = NettyUtil.createPacketDispatcher(DriverEnvironment.WRAPPER);
+    try {
+      // the wait would take 5 seconds, dispatcher threads must submit the write directly
+      CompletableFuture.runAsync(() -> this.networkChannel.sendPacket(packet(false)), dispatcher)
+        .get(1, TimeUnit.SECONDS);
+      Assertions.assertEquals(1, this.eventLoopTasks.size());
+    } finally {
+      dispatcher.shutdown();
+    }
+  }
+
+  private void runEventLoopTasks() {
+    Runnable task;
+    while ((task = this.eventLoopTasks.poll()) != null) {
+      task.run();
+    }
+  }
+
+  private static BasePacket packet(boolean prioritized) {
+    return new BasePacket(1, prioritized, DataBuf.empty());
+  }
+}
@@ -21,6 +21,8 @@
 import io.netty5.channel.MultithreadEventLoopGroup;
 import io.netty5.handler.ssl.OpenSsl;
 import io.netty5.handler.ssl.SslProvider;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -60,6 +62,45 @@ void testSslProviderSelection() {
     }
   }
 
+  @Test
+  void testSharedNetworkThreadDetection() throws Exception {
+    Assertions.assertFalse(NettyUtil.sharedNetworkThread());
+
+    var dispatcher = NettyUtil.createPacketDispatcher(DriverEnvironment.WRAPPER);
+    try {
+      Assertions.assertTrue(CompletableFuture.supplyAsync(NettyUtil::sharedNetworkThread, dispatcher).get());
+    } finally {
+      dispatcher.shutdown();
+    }
+
+    var eventLoopGroup = NettyUtil.createBossEventLoopGroup();
+    try {
+      Assertions.assertTrue(eventLoopGroup.submit(NettyUtil::sharedNetworkThread).asStage().get());
+    } finally {
+      eventLoopGroup.shutdownGracefully();
+    }
+  }
+
+  @Test
+  void testMarkedSharedThreadDetection() throws Exception {
+    var executor = Executors.newSingleThreadExecutor(NettyUtil.sharedThreadFactory(Executors.defaultThreadFactory()));
+    try {
+      Assertions.assertTrue(executor.submit(NettyUtil::sharedNetworkThread).get());
+    } finally {
+      executor.shutdown();
+    }
+
+    // the marking only applies to the thread which marked itself
+    try (var virtualExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var marked = CompletableFuture.supplyAsync(() -> {
+        NettyUtil.markSharedThread();
+        return NettyUtil.sharedNetworkThread();
+      }, virtualExecutor);
+      Assertions.assertTrue(marked.get());
+      Assertions.assertFalse(NettyUtil.sharedNetworkThread());
+    }
+  }
+
   @Test
   void testVarIntBytes() {
     Assertions.assertEquals(1, NettyUtil.varIntBytes(0));
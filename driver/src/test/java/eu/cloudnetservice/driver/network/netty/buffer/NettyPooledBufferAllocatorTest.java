@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.netty.buffer;
+
+import eu.cloudnetservice.driver.metrics.Gauge;
+import eu.cloudnetservice.driver.metrics.MetricRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class NettyPooledBufferAllocatorTest {
+
+  @Test
+  void testSizeClasses() {
+    Assertions.assertEquals(0, NettyPooledBufferAllocator.sizeClass(0));
+    Assertions.assertEquals(0, NettyPooledBufferAllocator.sizeClass(64));
+    Assertions.assertEquals(1, NettyPooledBufferAllocator.sizeClass(65));
+    Assertions.assertEquals(10, NettyPooledBufferAllocator.sizeClass(65536));
+    Assertions.assertEquals(-1, NettyPooledBufferAllocator.sizeClass(65537));
+
+    Assertions.assertEquals(64, NettyPooledBufferAllocator.sizeClassSize(0));
+    Assertions.assertEquals(65536, NettyPooledBufferAllocator.sizeClassSize(10));
+  }
+
+  @Test
+  void testPooledBufferReuse() {
+    try (var allocator = new NettyPooledBufferAllocator()) {
+      try (var buffer = allocator.allocate(100)) {
+        Assertions.assertEquals(100, buffer.capacity());
+        buffer.writeLong(Long.MAX_VALUE);
+      }
+
+      // the buffer was returned to the pool and must be zeroed when it is handed out again
+      try (var buffer = allocator.allocate(120)) {
+        Assertions.assertEquals(120, buffer.capacity());
+        Assertions.assertEquals(0, buffer.getLong(0));
+      }
+
+      var metrics = allocator.metrics();
+      Assertions.assertEquals(2, metrics.allocations());
+      Assertions.assertEquals(1, metrics.pooledAllocations());
+      Assertions.assertEquals(2, metrics.returnedBuffers());
+      Assertions.assertEquals(128, metrics.retainedBytes());
+    }
+  }
+
+  @Test
+  void testLargeBuffersAreNotPooled() {
+    try (var allocator = new NettyPooledBufferAllocator()) {
+      allocator.allocate(100_000).close();
+
+      var metrics = allocator.metrics();
+      Assertions.assertEquals(1, metrics.unpooledAllocations());
+      Assertions.assertEquals(0, metrics.returnedBuffers());
+      Assertions.assertEquals(0, metrics.retainedBytes());
+    }
+  }
+
+  @Test
+  void testMetricsAreRegisteredAsGauges() {
+    var registry = new MetricRegistry();
+    try (var allocator = new NettyPooledBufferAllocator()) {
+      allocator.registerMetrics(registry);
+      allocator.allocate(100).close();
+
+      var allocations = (Gauge) registry.metric("cloudnet_pooled_allocator_allocations");
+      var retainedBytes = (Gauge) registry.metric("cloudnet_pooled_allocator_retained_bytes");
+      Assertions.assertNotNull(allocations);
+      Assertions.assertNotNull(retainedBytes);
+      Assertions.assertEquals(1, allocations.value());
+      Assertions.assertEquals(128, retainedBytes.value());
+    }
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.netty.buffer;
+
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class NettyUtf8StringCodecTest {
+
+  static Stream<Arguments> stringSource() {
+    return Stream.of(
+      Arguments.of(""),
+      Arguments.of("Lobby-1"),
+      Arguments.of("Größenänderung"),
+      Arguments.of("日本語のサービス"),
+      Arguments.of("emoji 🚀 rocket"),
+      Arguments.of("unpaired \uD83D surrogate \uDE80"),
+      Arguments.of("x".repeat(10_000)));
+  }
+
+  @ParameterizedTest
+  @MethodSource("stringSource")
+  void testStringEncoding(String string) {
+    var expectedBytes = string.getBytes(StandardCharsets.UTF_8);
+    Assertions.assertEquals(expectedBytes.length, NettyUtf8StringCodec.utf8Length(string));
+
+    // the encoding must be the same as the encoding of the string bytes
+    var buf = DataBuf.empty().writeString(string);
+    Assertions.assertArrayEquals(expectedBytes, buf.readByteArray());
+  }
+
+  @ParameterizedTest
+  @MethodSource("stringSource")
+  void testStringDecoding(String string) {
+    // unpaired surrogates are replaced during the encoding, decode the expected string from the bytes as well
+    var bytes = string.getBytes(StandardCharsets.UTF_8);
+    var buf = DataBuf.empty().writeByteArray(bytes);
+    Assertions.assertEquals(new String(bytes, StandardCharsets.UTF_8), buf.readString());
+  }
+
+  @Test
+  void testRepeatedStringsAreReused() {
+    var buf = DataBuf.empty().writeString("Lobby-1").writeString("Lobby-1");
+    Assertions.assertSame(buf.readString(), buf.readString());
+  }
+}
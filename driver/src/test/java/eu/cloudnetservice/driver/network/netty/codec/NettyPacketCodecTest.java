@@ -21,10 +21,14 @@
 import eu.cloudnetservice.driver.network.netty.NettyUtil;
 import eu.cloudnetservice.driver.network.protocol.BasePacket;
 import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.protocol.SharedPacket;
 import io.netty5.buffer.Buffer;
 import io.netty5.channel.Channel;
 import io.netty5.channel.ChannelHandlerContext;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -76,4 +80,72 @@ void testNettyPacketCodec() {
     // encode the packet
     NettyPacketEncoder.INSTANCE.write(outCtx, new BasePacket(packetChannel, dataBuf));
   }
+
+  @Test
+  void testSharedPacketEncodedOnce() {
+    var packetChannel = ThreadLocalRandom.current().nextInt();
+    DataBuf dataBuf = DataBufFactory.defaultFactory().createEmpty()
+      .writeString("Hello World")
+      .writeLong(1234L);
+    var packet = new SharedPacket(new BasePacket(packetChannel, dataBuf), 3);
+
+    List<Buffer> writtenBuffers = new ArrayList<>();
+    var outCtx = Mockito.mock(ChannelHandlerContext.class);
+    Mockito.when(outCtx.bufferAllocator()).thenReturn(NettyUtil.selectedBufferAllocator());
+    Mockito.when(outCtx.write(Mockito.any(Buffer.class))).then(invocation -> {
+      writtenBuffers.add(invocation.getArgument(0));
+      return null;
+    });
+
+    // write the packet to two of the three channels, the content is released after the first encode
+    for (var i = 0; i < 2; i++) {
+      NettyPacketEncoder.INSTANCE.write(outCtx, packet);
+    }
+    Assertions.assertFalse(dataBuf.accessible());
+    Assertions.assertEquals(2, writtenBuffers.size());
+
+    // the encoded packet is closed once all writes completed, including the write which never reached the encoder
+    Buffer frame = packet.encodedFrame(_ -> null);
+    packet.writeCompleted();
+    packet.writeCompleted();
+    Assertions.assertTrue(frame.isAccessible());
+    packet.writeCompleted();
+    Assertions.assertFalse(frame.isAccessible());
+
+    var decodedPackets = new AtomicInteger();
+    for (var buffer : writtenBuffers) {
+      Assertions.assertTrue(buffer.readOnly());
+
+      var inChannel = Mockito.mock(Channel.class);
+      Mockito.when(inChannel.isActive()).thenReturn(true);
+
+      var inCtx = Mockito.mock(ChannelHandlerContext.class);
+      Mockito.when(inCtx.channel()).thenReturn(inChannel);
+      Mockito.when(inCtx.fireChannelRead(Mockito.any(Packet.class))).then(inv -> {
+        Packet decoded = inv.getArgument(0);
+        Assertions.assertEquals(packetChannel, decoded.channel());
+        Assertions.assertEquals("Hello World", decoded.content().readString());
+        Assertions.assertEquals(1234L, decoded.content().readLong());
+        decodedPackets.incrementAndGet();
+        return null;
+      });
+
+      // each view can be decoded independently of the other views
+      new NettyPacketDecoder().decode(inCtx, buffer);
+      buffer.close();
+    }
+    Assertions.assertEquals(2, decodedPackets.get());
+  }
+
+  @Test
+  void testSharedPacketReleasedWithoutEncode() {
+    DataBuf dataBuf = DataBufFactory.defaultFactory().createEmpty().writeString("Hello World");
+    var packet = new SharedPacket(new BasePacket(1, dataBuf), 2);
+
+    // the writes to all channels failed before the packet reached the encoder
+    packet.writeCompleted();
+    Assertions.assertTrue(dataBuf.accessible());
+    packet.writeCompleted();
+    Assertions.assertFalse(dataBuf.accessible());
+  }
 }
@@ -155,7 +155,8 @@ static Stream<Arguments> dataClassProvider() {
           .build(),
         System.nanoTime(),
         ServiceLifeCycle.STOPPED,
-        Document.newJsonDocument().append("test", 1234)))
+        Document.newJsonDocument().append("test", 1234),
+        17))
     );
   }
 
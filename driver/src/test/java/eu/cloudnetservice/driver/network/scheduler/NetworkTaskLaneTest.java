@@ -0,0 +1,65 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class NetworkTaskLaneTest {
+
+  @Test
+  void testTasksOfLaneRunInSubmissionOrder() throws InterruptedException {
+    var executor = Executors.newFixedThreadPool(4);
+    try {
+      var lanes = List.of(new NetworkTaskLane(executor), new NetworkTaskLane(executor));
+      List<List<Integer>> executionOrders = List.of(
+        Collections.synchronizedList(new ArrayList<>()),
+        Collections.synchronizedList(new ArrayList<>()));
+
+      var executedTasks = new CountDownLatch(2000);
+      for (var taskId = 0; taskId < 1000; taskId++) {
+        for (var laneId = 0; laneId < lanes.size(); laneId++) {
+          var currentTaskId = taskId;
+          var executionOrder = executionOrders.get(laneId);
+          lanes.get(laneId).execute(() -> {
+            executionOrder.add(currentTaskId);
+            executedTasks.countDown();
+            // a failing task must not stop the lane
+            if (currentTaskId % 100 == 0) {
+              throw new IllegalStateException("Task " + currentTaskId + " failed");
+            }
+          });
+        }
+      }
+
+      Assertions.assertTrue(executedTasks.await(30, TimeUnit.SECONDS));
+      var expectedOrder = IntStream.range(0, 1000).boxed().toList();
+      for (var executionOrder : executionOrders) {
+        Assertions.assertEquals(expectedOrder, executionOrder);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.service.log;
+
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.network.HostAndPort;
+import eu.cloudnetservice.driver.service.ProcessSnapshot;
+import eu.cloudnetservice.driver.service.ServiceConfiguration;
+import eu.cloudnetservice.driver.service.ServiceEnvironmentType;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.driver.service.ServiceLifeCycle;
+import eu.cloudnetservice.driver.service.ServiceTask;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ServiceLogFramesTest {
+
+  static ServiceInfoSnapshot snapshot() {
+    var task = ServiceTask.builder()
+      .name("Lobby")
+      .serviceEnvironmentType(ServiceEnvironmentType.MINECRAFT_SERVER)
+      .build();
+    return new ServiceInfoSnapshot(
+      System.currentTimeMillis(),
+      new HostAndPort("127.0.0.1", 44955),
+      ProcessSnapshot.empty(),
+      ServiceConfiguration.builder(task).build(),
+      -1,
+      ServiceLifeCycle.RUNNING,
+      Document.newJsonDocument());
+  }
+
+  @Test
+  void testSmallBatchRoundTrip() {
+    var sessionId = UUID.randomUUID();
+    var frames = List.of(
+      new ServiceLogFrames.Frame(1L, false, "[INFO] Done (1.234s)!"),
+      new ServiceLogFrames.Frame(2L, true, "java.lang.IllegalStateException: test"));
+
+    var batch = ServiceLogFrames.decode(ServiceLogFrames.encode(sessionId, 3, null, frames));
+    Assertions.assertEquals(sessionId, batch.sessionId());
+    Assertions.assertEquals(3, batch.sequence());
+    Assertions.assertNull(batch.header());
+    Assertions.assertEquals(frames, batch.frames());
+  }
+
+  @Test
+  void testCompressedBatchWithHeaderRoundTrip() {
+    var sessionId = UUID.randomUUID();
+    var header = new ServiceLogFrames.Header(snapshot(), "screen");
+    // the payload of these frames exceeds the compression threshold
+    var frames = IntStream.range(0, 200)
+      .mapToObj(i -> new ServiceLogFrames.Frame(i, i % 7 == 0, "[Server thread/INFO]: Player joined the game " + i))
+      .toList();
+
+    var encoded = ServiceLogFrames.encode(sessionId, 0, header, frames);
+    Assertions.assertTrue(encoded.readableBytes() < frames.size() * 40);
+
+    var batch = ServiceLogFrames.decode(encoded);
+    Assertions.assertEquals(sessionId, batch.sessionId());
+    Assertions.assertEquals(0, batch.sequence());
+    Assertions.assertNotNull(batch.header());
+    Assertions.assertEquals("screen", batch.header().eventChannel());
+    Assertions.assertEquals(header.snapshot().serviceId(), batch.header().snapshot().serviceId());
+    Assertions.assertEquals(frames, batch.frames());
+  }
+
+  @Test
+  void testEmptyBatchRoundTrip() {
+    var batch = ServiceLogFrames.decode(ServiceLogFrames.encode(UUID.randomUUID(), 0, null, List.of()));
+    Assertions.assertTrue(batch.frames().isEmpty());
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.service.log;
+
+import eu.cloudnetservice.driver.event.EventManager;
+import eu.cloudnetservice.driver.event.events.service.CloudServiceLogEntryEvent;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class ServiceLogStreamReceiverTest {
+
+  private final UUID sessionId = UUID.randomUUID();
+  private final ServiceLogFrames.Header header = new ServiceLogFrames.Header(ServiceLogFramesTest.snapshot(), "screen");
+
+  private final List<String> receivedLines = new ArrayList<>();
+  private ServiceLogStreamReceiver receiver;
+
+  @BeforeEach
+  void setUp() {
+    var eventManager = Mockito.mock(EventManager.class);
+    Mockito
+      .when(eventManager.callEvent(Mockito.eq("screen"), Mockito.any(CloudServiceLogEntryEvent.class)))
+      .thenAnswer(invocation -> {
+        CloudServiceLogEntryEvent event = invocation.getArgument(1);
+        this.receivedLines.add(event.line());
+        return event;
+      });
+    this.receiver = new ServiceLogStreamReceiver(eventManager);
+  }
+
+  @Test
+  void testLinesBeforeHeaderAreDeliveredInOrder() {
+    this.sendBatch(2, false, "third");
+    this.sendBatch(1, false, "second");
+    Assertions.assertTrue(this.receivedLines.isEmpty());
+
+    this.sendBatch(0, true, "first");
+    this.sendBatch(3, false, "fourth");
+    Assertions.assertEquals(List.of("first", "second", "third", "fourth"), this.receivedLines);
+  }
+
+  @Test
+  void testLinesAfterHeaderAreDeliveredInOrder() {
+    this.sendBatch(0, true, "first");
+    this.sendBatch(2, false, "third");
+    this.sendBatch(3, false, "fourth");
+    Assertions.assertEquals(List.of("first"), this.receivedLines);
+
+    // the missing batch releases the buffered batches, duplicates are ignored
+    this.sendBatch(1, false, "second");
+    this.sendBatch(2, false, "third");
+    Assertions.assertEquals(List.of("first", "second", "third", "fourth"), this.receivedLines);
+  }
+
+  @Test
+  void testMissingBatchIsSkippedAfterTimeout() {
+    this.sendBatch(0, true, "first");
+    this.sendBatch(2, false, "third");
+    Assertions.assertEquals(List.of("first"), this.receivedLines);
+
+    this.receiver.expireSessions(System.currentTimeMillis() + 6_000);
+    Assertions.assertEquals(List.of("first", "third"), this.receivedLines);
+
+    // the skipped batch is dropped if it arrives late
+    this.sendBatch(1, false, "second");
+    this.sendBatch(3, false, "fourth");
+    Assertions.assertEquals(List.of("first", "third", "fourth"), this.receivedLines);
+  }
+
+  @Test
+  void testLinesAfterCloseAreDelivered() {
+    this.receiver.closeSession(DataBuf.empty().writeUniqueId(this.sessionId));
+    this.sendBatch(0, true, "last");
+    Assertions.assertEquals(List.of("last"), this.receivedLines);
+  }
+
+  @Test
+  void testSessionsWithoutHeaderExpire() {
+    this.sendBatch(1, false, "lost");
+    this.receiver.expireSessions(System.currentTimeMillis() + 60_000);
+
+    this.sendBatch(2, true, "restored");
+    Assertions.assertEquals(List.of("restored"), this.receivedLines);
+  }
+
+  private void sendBatch(long sequence, boolean withHeader, String line) {
+    var frames = List.of(new ServiceLogFrames.Frame(System.currentTimeMillis(), false, line));
+    var content = ServiceLogFrames.encode(this.sessionId, sequence, withHeader ? this.header : null, frames);
+    this.receiver.handleLines(content, UnaryOperator.identity());
+  }
+}
@@ -59,6 +59,8 @@ public final class BridgeConfiguration {
   private final Collection<String> hubCommandNames;
   private final Collection<ProxyFallbackConfiguration> fallbackConfigurations;
 
+  private final boolean narrowServiceInfoUpdates;
+
   public BridgeConfiguration() {
     this.prefix = "§7Cloud §8| §b";
     this.localizedMessages = new HashMap<>(DEFAULT_MESSAGES);
@@ -68,6 +70,7 @@ public BridgeConfiguration() {
       .targetGroup("Proxy")
       .defaultFallbackTask("Lobby")
       .build()));
+    this.narrowServiceInfoUpdates = false;
   }
 
   public BridgeConfiguration(
@@ -76,12 +79,24 @@ public BridgeConfiguration(
     @NonNull Collection<String> excludedGroups,
     @NonNull Collection<String> hubCommandNames,
     @NonNull Collection<ProxyFallbackConfiguration> fallbackConfigurations
+  ) {
+    this(prefix, localizedMessages, excludedGroups, hubCommandNames, fallbackConfigurations, false);
+  }
+
+  public BridgeConfiguration(
+    @NonNull String prefix,
+    @NonNull Map<String, Map<String, String>> localizedMessages,
+    @NonNull Collection<String> excludedGroups,
+    @NonNull Collection<String> hubCommandNames,
+    @NonNull Collection<ProxyFallbackConfiguration> fallbackConfigurations,
+    boolean narrowServiceInfoUpdates
   ) {
     this.prefix = prefix;
     this.localizedMessages = localizedMessages;
     this.excludedGroups = excludedGroups;
     this.hubCommandNames = hubCommandNames;
     this.fallbackConfigurations = fallbackConfigurations;
+    this.narrowServiceInfoUpdates = narrowServiceInfoUpdates;
   }
 
   public @NonNull String prefix() {
@@ -100,6 +115,10 @@ public BridgeConfiguration(
     return this.excludedGroups;
   }
 
+  public boolean narrowServiceInfoUpdates() {
+    return this.narrowServiceInfoUpdates;
+  }
+
   public void handleMessage(
     @Nullable Locale locale,
     @NonNull String key,
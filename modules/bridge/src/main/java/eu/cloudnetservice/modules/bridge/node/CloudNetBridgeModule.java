@@ -31,6 +31,7 @@
 import eu.cloudnetservice.modules.bridge.config.BridgeConfiguration;
 import eu.cloudnetservice.modules.bridge.config.ProxyFallbackConfiguration;
 import eu.cloudnetservice.modules.bridge.node.command.BridgeCommand;
+import eu.cloudnetservice.modules.bridge.node.player.NodePlayerManager;
 import eu.cloudnetservice.modules.bridge.rpc.ComponentObjectSerializer;
 import eu.cloudnetservice.modules.bridge.rpc.TitleObjectSerializer;
 import eu.cloudnetservice.node.cluster.sync.DataSyncHandler;
@@ -91,6 +92,7 @@ public void convertOldDatabaseEntries(
         var convertedPlayers = 0;
         Map<String, Document> chunkData;
         while ((chunkData = playerDb.readChunk(convertedPlayers, 100)) != null) {
+          Map<String, Document> convertedChunk = new HashMap<>();
           for (var entry : chunkData.entrySet()) {
             // get all the required path
             var valueCopy = entry.getValue().mutableCopy();
@@ -121,10 +123,13 @@ public void convertOldDatabaseEntries(
             valueCopy.remove("uniqueId");
             valueCopy.remove("lastNetworkConnectionInfo");
 
-            // update the entry
-            playerDb.insert(entry.getKey(), valueCopy);
+            // collect the entry to update it together with the other entries of the chunk
+            convertedChunk.put(entry.getKey(), valueCopy);
           }
 
+          // update all entries of the chunk
+          playerDb.insertAll(convertedChunk);
+
           // check if the chunk size was exactly 100 players - if not we just completed the last chunk
           convertedPlayers += chunkData.size();
           if (chunkData.size() != 100) {
@@ -205,6 +210,12 @@ public void registerCommand(@NonNull CommandProvider commandProvider) {
     commandProvider.register(BridgeCommand.class);
   }
 
+  @ModuleTask(lifecycle = ModuleLifeCycle.STOPPED)
+  public void flushPlayerRecords(@NonNull NodePlayerManager playerManager) {
+    // write the pending player records before the module gets unloaded
+    playerManager.closePlayerWriteQueue();
+  }
+
   @ModuleTask(lifecycle = ModuleLifeCycle.RELOADING)
   public void handleReload(@Nullable BridgeManagement management) {
     if (management != null) {
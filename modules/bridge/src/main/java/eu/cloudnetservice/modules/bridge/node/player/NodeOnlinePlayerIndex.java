@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.bridge.node.player;
+
+import eu.cloudnetservice.driver.service.ServiceEnvironmentType;
+import eu.cloudnetservice.modules.bridge.player.CloudPlayer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * Indexes the online players by their lowercase name and by the task, groups and environment of the service they are
+ * connected to. As players are mutable, the keys a player was indexed with are remembered, so that re-indexing an
+ * updated player removes it from the entries it no longer belongs to.
+ *
+ * @since 4.0
+ */
+final class NodeOnlinePlayerIndex {
+
+  private final Map<UUID, IndexKeys> indexedKeys = new HashMap<>();
+
+  private final Map<String, Map<UUID, CloudPlayer>> nameIndex = new HashMap<>();
+  private final Map<String, Map<UUID, CloudPlayer>> taskIndex = new HashMap<>();
+  private final Map<String, Map<UUID, CloudPlayer>> groupIndex = new HashMap<>();
+  private final Map<ServiceEnvironmentType, Map<UUID, CloudPlayer>> environmentIndex = new HashMap<>();
+
+  static @NonNull String nameKey(@NonNull String name) {
+    return name.toLowerCase(Locale.ROOT);
+  }
+
+  public synchronized void index(@NonNull CloudPlayer player) {
+    this.remove(player.uniqueId());
+
+    var serviceInfo = Objects.requireNonNullElse(player.connectedService(), player.loginService());
+    var keys = new IndexKeys(
+      nameKey(player.name()),
+      serviceInfo.taskName(),
+      Set.copyOf(serviceInfo.groups()),
+      serviceInfo.environment());
+    this.indexedKeys.put(player.uniqueId(), keys);
+
+    add(this.nameIndex, keys.name(), player);
+    add(this.taskIndex, keys.task(), player);
+    add(this.environmentIndex, keys.environment(), player);
+    for (var group : keys.groups()) {
+      add(this.groupIndex, group, player);
+    }
+  }
+
+  public synchronized void remove(@NonNull UUID uniqueId) {
+    var keys = this.indexedKeys.remove(uniqueId);
+    if (keys != null) {
+      remove(this.nameIndex, keys.name(), uniqueId);
+      remove(this.taskIndex, keys.task(), uniqueId);
+      remove(this.environmentIndex, keys.environment(), uniqueId);
+      for (var group : keys.groups()) {
+        remove(this.groupIndex, group, uniqueId);
+      }
+    }
+  }
+
+  public synchronized @NonNull List<CloudPlayer> playersByName(@NonNull String name) {
+    return players(this.nameIndex, nameKey(name));
+  }
+
+  public synchronized @NonNull List<CloudPlayer> playersByTask(@NonNull String task) {
+    return players(this.taskIndex, task);
+  }
+
+  public synchronized @NonNull List<CloudPlayer> playersByGroup(@NonNull String group) {
+    return players(this.groupIndex, group);
+  }
+
+  public synchronized @NonNull List<CloudPlayer> playersByEnvironment(@NonNull ServiceEnvironmentType environment) {
+    return players(this.environmentIndex, environment);
+  }
+
+  private static <K> void add(@NonNull Map<K, Map<UUID, CloudPlayer>> index, @NonNull K key, @NonNull CloudPlayer p) {
+    index.computeIfAbsent(key, _ -> new HashMap<>()).put(p.uniqueId(), p);
+  }
+
+  private static <K> void remove(@NonNull Map<K, Map<UUID, CloudPlayer>> index, @NonNull K key, @NonNull UUID id) {
+    var players = index.get(key);
+    if (players != null) {
+      players.remove(id);
+      if (players.isEmpty()) {
+        index.remove(key);
+      }
+    }
+  }
+
+  private static <K> @NonNull List<CloudPlayer> players(@NonNull Map<K, Map<UUID, CloudPlayer>> index, @NonNull K key) {
+    var players = index.get(key);
+    return players == null ? List.of() : List.copyOf(players.values());
+  }
+
+  private record IndexKeys(
+    @NonNull String name,
+    @NonNull String task,
+    @NonNull Set<String> groups,
+    @NonNull ServiceEnvironmentType environment
+  ) {
+
+  }
+}
@@ -18,6 +18,7 @@
 
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.Striped;
 import dev.derklaro.aerogel.PostConstruct;
@@ -48,16 +49,21 @@
 import eu.cloudnetservice.node.cluster.sync.DataSyncHandler;
 import eu.cloudnetservice.node.cluster.sync.DataSyncRegistry;
 import eu.cloudnetservice.node.command.CommandProvider;
+import eu.cloudnetservice.node.database.DatabaseWriteBehindQueue;
 import eu.cloudnetservice.node.database.LocalDatabase;
 import eu.cloudnetservice.node.database.NodeDatabaseProvider;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.function.Predicate;
@@ -73,20 +79,34 @@ public class NodePlayerManager implements PlayerManager {
   protected final EventManager eventManager;
   protected final CommandProvider commandProvider;
   protected final NodeDatabaseProvider nodeDatabaseProvider;
+  protected final DatabaseWriteBehindQueue<CloudOfflinePlayer> playerWriteQueue;
 
   protected final Map<UUID, CloudPlayer> onlinePlayers = new ConcurrentHashMap<>();
+  protected final NodeOnlinePlayerIndex onlinePlayerIndex = new NodeOnlinePlayerIndex();
   protected final PlayerProvider allPlayerProvider = new NodePlayerProvider(() -> this.onlinePlayers.values().stream());
 
   protected final Striped<Lock> playerReadWriteLocks = Striped.lazyWeakLock(1);
+  protected final Map<String, Set<UUID>> offlinePlayerNameIndex = new ConcurrentHashMap<>();
   protected final LoadingCache<UUID, Optional<CloudOfflinePlayer>> offlinePlayerCache = Caffeine.newBuilder()
     .expireAfterAccess(5, TimeUnit.MINUTES)
+    .evictionListener((UUID uniqueId, Optional<CloudOfflinePlayer> player, RemovalCause cause) -> player
+      .ifPresent(evicted -> NodePlayerManager.this.unindexOfflinePlayer(uniqueId, evicted.name())))
     .build(uniqueId -> {
+      // use the pending write of the player if there is one, the database is not yet up-to-date in that case
+      var pendingPlayer = NodePlayerManager.this.playerWriteQueue.pending(uniqueId.toString());
+      if (pendingPlayer != null) {
+        NodePlayerManager.this.indexOfflinePlayer(uniqueId, pendingPlayer.name());
+        return Optional.of(pendingPlayer);
+      }
+
       // load the player from the database sync to block the current thread
       var document = NodePlayerManager.this.database().get(uniqueId.toString());
       if (document == null) {
         return Optional.empty();
       } else {
-        return Optional.of(document.toInstanceOf(CloudOfflinePlayer.class));
+        var player = document.toInstanceOf(CloudOfflinePlayer.class);
+        NodePlayerManager.this.indexOfflinePlayer(uniqueId, player.name());
+        return Optional.of(player);
       }
     });
 
@@ -97,12 +117,17 @@ public NodePlayerManager(
     @NonNull CommandProvider commandProvider,
     @NonNull DataSyncRegistry dataSyncRegistry,
     @NonNull RPCHandlerRegistry handlerRegistry,
-    @NonNull NodeDatabaseProvider nodeDatabaseProvider
+    @NonNull NodeDatabaseProvider nodeDatabaseProvider,
+    @NonNull @Named("taskScheduler") ScheduledExecutorService taskScheduler
   ) {
     this.databaseName = BridgeManagement.BRIDGE_PLAYER_DB_NAME;
     this.eventManager = eventManager;
     this.commandProvider = commandProvider;
     this.nodeDatabaseProvider = nodeDatabaseProvider;
+    this.playerWriteQueue = nodeDatabaseProvider.createWriteBehindQueue(
+      this.databaseName,
+      player -> Document.newJsonDocument().appendTree(player),
+      taskScheduler);
 
     // register the rpc handlers
     var playerManagerHandler = providerFactory.newRPCHandlerBuilder(PlayerManager.class).targetInstance(this).build();
@@ -122,7 +147,7 @@ public NodePlayerManager(
       .nameExtractor(CloudPlayer::name)
       .dataCollector(this.onlinePlayers::values)
       .currentGetter(player -> this.onlinePlayers.get(player.uniqueId()))
-      .writer(player -> this.onlinePlayers.put(player.uniqueId(), player))
+      .writer(this::putOnlinePlayer)
       .build());
   }
 
@@ -144,6 +169,7 @@ public int onlineCount() {
 
   @Override
   public long registeredCount() {
+    this.playerWriteQueue.flush();
     return this.database().documentCount();
   }
 
@@ -154,30 +180,18 @@ public long registeredCount() {
 
   @Override
   public @Nullable CloudPlayer firstOnlinePlayer(@NonNull String name) {
-    for (var player : this.onlinePlayers.values()) {
-      if (player.name().equalsIgnoreCase(name)) {
-        return player;
-      }
-    }
-    return null;
+    var players = this.onlinePlayerIndex.playersByName(name);
+    return players.isEmpty() ? null : players.getFirst();
   }
 
   @Override
   public @NonNull List<CloudPlayer> onlinePlayers(@NonNull String name) {
-    return this.onlinePlayers.values().stream()
-      .filter(cloudPlayer -> cloudPlayer.name().equalsIgnoreCase(name))
-      .toList();
+    return this.onlinePlayerIndex.playersByName(name);
   }
 
   @Override
   public @NonNull List<CloudPlayer> environmentOnlinePlayers(@NonNull ServiceEnvironmentType environment) {
-    return this.onlinePlayers.values()
-      .stream()
-      .filter(cloudPlayer -> {
-        var serviceInfo = Objects.requireNonNullElse(cloudPlayer.connectedService(), cloudPlayer.loginService());
-        return serviceInfo.environment().equals(environment);
-      })
-      .toList();
+    return this.onlinePlayerIndex.playersByEnvironment(environment);
   }
 
   @Override
@@ -187,22 +201,12 @@ public long registeredCount() {
 
   @Override
   public @NonNull PlayerProvider taskOnlinePlayers(@NonNull String task) {
-    return new NodePlayerProvider(() -> this.onlinePlayers.values()
-      .stream()
-      .filter(player -> {
-        var serviceInfo = Objects.requireNonNullElse(player.connectedService(), player.loginService());
-        return serviceInfo.taskName().equals(task);
-      }));
+    return new NodePlayerProvider(() -> this.onlinePlayerIndex.playersByTask(task).stream());
   }
 
   @Override
   public @NonNull PlayerProvider groupOnlinePlayers(@NonNull String group) {
-    return new NodePlayerProvider(() -> this.onlinePlayers.values()
-      .stream()
-      .filter(player -> {
-        var serviceInfo = Objects.requireNonNullElse(player.connectedService(), player.loginService());
-        return serviceInfo.groups().contains(group);
-      }));
+    return new NodePlayerProvider(() -> this.onlinePlayerIndex.playersByGroup(group).stream());
   }
 
   @Override
@@ -212,19 +216,24 @@ public long registeredCount() {
 
   @Override
   public @Nullable CloudOfflinePlayer firstOfflinePlayer(@NonNull String name) {
-    return this.offlinePlayerCache.asMap().values().stream()
-      .filter(Optional::isPresent)
-      .map(Optional::get)
-      .filter(player -> player.name().equalsIgnoreCase(name))
-      .findFirst()
-      .orElseGet(() -> {
-        var players = this.offlinePlayers(name);
-        return players.isEmpty() ? null : players.get(0);
-      });
+    // check the cached players first, the index might contain players which were renamed in the meantime
+    var cachedPlayers = this.offlinePlayerNameIndex.get(NodeOnlinePlayerIndex.nameKey(name));
+    if (cachedPlayers != null) {
+      for (var uniqueId : cachedPlayers) {
+        var player = this.offlinePlayerCache.getIfPresent(uniqueId);
+        if (player != null && player.isPresent() && player.get().name().equalsIgnoreCase(name)) {
+          return player.get();
+        }
+      }
+    }
+
+    var players = this.offlinePlayers(name);
+    return players.isEmpty() ? null : players.get(0);
   }
 
   @Override
   public @NonNull List<CloudOfflinePlayer> offlinePlayers(@NonNull String name) {
+    this.playerWriteQueue.flush();
     return this.database().find("name", name).stream()
       .map(document -> document.toInstanceOf(CloudOfflinePlayer.class))
       .toList();
@@ -232,6 +241,7 @@ public long registeredCount() {
 
   @Override
   public @NonNull List<CloudOfflinePlayer> registeredPlayers() {
+    this.playerWriteQueue.flush();
     return this.database().entries().values().stream()
       .map(doc -> doc.toInstanceOf(CloudOfflinePlayer.class))
       .filter(Objects::nonNull)
@@ -242,8 +252,8 @@ public long registeredCount() {
   public void updateOfflinePlayer(@NonNull CloudOfflinePlayer player) {
     // push the change to the cache
     this.pushOfflinePlayerCache(player.uniqueId(), player);
-    // update the database
-    this.database().insert(player.uniqueId().toString(), Document.newJsonDocument().appendTree(player));
+    // queue the database update
+    this.playerWriteQueue.enqueue(player.uniqueId().toString(), player);
     // notify the cluster
     ChannelMessage.builder()
       .targetAll()
@@ -276,7 +286,8 @@ public void updateOnlinePlayer(@NonNull CloudPlayer cloudPlayer) {
   public void deleteCloudOfflinePlayer(@NonNull CloudOfflinePlayer cloudOfflinePlayer) {
     // push the change to the cache
     this.pushOfflinePlayerCache(cloudOfflinePlayer.uniqueId(), null);
-    // delete from the database
+    // drop the pending write of the player and delete it from the database
+    this.playerWriteQueue.discard(cloudOfflinePlayer.uniqueId().toString());
     this.database().delete(cloudOfflinePlayer.uniqueId().toString());
     // notify the cluster
     ChannelMessage.builder()
@@ -301,20 +312,61 @@ public void deleteCloudOfflinePlayer(@NonNull CloudOfflinePlayer cloudOfflinePla
   }
 
   public void pushOfflinePlayerCache(@NonNull UUID uniqueId, @Nullable CloudOfflinePlayer cloudOfflinePlayer) {
-    this.offlinePlayerCache.put(uniqueId, Optional.ofNullable(cloudOfflinePlayer));
+    var previous = this.offlinePlayerCache.asMap().put(uniqueId, Optional.ofNullable(cloudOfflinePlayer));
+    if (previous != null && previous.isPresent()) {
+      this.unindexOfflinePlayer(uniqueId, previous.get().name());
+    }
+    if (cloudOfflinePlayer != null) {
+      this.indexOfflinePlayer(uniqueId, cloudOfflinePlayer.name());
+    }
   }
 
   public void pushOnlinePlayerCache(@NonNull CloudPlayer cloudPlayer) {
-    this.onlinePlayers.replace(cloudPlayer.uniqueId(), cloudPlayer);
+    this.onlinePlayers.computeIfPresent(cloudPlayer.uniqueId(), (_, _) -> {
+      this.onlinePlayerIndex.index(cloudPlayer);
+      return cloudPlayer;
+    });
     this.pushOfflinePlayerCache(cloudPlayer.uniqueId(), CloudOfflinePlayer.offlineCopy(cloudPlayer));
   }
 
+  public void removeOnlinePlayer(@NonNull UUID uniqueId) {
+    this.onlinePlayers.computeIfPresent(uniqueId, (_, _) -> {
+      this.onlinePlayerIndex.remove(uniqueId);
+      return null;
+    });
+  }
+
+  protected void putOnlinePlayer(@NonNull CloudPlayer cloudPlayer) {
+    // update the index while holding the map entry to keep both consistent with concurrent updates
+    this.onlinePlayers.compute(cloudPlayer.uniqueId(), (_, _) -> {
+      this.onlinePlayerIndex.index(cloudPlayer);
+      return cloudPlayer;
+    });
+  }
+
+  protected void indexOfflinePlayer(@NonNull UUID uniqueId, @NonNull String name) {
+    this.offlinePlayerNameIndex
+      .computeIfAbsent(NodeOnlinePlayerIndex.nameKey(name), _ -> ConcurrentHashMap.newKeySet())
+      .add(uniqueId);
+  }
+
+  protected void unindexOfflinePlayer(@NonNull UUID uniqueId, @NonNull String name) {
+    this.offlinePlayerNameIndex.computeIfPresent(NodeOnlinePlayerIndex.nameKey(name), (_, uniqueIds) -> {
+      uniqueIds.remove(uniqueId);
+      return uniqueIds.isEmpty() ? null : uniqueIds;
+    });
+  }
+
+  public void closePlayerWriteQueue() {
+    this.playerWriteQueue.close();
+  }
+
   protected @NonNull LocalDatabase database() {
     return this.nodeDatabaseProvider.database(this.databaseName);
   }
 
   public @NonNull Map<UUID, CloudPlayer> players() {
-    return this.onlinePlayers;
+    return Collections.unmodifiableMap(this.onlinePlayers);
   }
 
   public void loginPlayer(
@@ -352,7 +404,7 @@ protected void loginPlayer0(
     var cloudPlayer = this.onlinePlayer(connectionInfo.uniqueId());
     if (cloudPlayer == null) {
       // try to load the player using the name and the login service
-      for (var player : this.players().values()) {
+      for (var player : this.onlinePlayerIndex.playersByName(connectionInfo.name())) {
         if (player.name().equals(connectionInfo.name())) {
           if (player.loginService().uniqueId().equals(connectionInfo.networkService().uniqueId())) {
             cloudPlayer = player;
@@ -377,7 +429,7 @@ protected void loginPlayer0(
           cloudOfflinePlayer.lastNetworkPlayerProxyInfo(),
           cloudOfflinePlayer.propertyHolder());
         // cache the online player for later use
-        this.onlinePlayers.put(cloudPlayer.uniqueId(), cloudPlayer);
+        this.putOnlinePlayer(cloudPlayer);
       }
     }
     // cannot never be null at this point
@@ -387,10 +439,8 @@ protected void loginPlayer0(
   protected void processLogin(@NonNull CloudPlayer cloudPlayer) {
     // push the player into the cache
     this.pushOnlinePlayerCache(cloudPlayer);
-    // update the database
-    this.database().insert(
-      cloudPlayer.uniqueId().toString(),
-      Document.newJsonDocument().appendTree(CloudOfflinePlayer.offlineCopy(cloudPlayer)));
+    // queue the database update
+    this.playerWriteQueue.enqueue(cloudPlayer.uniqueId().toString(), CloudOfflinePlayer.offlineCopy(cloudPlayer));
     // notify the other nodes that we received the login
     ChannelMessage.builder()
       .targetAll()
@@ -411,8 +461,8 @@ public void processLoginMessage(@NonNull CloudPlayer cloudPlayer) {
       // check if the player is already loaded
       var registeredPlayer = this.onlinePlayers.get(cloudPlayer.uniqueId());
       if (registeredPlayer == null) {
-        this.onlinePlayers.put(cloudPlayer.uniqueId(), cloudPlayer);
-        this.offlinePlayerCache.put(cloudPlayer.uniqueId(), Optional.of(cloudPlayer));
+        this.putOnlinePlayer(cloudPlayer);
+        this.pushOfflinePlayerCache(cloudPlayer.uniqueId(), cloudPlayer);
       } else {
         var needsUpdate = false;
         // check if the player has a known login service
@@ -435,7 +485,10 @@ public void processLoginMessage(@NonNull CloudPlayer cloudPlayer) {
         }
         // check if we need to update the player
         if (needsUpdate) {
-          this.onlinePlayers.replace(cloudPlayer.uniqueId(), cloudPlayer);
+          this.onlinePlayers.computeIfPresent(cloudPlayer.uniqueId(), (_, _) -> {
+            this.onlinePlayerIndex.index(cloudPlayer);
+            return cloudPlayer;
+          });
         }
       }
     } finally {
@@ -454,7 +507,7 @@ public void processLoginMessage(@NonNull CloudPlayer cloudPlayer) {
         System.currentTimeMillis(),
         proxyInfo,
         Document.newJsonDocument());
-      this.offlinePlayerCache.put(proxyInfo.uniqueId(), Optional.of(cloudOfflinePlayer));
+      this.pushOfflinePlayerCache(proxyInfo.uniqueId(), cloudOfflinePlayer);
     }
     // the selected player
     return cloudOfflinePlayer;
@@ -474,14 +527,14 @@ public void logoutPlayer(@NonNull CloudPlayer cloudPlayer) {
 
   private void logoutPlayer0(@NonNull CloudPlayer cloudPlayer) {
     // remove the player from the cache
-    this.onlinePlayers.remove(cloudPlayer.uniqueId());
+    this.removeOnlinePlayer(cloudPlayer.uniqueId());
     cloudPlayer.lastNetworkPlayerProxyInfo(cloudPlayer.networkPlayerProxyInfo());
     // copy to an offline version
     var offlinePlayer = CloudOfflinePlayer.offlineCopy(cloudPlayer);
     // update the offline version of the player into the cache
     this.pushOfflinePlayerCache(cloudPlayer.uniqueId(), offlinePlayer);
-    // push the change to the database
-    this.database().insert(offlinePlayer.uniqueId().toString(), Document.newJsonDocument().appendTree(offlinePlayer));
+    // queue the database update
+    this.playerWriteQueue.enqueue(offlinePlayer.uniqueId().toString(), offlinePlayer);
     // notify the cluster
     ChannelMessage.builder()
       .targetAll()
@@ -27,6 +27,7 @@
 import eu.cloudnetservice.driver.network.rpc.factory.RPCFactory;
 import eu.cloudnetservice.driver.provider.CloudServiceProvider;
 import eu.cloudnetservice.driver.provider.ServiceTaskProvider;
+import eu.cloudnetservice.driver.service.ServiceInfoInterest;
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
 import eu.cloudnetservice.driver.service.ServiceLifeCycle;
 import eu.cloudnetservice.driver.service.ServiceTask;
@@ -90,6 +91,8 @@
   protected volatile ProxyFallbackConfiguration currentFallbackConfiguration;
   // cache utils
   protected volatile Predicate<ServiceInfoSnapshot> cacheTester;
+  // the service info updates to receive when narrowing them is enabled in the configuration
+  protected volatile ServiceInfoInterest cacheInterest;
   protected volatile Consumer<ServiceInfoSnapshot> cacheRegisterListener;
   protected volatile Consumer<ServiceInfoSnapshot> cacheUnregisterListener;
 
@@ -115,6 +118,7 @@ public PlatformBridgeManagement(
       .build($ -> new FallbackProfile());
     // fill the cache access with no-op stuff
     this.cacheTester = $ -> false;
+    this.cacheInterest = ServiceInfoInterest.NONE;
     this.cacheRegisterListener = this.cacheUnregisterListener = $ -> {
     };
 
@@ -347,6 +351,10 @@ public void removeFallbackProfile(@NonNull UUID uniqueId) {
   public void postInit() {
     // publish a service update to append all property information
     this.serviceInfoHolder.publishServiceInfoUpdate();
+    // receive the updates of all services unless narrowing them to the cache policy was enabled in the configuration.
+    // an interest in all services absorbs all interests declared by other plugins, changes require a restart
+    var interest = this.configuration.narrowServiceInfoUpdates() ? this.cacheInterest : ServiceInfoInterest.ALL;
+    this.serviceInfoHolder.declareServiceInfoInterest(interest);
     // load all services and cache the ones which are matching the cache policy
     this.serviceProvider.servicesAsync().thenAccept(services -> {
       for (var service : services) {
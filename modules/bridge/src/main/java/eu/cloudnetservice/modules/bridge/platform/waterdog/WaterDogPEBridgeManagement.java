@@ -28,6 +28,7 @@
 import eu.cloudnetservice.driver.provider.ServiceTaskProvider;
 import eu.cloudnetservice.driver.registry.ServiceRegistry;
 import eu.cloudnetservice.driver.service.ServiceEnvironmentType;
+import eu.cloudnetservice.driver.service.ServiceInfoInterest;
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
 import eu.cloudnetservice.ext.platforminject.api.stereotype.ProvidesFor;
 import eu.cloudnetservice.modules.bridge.BridgeManagement;
@@ -95,6 +96,7 @@ public WaterDogPEBridgeManagement(
     // init the default cache listeners
     this.cacheTester = CONNECTED_SERVICE_TESTER
       .and(service -> service.serviceId().environment().readProperty(ServiceEnvironmentType.PE_SERVER));
+    this.cacheInterest = ServiceInfoInterest.ALL;
     // register each service matching the service cache tester
     this.cacheRegisterListener = service -> this.proxyServer.getServerInfoMap().put(
       service.name(),
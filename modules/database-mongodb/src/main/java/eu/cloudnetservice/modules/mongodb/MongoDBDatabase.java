@@ -17,11 +17,15 @@
 package eu.cloudnetservice.modules.mongodb;
 
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.UpdateOptions;
 import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
 import eu.cloudnetservice.driver.document.Document;
 import eu.cloudnetservice.driver.document.DocumentFactory;
 import eu.cloudnetservice.node.database.AbstractDatabase;
@@ -29,6 +33,7 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
@@ -43,6 +48,7 @@ public class MongoDBDatabase extends AbstractDatabase {
 
   protected static final IndexOptions UNIQUE_KEY_OPTIONS = new IndexOptions().unique(true);
   protected static final UpdateOptions INSERT_OR_REPLACE_OPTIONS = new UpdateOptions().upsert(true);
+  protected static final BulkWriteOptions UNORDERED_BULK_WRITE_OPTIONS = new BulkWriteOptions().ordered(false);
 
   protected final MongoCollection<org.bson.Document> collection;
 
@@ -59,34 +65,84 @@ protected MongoDBDatabase(
 
   @Override
   public boolean insert(@NonNull String key, @NonNull Document document) {
-    return this.insertOrUpdate(key, document);
+    return this.measure(INSERT_LATENCY, () -> this.insertOrUpdate(key, document));
   }
 
   protected boolean insertOrUpdate(String key, Document document) {
     var result = this.collection.updateOne(
       Filters.eq(KEY_NAME, key),
-      Updates.combine(
-        Updates.setOnInsert(new org.bson.Document(KEY_NAME, key)),
-        Updates.set(VALUE_NAME, org.bson.Document.parse(this.serializeDocumentToJsonString(document)))
-      ),
+      this.insertOrUpdateStatement(key, document),
       INSERT_OR_REPLACE_OPTIONS);
     return result.getUpsertedId() != null || result.getMatchedCount() > 0;
   }
 
+  @Override
+  public boolean insertAll(@NonNull Map<String, Document> documents) {
+    if (documents.isEmpty()) {
+      return true;
+    }
+
+    List<WriteModel<org.bson.Document>> writes = new ArrayList<>(documents.size());
+    documents.forEach((key, document) -> writes.add(new UpdateOneModel<>(
+      Filters.eq(KEY_NAME, key),
+      this.insertOrUpdateStatement(key, document),
+      INSERT_OR_REPLACE_OPTIONS)));
+    return this.measure(INSERT_ALL_LATENCY, () -> {
+      // the order of the writes is irrelevant as each key is only present once
+      var result = this.collection.bulkWrite(writes, UNORDERED_BULK_WRITE_OPTIONS);
+      return result.getMatchedCount() + result.getUpserts().size() == writes.size();
+    });
+  }
+
+  @Override
+  public @NonNull Map<String, Document> getAll(@NonNull Collection<String> keys) {
+    return this.measure(GET_ALL_LATENCY, () -> {
+      Map<String, Document> documents = new HashMap<>();
+      try (var cursor = this.collection.find(Filters.in(KEY_NAME, keys)).iterator()) {
+        while (cursor.hasNext()) {
+          var document = cursor.next();
+          var parsedDocument = this.parseDocumentValue(document);
+          if (parsedDocument != null) {
+            documents.put(document.getString(KEY_NAME), parsedDocument);
+          }
+        }
+      }
+
+      return documents;
+    });
+  }
+
+  @Override
+  public long deleteAll(@NonNull Collection<String> keys) {
+    return this.measure(
+      DELETE_ALL_LATENCY,
+      () -> this.collection.deleteMany(Filters.in(KEY_NAME, keys)).getDeletedCount());
+  }
+
+  protected @NonNull Bson insertOrUpdateStatement(@NonNull String key, @NonNull Document document) {
+    return Updates.combine(
+      Updates.setOnInsert(new org.bson.Document(KEY_NAME, key)),
+      Updates.set(VALUE_NAME, org.bson.Document.parse(this.serializeDocumentToJsonString(document))));
+  }
+
   @Override
   public boolean contains(@NonNull String key) {
-    return this.collection.find(Filters.eq(KEY_NAME, key)).first() != null;
+    return this.measure(CONTAINS_LATENCY, () -> this.collection.find(Filters.eq(KEY_NAME, key)).first() != null);
   }
 
   @Override
   public boolean delete(@NonNull String key) {
-    return this.collection.deleteOne(Filters.eq(KEY_NAME, key)).getDeletedCount() > 0;
+    return this.measure(
+      DELETE_LATENCY,
+      () -> this.collection.deleteOne(Filters.eq(KEY_NAME, key)).getDeletedCount() > 0);
   }
 
   @Override
   public @Nullable Document get(@NonNull String key) {
-    var document = this.collection.find(Filters.eq(KEY_NAME, key)).first();
-    return this.parseDocumentValue(document);
+    return this.measure(GET_LATENCY, () -> {
+      var document = this.collection.find(Filters.eq(KEY_NAME, key)).first();
+      return this.parseDocumentValue(document);
+    });
   }
 
   @Override
@@ -206,6 +262,22 @@ public boolean synced() {
     return result.isEmpty() ? null : result;
   }
 
+  @Override
+  protected @NonNull Map<String, Document> readKeyRange(@Nullable String afterKey, int limit) {
+    Map<String, Document> result = new LinkedHashMap<>();
+    var filter = afterKey == null ? Filters.empty() : Filters.gt(KEY_NAME, afterKey);
+    try (var cursor = this.collection.find(filter).sort(Sorts.ascending(KEY_NAME)).limit(limit).iterator()) {
+      while (cursor.hasNext()) {
+        // keep entries without a value to not end the iteration early, as less entries than requested indicate the end
+        var document = cursor.next();
+        var parsedDocument = this.parseDocumentValue(document);
+        result.put(document.getString(KEY_NAME), parsedDocument == null ? Document.newJsonDocument() : parsedDocument);
+      }
+    }
+
+    return result;
+  }
+
   @Override
   public void close() {
   }
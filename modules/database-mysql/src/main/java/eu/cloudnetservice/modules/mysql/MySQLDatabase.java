@@ -54,35 +54,56 @@ public MySQLDatabase(@NonNull SQLDatabaseProvider provider, @NonNull String name
   @Override
   public boolean insert(@NonNull String key, @NonNull Document document) {
     var serializedDocument = this.serializeDocumentToJsonString(document);
-    return this.databaseProvider.executeUpdate(
+    return this.measure(INSERT_LATENCY, () -> this.databaseProvider.executeUpdate(
       String.format(
         "INSERT INTO `%s` (%s, %s) VALUES (?, ?) ON DUPLICATE KEY UPDATE %s = ?;",
         this.name,
         TABLE_COLUMN_KEY,
         TABLE_COLUMN_VAL,
         TABLE_COLUMN_VAL),
-      key, serializedDocument, serializedDocument) > 0;
+      key, serializedDocument, serializedDocument) > 0);
+  }
+
+  @Override
+  public boolean insertAll(@NonNull Map<String, Document> documents) {
+    if (documents.isEmpty()) {
+      return true;
+    }
+
+    Collection<Object[]> parameters = new ArrayList<>(documents.size());
+    documents.forEach((key, document) -> {
+      var serializedDocument = this.serializeDocumentToJsonString(document);
+      parameters.add(new Object[]{key, serializedDocument, serializedDocument});
+    });
+    return this.measure(INSERT_ALL_LATENCY, () -> this.databaseProvider.executeBatchUpdate(
+      String.format(
+        "INSERT INTO `%s` (%s, %s) VALUES (?, ?) ON DUPLICATE KEY UPDATE %s = ?;",
+        this.name,
+        TABLE_COLUMN_KEY,
+        TABLE_COLUMN_VAL,
+        TABLE_COLUMN_VAL),
+      parameters) != -1);
   }
 
   @Override
   public boolean contains(@NonNull String key) {
-    return this.databaseProvider.executeQuery(
+    return this.measure(CONTAINS_LATENCY, () -> this.databaseProvider.executeQuery(
       String.format("SELECT %s FROM `%s` WHERE %s = ?;", TABLE_COLUMN_KEY, this.name, TABLE_COLUMN_KEY),
       ResultSet::next,
       false,
-      key);
+      key));
   }
 
   @Override
   public boolean delete(@NonNull String key) {
-    return this.databaseProvider.executeUpdate(
+    return this.measure(DELETE_LATENCY, () -> this.databaseProvider.executeUpdate(
       String.format("DELETE FROM %s WHERE `%s` = ?;", this.name, TABLE_COLUMN_KEY),
-      key) > 0;
+      key) > 0);
   }
 
   @Override
   public @Nullable Document get(@NonNull String key) {
-    return this.databaseProvider.executeQuery(
+    return this.measure(GET_LATENCY, () -> this.databaseProvider.executeQuery(
       String.format("SELECT %s FROM `%s` WHERE %s = ?;", TABLE_COLUMN_VAL, this.name, TABLE_COLUMN_KEY),
       resultSet -> {
         if (resultSet.next()) {
@@ -90,7 +111,7 @@ public boolean delete(@NonNull String key) {
         }
 
         return null;
-      }, null, key);
+      }, null, key));
   }
 
   @Override
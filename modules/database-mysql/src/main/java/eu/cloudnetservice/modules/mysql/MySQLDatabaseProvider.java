@@ -143,6 +143,32 @@ public int executeUpdate(@NonNull String query, @NonNull Object... objects) {
     }
   }
 
+  @Override
+  public int executeBatchUpdate(@NonNull String query, @NonNull Collection<Object[]> parameters) {
+    try (var con = this.connection(); var statement = con.prepareStatement(query)) {
+      // execute the whole batch in one transaction, the pool resets the auto commit mode when returning the connection
+      con.setAutoCommit(false);
+      try {
+        for (var objects : parameters) {
+          for (var i = 0; i < objects.length; i++) {
+            statement.setString(i + 1, Objects.toString(objects[i]));
+          }
+          statement.addBatch();
+        }
+
+        var updatedRows = updatedRows(statement.executeBatch());
+        con.commit();
+        return updatedRows;
+      } catch (SQLException exception) {
+        con.rollback();
+        throw exception;
+      }
+    } catch (SQLException exception) {
+      LOGGER.error("Exception while executing database batch update", exception);
+      return -1;
+    }
+  }
+
   @Override
   public <T> @UnknownNullability T executeQuery(
     @NonNull String query,
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.docker;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.model.Event;
+import com.github.dockerjava.api.model.EventType;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps track of the running state of all containers created by CloudNet. The states are updated by subscribing to the
+ * event stream of the docker daemon, which removes the need to inspect a container each time the state is requested. A
+ * periodic reconciliation with the container list of the daemon covers events which were missed, for example while the
+ * event stream was reconnecting.
+ */
+public final class DockerContainerStateTracker implements Closeable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DockerContainerStateTracker.class);
+
+  private static final Map<String, String> CLOUDNET_LABEL = Map.of("Service", "CloudNet");
+  private static final long RECONCILE_INTERVAL_SECONDS = Long.getLong(
+    "cloudnet.docker.container-reconcile-interval-seconds",
+    30);
+
+  private final DockerClient dockerClient;
+  private final Map<String, ContainerState> containerStates = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService executor;
+
+  private volatile boolean closed;
+  private volatile ResultCallback<Event> eventCallback;
+  private volatile ScheduledFuture<?> reconcileTask;
+  private volatile ScheduledFuture<?> resubscribeTask;
+
+  public DockerContainerStateTracker(@NonNull DockerClient dockerClient, @NonNull ScheduledExecutorService executor) {
+    this.dockerClient = dockerClient;
+    this.executor = executor;
+  }
+
+  public void start() {
+    this.subscribe();
+    this.reconcileTask = this.executor.scheduleWithFixedDelay(
+      this::reconcile,
+      0,
+      RECONCILE_INTERVAL_SECONDS,
+      TimeUnit.SECONDS);
+  }
+
+  public boolean running(@NonNull String containerId) {
+    var state = this.containerStates.get(containerId);
+    if (state != null) {
+      return state.running();
+    }
+
+    // the container is not yet known (for example because it was created before the first reconciliation),
+    // inspect it once and let the event stream keep the state up-to-date from now on
+    try {
+      var result = this.dockerClient.inspectContainerCmd(containerId).withSize(false).exec().getState();
+      var running = result.getRunning() != null && result.getRunning();
+      this.containerStates.putIfAbsent(containerId, new ContainerState(running, System.nanoTime()));
+      return running;
+    } catch (NotFoundException exception) {
+      LOGGER.debug("Unable to query status of container", exception);
+      return false;
+    }
+  }
+
+  public void markRunning(@NonNull String containerId, boolean running) {
+    this.containerStates.put(containerId, new ContainerState(running, System.nanoTime()));
+  }
+
+  public void forget(@NonNull String containerId) {
+    this.containerStates.remove(containerId);
+  }
+
+  @Override
+  public void close() {
+    this.closed = true;
+    // cancel our tasks, the executor is shared and keeps running
+    this.cancelTask(this.reconcileTask);
+    this.cancelTask(this.resubscribeTask);
+    var callback = this.eventCallback;
+    if (callback != null) {
+      this.closeCallback(callback);
+    }
+  }
+
+  private void subscribe() {
+    if (this.closed) {
+      return;
+    }
+
+    this.eventCallback = this.dockerClient.eventsCmd()
+      .withEventTypeFilter(EventType.CONTAINER)
+      .withLabelFilter(CLOUDNET_LABEL)
+      .exec(new ContainerEventCallback());
+  }
+
+  private void resubscribe(@NonNull ResultCallback<Event> failedCallback) {
+    // only resubscribe once for the current subscription, ignore callbacks of subscriptions closed by us
+    if (!this.closed && this.eventCallback == failedCallback) {
+      // reconnect delayed to not flood the daemon while it is unavailable, reconcile to catch up on missed events
+      this.eventCallback = null;
+      this.closeCallback(failedCallback);
+      this.resubscribeTask = this.executor.schedule(() -> {
+        this.subscribe();
+        this.reconcile();
+      }, 5, TimeUnit.SECONDS);
+    }
+  }
+
+  void reconcile() {
+    try {
+      var reconcileStart = System.nanoTime();
+      Map<String, Boolean> states = new HashMap<>();
+      var containers = this.dockerClient.listContainersCmd()
+        .withShowAll(true)
+        .withLabelFilter(CLOUDNET_LABEL)
+        .exec();
+      for (var container : containers) {
+        states.put(container.getId(), "running".equals(container.getState()));
+      }
+
+      // replace the known states, removing the containers which no longer exist. States which were updated while
+      // listing the containers are newer than the listed state and must be kept
+      states.forEach((containerId, running) -> this.containerStates.merge(
+        containerId,
+        new ContainerState(running, reconcileStart),
+        (current, listed) -> current.updateTime() - reconcileStart > 0 ? current : listed));
+      this.containerStates.entrySet().removeIf(entry -> !states.containsKey(entry.getKey())
+        && reconcileStart - entry.getValue().updateTime() > 0);
+    } catch (Exception exception) {
+      LOGGER.debug("Unable to reconcile docker container states", exception);
+    }
+  }
+
+  void handleEvent(@NonNull Event event) {
+    var actor = event.getActor();
+    var action = event.getAction();
+    if (actor == null || actor.getId() == null || action == null) {
+      return;
+    }
+
+    var containerId = actor.getId();
+    switch (action) {
+      case "start", "restart" -> this.markRunning(containerId, true);
+      case "die" -> this.markRunning(containerId, false);
+      case "destroy" -> this.containerStates.remove(containerId);
+      default -> {
+      }
+    }
+  }
+
+  private void cancelTask(@Nullable ScheduledFuture<?> task) {
+    if (task != null) {
+      task.cancel(false);
+    }
+  }
+
+  private void closeCallback(@NonNull ResultCallback<Event> callback) {
+    try {
+      callback.close();
+    } catch (IOException exception) {
+      LOGGER.debug("Unable to close docker event stream", exception);
+    }
+  }
+
+  private record ContainerState(boolean running, long updateTime) {
+
+  }
+
+  private final class ContainerEventCallback extends ResultCallback.Adapter<Event> {
+
+    @Override
+    public void onNext(@NonNull Event event) {
+      DockerContainerStateTracker.this.handleEvent(event);
+    }
+
+    @Override
+    public void onError(@NonNull Throwable throwable) {
+      LOGGER.debug("Docker event stream failed, resubscribing", throwable);
+      DockerContainerStateTracker.this.resubscribe(this);
+    }
+
+    @Override
+    public void onComplete() {
+      DockerContainerStateTracker.this.resubscribe(this);
+    }
+  }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.docker;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.PullImageCmd;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.model.PullResponseItem;
+import eu.cloudnetservice.modules.docker.config.DockerImage;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pulls the images used by dockerized services in the background, before a service using them is started. The pulls
+ * are scheduled periodically for all images which are known to be used and when a service using an image is created,
+ * which allows the service start to check for the image availability without blocking on a remote pull. Callers
+ * which need the image can wait for the future returned by {@link #prePull(DockerImage)}. The checks run on the given
+ * scheduler while the pulls themselves are streamed asynchronously by the docker client, to not block the scheduler
+ * during a remote pull.
+ */
+public final class DockerImagePrePuller implements Closeable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DockerImagePrePuller.class);
+
+  private static final long PRE_PULL_INTERVAL_SECONDS = Long.getLong(
+    "cloudnet.docker.image-pre-pull-interval-seconds",
+    300);
+
+  private final DockerClient dockerClient;
+  private final Set<String> availableImages = ConcurrentHashMap.newKeySet();
+  private final Map<String, CompletableFuture<Void>> pendingPulls = new ConcurrentHashMap<>();
+  private final Set<PullCallback> runningPulls = ConcurrentHashMap.newKeySet();
+  private final ScheduledExecutorService executor;
+
+  private volatile boolean closed;
+  private volatile ScheduledFuture<?> prePullTask;
+
+  public DockerImagePrePuller(@NonNull DockerClient dockerClient, @NonNull ScheduledExecutorService executor) {
+    this.dockerClient = dockerClient;
+    this.executor = executor;
+  }
+
+  public void start(@NonNull Supplier<Collection<DockerImage>> usedImages) {
+    this.prePullTask = this.executor.scheduleWithFixedDelay(() -> {
+      // re-validate all images to detect images which were removed in the meantime
+      for (var image : usedImages.get()) {
+        this.schedulePull(image, true);
+      }
+    }, 0, PRE_PULL_INTERVAL_SECONDS, TimeUnit.SECONDS);
+  }
+
+  public boolean available(@NonNull DockerImage image) {
+    return this.availableImages.contains(image.imageName());
+  }
+
+  public void invalidate(@NonNull DockerImage image) {
+    this.availableImages.remove(image.imageName());
+  }
+
+  public @NonNull CompletableFuture<Void> prePull(@NonNull DockerImage image) {
+    return this.schedulePull(image, false);
+  }
+
+  @Override
+  public void close() {
+    this.closed = true;
+    var prePullTask = this.prePullTask;
+    if (prePullTask != null) {
+      prePullTask.cancel(false);
+    }
+
+    // stop the running pulls, the executor is shared and keeps running
+    for (var runningPull : this.runningPulls) {
+      runningPull.cancel();
+    }
+  }
+
+  private @NonNull CompletableFuture<Void> schedulePull(@NonNull DockerImage image, boolean revalidate) {
+    var imageName = image.imageName();
+    if (!revalidate && this.availableImages.contains(imageName)) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    // join a pull which is already running for the image instead of scheduling another one
+    var future = new CompletableFuture<Void>();
+    var pendingPull = this.pendingPulls.putIfAbsent(imageName, future);
+    if (pendingPull != null) {
+      return pendingPull;
+    }
+
+    if (this.closed) {
+      // the pre-puller was closed
+      this.completePull(imageName, future, new RejectedExecutionException("Image pre-puller is closed"));
+      return future;
+    }
+
+    try {
+      this.executor.execute(() -> {
+        try {
+          // only pull the image if we need to, remote pulls will always be slower than local imports
+          if (this.needsImagePull(image)) {
+            this.availableImages.remove(imageName);
+            this.startPull(image, future);
+          } else {
+            this.completePull(imageName, future, null);
+          }
+        } catch (Throwable throwable) {
+          LOGGER.error("Unable to pull image {} from docker registry", imageName, throwable);
+          this.completePull(imageName, future, throwable);
+        }
+      });
+    } catch (RejectedExecutionException exception) {
+      // the scheduler was shut down
+      this.completePull(imageName, future, exception);
+    }
+    return future;
+  }
+
+  private void completePull(
+    @NonNull String imageName,
+    @NonNull CompletableFuture<Void> future,
+    @Nullable Throwable throwable
+  ) {
+    // unregister the pull before completing it, a failed pull can be retried by the future callbacks
+    this.pendingPulls.remove(imageName, future);
+    if (throwable == null) {
+      this.availableImages.add(imageName);
+      future.complete(null);
+    } else {
+      future.completeExceptionally(throwable);
+    }
+  }
+
+  private void startPull(@NonNull DockerImage image, @NonNull CompletableFuture<Void> future) {
+    var callback = new PullCallback(image, future);
+    this.runningPulls.add(callback);
+    future.whenComplete((_, _) -> this.runningPulls.remove(callback));
+
+    // re-check if the pre-puller was closed while the callback was registered
+    if (this.closed) {
+      callback.cancel();
+    } else {
+      this.buildPullCommand(image).exec(callback);
+    }
+  }
+
+  private boolean needsImagePull(@NonNull DockerImage image) {
+    try {
+      // check if the image is already available
+      this.dockerClient.inspectImageCmd(image.imageName()).exec();
+      return false;
+    } catch (NotFoundException exception) {
+      // the image does not exist
+      return true;
+    }
+  }
+
+  private @NonNull PullImageCmd buildPullCommand(@NonNull DockerImage image) {
+    var cmd = this.dockerClient.pullImageCmd(image.repository());
+    // append the tag if given
+    if (image.tag() != null) {
+      cmd.withTag(image.tag());
+    }
+    // append the registry if given
+    if (image.registry() != null) {
+      cmd.withRegistry(image.registry());
+    }
+    // append the platform if given
+    if (image.platform() != null) {
+      cmd.withPlatform(image.platform());
+    }
+    return cmd;
+  }
+
+  private final class PullCallback extends ResultCallback.Adapter<PullResponseItem> {
+
+    private final DockerImage image;
+    private final CompletableFuture<Void> future;
+
+    private PullCallback(@NonNull DockerImage image, @NonNull CompletableFuture<Void> future) {
+      this.image = image;
+      this.future = future;
+    }
+
+    @Override
+    public void onError(@NonNull Throwable throwable) {
+      super.onError(throwable);
+      LOGGER.error("Unable to pull image {} from docker registry", this.image.imageName(), throwable);
+      DockerImagePrePuller.this.completePull(this.image.imageName(), this.future, throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      super.onComplete();
+      DockerImagePrePuller.this.completePull(this.image.imageName(), this.future, null);
+    }
+
+    public void cancel() {
+      var exception = new CancellationException("Image pre-puller was closed");
+      DockerImagePrePuller.this.completePull(this.image.imageName(), this.future, exception);
+      try {
+        this.close();
+      } catch (IOException exception) {
+        LOGGER.debug("Unable to close pull of image {}", this.image.imageName(), exception);
+      }
+    }
+  }
+}
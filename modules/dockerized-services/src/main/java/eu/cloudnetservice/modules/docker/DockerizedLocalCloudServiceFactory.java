@@ -20,14 +20,19 @@
 import eu.cloudnetservice.driver.event.EventManager;
 import eu.cloudnetservice.driver.service.ServiceConfiguration;
 import eu.cloudnetservice.modules.docker.config.DockerConfiguration;
+import eu.cloudnetservice.modules.docker.config.TaskDockerConfig;
 import eu.cloudnetservice.node.TickLoop;
 import eu.cloudnetservice.node.config.Configuration;
+import eu.cloudnetservice.node.network.NodeChannelRoutingTable;
 import eu.cloudnetservice.node.service.CloudService;
 import eu.cloudnetservice.node.service.CloudServiceManager;
 import eu.cloudnetservice.node.service.defaults.factory.BaseLocalCloudServiceFactory;
 import eu.cloudnetservice.node.version.ServiceVersionProvider;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
 import lombok.NonNull;
 
 @Singleton
@@ -38,6 +43,10 @@ public class DockerizedLocalCloudServiceFactory extends BaseLocalCloudServiceFac
   protected final DockerClient dockerClient;
   protected final DockerConfiguration dockerConfiguration;
   protected final CloudServiceManager cloudServiceManager;
+  protected final NodeChannelRoutingTable channelRoutingTable;
+  protected final ScheduledExecutorService taskScheduler;
+  protected final DockerImagePrePuller imagePrePuller;
+  protected final DockerContainerStateTracker containerStateTracker;
 
   @Inject
   public DockerizedLocalCloudServiceFactory(
@@ -46,15 +55,23 @@ public DockerizedLocalCloudServiceFactory(
     @NonNull CloudServiceManager cloudServiceManager,
     @NonNull EventManager eventManager,
     @NonNull ServiceVersionProvider versionProvider,
+    @NonNull NodeChannelRoutingTable channelRoutingTable,
+    @NonNull @Named("taskScheduler") ScheduledExecutorService taskScheduler,
     @NonNull DockerClient dockerClient,
-    @NonNull DockerConfiguration configuration
+    @NonNull DockerConfiguration configuration,
+    @NonNull DockerImagePrePuller imagePrePuller,
+    @NonNull DockerContainerStateTracker containerStateTracker
   ) {
     super(nodeConfig, versionProvider);
     this.mainThread = tickLoop;
     this.eventManager = eventManager;
     this.cloudServiceManager = cloudServiceManager;
+    this.channelRoutingTable = channelRoutingTable;
+    this.taskScheduler = taskScheduler;
     this.dockerClient = dockerClient;
     this.dockerConfiguration = configuration;
+    this.imagePrePuller = imagePrePuller;
+    this.containerStateTracker = containerStateTracker;
   }
 
   @Override
@@ -66,6 +83,10 @@ public DockerizedLocalCloudServiceFactory(
     var config = this.validateConfiguration(manager, configuration);
     // select the configuration preparer for the environment
     var preparer = manager.servicePreparer(config.serviceId().environment());
+    // start pulling the image of the service, the pull can run while the service is being prepared
+    var taskConfig = config.propertyHolder().readObject("dockerConfig", TaskDockerConfig.class);
+    var image = taskConfig == null ? null : taskConfig.javaImage();
+    this.imagePrePuller.prePull(Objects.requireNonNullElse(image, this.dockerConfiguration.javaImage()));
     // create the service
     return new DockerizedService(
       this.mainThread,
@@ -75,8 +96,12 @@ public DockerizedLocalCloudServiceFactory(
       this.eventManager,
       this.versionProvider,
       preparer,
+      this.channelRoutingTable,
+      this.taskScheduler,
       this.dockerClient,
-      this.dockerConfiguration);
+      this.dockerConfiguration,
+      this.imagePrePuller,
+      this.containerStateTracker);
   }
 
   @Override
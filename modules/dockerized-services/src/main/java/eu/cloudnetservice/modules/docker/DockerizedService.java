@@ -18,7 +18,6 @@
 
 import com.github.dockerjava.api.DockerClient;
 import com.github.dockerjava.api.async.ResultCallback;
-import com.github.dockerjava.api.command.PullImageCmd;
 import com.github.dockerjava.api.exception.NotFoundException;
 import com.github.dockerjava.api.exception.NotModifiedException;
 import com.github.dockerjava.api.model.AccessMode;
@@ -41,6 +40,7 @@
 import eu.cloudnetservice.node.TickLoop;
 import eu.cloudnetservice.node.config.Configuration;
 import eu.cloudnetservice.node.event.service.CloudServicePostProcessStartEvent;
+import eu.cloudnetservice.node.network.NodeChannelRoutingTable;
 import eu.cloudnetservice.node.service.CloudServiceManager;
 import eu.cloudnetservice.node.service.ServiceConfigurationPreparer;
 import eu.cloudnetservice.node.service.defaults.JVMService;
@@ -56,6 +56,11 @@
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import lombok.NonNull;
@@ -82,9 +87,17 @@ public class DockerizedService extends JVMService {
     Capability.DAC_OVERRIDE,
     Capability.NET_BIND_SERVICE
   ).toArray(Capability[]::new);
+  // the maximum time to wait for an image which got removed between the start check and the container creation
+  protected static final long IMAGE_PULL_TIMEOUT_SECONDS = Long.getLong(
+    "cloudnet.docker.image-pull-timeout-seconds",
+    120);
 
   protected final DockerClient dockerClient;
   protected final DockerConfiguration configuration;
+  protected final DockerImagePrePuller imagePrePuller;
+  protected final DockerContainerStateTracker containerStateTracker;
+  // set while a start is deferred until the image pull completed
+  protected final AtomicBoolean imagePullPending = new AtomicBoolean();
 
   protected volatile String containerId;
 
@@ -100,8 +113,12 @@ protected DockerizedService(
     @NonNull EventManager eventManager,
     @NonNull ServiceVersionProvider versionProvider,
     @NonNull ServiceConfigurationPreparer serviceConfigurationPreparer,
+    @NonNull NodeChannelRoutingTable channelRoutingTable,
+    @NonNull ScheduledExecutorService taskScheduler,
     @NonNull DockerClient dockerClient,
-    @NonNull DockerConfiguration dockerConfiguration
+    @NonNull DockerConfiguration dockerConfiguration,
+    @NonNull DockerImagePrePuller imagePrePuller,
+    @NonNull DockerContainerStateTracker containerStateTracker
   ) {
     var logCache = new DockerizedServiceLogCache(nodeConfig, configuration.serviceId());
     super(
@@ -112,10 +129,14 @@ protected DockerizedService(
       eventManager,
       logCache,
       versionProvider,
-      serviceConfigurationPreparer);
+      serviceConfigurationPreparer,
+      channelRoutingTable,
+      taskScheduler);
 
     this.dockerClient = dockerClient;
     this.configuration = dockerConfiguration;
+    this.imagePrePuller = imagePrePuller;
+    this.containerStateTracker = containerStateTracker;
   }
 
   @Override
@@ -137,22 +158,46 @@ public void runCommand(@NonNull String command) {
 
   @Override
   public boolean alive() {
-    if (this.containerId != null) {
-      try {
-        // just check if the container is alive - we do not provide a health check because docker does just
-        // restart the container if the health check fails. This does only check if the container is still running.
-        // Ignore not found exceptions - the container might be gone due to concurrent calls.
-        var result = this.dockerClient.inspectContainerCmd(this.containerId).withSize(false).exec().getState();
-        return result.getRunning() != null && result.getRunning();
-      } catch (NotFoundException exception) {
-        LOGGER.debug("Unable to query status of container", exception);
-        return false;
-      }
+    var containerId = this.containerId;
+    if (containerId != null) {
+      // just check if the container is alive - we do not provide a health check because docker does just
+      // restart the container if the health check fails. This does only check if the container is still running.
+      // The state is tracked based on the docker events, there is no need to ask the daemon each time
+      return this.containerStateTracker.running(containerId);
     }
     // the container wasn't yet initialized
     return false;
   }
 
+  @Override
+  protected boolean canStartNow() {
+    if (!super.canStartNow()) {
+      return false;
+    }
+
+    // keep the service prepared until the image is available locally, the start is retried once the pull completed
+    var image = this.resolveImage();
+    if (!this.imagePrePuller.available(image)) {
+      // only register one deferred start per pull, the start might be requested multiple times while waiting
+      if (this.imagePullPending.compareAndSet(false, true)) {
+        LOGGER.warn("Image {} is not yet available, delaying start of {}", image.imageName(), this.serviceId());
+        this.imagePrePuller.prePull(image).whenComplete((_, throwable) -> {
+          this.imagePullPending.set(false);
+          if (throwable == null) {
+            this.mainThread.runTask(this::start);
+          } else {
+            LOGGER.error(
+              "Unable to start service {} as image {} is unavailable",
+              this.serviceId(),
+              image.imageName());
+          }
+        });
+      }
+      return false;
+    }
+    return true;
+  }
+
   @Override
   protected void doStartProcess(
     @NonNull List<String> arguments,
@@ -164,9 +209,7 @@ protected void doStartProcess(
       var user = Objects.requireNonNullElse(this.configuration.user(), "");
 
       // get the task specific options
-      var image = Objects.requireNonNullElse(
-        this.readFromTaskConfig(TaskDockerConfig::javaImage),
-        this.configuration.javaImage());
+      var image = this.resolveImage();
       var taskExposedPorts = Objects.requireNonNullElse(
         this.readFromTaskConfig(TaskDockerConfig::exposedPorts),
         Set.<ExposedPort>of());
@@ -187,23 +230,11 @@ protected void doStartProcess(
       exposedPorts.add(ExposedPort.tcp(this.serviceConfiguration.port()));
       exposedPorts.add(ExposedPort.udp(this.serviceConfiguration.port()));
 
-      // only pull the image if we need to, remote pulls will always be slower than local imports
-      if (this.needsImagePull(image)) {
-        try {
-          // pull the requested image
-          this.buildPullCommand(image).start().awaitCompletion();
-        } catch (Exception exception) {
-          LOGGER.error("Unable to pull image {} from docker registry", image.imageName(), exception);
-          return;
-        }
-      }
-
       // we do override the java command set by either the task config or the node configuration as the container has
       // an isolated, single java installation available which is always accessible via 'java'
       arguments.set(0, "java");
 
-      // create the container and store the container id
-      this.containerId = this.dockerClient.createContainerCmd(image.imageName())
+      var createCommand = this.dockerClient.createContainerCmd(image.imageName())
         .withEnv(env)
         .withUser(user)
         .withTty(false)
@@ -225,14 +256,23 @@ protected void doStartProcess(
           "Service", "CloudNet",
           "Name", this.serviceId().name(),
           "Uid", this.serviceId().uniqueId().toString(),
-          "Id", Integer.toString(this.serviceId().taskServiceId())))
-        .exec()
-        .getId();
+          "Id", Integer.toString(this.serviceId().taskServiceId())));
+
+      try {
+        // create the container and store the container id
+        this.containerId = createCommand.exec().getId();
+      } catch (NotFoundException exception) {
+        // the image was removed since the start check, wait a bounded time for the pull and retry the creation once
+        this.imagePrePuller.invalidate(image);
+        this.awaitImage(image);
+        this.containerId = createCommand.exec().getId();
+      }
     }
 
     try {
       // start the container
       this.dockerClient.startContainerCmd(this.containerId).exec();
+      this.containerStateTracker.markRunning(this.containerId, true);
 
       // open the std streams
       this.stdOut = new PipedOutputStream();
@@ -261,6 +301,7 @@ protected void stopProcess() {
       try {
         // try to stop the container - we can safely ignore exceptions when the container is not running anymore
         this.dockerClient.stopContainerCmd(this.containerId).withTimeout(10).exec();
+        this.containerStateTracker.markRunning(this.containerId, false);
       } catch (NotFoundException | NotModifiedException exception) {
         LOGGER.debug("Unable to stop service in docker container", exception);
       }
@@ -285,6 +326,7 @@ public void doDelete() {
       try {
         // try to remove the container, ignore if the container is already gone
         this.dockerClient.removeContainerCmd(this.containerId).withRemoveVolumes(true).withForce(true).exec();
+        this.containerStateTracker.forget(this.containerId);
         // remove the container id to prevent further unnecessary calls
         this.containerId = null;
       } catch (NotFoundException exception) {
@@ -293,6 +335,23 @@ public void doDelete() {
     }
   }
 
+  protected @NonNull DockerImage resolveImage() {
+    return Objects.requireNonNullElse(
+      this.readFromTaskConfig(TaskDockerConfig::javaImage),
+      this.configuration.javaImage());
+  }
+
+  protected void awaitImage(@NonNull DockerImage image) {
+    try {
+      this.imagePrePuller.prePull(image).get(IMAGE_PULL_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for image " + image.imageName(), exception);
+    } catch (ExecutionException | TimeoutException exception) {
+      throw new IllegalStateException("Image " + image.imageName() + " is not available", exception);
+    }
+  }
+
   protected @NonNull Bind[] collectBinds(@NonNull Path wrapperFilePath) {
     Set<Bind> binds = new HashSet<>();
 
@@ -326,34 +385,6 @@ public void doDelete() {
     return config == null ? null : reader.apply(config);
   }
 
-  protected boolean needsImagePull(@NonNull DockerImage image) {
-    try {
-      // check if the image is already available
-      this.dockerClient.inspectImageCmd(image.imageName()).exec();
-      return false;
-    } catch (NotFoundException exception) {
-      // the image does not exist
-      return true;
-    }
-  }
-
-  protected @NonNull PullImageCmd buildPullCommand(@NonNull DockerImage image) {
-    var cmd = this.dockerClient.pullImageCmd(image.repository());
-    // append the tag if given
-    if (image.tag() != null) {
-      cmd.withTag(image.tag());
-    }
-    // append the registry if given
-    if (image.registry() != null) {
-      cmd.withRegistry(image.registry());
-    }
-    // append the platform if given
-    if (image.platform() != null) {
-      cmd.withPlatform(image.platform());
-    }
-    return cmd;
-  }
-
   protected @NonNull Bind bindFromPath(@NonNull String path, @NonNull AccessMode accessMode) {
     return new Bind(path, new Volume(path), accessMode);
   }
@@ -27,20 +27,27 @@
 import eu.cloudnetservice.driver.module.ModuleLifeCycle;
 import eu.cloudnetservice.driver.module.ModuleTask;
 import eu.cloudnetservice.driver.module.driver.DriverModule;
+import eu.cloudnetservice.driver.provider.ServiceTaskProvider;
 import eu.cloudnetservice.modules.docker.config.DockerConfiguration;
 import eu.cloudnetservice.modules.docker.config.DockerImage;
+import eu.cloudnetservice.modules.docker.config.TaskDockerConfig;
 import eu.cloudnetservice.node.command.CommandProvider;
 import eu.cloudnetservice.node.service.CloudServiceManager;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
 import lombok.NonNull;
 
 @Singleton
 public class DockerizedServicesModule extends DriverModule {
 
   private DockerConfiguration configuration;
+  private DockerImagePrePuller imagePrePuller;
+  private DockerContainerStateTracker containerStateTracker;
 
   @ModuleTask
   public void loadConfiguration() {
@@ -66,7 +73,9 @@ public void loadConfiguration() {
   @ModuleTask(order = 22)
   public void registerServiceFactory(
     @NonNull CloudServiceManager serviceManager,
-    @NonNull @Named("module") InjectionLayer<?> moduleInjectionLayer
+    @NonNull ServiceTaskProvider taskProvider,
+    @NonNull @Named("module") InjectionLayer<?> moduleInjectionLayer,
+    @NonNull @Named("taskScheduler") ScheduledExecutorService taskScheduler
   ) {
     var clientConfig = DefaultDockerClientConfig.createDefaultConfigBuilder()
       .withDockerHost(this.configuration.dockerHost())
@@ -85,10 +94,18 @@ public void registerServiceFactory(
       .build();
     var dockerClient = DockerClientImpl.getInstance(clientConfig, dockerHttpClient);
 
+    // track the container states based on the docker events & pull the used images in the background
+    this.containerStateTracker = new DockerContainerStateTracker(dockerClient, taskScheduler);
+    this.containerStateTracker.start();
+    this.imagePrePuller = new DockerImagePrePuller(dockerClient, taskScheduler);
+    this.imagePrePuller.start(() -> this.collectUsedImages(taskProvider));
+
     // construct the factory instance & register it in the service manager
     var factory = moduleInjectionLayer.instance(DockerizedLocalCloudServiceFactory.class, builder -> {
       builder.override(Element.forType(DockerClient.class), dockerClient);
       builder.override(Element.forType(DockerConfiguration.class), this.configuration);
+      builder.override(Element.forType(DockerImagePrePuller.class), this.imagePrePuller);
+      builder.override(Element.forType(DockerContainerStateTracker.class), this.containerStateTracker);
     });
     serviceManager.addCloudServiceFactory(this.configuration.factoryName(), factory);
   }
@@ -101,6 +118,30 @@ public void registerComponents(@NonNull CommandProvider commandProvider) {
   @ModuleTask(lifecycle = ModuleLifeCycle.STOPPED)
   public void unregisterServiceFactory(@NonNull CloudServiceManager cloudServiceManager) {
     cloudServiceManager.removeCloudServiceFactory(this.configuration.factoryName());
+    // stop the background tasks
+    if (this.imagePrePuller != null) {
+      this.imagePrePuller.close();
+    }
+    if (this.containerStateTracker != null) {
+      this.containerStateTracker.close();
+    }
+  }
+
+  private @NonNull Collection<DockerImage> collectUsedImages(@NonNull ServiceTaskProvider taskProvider) {
+    Set<DockerImage> images = new HashSet<>();
+    images.add(this.configuration.javaImage());
+
+    // collect the images of all tasks which are started using docker
+    for (var task : taskProvider.serviceTasks()) {
+      if (task.runtime().equals(this.configuration.factoryName())) {
+        var taskConfig = task.propertyHolder().readObject("dockerConfig", TaskDockerConfig.class);
+        if (taskConfig != null && taskConfig.javaImage() != null) {
+          images.add(taskConfig.javaImage());
+        }
+      }
+    }
+
+    return images;
   }
 
   public @NonNull DockerConfiguration config() {
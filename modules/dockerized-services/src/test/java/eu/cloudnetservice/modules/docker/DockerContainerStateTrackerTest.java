@@ -0,0 +1,138 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.docker;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.InspectContainerCmd;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.model.Container;
+import com.github.dockerjava.api.model.Event;
+import com.github.dockerjava.api.model.EventActor;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class DockerContainerStateTrackerTest {
+
+  private DockerClient dockerClient;
+  private DockerContainerStateTracker tracker;
+
+  private static Container container(String id, String state) {
+    var container = Mockito.mock(Container.class);
+    Mockito.when(container.getId()).thenReturn(id);
+    Mockito.when(container.getState()).thenReturn(state);
+    return container;
+  }
+
+  private static Event event(String containerId, String action) {
+    return new Event().withAction(action).withActor(new EventActor().withId(containerId));
+  }
+
+  @BeforeEach
+  void setup() {
+    this.dockerClient = Mockito.mock(DockerClient.class, Mockito.RETURNS_DEEP_STUBS);
+    this.tracker = new DockerContainerStateTracker(
+      this.dockerClient,
+      Mockito.mock(ScheduledExecutorService.class));
+
+    // unknown containers do not exist in the daemon
+    Mockito.when(this.dockerClient.inspectContainerCmd(Mockito.anyString()).withSize(false).exec())
+      .thenThrow(new NotFoundException("no such container"));
+  }
+
+  private void listContainers(List<Container> containers) {
+    Mockito.when(this.dockerClient.listContainersCmd()
+        .withShowAll(true)
+        .withLabelFilter(Mockito.anyMap())
+        .exec())
+      .thenReturn(containers);
+  }
+
+  @Test
+  void testReconcileAppliesListedStates() {
+    this.listContainers(List.of(container("a", "running"), container("b", "exited")));
+    this.tracker.reconcile();
+
+    Assertions.assertTrue(this.tracker.running("a"));
+    Assertions.assertFalse(this.tracker.running("b"));
+  }
+
+  @Test
+  void testReconcileRemovesVanishedContainers() {
+    this.tracker.markRunning("gone", true);
+    this.listContainers(List.of(container("a", "running")));
+    this.tracker.reconcile();
+
+    // the container is no longer known and the daemon reports it as missing
+    Assertions.assertFalse(this.tracker.running("gone"));
+    Assertions.assertTrue(this.tracker.running("a"));
+  }
+
+  @Test
+  void testReconcileKeepsNewerStates() {
+    // simulate an event which arrives while the container list is requested from the daemon
+    Mockito.when(this.dockerClient.listContainersCmd()
+        .withShowAll(true)
+        .withLabelFilter(Mockito.anyMap())
+        .exec())
+      .thenAnswer(invocation -> {
+        this.tracker.markRunning("a", false);
+        this.tracker.markRunning("b", true);
+        return List.of(container("a", "running"));
+      });
+    this.tracker.reconcile();
+
+    // the listed state of a is older than the event, b was created after the listing started
+    Assertions.assertFalse(this.tracker.running("a"));
+    Assertions.assertTrue(this.tracker.running("b"));
+  }
+
+  @Test
+  void testEventsUpdateStates() {
+    this.tracker.handleEvent(event("a", "start"));
+    Assertions.assertTrue(this.tracker.running("a"));
+
+    this.tracker.handleEvent(event("a", "die"));
+    Assertions.assertFalse(this.tracker.running("a"));
+
+    this.tracker.handleEvent(event("b", "restart"));
+    Assertions.assertTrue(this.tracker.running("b"));
+
+    // destroyed containers are forgotten, the next request falls back to inspecting the container
+    this.tracker.handleEvent(event("b", "destroy"));
+    Assertions.assertFalse(this.tracker.running("b"));
+  }
+
+  @Test
+  void testUnknownContainerIsInspectedOnce() {
+    var command = Mockito.mock(InspectContainerCmd.class);
+    var response = Mockito.mock(InspectContainerResponse.class, Mockito.RETURNS_DEEP_STUBS);
+    Mockito.when(response.getState().getRunning()).thenReturn(true);
+    Mockito.when(command.withSize(false)).thenReturn(command);
+    Mockito.when(command.exec()).thenReturn(response);
+    Mockito.when(this.dockerClient.inspectContainerCmd("a")).thenReturn(command);
+
+    // the first request inspects the container, the following ones use the tracked state
+    Assertions.assertTrue(this.tracker.running("a"));
+    Assertions.assertTrue(this.tracker.running("a"));
+    Mockito.verify(command, Mockito.times(1)).exec();
+  }
+}
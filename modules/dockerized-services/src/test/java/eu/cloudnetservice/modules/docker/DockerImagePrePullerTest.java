@@ -0,0 +1,159 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.docker;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.PullImageCmd;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.model.PullResponseItem;
+import eu.cloudnetservice.modules.docker.config.DockerImage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class DockerImagePrePullerTest {
+
+  private static final DockerImage IMAGE = DockerImage.builder().repository("eclipse-temurin").tag("21-jre").build();
+
+  private DockerClient dockerClient;
+  private PullImageCmd pullCommand;
+  private ScheduledExecutorService executor;
+  private DockerImagePrePuller prePuller;
+
+  @BeforeEach
+  void setup() {
+    this.dockerClient = Mockito.mock(DockerClient.class, Mockito.RETURNS_DEEP_STUBS);
+    this.pullCommand = Mockito.mock(PullImageCmd.class);
+    Mockito.when(this.dockerClient.pullImageCmd(IMAGE.repository())).thenReturn(this.pullCommand);
+    this.executor = Executors.newSingleThreadScheduledExecutor();
+    this.prePuller = new DockerImagePrePuller(this.dockerClient, this.executor);
+
+    // pulls complete immediately unless stubbed differently
+    this.answerPull(ResultCallback::onComplete);
+  }
+
+  @AfterEach
+  void close() {
+    this.prePuller.close();
+    this.executor.shutdownNow();
+  }
+
+  private void answerPull(Consumer<ResultCallback<PullResponseItem>> answer) {
+    Mockito.doAnswer(invocation -> {
+      ResultCallback<PullResponseItem> callback = invocation.getArgument(0);
+      answer.accept(callback);
+      return callback;
+    }).when(this.pullCommand).exec(Mockito.any());
+  }
+
+  @Test
+  void testMissingImageIsPulled() throws Exception {
+    Mockito.when(this.dockerClient.inspectImageCmd(IMAGE.imageName()).exec())
+      .thenThrow(new NotFoundException("no such image"));
+
+    Assertions.assertFalse(this.prePuller.available(IMAGE));
+    this.prePuller.prePull(IMAGE).get(5, TimeUnit.SECONDS);
+
+    Assertions.assertTrue(this.prePuller.available(IMAGE));
+    Mockito.verify(this.dockerClient).pullImageCmd(IMAGE.repository());
+  }
+
+  @Test
+  void testLocalImageIsNotPulled() throws Exception {
+    this.prePuller.prePull(IMAGE).get(5, TimeUnit.SECONDS);
+
+    Assertions.assertTrue(this.prePuller.available(IMAGE));
+    Mockito.verify(this.dockerClient, Mockito.never()).pullImageCmd(Mockito.anyString());
+
+    // available images complete immediately without asking the daemon again
+    Assertions.assertTrue(this.prePuller.prePull(IMAGE).isDone());
+    Mockito.verify(this.dockerClient, Mockito.times(1)).inspectImageCmd(IMAGE.imageName());
+  }
+
+  @Test
+  void testConcurrentRequestsShareThePull() throws Exception {
+    var inspectStarted = new CountDownLatch(1);
+    var releaseInspect = new CountDownLatch(1);
+    Mockito.when(this.dockerClient.inspectImageCmd(IMAGE.imageName()).exec()).thenAnswer(invocation -> {
+      inspectStarted.countDown();
+      releaseInspect.await();
+      throw new NotFoundException("no such image");
+    });
+
+    var first = this.prePuller.prePull(IMAGE);
+    Assertions.assertTrue(inspectStarted.await(5, TimeUnit.SECONDS));
+    var second = this.prePuller.prePull(IMAGE);
+    Assertions.assertSame(first, second);
+
+    releaseInspect.countDown();
+    first.get(5, TimeUnit.SECONDS);
+    Mockito.verify(this.dockerClient, Mockito.times(1)).pullImageCmd(IMAGE.repository());
+  }
+
+  @Test
+  void testFailedPullCompletesExceptionally() throws Exception {
+    Mockito.when(this.dockerClient.inspectImageCmd(IMAGE.imageName()).exec())
+      .thenThrow(new NotFoundException("no such image"));
+    this.answerPull(callback -> callback.onError(new IllegalStateException("registry unavailable")));
+
+    var failed = this.prePuller.prePull(IMAGE);
+    Assertions.assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+    Assertions.assertFalse(this.prePuller.available(IMAGE));
+
+    // a failed pull is not cached, the next request tries again
+    this.answerPull(ResultCallback::onComplete);
+    var retried = this.prePuller.prePull(IMAGE);
+    Assertions.assertNotSame(failed, retried);
+    retried.get(5, TimeUnit.SECONDS);
+    Assertions.assertTrue(this.prePuller.available(IMAGE));
+  }
+
+  @Test
+  void testCloseCancelsRunningPulls() throws Exception {
+    Mockito.when(this.dockerClient.inspectImageCmd(IMAGE.imageName()).exec())
+      .thenThrow(new NotFoundException("no such image"));
+    var pullStarted = new CountDownLatch(1);
+    this.answerPull(_ -> pullStarted.countDown());
+
+    // the pull does not block the executor while it is running
+    var future = this.prePuller.prePull(IMAGE);
+    Assertions.assertTrue(pullStarted.await(5, TimeUnit.SECONDS));
+    Assertions.assertFalse(future.isDone());
+    this.executor.submit(() -> null).get(5, TimeUnit.SECONDS);
+
+    this.prePuller.close();
+    Assertions.assertTrue(future.isCompletedExceptionally());
+    Assertions.assertFalse(this.prePuller.available(IMAGE));
+    Assertions.assertFalse(this.executor.isShutdown());
+  }
+
+  @Test
+  void testClosedPrePullerRejectsPulls() {
+    this.prePuller.close();
+    var future = this.prePuller.prePull(IMAGE);
+    Assertions.assertTrue(future.isCompletedExceptionally());
+  }
+}
@@ -17,14 +17,20 @@
 package eu.cloudnetservice.modules.influx;
 
 import eu.cloudnetservice.driver.network.HostAndPort;
+import eu.cloudnetservice.modules.influx.write.InfluxBatchWriter;
+import java.util.Map;
+import java.util.Objects;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 public record InfluxConfiguration(
   @NonNull HostAndPort databaseAddress,
   @NonNull String token,
   @NonNull String org,
   @NonNull String bucket,
-  int publishDelaySeconds
+  int publishDelaySeconds,
+  @Nullable Batching batching,
+  @Nullable Map<String, PublisherSampling> publisherSampling
 ) {
 
   public @NonNull String connectUrl() {
@@ -35,4 +41,43 @@ public record InfluxConfiguration(
       return this.databaseAddress.host();
     }
   }
+
+  public @NonNull Batching effectiveBatching() {
+    // configurations created before batching was introduced do not contain the option
+    return Objects.requireNonNullElse(this.batching, Batching.DEFAULT);
+  }
+
+  public @NonNull Map<String, PublisherSampling> effectivePublisherSampling() {
+    return Objects.requireNonNullElse(this.publisherSampling, Map.of());
+  }
+
+  /**
+   * The configuration of the batching writer which sends the published points to influx.
+   *
+   * @param batchSize           the maximum amount of points sent to influx in one request.
+   * @param flushIntervalMillis the interval in which buffered points are sent, even if the batch is not full.
+   * @param maxBufferedPoints   the maximum amount of points to buffer while influx is unavailable.
+   * @param maxRetryDelayMillis the maximum delay between two write attempts after a failed write.
+   * @param dropPolicy          the policy to apply when the buffer is full.
+   */
+  public record Batching(
+    int batchSize,
+    int flushIntervalMillis,
+    int maxBufferedPoints,
+    int maxRetryDelayMillis,
+    @NonNull InfluxBatchWriter.DropPolicy dropPolicy
+  ) {
+
+    public static final Batching DEFAULT = new Batching(500, 1000, 50_000, 30_000, InfluxBatchWriter.DropPolicy.OLDEST);
+  }
+
+  /**
+   * The sampling of the points created by a publisher, configured per simple class name of the publisher.
+   *
+   * @param cycleInterval   the amount of publish cycles between two runs of the publisher, 1 to run each cycle.
+   * @param pointSampleRate the fraction of the created points to keep, between 0 and 1.
+   */
+  public record PublisherSampling(int cycleInterval, double pointSampleRate) {
+
+  }
 }
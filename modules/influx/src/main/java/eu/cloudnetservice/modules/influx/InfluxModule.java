@@ -18,6 +18,7 @@
 
 import com.influxdb.client.InfluxDBClientFactory;
 import eu.cloudnetservice.driver.document.DocumentFactory;
+import eu.cloudnetservice.driver.module.ModuleLifeCycle;
 import eu.cloudnetservice.driver.module.ModuleTask;
 import eu.cloudnetservice.driver.module.driver.DriverModule;
 import eu.cloudnetservice.driver.network.HostAndPort;
@@ -25,16 +26,26 @@
 import eu.cloudnetservice.modules.influx.publish.PublisherRegistry;
 import eu.cloudnetservice.modules.influx.publish.defaults.DefaultPublisherRegistry;
 import eu.cloudnetservice.modules.influx.publish.publishers.ConnectedNodeInfoPublisher;
+import eu.cloudnetservice.modules.influx.publish.publishers.MetricRegistryPublisher;
 import eu.cloudnetservice.modules.influx.publish.publishers.RunningServiceProcessSnapshotPublisher;
+import eu.cloudnetservice.modules.influx.write.InfluxBatchWriter;
 import eu.cloudnetservice.node.TickLoop;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
 import lombok.NonNull;
 
 @Singleton
 public final class InfluxModule extends DriverModule {
 
+  private PublisherRegistry publisherRegistry;
+
   @ModuleTask
-  public void start(@NonNull ServiceRegistry serviceRegistry, @NonNull TickLoop mainThread) {
+  public void start(
+    @NonNull ServiceRegistry serviceRegistry,
+    @NonNull @Named("taskScheduler") ScheduledExecutorService taskScheduler
+  ) {
     // read the config and connect to influx
     var conf = this.readConfig(
       InfluxConfiguration.class,
@@ -43,21 +54,44 @@ public void start(@NonNull ServiceRegistry serviceRegistry, @NonNull TickLoop ma
         "token",
         "org",
         "bucket",
-        30),
+        30,
+        InfluxConfiguration.Batching.DEFAULT,
+        Map.of()),
       DocumentFactory.json());
     var influxClient = InfluxDBClientFactory.create(
       conf.connectUrl(),
       conf.token().toCharArray(),
       conf.org(),
       conf.bucket());
+    // write the points in batches, off the tick loop
+    var batchWriter = new InfluxBatchWriter(
+      influxClient.getWriteApiBlocking(),
+      conf.effectiveBatching(),
+      taskScheduler);
+    batchWriter.start();
     // create an influx publisher registry based on that
-    var reg = new DefaultPublisherRegistry(influxClient, mainThread);
+    var reg = new DefaultPublisherRegistry(
+      influxClient,
+      batchWriter,
+      conf.effectivePublisherSampling(),
+      taskScheduler);
+    this.publisherRegistry = reg;
     serviceRegistry.registerProvider(PublisherRegistry.class, "InfluxPublishers", reg);
     // register all default publishers
     reg
       .registerPublisher(ConnectedNodeInfoPublisher.class)
-      .registerPublisher(RunningServiceProcessSnapshotPublisher.class);
+      .registerPublisher(RunningServiceProcessSnapshotPublisher.class)
+      .registerPublisher(MetricRegistryPublisher.class);
     // start the emitting task
     reg.scheduleTask(conf.publishDelaySeconds() * TickLoop.TPS);
   }
+
+  @ModuleTask(lifecycle = ModuleLifeCycle.STOPPED)
+  public void stop(@NonNull ServiceRegistry serviceRegistry) {
+    if (this.publisherRegistry != null) {
+      serviceRegistry.unregisterProvider(PublisherRegistry.class, "InfluxPublishers");
+      this.publisherRegistry.close();
+      this.publisherRegistry = null;
+    }
+  }
 }
@@ -17,17 +17,23 @@
 package eu.cloudnetservice.modules.influx.publish.defaults;
 
 import com.influxdb.client.InfluxDBClient;
-import com.influxdb.client.WriteApiBlocking;
-import com.influxdb.exceptions.InfluxException;
 import eu.cloudnetservice.driver.inject.InjectionLayer;
+import eu.cloudnetservice.modules.influx.InfluxConfiguration;
 import eu.cloudnetservice.modules.influx.publish.Publisher;
 import eu.cloudnetservice.modules.influx.publish.PublisherRegistry;
+import eu.cloudnetservice.modules.influx.write.InfluxBatchWriter;
 import eu.cloudnetservice.node.TickLoop;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,17 +41,25 @@ public class DefaultPublisherRegistry implements PublisherRegistry {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(DefaultPublisherRegistry.class);
 
-  private final TickLoop mainThread;
-  private final WriteApiBlocking writeApi;
   private final InfluxDBClient influxClient;
-  private final List<Publisher> publishers = new LinkedList<>();
+  private final InfluxBatchWriter batchWriter;
+  private final Map<String, InfluxConfiguration.PublisherSampling> publisherSampling;
+  private final List<Publisher> publishers = new CopyOnWriteArrayList<>();
+  private final ScheduledExecutorService publishExecutor;
 
+  private long publishCycle;
   private Future<?> publishFuture;
 
-  public DefaultPublisherRegistry(@NonNull InfluxDBClient influxClient, @NonNull TickLoop tickLoop) {
-    this.mainThread = tickLoop;
+  public DefaultPublisherRegistry(
+    @NonNull InfluxDBClient influxClient,
+    @NonNull InfluxBatchWriter batchWriter,
+    @NonNull Map<String, InfluxConfiguration.PublisherSampling> publisherSampling,
+    @NonNull ScheduledExecutorService publishExecutor
+  ) {
     this.influxClient = influxClient;
-    this.writeApi = influxClient.getWriteApiBlocking();
+    this.batchWriter = batchWriter;
+    this.publisherSampling = publisherSampling;
+    this.publishExecutor = publishExecutor;
   }
 
   @Override
@@ -78,32 +92,38 @@ public DefaultPublisherRegistry(@NonNull InfluxDBClient influxClient, @NonNull T
   }
 
   @Override
-  public void publishData() {
-    this.publishers.forEach(publisher -> {
-      // try to create the point
-      var points = publisher.createPoints();
-      if (!points.isEmpty()) {
-        for (var point : points) {
-          // stop writing if one write fails
-          try {
-            this.writeApi.writePoint(point);
-          } catch (InfluxException exception) {
-            LOGGER.warn(
-              "Unable to write point into influx db, possibly the config is invalid? {}",
-              exception.getMessage());
-            break;
+  public synchronized void publishData() {
+    var cycle = this.publishCycle++;
+    for (var publisher : this.publishers) {
+      var sampling = this.publisherSampling.get(publisher.getClass().getSimpleName());
+      if (sampling != null && sampling.cycleInterval() > 1 && cycle % sampling.cycleInterval() != 0) {
+        continue;
+      }
+
+      try {
+        // the points are only converted to the line protocol here, the writer sends them to influx in batches
+        List<String> lines = new ArrayList<>();
+        for (var point : publisher.createPoints()) {
+          if (sampled(sampling)) {
+            lines.add(point.toLineProtocol());
           }
         }
+        this.batchWriter.write(lines);
+      } catch (Exception exception) {
+        LOGGER.warn("Unable to create points of publisher {}", publisher.getClass().getName(), exception);
       }
-    });
+    }
   }
 
   @Override
   public void scheduleTask(int delayTicks) {
-    this.publishFuture = this.mainThread.scheduleTask(() -> {
-      this.publishData();
-      return null;
-    }, delayTicks);
+    // the points are created off the tick loop, a slow publisher must not stall the node
+    var delayMillis = (long) delayTicks * TickLoop.MILLIS_BETWEEN_TICKS;
+    this.publishFuture = this.publishExecutor.scheduleWithFixedDelay(
+      this::publishData,
+      delayMillis,
+      delayMillis,
+      TimeUnit.MILLISECONDS);
   }
 
   @Override
@@ -113,6 +133,13 @@ public void close() {
       this.publishFuture.cancel(true);
       this.publishFuture = null;
     }
+    this.batchWriter.close();
     this.influxClient.close();
   }
+
+  private static boolean sampled(@Nullable InfluxConfiguration.PublisherSampling sampling) {
+    return sampling == null
+      || sampling.pointSampleRate() >= 1
+      || ThreadLocalRandom.current().nextDouble() < sampling.pointSampleRate();
+  }
 }
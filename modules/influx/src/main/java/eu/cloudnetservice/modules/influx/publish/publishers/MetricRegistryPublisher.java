@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.influx.publish.publishers;
+
+import com.influxdb.client.write.Point;
+import eu.cloudnetservice.driver.metrics.Counter;
+import eu.cloudnetservice.driver.metrics.Gauge;
+import eu.cloudnetservice.driver.metrics.Histogram;
+import eu.cloudnetservice.driver.metrics.Metric;
+import eu.cloudnetservice.driver.metrics.MetricRegistry;
+import eu.cloudnetservice.modules.influx.publish.Publisher;
+import eu.cloudnetservice.modules.influx.util.PointUtil;
+import jakarta.inject.Singleton;
+import java.util.Collection;
+import lombok.NonNull;
+
+@Singleton
+public record MetricRegistryPublisher(@NonNull MetricRegistry metricRegistry) implements Publisher {
+
+  private static final double NANOS_PER_SECOND = 1_000_000_000D;
+
+  @Override
+  public @NonNull Collection<Point> createPoints() {
+    return this.metricRegistry.metrics().stream().map(this::createPoint).toList();
+  }
+
+  private @NonNull Point createPoint(@NonNull Metric metric) {
+    var point = PointUtil.point(metric.name()).addTags(metric.labels());
+    return switch (metric) {
+      case Counter counter -> point.addField("value", counter.value());
+      case Gauge gauge -> point.addField("value", gauge.value());
+      case Histogram histogram -> point
+        .addField("count", histogram.count())
+        .addField("sum", histogram.sum() / NANOS_PER_SECOND)
+        .addField("p50", histogram.percentile(0.5) / NANOS_PER_SECOND)
+        .addField("p99", histogram.percentile(0.99) / NANOS_PER_SECOND)
+        .addField("max", histogram.max() / NANOS_PER_SECOND);
+    };
+  }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.influx.write;
+
+import com.influxdb.client.WriteApiBlocking;
+import com.influxdb.client.domain.WritePrecision;
+import com.influxdb.exceptions.InfluxException;
+import eu.cloudnetservice.driver.metrics.Counter;
+import eu.cloudnetservice.driver.metrics.MetricRegistry;
+import eu.cloudnetservice.modules.influx.InfluxConfiguration;
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Buffers points in the line protocol and writes them to influx in batches, on the given executor. A batch is written
+ * once enough points are buffered for a full batch or when the flush interval passed. Failed writes are retried with
+ * an exponential backoff while new points continue to be buffered, the buffer is bounded and points are dropped
+ * according to the configured drop policy once the buffer is full. Batches which are rejected by influx (for example
+ * because of invalid data or credentials) are dropped directly, as retrying them would never succeed.
+ */
+public final class InfluxBatchWriter implements Closeable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(InfluxBatchWriter.class);
+  private static final Counter DROPPED_POINTS = MetricRegistry.defaultRegistry().counter(
+    "cloudnet_influx_points_dropped",
+    "The amount of points which were dropped instead of being written to influx");
+
+  private final WriteApiBlocking writeApi;
+  private final InfluxConfiguration.Batching configuration;
+
+  private final Object bufferLock = new Object();
+  private final Object flushLock = new Object();
+  private final Deque<String> buffer = new ArrayDeque<>();
+  private final ScheduledExecutorService executor;
+
+  private boolean batchFlushScheduled;
+  private int consecutiveFailures;
+  private volatile boolean closed;
+  private volatile long nextAttemptTime;
+  private volatile ScheduledFuture<?> flushTask;
+
+  public InfluxBatchWriter(
+    @NonNull WriteApiBlocking writeApi,
+    @NonNull InfluxConfiguration.Batching configuration,
+    @NonNull ScheduledExecutorService executor
+  ) {
+    this.writeApi = writeApi;
+    this.configuration = configuration;
+    this.executor = executor;
+  }
+
+  public void start() {
+    this.flushTask = this.executor.scheduleWithFixedDelay(
+      this::flushIfDue,
+      this.configuration.flushIntervalMillis(),
+      this.configuration.flushIntervalMillis(),
+      TimeUnit.MILLISECONDS);
+  }
+
+  public void write(@NonNull Collection<String> lines) {
+    if (lines.isEmpty()) {
+      return;
+    }
+
+    synchronized (this.bufferLock) {
+      for (var line : lines) {
+        this.enqueue(line);
+      }
+
+      // write the full batch directly instead of waiting for the flush interval to pass
+      if (this.buffer.size() >= this.configuration.batchSize() && !this.batchFlushScheduled && !this.closed) {
+        this.batchFlushScheduled = true;
+        this.executor.execute(this::flushIfDue);
+      }
+    }
+  }
+
+  public int bufferedPoints() {
+    synchronized (this.bufferLock) {
+      return this.buffer.size();
+    }
+  }
+
+  public boolean flush() {
+    synchronized (this.flushLock) {
+      while (true) {
+        var batch = this.pollBatch();
+        if (batch.isEmpty()) {
+          return true;
+        }
+
+        if (!this.writeBatch(batch)) {
+          return false;
+        }
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    // stop the scheduled flushes, the executor is shared and keeps running
+    this.closed = true;
+    var flushTask = this.flushTask;
+    if (flushTask != null) {
+      flushTask.cancel(false);
+    }
+
+    // try to write the remaining points once, there is no retry on close
+    if (!this.flush()) {
+      LOGGER.warn("Unable to write {} buffered points to influx before closing", this.bufferedPoints());
+    }
+  }
+
+  private void flushIfDue() {
+    synchronized (this.bufferLock) {
+      this.batchFlushScheduled = false;
+    }
+
+    // wait for the backoff to pass after a failed write
+    if (System.currentTimeMillis() >= this.nextAttemptTime) {
+      try {
+        this.flush();
+      } catch (Exception exception) {
+        // prevent the exception from cancelling the scheduled flush task
+        LOGGER.error("Exception while writing buffered points to influx", exception);
+      }
+    }
+  }
+
+  private boolean writeBatch(@NonNull List<String> batch) {
+    try {
+      this.writeApi.writeRecords(WritePrecision.MS, batch);
+      this.consecutiveFailures = 0;
+      this.nextAttemptTime = 0;
+      return true;
+    } catch (InfluxException exception) {
+      if (isRetryable(exception)) {
+        // put the batch back to the front of the buffer and try again after the backoff
+        this.requeue(batch);
+        var retryDelay = Math.min(
+          (long) this.configuration.flushIntervalMillis() << Math.min(this.consecutiveFailures, 16),
+          this.configuration.maxRetryDelayMillis());
+        this.consecutiveFailures++;
+        this.nextAttemptTime = System.currentTimeMillis() + retryDelay;
+        LOGGER.debug("Unable to write batch to influx, retrying in {}ms: {}", retryDelay, exception.getMessage());
+      } else {
+        DROPPED_POINTS.add(batch.size());
+        LOGGER.warn(
+          "Influx rejected a batch of {} points, possibly the config is invalid? {}",
+          batch.size(),
+          exception.getMessage());
+      }
+      return false;
+    }
+  }
+
+  private static boolean isRetryable(@NonNull InfluxException exception) {
+    // status 0 indicates that no response was received at all
+    var status = exception.status();
+    return status == 0 || status == 429 || status >= 500;
+  }
+
+  private @NonNull List<String> pollBatch() {
+    synchronized (this.bufferLock) {
+      var batchSize = Math.min(this.buffer.size(), this.configuration.batchSize());
+      List<String> batch = new ArrayList<>(batchSize);
+      for (var index = 0; index < batchSize; index++) {
+        batch.add(this.buffer.pollFirst());
+      }
+      return batch;
+    }
+  }
+
+  private void requeue(@NonNull List<String> batch) {
+    synchronized (this.bufferLock) {
+      // the batch holds the oldest points, add them back in reverse order to keep the original order. If the buffer
+      // filled up in the meantime, the remaining points of the batch are dropped: they are the oldest points and the
+      // buffered points are kept with both policies
+      for (var index = batch.size() - 1; index >= 0; index--) {
+        if (this.buffer.size() >= this.configuration.maxBufferedPoints()) {
+          DROPPED_POINTS.add(index + 1);
+          break;
+        }
+        this.buffer.addFirst(batch.get(index));
+      }
+    }
+  }
+
+  private void enqueue(@NonNull String line) {
+    if (this.buffer.size() >= this.configuration.maxBufferedPoints()) {
+      DROPPED_POINTS.increment();
+      if (this.configuration.dropPolicy() == DropPolicy.NEWEST) {
+        return;
+      }
+      this.buffer.pollFirst();
+    }
+    this.buffer.addLast(line);
+  }
+
+  /**
+   * The policy to apply when a point should be buffered but the buffer is full.
+   */
+  public enum DropPolicy {
+
+    /**
+     * Drops the oldest buffered point to make space for the new point.
+     */
+    OLDEST,
+    /**
+     * Drops the new point, keeping the buffered points.
+     */
+    NEWEST
+  }
+}
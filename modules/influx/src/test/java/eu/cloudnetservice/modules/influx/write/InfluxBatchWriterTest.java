@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.influx.write;
+
+import com.influxdb.client.InfluxDBClient;
+import com.influxdb.client.InfluxDBClientFactory;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import eu.cloudnetservice.modules.influx.InfluxConfiguration;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class InfluxBatchWriterTest {
+
+  private final Queue<List<String>> receivedBatches = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger responseStatus = new AtomicInteger(204);
+
+  private HttpServer httpServer;
+  private InfluxDBClient influxClient;
+
+  private static List<String> lines(int from, int to) {
+    return IntStream.range(from, to).mapToObj(index -> "test value=" + index + "i").toList();
+  }
+
+  @BeforeEach
+  void setup() throws IOException {
+    // a stand-in for the influx write endpoint which records the received batches
+    this.httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    this.httpServer.createContext("/api/v2/write", this::handleWrite);
+    this.httpServer.start();
+
+    var url = "http://127.0.0.1:" + this.httpServer.getAddress().getPort();
+    this.influxClient = InfluxDBClientFactory.create(url, "token".toCharArray(), "org", "bucket");
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.influxClient.close();
+    this.httpServer.stop(0);
+  }
+
+  @Test
+  void testPointsAreWrittenInBatches() {
+    var writer = this.newWriter(100, 1_000, InfluxBatchWriter.DropPolicy.OLDEST);
+    writer.write(lines(0, 250));
+
+    Assertions.assertTrue(writer.flush());
+    Assertions.assertEquals(3, this.receivedBatches.size());
+    Assertions.assertEquals(lines(0, 250), this.receivedBatches.stream().flatMap(List::stream).toList());
+    Assertions.assertEquals(0, writer.bufferedPoints());
+  }
+
+  @Test
+  void testFailedBatchIsRetained() {
+    var writer = this.newWriter(100, 1_000, InfluxBatchWriter.DropPolicy.OLDEST);
+    writer.write(lines(0, 50));
+
+    this.responseStatus.set(503);
+    Assertions.assertFalse(writer.flush());
+    Assertions.assertEquals(50, writer.bufferedPoints());
+
+    this.receivedBatches.clear();
+    this.responseStatus.set(204);
+    Assertions.assertTrue(writer.flush());
+    Assertions.assertEquals(List.of(lines(0, 50)), List.copyOf(this.receivedBatches));
+  }
+
+  @Test
+  void testRejectedBatchIsDropped() {
+    var writer = this.newWriter(100, 1_000, InfluxBatchWriter.DropPolicy.OLDEST);
+    writer.write(lines(0, 50));
+
+    this.responseStatus.set(400);
+    Assertions.assertFalse(writer.flush());
+    Assertions.assertEquals(0, writer.bufferedPoints());
+  }
+
+  @Test
+  void testDropOldestWhenBufferIsFull() {
+    var writer = this.newWriter(100, 10, InfluxBatchWriter.DropPolicy.OLDEST);
+    writer.write(lines(0, 15));
+
+    Assertions.assertTrue(writer.flush());
+    Assertions.assertEquals(lines(5, 15), this.receivedBatches.stream().flatMap(List::stream).toList());
+  }
+
+  @Test
+  void testDropNewestWhenBufferIsFull() {
+    var writer = this.newWriter(100, 10, InfluxBatchWriter.DropPolicy.NEWEST);
+    writer.write(lines(0, 15));
+
+    Assertions.assertTrue(writer.flush());
+    Assertions.assertEquals(lines(0, 10), this.receivedBatches.stream().flatMap(List::stream).toList());
+  }
+
+  private InfluxBatchWriter newWriter(int batchSize, int maxBufferedPoints, InfluxBatchWriter.DropPolicy dropPolicy) {
+    // a long flush interval to only flush when requested by the test
+    var configuration = new InfluxConfiguration.Batching(batchSize, 60_000, maxBufferedPoints, 60_000, dropPolicy);
+    // the tasks are not executed, to only write the batches which were flushed by the test
+    var executor = Mockito.mock(ScheduledExecutorService.class);
+    return new InfluxBatchWriter(this.influxClient.getWriteApiBlocking(), configuration, executor);
+  }
+
+  private void handleWrite(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      var body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+      var status = this.responseStatus.get();
+      if (status == 204) {
+        this.receivedBatches.add(body.lines().toList());
+      }
+      exchange.sendResponseHeaders(status, -1);
+    }
+  }
+}
@@ -23,6 +23,7 @@
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.provider.CloudServiceProvider;
 import eu.cloudnetservice.driver.service.ServiceConfiguration;
+import eu.cloudnetservice.driver.service.ServiceInfoInterest;
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
 import eu.cloudnetservice.modules.bridge.WorldPosition;
 import eu.cloudnetservice.modules.npc.AbstractNPCManagement;
@@ -32,6 +33,7 @@
 import eu.cloudnetservice.modules.npc.configuration.NPCConfiguration;
 import eu.cloudnetservice.modules.npc.configuration.NPCConfigurationEntry;
 import eu.cloudnetservice.wrapper.configuration.WrapperConfiguration;
+import eu.cloudnetservice.wrapper.holder.ServiceInfoHolder;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
@@ -52,6 +54,7 @@
   public static final String NPC_SET_CONFIG = "npcs_update_npc_config";
 
   protected final ComponentInfo componentInfo;
+  protected final ServiceInfoHolder serviceInfoHolder;
   protected final CloudServiceProvider cloudServiceProvider;
   protected final ServiceConfiguration currentServiceConfiguration;
 
@@ -62,12 +65,14 @@ public PlatformNPCManagement(
     @NonNull EventManager eventManager,
     @NonNull ComponentInfo componentInfo,
     @NonNull CloudServiceProvider cloudServiceProvider,
-    @NonNull WrapperConfiguration wrapperConfiguration
+    @NonNull WrapperConfiguration wrapperConfiguration,
+    @NonNull ServiceInfoHolder serviceInfoHolder
   ) {
     super(loadNPCConfiguration(componentInfo), eventManager);
 
     // assign the fields
     this.componentInfo = componentInfo;
+    this.serviceInfoHolder = serviceInfoHolder;
     this.cloudServiceProvider = cloudServiceProvider;
     this.currentServiceConfiguration = wrapperConfiguration.serviceConfiguration();
 
@@ -141,6 +146,8 @@ public void handleInternalNPCCreate(@NonNull NPC npc) {
     // check if the npc is on this group
     if (this.currentServiceConfiguration.groups().contains(npc.location().group())) {
       super.handleInternalNPCCreate(npc);
+      // ensure that we receive the updates of the services the npc can display
+      this.serviceInfoHolder.declareServiceInfoInterest(ServiceInfoInterest.groups(npc.targetGroup()));
       // remove the old selector npc
       var entity = this.trackedEntities.remove(npc.location());
       if (entity != null && entity.spawned()) {
@@ -193,6 +200,9 @@ public void initialize() {
     for (var value : this.npcs.values()) {
       this.trackedEntities.put(value.location(), this.createSelectorEntity(value));
     }
+    // only receive the updates of the services which can be displayed by the npcs
+    var targetGroups = this.npcs.values().stream().map(NPC::targetGroup).toArray(String[]::new);
+    this.serviceInfoHolder.declareServiceInfoInterest(ServiceInfoInterest.groups(targetGroups));
     // initialize the services now
     this.cloudServiceProvider.servicesAsync().thenAccept(services -> {
       for (var service : services) {
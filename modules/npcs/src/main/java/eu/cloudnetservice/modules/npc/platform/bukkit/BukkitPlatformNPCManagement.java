@@ -40,6 +40,7 @@
 import eu.cloudnetservice.modules.npc.platform.bukkit.entity.EntityBukkitPlatformSelectorEntity;
 import eu.cloudnetservice.modules.npc.platform.bukkit.entity.NPCBukkitPlatformSelector;
 import eu.cloudnetservice.wrapper.configuration.WrapperConfiguration;
+import eu.cloudnetservice.wrapper.holder.ServiceInfoHolder;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.util.concurrent.ThreadLocalRandom;
@@ -79,9 +80,10 @@ public BukkitPlatformNPCManagement(
     @NonNull ComponentInfo componentInfo,
     @NonNull @Service PlayerManager playerManager,
     @NonNull CloudServiceProvider cloudServiceProvider,
-    @NonNull WrapperConfiguration wrapperConfiguration
+    @NonNull WrapperConfiguration wrapperConfiguration,
+    @NonNull ServiceInfoHolder serviceInfoHolder
   ) {
-    super(eventManager, componentInfo, cloudServiceProvider, wrapperConfiguration);
+    super(eventManager, componentInfo, cloudServiceProvider, wrapperConfiguration, serviceInfoHolder);
 
     this.plugin = plugin;
     this.server = server;
@@ -18,6 +18,9 @@
 
 import eu.cloudnetservice.driver.document.Document;
 import eu.cloudnetservice.driver.document.DocumentFactory;
+import eu.cloudnetservice.driver.event.EventManager;
+import eu.cloudnetservice.driver.jfr.FlightRecordingConfiguration;
+import eu.cloudnetservice.driver.jfr.RollingFlightRecording;
 import eu.cloudnetservice.driver.module.ModuleLifeCycle;
 import eu.cloudnetservice.driver.module.ModuleTask;
 import eu.cloudnetservice.driver.module.ModuleWrapper;
@@ -31,6 +34,7 @@
 import eu.cloudnetservice.modules.report.config.PasteServer;
 import eu.cloudnetservice.modules.report.config.ReportConfiguration;
 import eu.cloudnetservice.modules.report.emitter.EmitterRegistry;
+import eu.cloudnetservice.modules.report.emitter.defaults.FlightRecordingDataEmitter;
 import eu.cloudnetservice.modules.report.emitter.defaults.GroupConfigDataEmitter;
 import eu.cloudnetservice.modules.report.emitter.defaults.HeapDumpDataEmitter;
 import eu.cloudnetservice.modules.report.emitter.defaults.LocalModuleDataEmitter;
@@ -40,17 +44,20 @@
 import eu.cloudnetservice.modules.report.emitter.defaults.ServiceTasksDataEmitter;
 import eu.cloudnetservice.modules.report.emitter.defaults.SystemInfoDataEmitter;
 import eu.cloudnetservice.modules.report.emitter.defaults.ThreadInfoDataEmitter;
+import eu.cloudnetservice.modules.report.listener.ServiceFlightRecordingListener;
 import eu.cloudnetservice.node.cluster.NodeServer;
 import eu.cloudnetservice.node.command.CommandProvider;
 import jakarta.inject.Singleton;
 import java.util.Map;
 import java.util.Set;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 @Singleton
 public final class CloudNetReportModule extends DriverModule {
 
   private ReportConfiguration configuration;
+  private volatile RollingFlightRecording flightRecording;
 
   @ModuleTask(order = 127)
   public void prepareEmitterRegistry(@NonNull ServiceRegistry serviceRegistry) {
@@ -65,6 +72,7 @@ public void registerDefaultEmitters(@NonNull @Service EmitterRegistry emitterReg
       .registerEmitter(SystemInfoDataEmitter.class)
       .registerEmitter(ThreadInfoDataEmitter.class)
       .registerEmitter(HeapDumpDataEmitter.class)
+      .registerEmitter(FlightRecordingDataEmitter.class)
       .registerEmitter(LocalNodeConfigDataEmitter.class)
       // specific class emitters
       .registerSpecificEmitter(NodeServer.class, NodeServerDataEmitter.class)
@@ -85,28 +93,56 @@ public void convertConfiguration() {
         "documents",
         "POST",
         Map.of(),
-        "key")))));
+        "key")), FlightRecordingConfiguration.DEFAULT, false)));
     }
   }
 
   @ModuleTask
-  public void finishStartup(@NonNull CommandProvider commandProvider) {
-    this.configuration = this.readConfig(
-      ReportConfiguration.class,
-      () -> new ReportConfiguration(Set.of(PasteServer.DEFAULT_PASTER_SERVER)),
-      DocumentFactory.json());
+  public void finishStartup(@NonNull CommandProvider commandProvider, @NonNull EventManager eventManager) {
+    this.loadConfiguration();
     commandProvider.register(ReportCommand.class);
+    eventManager.registerListener(ServiceFlightRecordingListener.class);
   }
 
   @ModuleTask(lifecycle = ModuleLifeCycle.RELOADING)
   public void handleReload() {
+    this.loadConfiguration();
+  }
+
+  @ModuleTask(lifecycle = ModuleLifeCycle.STOPPED)
+  public void stopFlightRecording() {
+    this.restartFlightRecording(FlightRecordingConfiguration.DISABLED);
+  }
+
+  private void loadConfiguration() {
     this.configuration = this.readConfig(
       ReportConfiguration.class,
-      () -> new ReportConfiguration(Set.of(PasteServer.DEFAULT_PASTER_SERVER)),
+      () -> new ReportConfiguration(
+        Set.of(PasteServer.DEFAULT_PASTER_SERVER),
+        FlightRecordingConfiguration.DEFAULT,
+        false),
       DocumentFactory.json());
+    this.restartFlightRecording(this.configuration.effectiveFlightRecording());
+  }
+
+  private synchronized void restartFlightRecording(@NonNull FlightRecordingConfiguration configuration) {
+    // keep the current recording if the configuration did not change, prevents losing the recorded data
+    var currentRecording = this.flightRecording;
+    if (currentRecording != null && currentRecording.configuration().equals(configuration)) {
+      return;
+    }
+
+    if (currentRecording != null) {
+      currentRecording.close();
+    }
+    this.flightRecording = RollingFlightRecording.start(configuration);
   }
 
   public @NonNull ReportConfiguration configuration() {
     return this.configuration;
   }
+
+  public @Nullable RollingFlightRecording flightRecording() {
+    return this.flightRecording;
+  }
 }
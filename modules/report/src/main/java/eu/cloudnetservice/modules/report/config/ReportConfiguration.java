@@ -16,9 +16,20 @@
 
 package eu.cloudnetservice.modules.report.config;
 
+import eu.cloudnetservice.driver.jfr.FlightRecordingConfiguration;
 import java.util.Collection;
+import java.util.Objects;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
-public record ReportConfiguration(@NonNull Collection<PasteServer> pasteServers) {
+public record ReportConfiguration(
+  @NonNull Collection<PasteServer> pasteServers,
+  @Nullable FlightRecordingConfiguration flightRecording,
+  boolean serviceFlightRecording
+) {
 
+  public @NonNull FlightRecordingConfiguration effectiveFlightRecording() {
+    // configurations written before the flight recording was introduced do not contain the option
+    return Objects.requireNonNullElse(this.flightRecording, FlightRecordingConfiguration.DEFAULT);
+  }
 }
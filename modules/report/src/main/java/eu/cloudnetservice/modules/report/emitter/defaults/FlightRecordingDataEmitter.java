@@ -0,0 +1,177 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.report.emitter.defaults;
+
+import eu.cloudnetservice.common.column.ColumnFormatter;
+import eu.cloudnetservice.common.column.RowedFormatter;
+import eu.cloudnetservice.common.io.FileUtil;
+import eu.cloudnetservice.driver.jfr.PacketDispatchJfrEvent;
+import eu.cloudnetservice.driver.jfr.RPCInvocationJfrEvent;
+import eu.cloudnetservice.driver.jfr.ServicePrepareJfrEvent;
+import eu.cloudnetservice.driver.jfr.TemplateIOJfrEvent;
+import eu.cloudnetservice.driver.jfr.TickJfrEvent;
+import eu.cloudnetservice.modules.report.CloudNetReportModule;
+import eu.cloudnetservice.modules.report.emitter.ReportDataEmitter;
+import eu.cloudnetservice.modules.report.emitter.ReportDataWriter;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.NonNull;
+
+@Singleton
+public final class FlightRecordingDataEmitter implements ReportDataEmitter {
+
+  private static final int MAX_SUMMARY_ENTRIES = 50;
+  // the amount of recording dumps to keep in the data directory, 0 to keep none and a negative value to keep all dumps
+  private static final int KEPT_RECORDING_DUMPS = Integer.getInteger("cloudnet.report.kept-recording-dumps", 5);
+  private static final String DUMP_FILE_PREFIX = "flight-recording-";
+  private static final String GARBAGE_COLLECTION_EVENT = "jdk.GarbageCollection";
+  private static final RowedFormatter<EventSummary> SUMMARY_FORMATTER = RowedFormatter.<EventSummary>builder()
+    .defaultFormatter(ColumnFormatter.builder()
+      .columnTitles("Event", "Count", "Total (ms)", "Avg (ms)", "Max (ms)")
+      .build())
+    .column(EventSummary::name)
+    .column(EventSummary::count)
+    .column(summary -> formatNanos(summary.totalNanos()))
+    .column(summary -> formatNanos(summary.totalNanos() / summary.count()))
+    .column(summary -> formatNanos(summary.maxNanos()))
+    .build();
+
+  private final CloudNetReportModule reportModule;
+
+  @Inject
+  public FlightRecordingDataEmitter(@NonNull CloudNetReportModule reportModule) {
+    this.reportModule = reportModule;
+  }
+
+  private static @NonNull String formatNanos(long nanos) {
+    return String.format("%.3f", nanos / 1_000_000D);
+  }
+
+  private static long dumpTimestamp(@NonNull Path dumpFile) {
+    var fileName = dumpFile.getFileName().toString();
+    try {
+      return Long.parseLong(fileName.substring(DUMP_FILE_PREFIX.length(), fileName.length() - ".jfr".length()));
+    } catch (NumberFormatException exception) {
+      // not created by us, treat it as the oldest dump
+      return 0;
+    }
+  }
+
+  private static @NonNull String summaryName(@NonNull RecordedEvent event) {
+    return switch (event.getEventType().getName()) {
+      case TickJfrEvent.NAME -> "Tick";
+      case PacketDispatchJfrEvent.NAME -> "Packet Dispatch (channel " + event.getInt("packetChannel") + ")";
+      case RPCInvocationJfrEvent.NAME -> "RPC " + event.getString("targetClass") + "#" + event.getString("methodName");
+      case ServicePrepareJfrEvent.NAME -> "Service Prepare (" + event.getString("phase") + ")";
+      case TemplateIOJfrEvent.NAME -> "Template I/O (" + event.getString("operation") + ")";
+      case GARBAGE_COLLECTION_EVENT -> "GC " + event.getString("name");
+      default -> event.getEventType().getName();
+    };
+  }
+
+  @Override
+  public @NonNull ReportDataWriter emitData(@NonNull ReportDataWriter writer) {
+    var recording = this.reportModule.flightRecording();
+    if (recording == null) {
+      return writer.beginSection("Flight Recording").appendString("No flight recording is running").endSection();
+    }
+
+    // dump the recording into the data directory of the module, the full dump can be analyzed using JDK Mission Control
+    var dumpDirectory = this.reportModule.moduleWrapper().dataDirectory().resolve("recordings");
+    var dumpFile = dumpDirectory.resolve(DUMP_FILE_PREFIX + System.currentTimeMillis() + ".jfr");
+    Map<String, EventSummary> summaries = new HashMap<>();
+    try {
+      FileUtil.createDirectory(dumpDirectory);
+      recording.dump(dumpFile);
+
+      // summarize the cloudnet hot path events and the gc pauses, streaming the events to not load the full dump
+      try (var recordingFile = new RecordingFile(dumpFile)) {
+        while (recordingFile.hasMoreEvents()) {
+          var event = recordingFile.readEvent();
+          var eventName = event.getEventType().getName();
+          if (eventName.startsWith("eu.cloudnetservice.") || eventName.equals(GARBAGE_COLLECTION_EVENT)) {
+            var name = summaryName(event);
+            var durationNanos = event.getDuration().toNanos();
+            summaries.merge(name, new EventSummary(name, 1, durationNanos, durationNanos), EventSummary::merge);
+          }
+        }
+      }
+
+      // remove the old dumps, they would otherwise pile up with every created report
+      this.deleteOldDumps(dumpDirectory);
+    } catch (IOException exception) {
+      return writer
+        .beginSection("Flight Recording")
+        .appendString("Unable to dump flight recording: ").appendString(exception.getMessage())
+        .endSection();
+    }
+
+    var entries = summaries.values().stream()
+      .sorted(Comparator.comparingLong(EventSummary::totalNanos).reversed())
+      .limit(MAX_SUMMARY_ENTRIES)
+      .toList();
+    writer.beginSection(String.format(
+      "Flight Recording (last %d minutes)",
+      recording.configuration().maxAgeMinutes()));
+    if (Files.exists(dumpFile)) {
+      writer.appendString("Dumped to: ").appendString(dumpFile.toAbsolutePath().toString())
+        .appendNewline()
+        .appendNewline();
+    }
+    return writer
+      .appendString(entries.isEmpty() ? "No events recorded" : String.join("\n", SUMMARY_FORMATTER.format(entries)))
+      .endSection();
+  }
+
+  private void deleteOldDumps(@NonNull Path dumpDirectory) throws IOException {
+    if (KEPT_RECORDING_DUMPS < 0) {
+      return;
+    }
+
+    List<Path> dumps = new ArrayList<>();
+    try (var stream = Files.newDirectoryStream(dumpDirectory, DUMP_FILE_PREFIX + "*.jfr")) {
+      stream.forEach(dumps::add);
+    }
+
+    // the file names contain the creation timestamp, delete all dumps except for the newest ones
+    dumps.sort(Comparator.comparingLong(FlightRecordingDataEmitter::dumpTimestamp).reversed());
+    for (var index = KEPT_RECORDING_DUMPS; index < dumps.size(); index++) {
+      FileUtil.delete(dumps.get(index));
+    }
+  }
+
+  private record EventSummary(@NonNull String name, long count, long totalNanos, long maxNanos) {
+
+    private @NonNull EventSummary merge(@NonNull EventSummary other) {
+      return new EventSummary(
+        this.name,
+        this.count + other.count,
+        this.totalNanos + other.totalNanos,
+        Math.max(this.maxNanos, other.maxNanos));
+    }
+  }
+}
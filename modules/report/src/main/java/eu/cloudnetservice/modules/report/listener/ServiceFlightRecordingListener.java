@@ -0,0 +1,57 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.report.listener;
+
+import eu.cloudnetservice.driver.document.DocumentFactory;
+import eu.cloudnetservice.driver.event.EventListener;
+import eu.cloudnetservice.modules.report.CloudNetReportModule;
+import eu.cloudnetservice.node.event.service.CloudServicePostPrepareEvent;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import lombok.NonNull;
+
+@Singleton
+public final class ServiceFlightRecordingListener {
+
+  private static final Path WRAPPER_CONFIG_PATH = Path.of(".wrapper", "wrapper.json");
+
+  private final CloudNetReportModule reportModule;
+
+  @Inject
+  public ServiceFlightRecordingListener(@NonNull CloudNetReportModule reportModule) {
+    this.reportModule = reportModule;
+  }
+
+  @EventListener
+  public void handlePostPrepare(@NonNull CloudServicePostPrepareEvent event) {
+    var configuration = this.reportModule.configuration();
+    if (!configuration.serviceFlightRecording()) {
+      return;
+    }
+
+    // add the recording configuration to the wrapper configuration, the wrapper starts the recording itself
+    var wrapperConfigPath = event.service().directory().resolve(WRAPPER_CONFIG_PATH);
+    if (Files.exists(wrapperConfigPath)) {
+      DocumentFactory.json().parse(wrapperConfigPath)
+        .mutableCopy()
+        .append("flightRecording", configuration.effectiveFlightRecording())
+        .writeTo(wrapperConfigPath);
+    }
+  }
+}
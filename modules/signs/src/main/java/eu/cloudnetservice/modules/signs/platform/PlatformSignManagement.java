@@ -24,6 +24,7 @@
 import eu.cloudnetservice.driver.event.EventManager;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.provider.CloudServiceProvider;
+import eu.cloudnetservice.driver.service.ServiceInfoInterest;
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
 import eu.cloudnetservice.modules.bridge.WorldPosition;
 import eu.cloudnetservice.modules.signs.AbstractSignManagement;
@@ -35,6 +36,7 @@
 import eu.cloudnetservice.modules.signs.util.LayoutUtil;
 import eu.cloudnetservice.modules.signs.util.PriorityUtil;
 import eu.cloudnetservice.wrapper.configuration.WrapperConfiguration;
+import eu.cloudnetservice.wrapper.holder.ServiceInfoHolder;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -69,6 +71,7 @@
 
   protected final Executor mainThreadExecutor;
   protected final WrapperConfiguration wrapperConfig;
+  protected final ServiceInfoHolder serviceInfoHolder;
   protected final CloudServiceProvider serviceProvider;
   protected final ScheduledExecutorService executorService;
 
@@ -82,12 +85,14 @@ protected PlatformSignManagement(
     @NonNull EventManager eventManager,
     @NonNull Executor mainThreadExecutor,
     @NonNull WrapperConfiguration wrapperConfig,
+    @NonNull ServiceInfoHolder serviceInfoHolder,
     @NonNull CloudServiceProvider serviceProvider,
     @NonNull ScheduledExecutorService executorService
   ) {
     super(loadSignsConfiguration(wrapperConfig));
     this.mainThreadExecutor = mainThreadExecutor;
     this.wrapperConfig = wrapperConfig;
+    this.serviceInfoHolder = serviceInfoHolder;
     this.serviceProvider = serviceProvider;
     this.executorService = executorService;
     // get the signs for the current group
@@ -167,8 +172,9 @@ public void handleInternalSignCreate(@NonNull Sign sign) {
         newSign.currentTarget(oldSign.currentTarget());
       }
 
-      // register the sign
+      // register the sign and ensure that we receive the updates of the services the sign can display
       this.platformSigns.put(sign.location(), newSign);
+      this.serviceInfoHolder.declareServiceInfoInterest(ServiceInfoInterest.groups(sign.targetGroup()));
       super.handleInternalSignCreate(sign);
     }
   }
@@ -256,6 +262,10 @@ public void initialize(@NonNull Map<SignLayoutsHolder, Set<PlatformSign<P, C>>>
         this.platformSigns.put(value.location(), this.createPlatformSign(value));
       }
 
+      // only receive the updates of the services which can be displayed on the signs
+      var targetGroups = this.signs.values().stream().map(Sign::targetGroup).toArray(String[]::new);
+      this.serviceInfoHolder.declareServiceInfoInterest(ServiceInfoInterest.groups(targetGroups));
+
       // start the needed tasks
       this.executorService.scheduleWithFixedDelay(() -> {
         try {
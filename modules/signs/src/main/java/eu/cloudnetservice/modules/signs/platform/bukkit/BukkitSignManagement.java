@@ -26,6 +26,7 @@
 import eu.cloudnetservice.modules.signs.platform.PlatformSign;
 import eu.cloudnetservice.modules.signs.platform.PlatformSignManagement;
 import eu.cloudnetservice.wrapper.configuration.WrapperConfiguration;
+import eu.cloudnetservice.wrapper.holder.ServiceInfoHolder;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
@@ -57,6 +58,7 @@ protected BukkitSignManagement(
     @NonNull PluginManager pluginManager,
     @NonNull ServiceRegistry serviceRegistry,
     @NonNull WrapperConfiguration wrapperConfig,
+    @NonNull ServiceInfoHolder serviceInfoHolder,
     @NonNull CloudServiceProvider serviceProvider,
     @NonNull @Named("taskScheduler") ScheduledExecutorService executorService
   ) {
@@ -70,7 +72,7 @@ protected BukkitSignManagement(
           scheduler.runTask(plugin, runnable);
         }
       }
-    }, wrapperConfig, serviceProvider, executorService);
+    }, wrapperConfig, serviceInfoHolder, serviceProvider, executorService);
 
     this.plugin = plugin;
     this.scheduler = scheduler;
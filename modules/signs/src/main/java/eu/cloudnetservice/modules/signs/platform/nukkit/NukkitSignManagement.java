@@ -33,6 +33,7 @@
 import eu.cloudnetservice.modules.signs.platform.PlatformSign;
 import eu.cloudnetservice.modules.signs.platform.PlatformSignManagement;
 import eu.cloudnetservice.wrapper.configuration.WrapperConfiguration;
+import eu.cloudnetservice.wrapper.holder.ServiceInfoHolder;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
@@ -59,6 +60,7 @@ protected NukkitSignManagement(
     @NonNull PluginManager pluginManager,
     @NonNull ServiceRegistry serviceRegistry,
     @NonNull WrapperConfiguration wrapperConfig,
+    @NonNull ServiceInfoHolder serviceInfoHolder,
     @NonNull CloudServiceProvider serviceProvider,
     @NonNull @Named("taskScheduler") ScheduledExecutorService executorService
   ) {
@@ -75,6 +77,7 @@ protected NukkitSignManagement(
         }
       },
       wrapperConfig,
+      serviceInfoHolder,
       serviceProvider,
       executorService);
 
@@ -26,6 +26,7 @@
 import eu.cloudnetservice.modules.signs.platform.PlatformSign;
 import eu.cloudnetservice.modules.signs.platform.PlatformSignManagement;
 import eu.cloudnetservice.wrapper.configuration.WrapperConfiguration;
+import eu.cloudnetservice.wrapper.holder.ServiceInfoHolder;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
@@ -68,6 +69,7 @@ protected SpongeSignManagement(
     @NonNull EventManager spongeEventManager,
     @NonNull PluginContainer pluginContainer,
     @NonNull WrapperConfiguration wrapperConfig,
+    @NonNull ServiceInfoHolder serviceInfoHolder,
     @NonNull CloudServiceProvider serviceProvider,
     @NonNull @Named("sync") Scheduler syncScheduler,
     @NonNull @Named("taskScheduler") ScheduledExecutorService executorService,
@@ -80,7 +82,7 @@ protected SpongeSignManagement(
       } else {
         syncScheduler.submit(Task.builder().plugin(pluginContainer).execute(runnable).build());
       }
-    }, wrapperConfig, serviceProvider, executorService);
+    }, wrapperConfig, serviceInfoHolder, serviceProvider, executorService);
 
     this.game = game;
     this.worldManager = worldManager;
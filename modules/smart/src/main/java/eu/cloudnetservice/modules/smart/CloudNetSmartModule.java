@@ -22,8 +22,10 @@
 import eu.cloudnetservice.driver.module.driver.DriverModule;
 import eu.cloudnetservice.driver.provider.ServiceTaskProvider;
 import eu.cloudnetservice.driver.service.ServiceTask;
+import eu.cloudnetservice.modules.smart.forecast.SmartForecastManager;
 import eu.cloudnetservice.modules.smart.listener.CloudNetLocalServiceListener;
 import eu.cloudnetservice.modules.smart.listener.CloudNetLocalServiceTaskListener;
+import eu.cloudnetservice.modules.smart.listener.CloudNetServiceAggregateListener;
 import eu.cloudnetservice.modules.smart.listener.CloudNetTickListener;
 import eu.cloudnetservice.node.command.CommandProvider;
 import jakarta.inject.Singleton;
@@ -90,11 +92,18 @@ public void start(@NonNull EventManager eventManager, @NonNull CommandProvider c
     eventManager
       .registerListener(CloudNetTickListener.class)
       .registerListener(CloudNetLocalServiceListener.class)
-      .registerListener(CloudNetLocalServiceTaskListener.class);
+      .registerListener(CloudNetLocalServiceTaskListener.class)
+      .registerListener(CloudNetServiceAggregateListener.class);
 
     commandProvider.register(SmartCommand.class);
   }
 
+  @ModuleTask(lifecycle = ModuleLifeCycle.STOPPED)
+  public void flushForecasts(@NonNull SmartForecastManager forecastManager) {
+    // write the pending forecast samples before the module gets unloaded
+    forecastManager.close();
+  }
+
   public @Nullable SmartServiceTaskConfig smartConfig(@NonNull ServiceTask task) {
     // try to get the smart config entry
     return task.propertyHolder().readObject("smartConfig", SmartServiceTaskConfig.class);
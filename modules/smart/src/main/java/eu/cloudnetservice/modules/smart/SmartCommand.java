@@ -20,6 +20,8 @@
 import eu.cloudnetservice.common.language.I18n;
 import eu.cloudnetservice.driver.provider.ServiceTaskProvider;
 import eu.cloudnetservice.driver.service.ServiceTask;
+import eu.cloudnetservice.modules.smart.forecast.ForecastSimulation;
+import eu.cloudnetservice.modules.smart.forecast.SmartForecastManager;
 import eu.cloudnetservice.node.command.annotation.Description;
 import eu.cloudnetservice.node.command.exception.ArgumentNotAvailableException;
 import eu.cloudnetservice.node.command.source.CommandSource;
@@ -42,10 +44,12 @@
 public class SmartCommand {
 
   private final ServiceTaskProvider taskProvider;
+  private final SmartForecastManager forecastManager;
 
   @Inject
-  public SmartCommand(@NonNull ServiceTaskProvider taskProvider) {
+  public SmartCommand(@NonNull ServiceTaskProvider taskProvider, @NonNull SmartForecastManager forecastManager) {
     this.taskProvider = taskProvider;
+    this.forecastManager = forecastManager;
   }
 
   @Parser(name = "smartTask", suggestions = "smartTask")
@@ -239,6 +243,67 @@ public void percentOfPlayersForANewServiceByInstance(
       percent));
   }
 
+  @Command("smart task <task> forecast <enabled>")
+  public void forecast(
+    @NonNull CommandSource source,
+    @NonNull @Argument(value = "task", parserName = "smartTask") ServiceTask task,
+    @Argument("enabled") boolean enabled
+  ) {
+    this.updateSmart(task, config -> config.forecast(this.smartConfig(task).effectiveForecast().withEnabled(enabled)));
+    source.sendMessage(I18n.trans(
+      "command-tasks-set-property-success",
+      "forecast",
+      task.name(),
+      enabled));
+  }
+
+  @Command("smart task <task> simulate <startupSeconds>")
+  public void simulate(
+    @NonNull CommandSource source,
+    @NonNull @Argument(value = "task", parserName = "smartTask") ServiceTask task,
+    @Argument("startupSeconds") @Range(min = "0") int startupSeconds
+  ) {
+    var config = this.smartConfig(task);
+    var forecast = config.effectiveForecast();
+    // replay the recorded player counts of the task
+    var history = this.forecastManager.history(task.name(), forecast);
+    var maxPlayersPerService = this.forecastManager.maxPlayersPerService(task.name(), forecast);
+    if (history.length == 0 || maxPlayersPerService <= 0) {
+      source.sendMessage(I18n.trans("module-smart-command-simulate-no-history", task.name()));
+      return;
+    }
+
+    var result = ForecastSimulation.simulate(
+      history,
+      forecast,
+      maxPlayersPerService,
+      config.percentOfPlayersForANewServiceByInstance(),
+      Math.max(task.minServiceCount(), config.smartMinServiceCount()),
+      (int) Math.ceil((double) startupSeconds / forecast.sampleIntervalSeconds()));
+    source.sendMessage(I18n.trans("module-smart-command-simulate-result", result.samples(), task.name()));
+    this.sendPolicyResult(source, "reactive", result.reactive(), forecast.sampleIntervalSeconds());
+    this.sendPolicyResult(source, "forecast", result.predictive(), forecast.sampleIntervalSeconds());
+  }
+
+  private void sendPolicyResult(
+    @NonNull CommandSource source,
+    @NonNull String policy,
+    @NonNull ForecastSimulation.PolicyResult result,
+    int sampleIntervalSeconds
+  ) {
+    var serviceHours = result.serviceSamples() * sampleIntervalSeconds / 3600D;
+    source.sendMessage(I18n.trans(
+      "module-smart-command-simulate-policy",
+      policy,
+      String.format("%.1f", serviceHours),
+      result.saturatedSamples(),
+      result.starts()));
+  }
+
+  private @NonNull SmartServiceTaskConfig smartConfig(@NonNull ServiceTask task) {
+    return task.propertyHolder().readObject("smartConfig", SmartServiceTaskConfig.class);
+  }
+
   private void updateSmart(
     @NonNull ServiceTask serviceTask,
     @NonNull Function<SmartServiceTaskConfig.Builder, SmartServiceTaskConfig.Builder> modifier
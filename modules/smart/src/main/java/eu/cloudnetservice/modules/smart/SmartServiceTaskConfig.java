@@ -17,6 +17,7 @@
 package eu.cloudnetservice.modules.smart;
 
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 public record SmartServiceTaskConfig(
   boolean enabled,
@@ -30,7 +31,8 @@ public record SmartServiceTaskConfig(
   int autoStopTimeByUnusedServiceInSeconds,
   int percentOfPlayersToCheckShouldStopTheService,
   int forAnewInstanceDelayTimeInSeconds,
-  int percentOfPlayersForANewServiceByInstance
+  int percentOfPlayersForANewServiceByInstance,
+  @Nullable ForecastConfig forecast
 ) implements Comparable<SmartServiceTaskConfig> {
 
   public static @NonNull Builder builder() {
@@ -54,7 +56,14 @@ public record SmartServiceTaskConfig(
       .percentOfPlayersToCheckShouldStop(config.percentOfPlayersToCheckShouldStopTheService())
 
       .forAnewInstanceDelayTimeInSeconds(config.forAnewInstanceDelayTimeInSeconds())
-      .percentOfPlayersForANewServiceByInstance(config.percentOfPlayersForANewServiceByInstance());
+      .percentOfPlayersForANewServiceByInstance(config.percentOfPlayersForANewServiceByInstance())
+
+      .forecast(config.effectiveForecast());
+  }
+
+  public @NonNull ForecastConfig effectiveForecast() {
+    // configurations written before forecasting was introduced do not contain the entry
+    return this.forecast == null ? ForecastConfig.DEFAULT : this.forecast;
   }
 
   @Override
@@ -70,6 +79,52 @@ public enum TemplateInstaller {
     INSTALL_BALANCED
   }
 
+  /**
+   * The configuration of the forecasting mode. If enabled, the player count of the task is sampled periodically and
+   * a Holt-Winters model is used to start services ahead of the forecast demand and to delay stops while the forecast
+   * demand still needs the running services.
+   *
+   * @param enabled               if services should be started and kept based on the forecast player count.
+   * @param sampleIntervalSeconds the interval in which the player count of the task is sampled.
+   * @param seasonLengthSamples   the amount of samples in one season, for example one day.
+   * @param historySamples        the amount of samples to keep in the database for offline simulations.
+   * @param levelSmoothing        the smoothing factor of the level (alpha), between 0 and 1.
+   * @param trendSmoothing        the smoothing factor of the trend (beta), between 0 and 1.
+   * @param seasonSmoothing       the smoothing factor of the seasonal offsets (gamma), between 0 and 1.
+   * @param leadTimeSeconds       how far ahead of the demand services should be started.
+   */
+  public record ForecastConfig(
+    boolean enabled,
+    int sampleIntervalSeconds,
+    int seasonLengthSamples,
+    int historySamples,
+    double levelSmoothing,
+    double trendSmoothing,
+    double seasonSmoothing,
+    int leadTimeSeconds
+  ) {
+
+    // five minute samples, a season of one day and a history of one week
+    public static final ForecastConfig DEFAULT = new ForecastConfig(false, 300, 288, 2016, 0.3, 0.05, 0.2, 600);
+
+    public @NonNull ForecastConfig withEnabled(boolean enabled) {
+      return new ForecastConfig(
+        enabled,
+        this.sampleIntervalSeconds,
+        this.seasonLengthSamples,
+        this.historySamples,
+        this.levelSmoothing,
+        this.trendSmoothing,
+        this.seasonSmoothing,
+        this.leadTimeSeconds);
+    }
+
+    public int leadTimeSamples() {
+      // always look at least one sample ahead
+      return Math.max(1, (int) Math.ceil((double) this.leadTimeSeconds / this.sampleIntervalSeconds));
+    }
+  }
+
   public static class Builder {
 
     private boolean enabled = false;
@@ -89,6 +144,8 @@ public static class Builder {
     private int forAnewInstanceDelayTimeInSeconds = 300;
     private int percentOfPlayersForANewServiceByInstance = 100;
 
+    private ForecastConfig forecast = ForecastConfig.DEFAULT;
+
     public @NonNull Builder enabled(boolean enabled) {
       this.enabled = enabled;
       return this;
@@ -149,6 +206,11 @@ public static class Builder {
       return this;
     }
 
+    public @NonNull Builder forecast(@NonNull ForecastConfig forecast) {
+      this.forecast = forecast;
+      return this;
+    }
+
     public @NonNull SmartServiceTaskConfig build() {
       return new SmartServiceTaskConfig(
         this.enabled,
@@ -162,7 +224,8 @@ public static class Builder {
         this.autoStopTimeByUnusedServiceInSeconds,
         this.percentOfPlayersToCheckShouldStopTheService,
         this.forAnewInstanceDelayTimeInSeconds,
-        this.percentOfPlayersForANewServiceByInstance);
+        this.percentOfPlayersForANewServiceByInstance,
+        this.forecast);
     }
   }
 }
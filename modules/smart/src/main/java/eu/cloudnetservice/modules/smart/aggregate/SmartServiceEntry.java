@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.smart.aggregate;
+
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.driver.service.ServiceLifeCycle;
+import eu.cloudnetservice.modules.bridge.BridgeDocProperties;
+import eu.cloudnetservice.modules.smart.util.SmartUtil;
+import eu.cloudnetservice.node.service.defaults.ServiceWarmPool;
+import lombok.NonNull;
+
+/**
+ * The information about a service which is needed by the smart evaluation. The bridge properties are decoded once when
+ * the service is updated, instead of on each evaluation.
+ *
+ * @param snapshot    the snapshot of the service the entry was created from.
+ * @param online      if the service is marked as online by the bridge.
+ * @param onlineCount the amount of players connected to the service.
+ * @param maxPlayers  the maximum amount of players that can connect to the service.
+ * @param poolMember  if the service is kept in the warm pool of its task and was not claimed yet.
+ */
+public record SmartServiceEntry(
+  @NonNull ServiceInfoSnapshot snapshot,
+  boolean online,
+  int onlineCount,
+  int maxPlayers,
+  boolean poolMember
+) {
+
+  public static @NonNull SmartServiceEntry of(@NonNull ServiceInfoSnapshot snapshot) {
+    return new SmartServiceEntry(
+      snapshot,
+      snapshot.lifeCycle() == ServiceLifeCycle.RUNNING && snapshot.readProperty(BridgeDocProperties.IS_ONLINE),
+      snapshot.readProperty(BridgeDocProperties.ONLINE_COUNT),
+      snapshot.readProperty(BridgeDocProperties.MAX_PLAYERS),
+      ServiceWarmPool.poolMember(snapshot));
+  }
+
+  public @NonNull ServiceLifeCycle lifeCycle() {
+    return this.snapshot.lifeCycle();
+  }
+
+  public @NonNull String nodeUniqueId() {
+    return this.snapshot.serviceId().nodeUniqueId();
+  }
+
+  public double playerPercentage() {
+    return SmartUtil.percentage(this.onlineCount, this.maxPlayers);
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.smart.aggregate;
+
+import eu.cloudnetservice.driver.service.ServiceLifeCycle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The aggregated state of the services of a single task. The aggregates are updated incrementally each time a service
+ * of the task changes, reading them is therefore constant time. All methods are synchronized, as updates are applied
+ * from the network threads while the smart evaluation reads them on the tick thread.
+ * <p>
+ * Updates are ordered by the version of the service snapshots. Removed services are kept as tombstones for a while, to
+ * prevent that an update which is received delayed re-adds a removed service. Members of the warm pool of the task are
+ * not counted, they are managed by the node and must not fill up the prepared services configured for the task.
+ */
+public final class SmartTaskAggregate {
+
+  private static final long TOMBSTONE_TTL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+  private final Map<UUID, SmartServiceEntry> services = new HashMap<>();
+  private final Map<UUID, Tombstone> tombstones = new HashMap<>();
+  private final Map<String, Integer> preparedByNode = new HashMap<>();
+  private final Map<String, Integer> runningByNode = new HashMap<>();
+
+  private int preparedServices;
+  private int runningServices;
+  private int onlineServices;
+  private long onlinePlayers;
+  private long maxPlayers;
+
+  public synchronized int preparedServices() {
+    return this.preparedServices;
+  }
+
+  public synchronized int runningServices() {
+    return this.runningServices;
+  }
+
+  public synchronized int onlineServices() {
+    return this.onlineServices;
+  }
+
+  public synchronized long onlinePlayers() {
+    return this.onlinePlayers;
+  }
+
+  public synchronized long maxPlayers() {
+    return this.maxPlayers;
+  }
+
+  public synchronized int servicesOnNode(@NonNull String nodeUniqueId, boolean includePrepared) {
+    var running = this.runningByNode.getOrDefault(nodeUniqueId, 0);
+    return includePrepared ? running + this.preparedByNode.getOrDefault(nodeUniqueId, 0) : running;
+  }
+
+  public synchronized @NonNull List<SmartServiceEntry> onlineServiceEntries() {
+    List<SmartServiceEntry> entries = new ArrayList<>(this.onlineServices);
+    for (var entry : this.services.values()) {
+      if (entry.online()) {
+        entries.add(entry);
+      }
+    }
+    return entries;
+  }
+
+  synchronized boolean isEmpty() {
+    this.expireTombstones(System.nanoTime());
+    return this.services.isEmpty() && this.tombstones.isEmpty();
+  }
+
+  synchronized void update(@NonNull UUID serviceId, @NonNull SmartServiceEntry entry) {
+    var version = entry.snapshot().version();
+    var previous = this.services.get(serviceId);
+    if (previous != null && previous.snapshot().version() > version) {
+      // the update is older than the known state of the service
+      return;
+    }
+
+    // the service was removed, the update was sent before the removal
+    var tombstone = this.tombstones.get(serviceId);
+    if (tombstone != null && tombstone.version() >= version) {
+      return;
+    }
+
+    if (entry.lifeCycle() == ServiceLifeCycle.DELETED) {
+      this.remove(serviceId, version);
+      return;
+    }
+
+    this.tombstones.remove(serviceId);
+    this.services.put(serviceId, entry);
+    this.apply(previous, -1);
+    this.apply(entry, 1);
+  }
+
+  synchronized void removeIf(@NonNull Predicate<UUID> filter) {
+    for (var serviceId : List.copyOf(this.services.keySet())) {
+      if (filter.test(serviceId)) {
+        this.remove(serviceId, this.services.get(serviceId).snapshot().version());
+      }
+    }
+  }
+
+  private void remove(@NonNull UUID serviceId, long version) {
+    var removeTime = System.nanoTime();
+    this.apply(this.services.remove(serviceId), -1);
+    this.tombstones.put(serviceId, new Tombstone(version, removeTime));
+    this.expireTombstones(removeTime);
+  }
+
+  private void expireTombstones(long currentTime) {
+    this.tombstones.values().removeIf(tombstone -> currentTime - tombstone.removeTime() > TOMBSTONE_TTL_NANOS);
+  }
+
+  private void apply(@Nullable SmartServiceEntry entry, int sign) {
+    if (entry == null || entry.poolMember()) {
+      return;
+    }
+
+    switch (entry.lifeCycle()) {
+      case PREPARED -> {
+        this.preparedServices += sign;
+        this.preparedByNode.merge(entry.nodeUniqueId(), sign, Integer::sum);
+      }
+      case RUNNING -> {
+        this.runningServices += sign;
+        this.runningByNode.merge(entry.nodeUniqueId(), sign, Integer::sum);
+      }
+      default -> {
+      }
+    }
+
+    if (entry.online()) {
+      this.onlineServices += sign;
+      this.onlinePlayers += (long) sign * entry.onlineCount();
+      this.maxPlayers += (long) sign * Math.max(0, entry.maxPlayers());
+    }
+  }
+
+  private record Tombstone(long version, long removeTime) {
+
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.smart.aggregate;
+
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.node.service.CloudServiceManager;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+
+/**
+ * Keeps the aggregated state of the services of each task, updated from the service update events. As events can be
+ * missed (for example while the module is not yet started), the aggregates are reconciled with the services known to
+ * the service manager periodically.
+ */
+@Singleton
+public final class SmartTaskAggregates {
+
+  private static final long RECONCILE_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+  private static final SmartTaskAggregate EMPTY_AGGREGATE = new SmartTaskAggregate();
+
+  private final CloudServiceManager serviceManager;
+  private final Map<String, SmartTaskAggregate> aggregates = new ConcurrentHashMap<>();
+
+  private long nextReconcileTime;
+
+  @Inject
+  public SmartTaskAggregates(@NonNull CloudServiceManager serviceManager) {
+    this.serviceManager = serviceManager;
+  }
+
+  public @NonNull SmartTaskAggregate aggregate(@NonNull String taskName) {
+    return this.aggregates.getOrDefault(taskName, EMPTY_AGGREGATE);
+  }
+
+  public void handleServiceUpdate(@NonNull ServiceInfoSnapshot snapshot) {
+    var serviceId = snapshot.serviceId();
+    var entry = SmartServiceEntry.of(snapshot);
+    // get or create the aggregate and update it atomically, the reconcile might remove an empty aggregate concurrently
+    this.aggregates.compute(serviceId.taskName(), (_, aggregate) -> {
+      var taskAggregate = aggregate == null ? new SmartTaskAggregate() : aggregate;
+      taskAggregate.update(serviceId.uniqueId(), entry);
+      return taskAggregate;
+    });
+  }
+
+  public void reconcileIfDue() {
+    var currentTime = System.currentTimeMillis();
+    if (currentTime < this.nextReconcileTime) {
+      return;
+    }
+
+    this.nextReconcileTime = currentTime + RECONCILE_INTERVAL_MILLIS;
+    Set<UUID> knownServices = new HashSet<>();
+    for (var snapshot : this.serviceManager.services()) {
+      knownServices.add(snapshot.serviceId().uniqueId());
+      this.handleServiceUpdate(snapshot);
+    }
+
+    // remove the services which are no longer known and the aggregates of tasks without services
+    for (var taskName : this.aggregates.keySet()) {
+      this.aggregates.computeIfPresent(taskName, (_, aggregate) -> {
+        aggregate.removeIf(serviceId -> !knownServices.contains(serviceId));
+        return aggregate.isEmpty() ? null : aggregate;
+      });
+    }
+  }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.smart.forecast;
+
+public final class ForecastPolicy {
+
+  private ForecastPolicy() {
+    throw new UnsupportedOperationException();
+  }
+
+  public static int requiredServices(double players, double maxPlayersPerService, int percentOfPlayersForNewService) {
+    if (players <= 0 || maxPlayersPerService <= 0) {
+      return 0;
+    }
+
+    // a service is considered full once the configured percentage of its slots is used
+    var usablePercent = percentOfPlayersForNewService <= 0 ? 100 : Math.min(100, percentOfPlayersForNewService);
+    var usableSlots = Math.max(1, maxPlayersPerService * usablePercent / 100);
+    return (int) Math.ceil(players / usableSlots);
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.smart.forecast;
+
+import eu.cloudnetservice.modules.smart.SmartServiceTaskConfig;
+import java.util.function.IntToDoubleFunction;
+import lombok.NonNull;
+
+/**
+ * Replays a recorded player count curve to compare the reactive smart policy with the forecasting policy offline. Both
+ * policies start services which become available after the given startup samples and stop services which are no longer
+ * needed directly. The reactive policy only targets the services needed for the current player count, the forecasting
+ * policy also targets the services needed for the forecast player count at the end of the configured lead time.
+ */
+public final class ForecastSimulation {
+
+  private ForecastSimulation() {
+    throw new UnsupportedOperationException();
+  }
+
+  public static @NonNull Result simulate(
+    int @NonNull [] samples,
+    @NonNull SmartServiceTaskConfig.ForecastConfig config,
+    double maxPlayersPerService,
+    int percentOfPlayersForNewService,
+    int minServices,
+    int startupSamples
+  ) {
+    // the reactive policy only looks at the current player count
+    var reactive = replay(
+      samples,
+      step -> samples[step],
+      maxPlayersPerService,
+      percentOfPlayersForNewService,
+      minServices,
+      startupSamples);
+
+    // the forecasting policy learns the curve while replaying it, like it does when running
+    var model = new HoltWintersModel(config.seasonLengthSamples());
+    var forecasts = new double[samples.length];
+    for (var step = 0; step < samples.length; step++) {
+      model.observe(samples[step], config.levelSmoothing(), config.trendSmoothing(), config.seasonSmoothing());
+      forecasts[step] = Math.max(samples[step], model.forecast(config.leadTimeSamples()));
+    }
+    var predictive = replay(
+      samples,
+      step -> forecasts[step],
+      maxPlayersPerService,
+      percentOfPlayersForNewService,
+      minServices,
+      startupSamples);
+
+    return new Result(samples.length, reactive, predictive);
+  }
+
+  private static @NonNull PolicyResult replay(
+    int @NonNull [] samples,
+    @NonNull IntToDoubleFunction targetPlayers,
+    double maxPlayersPerService,
+    int percentOfPlayersForNewService,
+    int minServices,
+    int startupSamples
+  ) {
+    // a started service is available at the earliest in the next sample
+    var startupDelay = Math.max(1, startupSamples);
+    var readyServices = new int[samples.length + startupDelay];
+    var running = minServices;
+    var starting = 0;
+    var starts = 0;
+    long serviceSamples = 0;
+    var saturatedSamples = 0;
+
+    for (var step = 0; step < samples.length; step++) {
+      // services which finished starting are now available
+      var startedServices = readyServices[step];
+      running += startedServices;
+      starting -= startedServices;
+
+      var target = Math.max(minServices, ForecastPolicy.requiredServices(
+        targetPlayers.applyAsDouble(step),
+        maxPlayersPerService,
+        percentOfPlayersForNewService));
+      if (target > running + starting) {
+        var newServices = target - running - starting;
+        readyServices[step + startupDelay] += newServices;
+        starting += newServices;
+        starts += newServices;
+      } else if (target < running) {
+        running = target;
+      }
+
+      var requiredServices = ForecastPolicy.requiredServices(
+        samples[step],
+        maxPlayersPerService,
+        percentOfPlayersForNewService);
+      if (requiredServices > running) {
+        saturatedSamples++;
+      }
+      serviceSamples += running;
+    }
+
+    return new PolicyResult(serviceSamples, saturatedSamples, starts);
+  }
+
+  /**
+   * The result of a policy replay.
+   *
+   * @param serviceSamples   the sum of the running services over all samples, a measure of the resource usage.
+   * @param saturatedSamples the amount of samples during which fewer services were running than required.
+   * @param starts           the amount of services which were started.
+   */
+  public record PolicyResult(long serviceSamples, int saturatedSamples, int starts) {
+
+  }
+
+  public record Result(int samples, @NonNull PolicyResult reactive, @NonNull PolicyResult predictive) {
+
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.smart.forecast;
+
+import lombok.NonNull;
+
+/**
+ * An additive Holt-Winters model (triple exponential smoothing) which learns the level, trend and seasonal offsets of a
+ * time series of player counts. The model only keeps its current state, observing a value and computing a forecast
+ * are constant time operations. During the first season the seasonal offsets are initialized directly from the
+ * observed values, afterwards they are smoothed like the level and trend.
+ */
+public final class HoltWintersModel {
+
+  private final double[] seasonal;
+
+  private double level;
+  private double trend;
+  private int seasonIndex;
+  private long observations;
+
+  public HoltWintersModel(int seasonLength) {
+    this.seasonal = new double[Math.max(1, seasonLength)];
+  }
+
+  public static @NonNull HoltWintersModel fromState(@NonNull State state) {
+    var model = new HoltWintersModel(state.seasonal().length);
+    System.arraycopy(state.seasonal(), 0, model.seasonal, 0, model.seasonal.length);
+    model.level = state.level();
+    model.trend = state.trend();
+    model.seasonIndex = state.seasonIndex() % model.seasonal.length;
+    model.observations = state.observations();
+    return model;
+  }
+
+  public void observe(double value, double levelSmoothing, double trendSmoothing, double seasonSmoothing) {
+    if (this.observations == 0) {
+      this.level = value;
+    } else {
+      var season = this.seasonal[this.seasonIndex];
+      var previousLevel = this.level;
+      this.level = levelSmoothing * (value - season) + (1 - levelSmoothing) * (this.level + this.trend);
+      this.trend = trendSmoothing * (this.level - previousLevel) + (1 - trendSmoothing) * this.trend;
+
+      // take the offsets of the first season as they are, there is nothing to smooth them with yet
+      var smoothing = this.observations < this.seasonal.length ? 1 : seasonSmoothing;
+      this.seasonal[this.seasonIndex] = smoothing * (value - this.level) + (1 - smoothing) * season;
+    }
+
+    this.seasonIndex = (this.seasonIndex + 1) % this.seasonal.length;
+    this.observations++;
+  }
+
+  public double forecast(int stepsAhead) {
+    if (this.observations == 0) {
+      return 0;
+    }
+
+    // the season index points to the slot of the next observation, which is one step ahead
+    var seasonOffset = this.seasonal[(this.seasonIndex + Math.max(0, stepsAhead - 1)) % this.seasonal.length];
+    return Math.max(0, this.level + stepsAhead * this.trend + seasonOffset);
+  }
+
+  public long observations() {
+    return this.observations;
+  }
+
+  public int seasonLength() {
+    return this.seasonal.length;
+  }
+
+  public @NonNull State state() {
+    return new State(this.level, this.trend, this.seasonal.clone(), this.seasonIndex, this.observations);
+  }
+
+  public record State(double level, double trend, double @NonNull [] seasonal, int seasonIndex, long observations) {
+
+  }
+}
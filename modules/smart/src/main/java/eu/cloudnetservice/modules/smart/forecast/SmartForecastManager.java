@@ -0,0 +1,238 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.smart.forecast;
+
+import eu.cloudnetservice.common.concurrent.TaskUtil;
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.modules.smart.SmartServiceTaskConfig;
+import eu.cloudnetservice.node.database.DatabaseWriteBehindQueue;
+import eu.cloudnetservice.node.database.NodeDatabaseProvider;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the player count time series and the forecasting model of each task with forecasting enabled. The player
+ * counts reported on each smart tick are averaged over the configured sample interval, each sample is fed into the
+ * model and appended to a bounded history. Both are stored in the node database, which allows the model to survive
+ * restarts and the history to be replayed in offline simulations. The database is never accessed from the caller
+ * thread: the stored forecasts are loaded in the background and the samples are written using a write-behind queue.
+ * Until the stored forecast of a task is loaded, no samples are recorded and no services are forecast for it.
+ */
+@Singleton
+public final class SmartForecastManager {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SmartForecastManager.class);
+  private static final String DATABASE_NAME = "cloudnet_smart_forecasts";
+
+  private final NodeDatabaseProvider databaseProvider;
+  private final DatabaseWriteBehindQueue<PersistentState> writeQueue;
+  private final Map<String, CompletableFuture<TaskForecast>> forecasts = new ConcurrentHashMap<>();
+
+  @Inject
+  public SmartForecastManager(
+    @NonNull NodeDatabaseProvider databaseProvider,
+    @NonNull @Named("taskScheduler") ScheduledExecutorService taskScheduler
+  ) {
+    this.databaseProvider = databaseProvider;
+    this.writeQueue = databaseProvider.createWriteBehindQueue(
+      DATABASE_NAME,
+      state -> Document.newJsonDocument().appendTree(state),
+      taskScheduler);
+  }
+
+  public void record(
+    @NonNull String taskName,
+    @NonNull SmartServiceTaskConfig.ForecastConfig config,
+    double onlinePlayers,
+    double maxPlayersPerService
+  ) {
+    var forecast = this.loadedForecast(taskName, config);
+    if (forecast == null) {
+      return;
+    }
+
+    synchronized (forecast) {
+      if (maxPlayersPerService > 0) {
+        forecast.maxPlayersPerService = maxPlayersPerService;
+      }
+
+      forecast.sampleSum += onlinePlayers;
+      forecast.sampleCount++;
+
+      var currentTime = System.currentTimeMillis();
+      if (forecast.nextSampleTime == 0) {
+        forecast.nextSampleTime = currentTime + TimeUnit.SECONDS.toMillis(config.sampleIntervalSeconds());
+      } else if (currentTime >= forecast.nextSampleTime) {
+        // the sample interval passed, feed the average player count of the interval into the model
+        var sample = forecast.sampleSum / forecast.sampleCount;
+        forecast.model.observe(sample, config.levelSmoothing(), config.trendSmoothing(), config.seasonSmoothing());
+        forecast.appendHistory((int) Math.round(sample), config.historySamples());
+
+        forecast.sampleSum = 0;
+        forecast.sampleCount = 0;
+        forecast.nextSampleTime = currentTime + TimeUnit.SECONDS.toMillis(config.sampleIntervalSeconds());
+        this.writeQueue.enqueue(taskName, forecast.persistentState());
+      }
+    }
+  }
+
+  public int forecastServices(
+    @NonNull String taskName,
+    @NonNull SmartServiceTaskConfig.ForecastConfig config,
+    int percentOfPlayersForNewService
+  ) {
+    var forecast = this.loadedForecast(taskName, config);
+    if (forecast == null) {
+      return 0;
+    }
+
+    synchronized (forecast) {
+      // wait until the model saw some samples before making any decisions based on it
+      if (forecast.model.observations() < 2) {
+        return 0;
+      }
+
+      var players = forecast.model.forecast(config.leadTimeSamples());
+      return ForecastPolicy.requiredServices(players, forecast.maxPlayersPerService, percentOfPlayersForNewService);
+    }
+  }
+
+  public int @NonNull [] history(@NonNull String taskName, @NonNull SmartServiceTaskConfig.ForecastConfig config) {
+    var forecast = this.awaitForecast(taskName, config);
+    synchronized (forecast) {
+      return forecast.history.clone();
+    }
+  }
+
+  public double maxPlayersPerService(
+    @NonNull String taskName,
+    @NonNull SmartServiceTaskConfig.ForecastConfig config
+  ) {
+    var forecast = this.awaitForecast(taskName, config);
+    synchronized (forecast) {
+      return forecast.maxPlayersPerService;
+    }
+  }
+
+  public void close() {
+    this.writeQueue.close();
+  }
+
+  private @Nullable TaskForecast loadedForecast(
+    @NonNull String taskName,
+    @NonNull SmartServiceTaskConfig.ForecastConfig config
+  ) {
+    // the forecast is used on the tick thread, do not wait for the stored forecast to be loaded
+    var forecast = this.forecastFuture(taskName, config).getNow(null);
+    return forecast == null ? null : this.validateSeasonLength(taskName, forecast, config);
+  }
+
+  private @NonNull TaskForecast awaitForecast(
+    @NonNull String taskName,
+    @NonNull SmartServiceTaskConfig.ForecastConfig config
+  ) {
+    var forecast = this.forecastFuture(taskName, config).join();
+    return this.validateSeasonLength(taskName, forecast, config);
+  }
+
+  private @NonNull CompletableFuture<TaskForecast> forecastFuture(
+    @NonNull String taskName,
+    @NonNull SmartServiceTaskConfig.ForecastConfig config
+  ) {
+    return this.forecasts.computeIfAbsent(taskName, _ -> TaskUtil.supplyAsync(() -> this.loadForecast(taskName, config))
+      .exceptionally(throwable -> {
+        LOGGER.warn("Unable to load the stored forecast of task {}, starting over", taskName, throwable);
+        return new TaskForecast(new HoltWintersModel(config.seasonLengthSamples()), new int[0], 0);
+      }));
+  }
+
+  private @NonNull TaskForecast validateSeasonLength(
+    @NonNull String taskName,
+    @NonNull TaskForecast forecast,
+    @NonNull SmartServiceTaskConfig.ForecastConfig config
+  ) {
+    if (forecast.model.seasonLength() != Math.max(1, config.seasonLengthSamples())) {
+      // the season length changed, the learned seasonal offsets are no longer usable but the history still is
+      var newForecast = new TaskForecast(new HoltWintersModel(config.seasonLengthSamples()), forecast.history, 0);
+      this.forecasts.put(taskName, CompletableFuture.completedFuture(newForecast));
+      return newForecast;
+    }
+    return forecast;
+  }
+
+  private @NonNull TaskForecast loadForecast(
+    @NonNull String taskName,
+    @NonNull SmartServiceTaskConfig.ForecastConfig config
+  ) {
+    // prefer the state which was not yet written over the stored one
+    var state = this.writeQueue.pending(taskName);
+    if (state == null) {
+      var document = this.databaseProvider.database(DATABASE_NAME).get(taskName);
+      state = document == null ? null : document.toInstanceOf(PersistentState.class);
+    }
+
+    if (state != null && state.model() != null && state.history() != null) {
+      return new TaskForecast(HoltWintersModel.fromState(state.model()), state.history(), state.maxPlayers());
+    }
+    return new TaskForecast(new HoltWintersModel(config.seasonLengthSamples()), new int[0], 0);
+  }
+
+  private record PersistentState(HoltWintersModel.State model, int[] history, double maxPlayers) {
+
+  }
+
+  private static final class TaskForecast {
+
+    private final HoltWintersModel model;
+
+    private int[] history;
+    private double maxPlayersPerService;
+
+    private double sampleSum;
+    private int sampleCount;
+    private long nextSampleTime;
+
+    private TaskForecast(@NonNull HoltWintersModel model, int @NonNull [] history, double maxPlayersPerService) {
+      this.model = model;
+      this.history = history;
+      this.maxPlayersPerService = maxPlayersPerService;
+    }
+
+    private void appendHistory(int sample, int maxSamples) {
+      // the history is only appended once per sample interval, copying it keeps the stored format simple
+      var keptSamples = Math.min(this.history.length, Math.max(0, maxSamples - 1));
+      var newHistory = new int[keptSamples + 1];
+      System.arraycopy(this.history, this.history.length - keptSamples, newHistory, 0, keptSamples);
+      newHistory[keptSamples] = sample;
+      this.history = newHistory;
+    }
+
+    private @NonNull PersistentState persistentState() {
+      return new PersistentState(this.model.state(), this.history, this.maxPlayersPerService);
+    }
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.smart.listener;
+
+import eu.cloudnetservice.driver.event.EventListener;
+import eu.cloudnetservice.driver.event.events.service.CloudServiceLifecycleChangeEvent;
+import eu.cloudnetservice.driver.event.events.service.CloudServiceUpdateEvent;
+import eu.cloudnetservice.modules.smart.aggregate.SmartTaskAggregates;
+import eu.cloudnetservice.node.event.service.CloudServicePostLifecycleEvent;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.NonNull;
+
+@Singleton
+public final class CloudNetServiceAggregateListener {
+
+  private final SmartTaskAggregates aggregates;
+
+  @Inject
+  public CloudNetServiceAggregateListener(@NonNull SmartTaskAggregates aggregates) {
+    this.aggregates = aggregates;
+  }
+
+  @EventListener
+  public void handleUpdate(@NonNull CloudServiceUpdateEvent event) {
+    this.aggregates.handleServiceUpdate(event.serviceInfo());
+  }
+
+  @EventListener
+  public void handleLifecycleChange(@NonNull CloudServiceLifecycleChangeEvent event) {
+    this.aggregates.handleServiceUpdate(event.serviceInfo());
+  }
+
+  @EventListener
+  public void handleLocalLifecycleChange(@NonNull CloudServicePostLifecycleEvent event) {
+    // lifecycle changes of local services are not published as lifecycle change events on this node
+    this.aggregates.handleServiceUpdate(event.service().serviceInfo());
+  }
+}
@@ -16,34 +16,30 @@
 
 package eu.cloudnetservice.modules.smart.listener;
 
-import eu.cloudnetservice.common.tuple.Tuple2;
 import eu.cloudnetservice.driver.event.EventListener;
 import eu.cloudnetservice.driver.provider.CloudServiceFactory;
 import eu.cloudnetservice.driver.provider.ServiceTaskProvider;
 import eu.cloudnetservice.driver.service.ServiceConfiguration;
 import eu.cloudnetservice.driver.service.ServiceCreateResult;
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
-import eu.cloudnetservice.driver.service.ServiceLifeCycle;
 import eu.cloudnetservice.driver.service.ServiceTask;
-import eu.cloudnetservice.modules.bridge.BridgeDocProperties;
 import eu.cloudnetservice.modules.smart.CloudNetSmartModule;
 import eu.cloudnetservice.modules.smart.SmartServiceTaskConfig;
+import eu.cloudnetservice.modules.smart.aggregate.SmartTaskAggregate;
+import eu.cloudnetservice.modules.smart.aggregate.SmartTaskAggregates;
+import eu.cloudnetservice.modules.smart.forecast.SmartForecastManager;
 import eu.cloudnetservice.modules.smart.util.SmartUtil;
 import eu.cloudnetservice.node.cluster.NodeServer;
 import eu.cloudnetservice.node.cluster.NodeServerProvider;
 import eu.cloudnetservice.node.event.instance.CloudNetTickServiceStartEvent;
-import eu.cloudnetservice.node.service.CloudServiceManager;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
-import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -52,9 +48,10 @@ public final class CloudNetTickListener {
 
   private final CloudNetSmartModule module;
   private final ServiceTaskProvider taskProvider;
-  private final CloudServiceManager serviceManager;
   private final CloudServiceFactory serviceFactory;
   private final NodeServerProvider nodeServerProvider;
+  private final SmartForecastManager forecastManager;
+  private final SmartTaskAggregates aggregates;
 
   private final Map<String, Long> autoStartBlocks = new HashMap<>();
   private final Map<UUID, AtomicLong> autoStopTicks = new HashMap<>();
@@ -63,15 +60,17 @@ public final class CloudNetTickListener {
   public CloudNetTickListener(
     @NonNull CloudNetSmartModule module,
     @NonNull ServiceTaskProvider taskProvider,
-    @NonNull CloudServiceManager serviceManager,
     @NonNull CloudServiceFactory serviceFactory,
-    @NonNull NodeServerProvider nodeServerProvider
+    @NonNull NodeServerProvider nodeServerProvider,
+    @NonNull SmartForecastManager forecastManager,
+    @NonNull SmartTaskAggregates aggregates
   ) {
     this.module = module;
     this.taskProvider = taskProvider;
-    this.serviceManager = serviceManager;
     this.serviceFactory = serviceFactory;
     this.nodeServerProvider = nodeServerProvider;
+    this.forecastManager = forecastManager;
+    this.aggregates = aggregates;
   }
 
   @EventListener
@@ -80,51 +79,68 @@ public void handleTick(@NonNull CloudNetTickServiceStartEvent event) {
   }
 
   private void handleSmartEntries() {
+    // catch up on service updates which were missed by the aggregates
+    this.aggregates.reconcileIfDue();
     this.taskProvider.serviceTasks().forEach(task -> {
       var config = this.module.smartConfig(task);
       if (config != null && config.enabled()) {
-        // get all services of the task
-        var services = this.serviceManager.servicesByTask(task.name());
-        // get all prepared services
-        var preparedServices = services.stream()
-          .filter(service -> service.lifeCycle() == ServiceLifeCycle.PREPARED)
-          .collect(Collectors.toSet());
-        // get all running services
-        var runningServices = services.stream()
-          .filter(service -> service.lifeCycle() == ServiceLifeCycle.RUNNING)
-          .collect(Collectors.toSet());
-        // get all services which are marked as online by the bridge
-        var onlineServices = runningServices.stream()
-          .filter(service -> service.readProperty(BridgeDocProperties.IS_ONLINE))
-          .collect(Collectors.toSet());
+        // get the aggregated state of all services of the task
+        var aggregate = this.aggregates.aggregate(task.name());
+        // get the amount of services needed for the forecast player count
+        var forecastServices = this.handleForecast(task, config, aggregate);
         // handle all smart entries
-        this.handleAutoStop(task, config, runningServices, onlineServices);
-        this.handleAutoStart(task, config, preparedServices, runningServices, onlineServices);
+        this.handleAutoStop(task, config, aggregate, forecastServices);
+        this.handleAutoStart(task, config, aggregate, forecastServices);
       }
     });
   }
 
+  private int handleForecast(
+    @NonNull ServiceTask task,
+    @NonNull SmartServiceTaskConfig config,
+    @NonNull SmartTaskAggregate aggregate
+  ) {
+    var forecast = config.effectiveForecast();
+    if (!forecast.enabled()) {
+      return 0;
+    }
+    // record the current player count of the task
+    var onlineServices = aggregate.onlineServices();
+    var maxPlayersPerService = onlineServices == 0 ? 0 : (double) aggregate.maxPlayers() / onlineServices;
+    this.forecastManager.record(task.name(), forecast, aggregate.onlinePlayers(), maxPlayersPerService);
+    // get the services needed at the end of the lead time
+    return this.forecastManager.forecastServices(
+      task.name(),
+      forecast,
+      config.percentOfPlayersForANewServiceByInstance());
+  }
+
   private void handleAutoStop(
     @NonNull ServiceTask task,
     @NonNull SmartServiceTaskConfig config,
-    @NonNull Collection<ServiceInfoSnapshot> runningServices,
-    @NonNull Collection<ServiceInfoSnapshot> onlineServices
+    @NonNull SmartTaskAggregate aggregate,
+    int forecastServices
   ) {
     // check if we should stop a service now or if that operation would cause an instant restart of a service
-    if (!SmartUtil.canStopNow(task, config, runningServices.size())) {
+    var runningServices = aggregate.runningServices();
+    if (!SmartUtil.canStopNow(task, config, runningServices)) {
+      return;
+    }
+    // delay the stop while the forecast demand still needs all running services
+    if (forecastServices >= runningServices) {
       return;
     }
     // go over all online services
-    for (var service : onlineServices) {
+    for (var service : aggregate.onlineServiceEntries()) {
       // check if the service should be stopped
-      var playerLoad = SmartUtil.playerPercentage(service);
-      if (playerLoad <= config.percentOfPlayersToCheckShouldStopTheService()) {
+      if (service.playerPercentage() <= config.percentOfPlayersToCheckShouldStopTheService()) {
         // get the auto stop ticker for the service
         var stopTicker = this.autoStopTicks.computeIfAbsent(
-          service.serviceId().uniqueId(), $ -> new AtomicLong(config.autoStopTimeByUnusedServiceInSeconds()));
+          service.snapshot().serviceId().uniqueId(),
+          $ -> new AtomicLong(config.autoStopTimeByUnusedServiceInSeconds()));
         if (stopTicker.decrementAndGet() <= 0) {
           // stop the service now
-          service.provider().stop();
+          service.snapshot().provider().stop();
         }
       }
     }
@@ -133,30 +149,26 @@ private void handleAutoStop(
   private void handleAutoStart(
     @NonNull ServiceTask task,
     @NonNull SmartServiceTaskConfig config,
-    @NonNull Collection<ServiceInfoSnapshot> preparedServices,
-    @NonNull Collection<ServiceInfoSnapshot> runningServices,
-    @NonNull Collection<ServiceInfoSnapshot> onlineServices
+    @NonNull SmartTaskAggregate aggregate,
+    int forecastServices
   ) {
-    // combine all prepared and running for logic splitting over nodes
-    Collection<ServiceInfoSnapshot> allServices = new HashSet<>();
-    allServices.addAll(preparedServices);
-    allServices.addAll(runningServices);
     // check the prepared service count now as they don't count to the maximum services
-    if (config.preparedServices() > preparedServices.size()) {
-      var service = this.createService(task, config, allServices);
+    if (config.preparedServices() > aggregate.preparedServices()) {
+      // split prepared services logically over all prepared and running services
+      var service = this.createService(task, config, aggregate, true);
       // create only one service per heartbeat
       if (service != null) {
         return;
       }
     }
     // check if the maximum service count is reached
-    if (config.maxServices() > 0 && runningServices.size() >= config.maxServices()) {
+    var runningServices = aggregate.runningServices();
+    if (config.maxServices() > 0 && runningServices >= config.maxServices()) {
       return;
     }
     // only start services by the smart module if the smart min service count overrides the task min service count
-    if (config.smartMinServiceCount() > task.minServiceCount()
-      && config.smartMinServiceCount() > runningServices.size()) {
-      var service = this.createService(task, config, runningServices);
+    if (config.smartMinServiceCount() > task.minServiceCount() && config.smartMinServiceCount() > runningServices) {
+      var service = this.createService(task, config, aggregate, false);
       // check if the service was created successfully and start it
       if (service != null) {
         service.provider().start();
@@ -173,44 +185,54 @@ private void handleAutoStart(
     if (nextAutoStartTime != null && nextAutoStartTime >= System.currentTimeMillis()) {
       return;
     }
+    // start a service ahead of the forecast demand
+    if (forecastServices > runningServices) {
+      this.startPlayerBasedService(task, config, aggregate);
+      return;
+    }
     // get the overall player counts
-    var onlinePlayers = onlineServices.stream()
-      .mapToDouble(service -> service.readProperty(BridgeDocProperties.ONLINE_COUNT))
-      .sum();
-    var maximumPlayers = onlineServices.stream()
-      .mapToDouble(service -> Math.max(0, service.readProperty(BridgeDocProperties.MAX_PLAYERS)))
-      .sum();
+    double onlinePlayers = aggregate.onlinePlayers();
+    double maximumPlayers = aggregate.maxPlayers();
     // check if we can create a percentage count
-    if (onlinePlayers == 0 || maximumPlayers == 0) {
+    if (onlinePlayers == 0 || maximumPlayers == 0 || runningServices == 0) {
       return;
     }
     // make the values absolute
-    var absoluteOnline = onlinePlayers / runningServices.size();
-    var absoluteMaximum = maximumPlayers / runningServices.size();
+    var absoluteOnline = onlinePlayers / runningServices;
+    var absoluteMaximum = maximumPlayers / runningServices;
     // create the percentage
     var percentage = SmartUtil.percentage(absoluteOnline, absoluteMaximum);
     if (percentage >= config.percentOfPlayersForANewServiceByInstance()) {
-      var service = this.createService(task, config, runningServices);
-      // check if the service was created successfully and start it
-      if (service != null) {
-        service.provider().start();
-        // block player based service starting now
-        this.autoStartBlocks.put(
-          task.name(),
-          System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(config.forAnewInstanceDelayTimeInSeconds()));
-      }
+      this.startPlayerBasedService(task, config, aggregate);
+    }
+  }
+
+  private void startPlayerBasedService(
+    @NonNull ServiceTask task,
+    @NonNull SmartServiceTaskConfig config,
+    @NonNull SmartTaskAggregate aggregate
+  ) {
+    var service = this.createService(task, config, aggregate, false);
+    // check if the service was created successfully and start it
+    if (service != null) {
+      service.provider().start();
+      // block player based service starting now
+      this.autoStartBlocks.put(
+        task.name(),
+        System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(config.forAnewInstanceDelayTimeInSeconds()));
     }
   }
 
   private @Nullable ServiceInfoSnapshot createService(
     @NonNull ServiceTask task,
     @NonNull SmartServiceTaskConfig config,
-    @NonNull Collection<ServiceInfoSnapshot> services
+    @NonNull SmartTaskAggregate aggregate,
+    boolean includePrepared
   ) {
     // check if we should decide directly which node server we use
     NodeServer server = null;
     if (config.splitLogicallyOverNodes()) {
-      server = this.selectNodeServer(task, services);
+      server = this.selectNodeServer(task, aggregate, includePrepared);
     }
     // create a new service based on the task
     var createResult = this.serviceFactory.createCloudService(ServiceConfiguration.builder(task)
@@ -221,7 +243,8 @@ private void handleAutoStart(
 
   private @Nullable NodeServer selectNodeServer(
     @NonNull ServiceTask serviceTask,
-    @NonNull Collection<ServiceInfoSnapshot> services
+    @NonNull SmartTaskAggregate aggregate,
+    boolean includePrepared
   ) {
     // find the node server with the least services on it
     return this.nodeServerProvider.nodeServers().stream()
@@ -230,11 +253,7 @@ private void handleAutoStart(
         var allowedNodes = serviceTask.associatedNodes();
         return allowedNodes.isEmpty() || allowedNodes.contains(nodeServer.name());
       })
-      .map(node -> new Tuple2<>(node, services.stream()
-        .filter(service -> service.serviceId().nodeUniqueId().equals(node.info().uniqueId()))
-        .count()))
-      .min(Comparator.comparingLong(Tuple2::second))
-      .map(Tuple2::first)
+      .min(Comparator.comparingInt(node -> aggregate.servicesOnNode(node.info().uniqueId(), includePrepared)))
       .orElse(null);
   }
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.smart.aggregate;
+
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.network.HostAndPort;
+import eu.cloudnetservice.driver.service.ProcessSnapshot;
+import eu.cloudnetservice.driver.service.ServiceConfiguration;
+import eu.cloudnetservice.driver.service.ServiceEnvironmentType;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.driver.service.ServiceLifeCycle;
+import eu.cloudnetservice.driver.service.ServiceTask;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SmartTaskAggregateTest {
+
+  private static final UUID SERVICE_ID = UUID.randomUUID();
+  private static final ServiceConfiguration CONFIGURATION = ServiceConfiguration.builder(ServiceTask.builder()
+      .name("Lobby")
+      .serviceEnvironmentType(ServiceEnvironmentType.MINECRAFT_SERVER)
+      .build())
+    .node("Node-1")
+    .build();
+
+  private static SmartServiceEntry entry(ServiceLifeCycle lifeCycle, long version) {
+    return entry(lifeCycle, version, false);
+  }
+
+  private static SmartServiceEntry entry(ServiceLifeCycle lifeCycle, long version, boolean poolMember) {
+    var snapshot = new ServiceInfoSnapshot(
+      1000,
+      new HostAndPort("127.0.0.1", 44955),
+      ProcessSnapshot.empty(),
+      CONFIGURATION,
+      -1,
+      lifeCycle,
+      Document.newJsonDocument(),
+      version);
+    return new SmartServiceEntry(snapshot, lifeCycle == ServiceLifeCycle.RUNNING, 0, 20, poolMember);
+  }
+
+  @Test
+  void testOlderUpdatesAreIgnored() {
+    var aggregate = new SmartTaskAggregate();
+    aggregate.update(SERVICE_ID, entry(ServiceLifeCycle.RUNNING, 3));
+    aggregate.update(SERVICE_ID, entry(ServiceLifeCycle.PREPARED, 2));
+
+    Assertions.assertEquals(1, aggregate.runningServices());
+    Assertions.assertEquals(0, aggregate.preparedServices());
+    Assertions.assertEquals(1, aggregate.onlineServices());
+  }
+
+  @Test
+  void testDeletionLeavesTombstone() {
+    var aggregate = new SmartTaskAggregate();
+    aggregate.update(SERVICE_ID, entry(ServiceLifeCycle.RUNNING, 3));
+    aggregate.update(SERVICE_ID, entry(ServiceLifeCycle.DELETED, 5));
+    Assertions.assertEquals(0, aggregate.runningServices());
+
+    // the delayed update must not re-add the deleted service
+    aggregate.update(SERVICE_ID, entry(ServiceLifeCycle.RUNNING, 4));
+    Assertions.assertEquals(0, aggregate.runningServices());
+    Assertions.assertEquals(0, aggregate.onlineServices());
+    Assertions.assertFalse(aggregate.isEmpty());
+  }
+
+  @Test
+  void testDeletionBeforeFirstUpdate() {
+    var aggregate = new SmartTaskAggregate();
+    aggregate.update(SERVICE_ID, entry(ServiceLifeCycle.DELETED, 5));
+    aggregate.update(SERVICE_ID, entry(ServiceLifeCycle.PREPARED, 1));
+    Assertions.assertEquals(0, aggregate.preparedServices());
+  }
+
+  @Test
+  void testRemovedServicesAreCounted() {
+    var aggregate = new SmartTaskAggregate();
+    aggregate.update(SERVICE_ID, entry(ServiceLifeCycle.RUNNING, 3));
+    aggregate.removeIf(_ -> true);
+
+    Assertions.assertEquals(0, aggregate.runningServices());
+    Assertions.assertEquals(0, aggregate.onlineServices());
+    Assertions.assertEquals(0, aggregate.maxPlayers());
+
+    // a newer update of the service re-adds it
+    aggregate.update(SERVICE_ID, entry(ServiceLifeCycle.RUNNING, 4));
+    Assertions.assertEquals(1, aggregate.runningServices());
+  }
+
+  @Test
+  void testPoolMembersAreNotCounted() {
+    var aggregate = new SmartTaskAggregate();
+    aggregate.update(SERVICE_ID, entry(ServiceLifeCycle.PREPARED, 1, true));
+    Assertions.assertEquals(0, aggregate.preparedServices());
+    Assertions.assertEquals(0, aggregate.servicesOnNode("Node-1", true));
+
+    // a claimed pool member is a normal service
+    aggregate.update(SERVICE_ID, entry(ServiceLifeCycle.RUNNING, 2, false));
+    Assertions.assertEquals(1, aggregate.runningServices());
+  }
+}
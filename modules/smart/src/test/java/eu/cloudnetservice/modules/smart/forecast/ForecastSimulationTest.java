@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.smart.forecast;
+
+import eu.cloudnetservice.modules.smart.SmartServiceTaskConfig;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ForecastSimulationTest {
+
+  // a season of 16 samples and a lead time of two samples
+  private static final SmartServiceTaskConfig.ForecastConfig CONFIG = new SmartServiceTaskConfig.ForecastConfig(
+    true, 60, 16, 320, 0.3, 0.05, 0.2, 120);
+
+  @Test
+  void testConstantLoad() {
+    var samples = new int[20];
+    Arrays.fill(samples, 5);
+
+    var result = ForecastSimulation.simulate(samples, CONFIG, 20, 100, 1, 2);
+    Assertions.assertEquals(20, result.samples());
+    Assertions.assertEquals(new ForecastSimulation.PolicyResult(20, 0, 0), result.reactive());
+    Assertions.assertEquals(new ForecastSimulation.PolicyResult(20, 0, 0), result.predictive());
+  }
+
+  @Test
+  void testReactiveAccounting() {
+    int[] samples = {0, 0, 0, 0, 50, 50, 50, 50};
+    var result = ForecastSimulation.simulate(samples, CONFIG, 20, 100, 0, 2);
+
+    // three services are started when the load arrives and are available two samples later
+    var reactive = result.reactive();
+    Assertions.assertEquals(3, reactive.starts());
+    Assertions.assertEquals(2, reactive.saturatedSamples());
+    Assertions.assertEquals(6, reactive.serviceSamples());
+  }
+
+  @Test
+  void testForecastStartsAheadOfSeasonalLoad() {
+    // eight idle samples followed by eight samples with 60 players, repeated for 20 seasons
+    var samples = IntStream.range(0, 320).map(step -> step % 16 < 8 ? 0 : 60).toArray();
+    var result = ForecastSimulation.simulate(samples, CONFIG, 20, 100, 0, 2);
+
+    // the reactive policy lags behind the start of each busy phase, the forecast learns the curve and starts early
+    Assertions.assertEquals(40, result.reactive().saturatedSamples());
+    Assertions.assertTrue(result.predictive().saturatedSamples() < result.reactive().saturatedSamples());
+    Assertions.assertEquals(result.reactive().starts(), result.predictive().starts());
+    Assertions.assertTrue(result.predictive().serviceSamples() > result.reactive().serviceSamples());
+  }
+}
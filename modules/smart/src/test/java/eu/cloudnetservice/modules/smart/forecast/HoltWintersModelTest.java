@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.smart.forecast;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class HoltWintersModelTest {
+
+  private static final double[] SEASON = {10, 20, 30, 20};
+
+  private static HoltWintersModel trainSeasonal(int samples) {
+    var model = new HoltWintersModel(SEASON.length);
+    for (var step = 0; step < samples; step++) {
+      model.observe(SEASON[step % SEASON.length], 0.3, 0.05, 0.2);
+    }
+    return model;
+  }
+
+  @Test
+  void testEmptyModel() {
+    var model = new HoltWintersModel(4);
+    Assertions.assertEquals(0, model.observations());
+    Assertions.assertEquals(0, model.forecast(1));
+  }
+
+  @Test
+  void testConstantSeries() {
+    var model = new HoltWintersModel(4);
+    for (var step = 0; step < 50; step++) {
+      model.observe(42, 0.3, 0.05, 0.2);
+    }
+
+    Assertions.assertEquals(42, model.forecast(1), 1e-9);
+    Assertions.assertEquals(42, model.forecast(10), 1e-9);
+  }
+
+  @Test
+  void testSeasonalFit() {
+    // 200 samples end at a season boundary, the next sample is the first slot of the season again
+    var model = trainSeasonal(200);
+    for (var stepsAhead = 1; stepsAhead <= 8; stepsAhead++) {
+      Assertions.assertEquals(SEASON[(stepsAhead - 1) % SEASON.length], model.forecast(stepsAhead), 0.01);
+    }
+  }
+
+  @Test
+  void testTrend() {
+    var model = new HoltWintersModel(4);
+    for (var step = 0; step < 100; step++) {
+      model.observe(10 + 2 * step, 0.3, 0.05, 0.2);
+    }
+
+    // the last observed value was 208, the series grows by 2 each sample
+    Assertions.assertEquals(210, model.forecast(1), 0.5);
+    Assertions.assertEquals(216, model.forecast(4), 0.5);
+  }
+
+  @Test
+  void testForecastIsNeverNegative() {
+    var model = new HoltWintersModel(1);
+    for (var step = 0; step < 20; step++) {
+      model.observe(100 - 10 * step, 0.5, 0.5, 0.2);
+    }
+
+    Assertions.assertEquals(0, model.forecast(50));
+  }
+
+  @Test
+  void testStateRoundTrip() {
+    var model = trainSeasonal(37);
+    var state = model.state();
+    var restored = HoltWintersModel.fromState(state);
+
+    Assertions.assertEquals(model.observations(), restored.observations());
+    Assertions.assertEquals(model.seasonLength(), restored.seasonLength());
+    for (var stepsAhead = 1; stepsAhead <= 8; stepsAhead++) {
+      Assertions.assertEquals(model.forecast(stepsAhead), restored.forecast(stepsAhead));
+    }
+
+    // the state is a copy, further observations must not change it
+    model.observe(1_000, 0.3, 0.05, 0.2);
+    Assertions.assertEquals(restored.forecast(1), HoltWintersModel.fromState(state).forecast(1));
+  }
+}
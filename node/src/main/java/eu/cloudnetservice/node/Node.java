@@ -48,11 +48,13 @@
 import eu.cloudnetservice.node.database.h2.H2DatabaseProvider;
 import eu.cloudnetservice.node.database.xodus.XodusDatabaseProvider;
 import eu.cloudnetservice.node.event.CloudNetNodePostInitializationEvent;
+import eu.cloudnetservice.node.metrics.MetricsHttpEndpoint;
 import eu.cloudnetservice.node.module.ModulesHolder;
 import eu.cloudnetservice.node.module.NodeModuleProviderHandler;
 import eu.cloudnetservice.node.module.updater.ModuleUpdater;
 import eu.cloudnetservice.node.module.updater.ModuleUpdaterRegistry;
 import eu.cloudnetservice.node.network.chunk.FileDeployCallbackListener;
+import eu.cloudnetservice.node.service.defaults.ServiceWarmPool;
 import eu.cloudnetservice.node.setup.DefaultInstallation;
 import eu.cloudnetservice.node.template.LocalTemplateStorage;
 import eu.cloudnetservice.node.version.ServiceVersionProvider;
@@ -386,6 +388,18 @@ private void requestClusterDataIfNeeded(@NonNull NodeServerProvider nodeServerPr
     }
   }
 
+  @Inject
+  @Order(775)
+  private void startServiceWarmPool(@NonNull ServiceWarmPool serviceWarmPool) {
+    serviceWarmPool.start();
+  }
+
+  @Inject
+  @Order(790)
+  private void startMetricsEndpoint(@NonNull MetricsHttpEndpoint metricsHttpEndpoint) {
+    metricsHttpEndpoint.start();
+  }
+
   @Inject
   @Order(800)
   private void scheduleNodeUpdateTasks(
@@ -24,7 +24,9 @@
 import eu.cloudnetservice.node.cluster.NodeServerProvider;
 import eu.cloudnetservice.node.console.Console;
 import eu.cloudnetservice.node.database.NodeDatabaseProvider;
+import eu.cloudnetservice.node.metrics.MetricsHttpEndpoint;
 import eu.cloudnetservice.node.service.CloudServiceManager;
+import eu.cloudnetservice.node.service.defaults.ServiceWarmPool;
 import eu.cloudnetservice.node.version.ServiceVersionProvider;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
@@ -42,6 +44,7 @@ public final class ShutdownHandler {
 
   private final Console console;
   private final ModuleProvider moduleProvider;
+  private final ServiceWarmPool serviceWarmPool;
   private final CloudServiceManager serviceManager;
   private final NodeServerProvider nodeServerProvider;
   private final ScheduledExecutorService scheduledExecutor;
@@ -50,6 +53,7 @@ public final class ShutdownHandler {
   // network
   private final NetworkClient networkClient;
   private final NetworkServer networkServer;
+  private final MetricsHttpEndpoint metricsHttpEndpoint;
 
   // database stuff
   private final NodeDatabaseProvider databaseProvider;
@@ -58,22 +62,26 @@ public final class ShutdownHandler {
   public ShutdownHandler(
     @NonNull Console console,
     @NonNull ModuleProvider moduleProvider,
+    @NonNull ServiceWarmPool serviceWarmPool,
     @NonNull CloudServiceManager serviceManager,
     @NonNull NodeServerProvider nodeServerProvider,
     @NonNull @Named("taskScheduler") ScheduledExecutorService scheduledExecutor,
     @NonNull ServiceVersionProvider serviceVersionProvider,
     @NonNull NetworkClient networkClient,
     @NonNull NetworkServer networkServer,
+    @NonNull MetricsHttpEndpoint metricsHttpEndpoint,
     @NonNull NodeDatabaseProvider databaseProvider
   ) {
     this.console = console;
     this.moduleProvider = moduleProvider;
+    this.serviceWarmPool = serviceWarmPool;
     this.serviceManager = serviceManager;
     this.nodeServerProvider = nodeServerProvider;
     this.scheduledExecutor = scheduledExecutor;
     this.serviceVersionProvider = serviceVersionProvider;
     this.networkClient = networkClient;
     this.networkServer = networkServer;
+    this.metricsHttpEndpoint = metricsHttpEndpoint;
     this.databaseProvider = databaseProvider;
   }
 
@@ -85,6 +93,7 @@ public void shutdown() {
         // stop task execution
         this.scheduledExecutor.shutdownNow();
         this.serviceVersionProvider.interruptInstallSteps();
+        this.serviceWarmPool.stop();
 
         // interrupt the connection to other nodes
         LOGGER.info(I18n.trans("stop-node-connections"));
@@ -98,9 +107,11 @@ public void shutdown() {
         LOGGER.info(I18n.trans("stop-network-components"));
         this.networkClient.close();
         this.networkServer.close();
+        this.metricsHttpEndpoint.stop();
 
-        // close all the other providers
+        // close all the other providers, write the pending entries of the write-behind queues first
         LOGGER.info(I18n.trans("stop-providers"));
+        this.databaseProvider.flushWriteBehindQueues();
         this.databaseProvider.close();
 
         // stop & unload all modules
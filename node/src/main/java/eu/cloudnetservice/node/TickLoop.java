@@ -18,6 +18,10 @@
 
 import eu.cloudnetservice.common.concurrent.ListenableTask;
 import eu.cloudnetservice.driver.event.EventManager;
+import eu.cloudnetservice.driver.jfr.TickJfrEvent;
+import eu.cloudnetservice.driver.metrics.Histogram;
+import eu.cloudnetservice.driver.metrics.MetricRegistry;
+import eu.cloudnetservice.driver.network.netty.NettyUtil;
 import eu.cloudnetservice.driver.provider.ServiceTaskProvider;
 import eu.cloudnetservice.driver.service.ServiceLifeCycle;
 import eu.cloudnetservice.node.cluster.NodeServerProvider;
@@ -50,6 +54,9 @@ public final class TickLoop {
   static final AtomicBoolean RUNNING = new AtomicBoolean(true);
 
   private static final Logger LOGGER = LoggerFactory.getLogger(TickLoop.class);
+  private static final Histogram TICK_DURATION = MetricRegistry.defaultRegistry().histogram(
+    "cloudnet_tick_duration_seconds",
+    "The time it took to execute a node tick");
 
   private final EventManager eventManager;
   private final ServiceTaskProvider taskProvider;
@@ -143,6 +150,9 @@ public long currentTick() {
   }
 
   public void start() {
+    // the tick loop must not be blocked waiting for a channel to become writable
+    NettyUtil.markSharedThread();
+
     long tick;
     long lastTickLength;
     var lastTick = System.currentTimeMillis();
@@ -167,8 +177,14 @@ public void start() {
 
         // check if ticking is currently disabled
         if (this.tickPauseRequests.get() <= 0) {
+          var tickStart = System.nanoTime();
+          var tickEvent = new TickJfrEvent();
+          tickEvent.begin();
+
           // execute all scheduled tasks for this tick
+          var scheduledTasks = 0;
           for (var task : this.processQueue) {
+            scheduledTasks++;
             if (task.isCancelled() || task.execute(tick)) {
               this.processQueue.remove(task);
             }
@@ -196,6 +212,13 @@ public void start() {
           }
 
           this.eventManager.callEvent(this.tickEvent);
+
+          if (tickEvent.shouldCommit()) {
+            tickEvent.tick = tick;
+            tickEvent.scheduledTasks = scheduledTasks;
+            tickEvent.commit();
+          }
+          TICK_DURATION.recordSince(tickStart);
         }
       } catch (Exception exception) {
         LOGGER.error("Exception while ticking", exception);
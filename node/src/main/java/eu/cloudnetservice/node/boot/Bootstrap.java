@@ -22,6 +22,7 @@
 import dev.derklaro.aerogel.binding.BindingBuilder;
 import dev.derklaro.aerogel.util.Qualifiers;
 import eu.cloudnetservice.driver.inject.InjectionLayer;
+import eu.cloudnetservice.driver.network.netty.NettyUtil;
 import eu.cloudnetservice.node.Node;
 import io.leangen.geantyref.TypeFactory;
 import java.time.Instant;
@@ -54,9 +55,11 @@ public static void main(@NonNull String[] args) throws Throwable {
     bootInjectLayer.install(BindingBuilder.create()
       .bind(Element.forType(Instant.class).requireAnnotation(Qualifiers.named("startInstant")))
       .toInstance(startInstant));
+    // the scheduler threads are shared between all components, they must not be blocked by a single network channel
+    var taskSchedulerThreadFactory = NettyUtil.sharedThreadFactory(Executors.defaultThreadFactory());
     bootInjectLayer.install(BindingBuilder.create()
       .bind(Element.forType(ScheduledExecutorService.class).requireAnnotation(Qualifiers.named("taskScheduler")))
-      .toInstance(Executors.newScheduledThreadPool(2)));
+      .toInstance(Executors.newScheduledThreadPool(2, taskSchedulerThreadFactory)));
 
     // console arguments
     var type = TypeFactory.parameterizedClass(List.class, String.class);
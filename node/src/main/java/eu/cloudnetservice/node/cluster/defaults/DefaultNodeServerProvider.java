@@ -17,6 +17,8 @@
 package eu.cloudnetservice.node.cluster.defaults;
 
 import dev.derklaro.aerogel.auto.Provides;
+import eu.cloudnetservice.common.concurrent.TaskUtil;
+import eu.cloudnetservice.common.io.FileUtil;
 import eu.cloudnetservice.driver.channel.ChannelMessage;
 import eu.cloudnetservice.driver.cluster.NetworkCluster;
 import eu.cloudnetservice.driver.cluster.NetworkClusterNode;
@@ -35,25 +37,39 @@
 import eu.cloudnetservice.node.cluster.LocalNodeServer;
 import eu.cloudnetservice.node.cluster.NodeServer;
 import eu.cloudnetservice.node.cluster.NodeServerProvider;
+import eu.cloudnetservice.node.cluster.NodeServerState;
 import eu.cloudnetservice.node.cluster.sync.DataSyncRegistry;
 import eu.cloudnetservice.node.network.listener.message.NodeChannelMessageListener;
 import io.leangen.geantyref.TypeFactory;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Objects;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 @Singleton
 @Provides(NodeServerProvider.class)
 public class DefaultNodeServerProvider implements NodeServerProvider {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(DefaultNodeServerProvider.class);
+
+  private static final int MAX_TRANSFER_ATTEMPTS = 5;
+  private static final Duration TRANSFER_RECONNECT_TIMEOUT = Duration.ofMinutes(2);
+
   private final DataSyncRegistry dataSyncRegistry;
 
   private final LocalNodeServer localNode;
@@ -183,21 +199,10 @@ public void selectHeadNode() {
     @NonNull InputStream stream,
     boolean overwrite
   ) {
-    // collect all known & available channels in the cluster
-    var channels = this.connectedNodeChannels();
-    if (!channels.isEmpty()) {
-      // send the template chunked to the cluster
-      return ChunkedPacketSender.forFileTransfer()
-        .transferChannel("deploy_service_template")
-        .withExtraData(
-          DataBuf.empty().writeString(template.storageName()).writeObject(template).writeBoolean(overwrite))
-        .toChannels(channels)
-        .source(stream)
-        .build()
-        .transferChunkedData();
-    }
-    // if there are no channels we "pseudo" completed the transfer
-    return CompletableFuture.completedFuture(TransferStatus.SUCCESS);
+    return this.transferToCluster(
+      "deploy_service_template",
+      () -> DataBuf.empty().writeString(template.storageName()).writeObject(template).writeBoolean(overwrite),
+      stream);
   }
 
   @Override
@@ -206,20 +211,107 @@ public void selectHeadNode() {
     @NonNull InputStream stream,
     boolean overwrite
   ) {
-    // collect all known & available channels in the cluster
-    var channels = this.connectedNodeChannels();
-    if (!channels.isEmpty()) {
-      // send the template chunked to the cluster
-      return ChunkedPacketSender.forFileTransfer()
-        .transferChannel("deploy_static_service")
-        .withExtraData(DataBuf.empty().writeString(name).writeBoolean(overwrite))
-        .toChannels(channels)
-        .source(stream)
-        .build()
-        .transferChunkedData();
+    return this.transferToCluster(
+      "deploy_static_service",
+      () -> DataBuf.empty().writeString(name).writeBoolean(overwrite),
+      stream);
+  }
+
+  private @NonNull CompletableFuture<TransferStatus> transferToCluster(
+    @NonNull String transferChannel,
+    @NonNull Supplier<DataBuf> extraDataFactory,
+    @NonNull InputStream stream
+  ) {
+    // collect all known & available nodes in the cluster
+    var targets = this.nodeServers.stream().filter(server -> server.channel() != null).toList();
+    if (targets.isEmpty()) {
+      // if there are no nodes we "pseudo" completed the transfer
+      return CompletableFuture.completedFuture(TransferStatus.SUCCESS);
+    }
+
+    return TaskUtil.supplyVirtualAsync(() -> {
+      // spool the data into a local file, a transfer can only be resumed if the same data can be read again
+      var spoolFile = FileUtil.createTempFile();
+      try (stream) {
+        Files.copy(stream, spoolFile);
+      }
+
+      try {
+        // transfer the data to each node separately, allowing each transfer to be resumed individually
+        var transfers = targets.stream()
+          .map(server -> TaskUtil.supplyVirtualAsync(
+            () -> this.transferToNode(server, transferChannel, extraDataFactory, spoolFile)))
+          .toList();
+
+        var status = TransferStatus.SUCCESS;
+        for (var transfer : transfers) {
+          if (transfer.join() != TransferStatus.SUCCESS) {
+            status = TransferStatus.FAILURE;
+          }
+        }
+
+        return status;
+      } finally {
+        FileUtil.delete(spoolFile);
+      }
+    });
+  }
+
+  private @NonNull TransferStatus transferToNode(
+    @NonNull NodeServer server,
+    @NonNull String transferChannel,
+    @NonNull Supplier<DataBuf> extraDataFactory,
+    @NonNull Path source
+  ) throws InterruptedException {
+    var sessionId = UUID.randomUUID();
+    var channel = server.channel();
+    for (var attempt = 0; attempt < MAX_TRANSFER_ATTEMPTS && channel != null; attempt++) {
+      try {
+        // resume the transfer after the first attempt, only the chunks the node is missing are sent in that case
+        var status = ChunkedPacketSender.forFileTransfer()
+          .forFile(source)
+          .resume(attempt > 0)
+          .sessionUniqueId(sessionId)
+          .transferChannel(transferChannel)
+          .withExtraData(extraDataFactory.get())
+          .toChannels(channel)
+          .build()
+          .transferChunkedData()
+          .join();
+        if (status == TransferStatus.SUCCESS) {
+          return status;
+        }
+      } catch (CompletionException exception) {
+        LOGGER.debug("Chunked transfer {} to node {} failed", sessionId, server.name(), exception.getCause());
+      }
+
+      channel = this.awaitTransferChannel(server, channel);
+    }
+
+    return TransferStatus.FAILURE;
+  }
+
+  private @Nullable NetworkChannel awaitTransferChannel(
+    @NonNull NodeServer server,
+    @NonNull NetworkChannel previousChannel
+  ) throws InterruptedException {
+    // the transfer can be retried directly if the connection is still active
+    if (previousChannel.active()) {
+      return previousChannel;
     }
-    // if there are no channels we "pseudo" completed the transfer
-    return CompletableFuture.completedFuture(TransferStatus.SUCCESS);
+
+    // wait for the node to reconnect
+    var deadline = System.nanoTime() + TRANSFER_RECONNECT_TIMEOUT.toNanos();
+    while (System.nanoTime() < deadline) {
+      var channel = server.channel();
+      if (server.state() == NodeServerState.READY && channel != null && channel != previousChannel) {
+        return channel;
+      }
+
+      Thread.sleep(1000);
+    }
+
+    return null;
   }
 
   @Override
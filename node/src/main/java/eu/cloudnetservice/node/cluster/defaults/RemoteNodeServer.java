@@ -32,6 +32,7 @@
 import eu.cloudnetservice.node.cluster.NodeServerState;
 import eu.cloudnetservice.node.cluster.sync.DataSyncRegistry;
 import eu.cloudnetservice.node.cluster.util.NodeDisconnectHandler;
+import eu.cloudnetservice.node.network.NodeChannelRoutingTable;
 import io.leangen.geantyref.TypeFactory;
 import jakarta.inject.Inject;
 import java.lang.reflect.Type;
@@ -44,15 +45,19 @@
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnknownNullability;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class RemoteNodeServer implements NodeServer {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(RemoteNodeServer.class);
   private static final Type COLLECTION_STRING = TypeFactory.parameterizedClass(Set.class, String.class);
 
   private final NetworkClient networkClient;
   private final DataSyncRegistry dataSyncRegistry;
   private final NodeDisconnectHandler disconnectHandler;
   private final CloudServiceProvider cloudServiceProvider;
+  private final NodeChannelRoutingTable channelRoutingTable;
 
   private final NetworkClusterNode info;
   private final NodeServerProvider provider;
@@ -74,6 +79,7 @@ public RemoteNodeServer(
     @NonNull DataSyncRegistry dataSyncRegistry,
     @NonNull NodeDisconnectHandler disconnectHandler,
     @NonNull CloudServiceProvider cloudServiceProvider,
+    @NonNull NodeChannelRoutingTable channelRoutingTable,
     @NonNull RPCImplementationBuilder.InstanceAllocator<CloudServiceFactory> serviceFactoryAllocator
   ) {
     this.info = info;
@@ -82,6 +88,7 @@ public RemoteNodeServer(
     this.dataSyncRegistry = dataSyncRegistry;
     this.disconnectHandler = disconnectHandler;
     this.cloudServiceProvider = cloudServiceProvider;
+    this.channelRoutingTable = channelRoutingTable;
     this.serviceFactory = serviceFactoryAllocator.withTargetChannel(this::channel).allocate();
   }
 
@@ -141,11 +148,36 @@ public void drain(boolean doDrain) {
 
   @Override
   public void syncClusterData(boolean force) {
+    // exchange the digests of the local data first, the remote responds with the buckets which differ
+    ChannelMessage.builder()
+      .message("sync_cluster_data_digest")
+      .targetNode(this.info.uniqueId())
+      .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
+      .buffer(this.dataSyncRegistry.prepareClusterDigest(handler -> true))
+      .build()
+      .sendSingleQueryAsync()
+      .whenComplete((response, throwable) -> {
+        if (throwable != null || response == null) {
+          // the remote node did not respond to the digest request, fall back to a full sync
+          LOGGER.debug("Unable to compare cluster data digests with {}, syncing all data", this.info.uniqueId());
+          this.sendClusterData(this.dataSyncRegistry.prepareClusterData(force));
+          return;
+        }
+
+        // only send the data if there is anything that differs
+        var data = this.dataSyncRegistry.prepareClusterData(force, response.content());
+        if (data.readableBytes() > Byte.BYTES) {
+          this.sendClusterData(data);
+        }
+      });
+  }
+
+  protected void sendClusterData(@NonNull DataBuf data) {
     ChannelMessage.builder()
       .message("sync_cluster_data")
       .targetNode(this.info.uniqueId())
       .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
-      .buffer(this.dataSyncRegistry.prepareClusterData(force))
+      .buffer(data)
       .build()
       .send();
   }
@@ -184,6 +216,7 @@ public void state(@NonNull NodeServerState state) {
   @Override
   public void channel(@Nullable NetworkChannel channel) {
     this.channel = channel;
+    this.channelRoutingTable.invalidate();
   }
 
   @Override
@@ -250,7 +283,7 @@ public void close() {
     // disconnect the node from the network
     if (this.channel != null) {
       this.channel.close();
-      this.channel = null;
+      this.channel(null);
     }
     // reset the node info snapshot & mark as removed
     this.updateNodeInfoSnapshot(null);
@@ -37,5 +37,11 @@ public interface DataSyncRegistry {
 
   @NonNull DataBuf.Mutable prepareClusterData(boolean force, @NonNull Predicate<DataSyncHandler<?>> handlerFilter);
 
+  @NonNull DataBuf.Mutable prepareClusterData(boolean force, @NonNull DataBuf digestDifferences);
+
+  @NonNull DataBuf.Mutable prepareClusterDigest(@NonNull Predicate<DataSyncHandler<?>> handlerFilter);
+
+  @NonNull DataBuf.Mutable compareClusterDigest(@NonNull DataBuf remoteDigest);
+
   @UnknownNullability DataBuf handle(@NonNull DataBuf input, boolean force);
 }
@@ -16,6 +16,7 @@
 
 package eu.cloudnetservice.node.cluster.sync;
 
+import com.google.common.hash.Hashing;
 import com.google.common.primitives.Ints;
 import dev.derklaro.aerogel.auto.Provides;
 import eu.cloudnetservice.common.concurrent.TaskUtil;
@@ -26,8 +27,11 @@
 import eu.cloudnetservice.node.console.Console;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
@@ -40,6 +44,9 @@
 @Provides(DataSyncRegistry.class)
 public class DefaultDataSyncRegistry implements DataSyncRegistry {
 
+  // the amount of buckets the objects of a handler are distributed into for digest comparison
+  protected static final int DIGEST_BUCKETS = 256;
+
   private static final Logger LOGGER = LoggerFactory.getLogger(DefaultDataSyncRegistry.class);
 
   private final Console console;
@@ -117,6 +124,96 @@ public boolean hasHandler(@NonNull String handlerKey) {
     return result;
   }
 
+  @Override
+  public @NonNull DataBuf.Mutable prepareClusterData(boolean force, @NonNull DataBuf digestDifferences) {
+    // read the buckets which differ per handler
+    Map<String, BitSet> differingBuckets = new HashMap<>();
+    while (digestDifferences.readableBytes() > 0) {
+      var key = digestDifferences.readString();
+      var buckets = new BitSet(DIGEST_BUCKETS);
+      for (int i = 0, count = digestDifferences.readInt(); i < count; i++) {
+        buckets.set(digestDifferences.readInt());
+      }
+      differingBuckets.put(key, buckets);
+    }
+
+    // only serialize the objects which are in a differing bucket
+    var result = DataBuf.empty().writeBoolean(force);
+    for (var entry : differingBuckets.entrySet()) {
+      var handler = this.handlers.get(entry.getKey());
+      if (handler != null) {
+        for (var obj : handler.data()) {
+          if (entry.getValue().get(this.digestBucket(handler, obj))) {
+            this.serializeData(obj, handler, result);
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public @NonNull DataBuf.Mutable prepareClusterDigest(@NonNull Predicate<DataSyncHandler<?>> handlerFilter) {
+    var result = DataBuf.empty();
+    for (var handler : this.handlers.values()) {
+      if (handlerFilter.test(handler)) {
+        var bucketDigests = this.computeBucketDigests(handler);
+        // write the root digest first, the bucket digests are only compared if the root digest differs
+        result.writeString(handler.key()).writeLong(this.rootDigest(bucketDigests));
+        // only write the buckets which actually contain data
+        var filledBuckets = (int) Arrays.stream(bucketDigests).filter(digest -> digest != 0).count();
+        result.writeInt(filledBuckets);
+        for (var bucket = 0; bucket < bucketDigests.length; bucket++) {
+          if (bucketDigests[bucket] != 0) {
+            result.writeInt(bucket).writeLong(bucketDigests[bucket]);
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public @NonNull DataBuf.Mutable compareClusterDigest(@NonNull DataBuf remoteDigest) {
+    var result = DataBuf.empty();
+    while (remoteDigest.readableBytes() > 0) {
+      var key = remoteDigest.readString();
+      var remoteRoot = remoteDigest.readLong();
+      var remoteBuckets = new long[DIGEST_BUCKETS];
+      for (int i = 0, count = remoteDigest.readInt(); i < count; i++) {
+        var bucket = remoteDigest.readInt();
+        remoteBuckets[bucket] = remoteDigest.readLong();
+      }
+
+      // the data of handlers which are unknown locally would be ignored anyway
+      var handler = this.handlers.get(key);
+      if (handler == null) {
+        continue;
+      }
+
+      // check if there is any difference between the local and remote data
+      var localBuckets = this.computeBucketDigests(handler);
+      if (this.rootDigest(localBuckets) == remoteRoot) {
+        continue;
+      }
+
+      // request all remote buckets that contain data which differs from the local data. buckets that are only
+      // filled locally are not requested as the remote has no data to send for them
+      var differingBuckets = new BitSet(DIGEST_BUCKETS);
+      for (var bucket = 0; bucket < DIGEST_BUCKETS; bucket++) {
+        if (remoteBuckets[bucket] != 0 && remoteBuckets[bucket] != localBuckets[bucket]) {
+          differingBuckets.set(bucket);
+        }
+      }
+
+      if (!differingBuckets.isEmpty()) {
+        result.writeString(key).writeInt(differingBuckets.cardinality());
+        differingBuckets.stream().forEach(result::writeInt);
+      }
+    }
+    return result;
+  }
+
   @Override
   public @Nullable DataBuf handle(@NonNull DataBuf input, boolean force) {
     // holds the result of the handle - null by default indicates no result
@@ -208,6 +305,32 @@ protected void serializeData(
     target.writeDataBuf(buf);
   }
 
+  protected long @NonNull [] computeBucketDigests(@NonNull DataSyncHandler<?> handler) {
+    var bucketDigests = new long[DIGEST_BUCKETS];
+    for (var obj : handler.data()) {
+      // combine the object digests in an order independent way, the iteration order differs between nodes
+      var buf = DataBuf.empty();
+      handler.serialize(buf, obj);
+      var objectDigest = Hashing.murmur3_128().hashBytes(buf.toByteArray()).asLong();
+      bucketDigests[this.digestBucket(handler, obj)] += objectDigest == 0 ? 1 : objectDigest;
+    }
+    return bucketDigests;
+  }
+
+  protected long rootDigest(long @NonNull [] bucketDigests) {
+    var hasher = Hashing.murmur3_128().newHasher();
+    for (var bucketDigest : bucketDigests) {
+      hasher.putLong(bucketDigest);
+    }
+    return hasher.hash().asLong();
+  }
+
+  protected int digestBucket(@NonNull DataSyncHandler<?> handler, @NonNull Object data) {
+    // the name of an object identifies it across the cluster, so its bucket is the same on all nodes
+    var nameHash = Hashing.murmur3_32_fixed().hashString(handler.name(data), StandardCharsets.UTF_8).asInt();
+    return Math.floorMod(nameHash, DIGEST_BUCKETS);
+  }
+
   protected int waitForCorrectMergeInput(@NonNull Console console) {
     try {
       // disable all handlers of the console to prevent skips
@@ -72,7 +72,8 @@ public void handleNodeServerClose(@NonNull NodeServer server) {
           snapshot.configuration(),
           -1,
           ServiceLifeCycle.DELETED,
-          snapshot.propertyHolder());
+          snapshot.propertyHolder(),
+          snapshot.version() + 1);
 
         // publish the update to the local service manager & call the local change event
         this.serviceManager.handleServiceUpdate(newSnapshot, null);
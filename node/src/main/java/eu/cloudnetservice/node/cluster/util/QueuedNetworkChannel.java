@@ -22,6 +22,7 @@
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.driver.network.protocol.PacketListenerRegistry;
 import eu.cloudnetservice.driver.network.protocol.QueryPacketManager;
+import eu.cloudnetservice.driver.network.protocol.SharedPacket;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -90,7 +91,14 @@ public boolean active() {
   @Override
   public void close() {
     this.wrappedChannel.close();
-    this.scheduledPackets.clear();
+
+    // the scheduled packets are never written, packets shared with other channels must still count as written
+    Packet packet;
+    while ((packet = this.scheduledPackets.poll()) != null) {
+      if (packet instanceof SharedPacket sharedPacket) {
+        sharedPacket.writeCompleted();
+      }
+    }
   }
 
   @Override
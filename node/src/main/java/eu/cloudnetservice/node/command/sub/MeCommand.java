@@ -26,6 +26,7 @@
 import eu.cloudnetservice.node.command.annotation.Description;
 import eu.cloudnetservice.node.command.source.CommandSource;
 import eu.cloudnetservice.node.config.Configuration;
+import eu.cloudnetservice.node.service.ServiceInfoUpdateRouter;
 import jakarta.inject.Singleton;
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryMXBean;
@@ -56,9 +57,11 @@ public void me(
     @NonNull CloudNetVersion version,
     @NonNull Configuration configuration,
     @NonNull NodeServerProvider nodeServerProvider,
+    @NonNull ServiceInfoUpdateRouter serviceInfoUpdateRouter,
     @NonNull CommandSource source,
     @Flag("showClusterId") boolean showFullClusterId) {
     var nodeInfoSnapshot = nodeServerProvider.localNode().nodeInfoSnapshot();
+    var fanOutMetrics = serviceInfoUpdateRouter.metrics();
 
     // hide the middle parts of the uuid if not explicitly requested to show them
     var clusterId = configuration.clusterConfig().clusterId().toString();
@@ -86,6 +89,15 @@ public void me(
         + nodeInfoSnapshot.reservedMemory()
         + "/"
         + nodeInfoSnapshot.maxMemory() + " MB",
+      "Service update fan-out (avg/skipped): "
+        + ResourceFormatter.formatTwoDigitPrecision(fanOutMetrics.averageFanOut())
+        + "/"
+        + fanOutMetrics.skippedDeliveries()
+        + ", sent/saved: "
+        + (fanOutMetrics.sentBytes() / 1024)
+        + "/"
+        + (fanOutMetrics.savedBytes() / 1024)
+        + " KB",
       "Threads: " + ProcessSnapshot.THREAD_MX_BEAN.getThreadCount(),
       "Heap usage: "
         + (MEMORY_MX_BEAN.getHeapMemoryUsage().getUsed() / (1024 * 1024))
@@ -43,6 +43,7 @@
 import eu.cloudnetservice.node.console.animation.setup.ConsoleSetupAnimation;
 import eu.cloudnetservice.node.log.QueuedConsoleLogAppender;
 import eu.cloudnetservice.node.service.CloudServiceManager;
+import eu.cloudnetservice.node.service.defaults.ServiceWarmPool;
 import eu.cloudnetservice.node.setup.SpecificTaskSetup;
 import eu.cloudnetservice.node.util.JavaVersionResolver;
 import eu.cloudnetservice.node.util.NetworkUtil;
@@ -100,6 +101,7 @@ public final class TasksCommand {
   private final ServiceTaskProvider taskProvider;
   private final CloudServiceManager serviceManager;
   private final ClusterNodeProvider clusterNodeProvider;
+  private final ServiceWarmPool serviceWarmPool;
 
   @Inject
   public TasksCommand(
@@ -108,12 +110,14 @@ public TasksCommand(
     @NonNull ServiceTaskProvider taskProvider,
     @NonNull QueuedConsoleLogAppender logHandler,
     @NonNull CloudServiceManager serviceManager,
-    @NonNull ClusterNodeProvider clusterNodeProvider
+    @NonNull ClusterNodeProvider clusterNodeProvider,
+    @NonNull ServiceWarmPool serviceWarmPool
   ) {
     this.configuration = configuration;
     this.taskProvider = taskProvider;
     this.serviceManager = serviceManager;
     this.clusterNodeProvider = clusterNodeProvider;
+    this.serviceWarmPool = serviceWarmPool;
     this.taskSetupAnimation = new ConsoleSetupAnimation(
       eventManager,
       logHandler,
@@ -355,6 +359,17 @@ public void displayTask(
       messages.add("Deleted files after stop: " + Arrays.toString(serviceTask.deletedFilesAfterStop().toArray()));
       messages.add("Environment: " + serviceTask.processConfiguration().environment());
 
+      var poolMetrics = this.serviceWarmPool.metrics(serviceTask);
+      if (poolMetrics.targetSize() > 0) {
+        messages.add(String.format(
+          "Warm pool: %d/%d ready (%d pooled), %d claimed, %d cold starts",
+          poolMetrics.ready(),
+          poolMetrics.targetSize(),
+          poolMetrics.pooled(),
+          poolMetrics.claims(),
+          poolMetrics.misses()));
+      }
+
       applyServiceConfigurationDisplay(messages, serviceTask);
       source.sendMessage(messages);
     }
@@ -436,6 +451,21 @@ public void setMinServiceCount(
       amount);
   }
 
+  @Command("tasks task <name> set warmPoolSize <amount>")
+  public void setWarmPoolSize(
+    @NonNull CommandSource source,
+    @NonNull @Argument("name") Collection<ServiceTask> tasks,
+    @Argument("amount") @Range(min = "0") int amount
+  ) {
+    this.applyChange(
+      source,
+      tasks,
+      (builder, size) -> builder.writeProperty(ServiceWarmPool.POOL_SIZE, size),
+      "command-tasks-set-property-success",
+      "warmPoolSize",
+      amount);
+  }
+
   @Command("tasks task <name> set hostAddress <hostAddress>")
   public void setHostAddress(
     @NonNull CommandSource source,
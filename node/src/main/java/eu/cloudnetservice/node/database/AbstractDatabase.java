@@ -16,14 +16,34 @@
 
 package eu.cloudnetservice.node.database;
 
+import com.google.common.base.Preconditions;
 import eu.cloudnetservice.driver.database.Database;
+import eu.cloudnetservice.driver.database.DatabaseChunk;
 import eu.cloudnetservice.driver.document.Document;
 import eu.cloudnetservice.driver.document.StandardSerialisationStyle;
+import eu.cloudnetservice.driver.metrics.Histogram;
+import eu.cloudnetservice.driver.metrics.MetricRegistry;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 public abstract class AbstractDatabase implements LocalDatabase, Database {
 
+  protected static final Histogram INSERT_LATENCY = operationLatency("insert");
+  protected static final Histogram INSERT_ALL_LATENCY = operationLatency("insert_all");
+  protected static final Histogram GET_LATENCY = operationLatency("get");
+  protected static final Histogram GET_ALL_LATENCY = operationLatency("get_all");
+  protected static final Histogram DELETE_LATENCY = operationLatency("delete");
+  protected static final Histogram DELETE_ALL_LATENCY = operationLatency("delete_all");
+  protected static final Histogram CONTAINS_LATENCY = operationLatency("contains");
+
+  protected static final int MAX_CHUNK_ENTRIES = 4096;
+  protected static final int MAX_SCANNED_ENTRIES_PER_CHUNK = 16384;
+
   protected final String name;
   protected final NodeDatabaseProvider databaseProvider;
 
@@ -32,6 +52,13 @@ protected AbstractDatabase(@NonNull String name, @NonNull NodeDatabaseProvider d
     this.databaseProvider = databaseProvider;
   }
 
+  private static @NonNull Histogram operationLatency(@NonNull String operation) {
+    return MetricRegistry.defaultRegistry().histogram(
+      "cloudnet_database_operation_seconds",
+      "The time it took to execute a database operation",
+      "operation", operation);
+  }
+
   @Override
   public @NonNull String name() {
     return this.name;
@@ -55,6 +82,82 @@ public void iterate(@NonNull BiConsumer<String, Document> consumer, int chunkSiz
     }
   }
 
+  @Override
+  public @NonNull DatabaseChunk readChunkAfter(
+    @Nullable String afterKey,
+    @NonNull Map<String, String> filters,
+    int maxEntries
+  ) {
+    Preconditions.checkArgument(maxEntries > 0, "max entries must be positive");
+    var chunkSize = Math.min(maxEntries, MAX_CHUNK_ENTRIES);
+    if (filters.isEmpty()) {
+      var entries = this.readKeyRange(afterKey, chunkSize);
+      return new DatabaseChunk(entries, entries.size() < chunkSize ? null : lastKey(entries));
+    }
+
+    // scan the entries until the chunk is full, but limit the amount of entries examined in one call to not block the
+    // caller for too long when only a few entries match the filters
+    Map<String, Document> matchingEntries = new LinkedHashMap<>();
+    var lastKey = afterKey;
+    var scannedEntries = 0;
+    while (scannedEntries < MAX_SCANNED_ENTRIES_PER_CHUNK) {
+      var entries = this.readKeyRange(lastKey, chunkSize);
+      for (var entry : entries.entrySet()) {
+        lastKey = entry.getKey();
+        scannedEntries++;
+        if (matchesFilters(entry.getValue(), filters)) {
+          matchingEntries.put(entry.getKey(), entry.getValue());
+          if (matchingEntries.size() >= chunkSize) {
+            return new DatabaseChunk(matchingEntries, lastKey);
+          }
+        }
+      }
+
+      if (entries.size() < chunkSize) {
+        // reached the end of the database
+        return new DatabaseChunk(matchingEntries, null);
+      }
+    }
+
+    return new DatabaseChunk(matchingEntries, lastKey);
+  }
+
+  /**
+   * Reads the entries whose key is after the given key, ordered by their key.
+   *
+   * @param afterKey the key after which the entries start, null to start at the first entry.
+   * @param limit    the maximum amount of entries to read.
+   * @return the entries after the given key in the order of their keys, at most the given amount.
+   * @throws IllegalStateException if the entries can't be read.
+   */
+  protected abstract @NonNull Map<String, Document> readKeyRange(@Nullable String afterKey, int limit);
+
+  protected <T> T measure(@NonNull Histogram latency, @NonNull Supplier<T> operation) {
+    var startTime = System.nanoTime();
+    try {
+      return operation.get();
+    } finally {
+      latency.recordSince(startTime);
+    }
+  }
+
+  private static boolean matchesFilters(@NonNull Document document, @NonNull Map<String, String> filters) {
+    for (var filter : filters.entrySet()) {
+      if (!Objects.equals(document.getString(filter.getKey()), filter.getValue())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static @Nullable String lastKey(@NonNull Map<String, Document> entries) {
+    String lastKey = null;
+    for (var key : entries.keySet()) {
+      lastKey = key;
+    }
+    return lastKey;
+  }
+
   protected @NonNull String serializeDocumentToJsonString(@NonNull Document document) {
     // send the given document into a new json document
     var jsonDocument = Document.newJsonDocument();
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.database;
+
+import eu.cloudnetservice.driver.document.Document;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A queue which writes entries into a database in the background, on the executor of the component owning the queue.
+ * Writes to the same key are coalesced, only the most recent value of a key is written. The pending entries are written
+ * in batches using a single bulk insert. Values are serialized when they get enqueued, the written record is therefore
+ * a consistent snapshot of the value at that time, even if the value is modified afterwards.
+ *
+ * @param <T> the type of the entries written by the queue.
+ * @since 4.0
+ */
+public final class DatabaseWriteBehindQueue<T> implements AutoCloseable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseWriteBehindQueue.class);
+
+  private static final long FLUSH_INTERVAL_MILLIS = Long.getLong(
+    "cloudnet.database.write-behind-interval-millis",
+    1000);
+  private static final int MAX_BATCH_SIZE = Integer.getInteger("cloudnet.database.write-behind-batch-size", 500);
+
+  private final String databaseName;
+  private final NodeDatabaseProvider databaseProvider;
+  private final Function<T, Document> serializer;
+
+  private final Lock flushLock = new ReentrantLock();
+  private final ScheduledFuture<?> flushTask;
+
+  private Map<String, PendingWrite<T>> pendingWrites = new LinkedHashMap<>();
+  private Map<String, PendingWrite<T>> inFlightWrites = Map.of();
+
+  DatabaseWriteBehindQueue(
+    @NonNull String databaseName,
+    @NonNull NodeDatabaseProvider databaseProvider,
+    @NonNull Function<T, Document> serializer,
+    @NonNull ScheduledExecutorService flushExecutor
+  ) {
+    this.databaseName = databaseName;
+    this.databaseProvider = databaseProvider;
+    this.serializer = serializer;
+    this.flushTask = flushExecutor.scheduleWithFixedDelay(
+      this::flush,
+      FLUSH_INTERVAL_MILLIS,
+      FLUSH_INTERVAL_MILLIS,
+      TimeUnit.MILLISECONDS);
+  }
+
+  public @NonNull String databaseName() {
+    return this.databaseName;
+  }
+
+  public void enqueue(@NonNull String key, @NonNull T value) {
+    // snapshot the value now, the caller might modify it before it gets written
+    var pendingWrite = new PendingWrite<>(value, this.serializer.apply(value));
+    synchronized (this) {
+      this.pendingWrites.put(key, pendingWrite);
+    }
+  }
+
+  public synchronized @Nullable T pending(@NonNull String key) {
+    // entries which are currently written are not yet visible in the database
+    var pending = this.pendingWrites.get(key);
+    if (pending == null) {
+      pending = this.inFlightWrites.get(key);
+    }
+    return pending == null ? null : pending.value();
+  }
+
+  public synchronized int pendingCount() {
+    return this.pendingWrites.size();
+  }
+
+  public void discard(@NonNull String key) {
+    // wait for the current flush to complete, so that the entry is not written after the caller deleted it
+    this.flushLock.lock();
+    try {
+      synchronized (this) {
+        this.pendingWrites.remove(key);
+      }
+    } finally {
+      this.flushLock.unlock();
+    }
+  }
+
+  public void flush() {
+    this.flushLock.lock();
+    try {
+      Map<String, PendingWrite<T>> batch;
+      while (!(batch = this.nextBatch()).isEmpty()) {
+        if (!this.writeBatch(batch)) {
+          // re-queue the entries which were not replaced while writing the batch, retry with the next flush
+          synchronized (this) {
+            batch.forEach(this.pendingWrites::putIfAbsent);
+            this.inFlightWrites = Map.of();
+          }
+          break;
+        }
+
+        synchronized (this) {
+          this.inFlightWrites = Map.of();
+        }
+      }
+    } finally {
+      this.flushLock.unlock();
+    }
+  }
+
+  @Override
+  public void close() {
+    this.flushTask.cancel(false);
+    this.databaseProvider.unregisterWriteBehindQueue(this);
+    this.flush();
+  }
+
+  private synchronized @NonNull Map<String, PendingWrite<T>> nextBatch() {
+    if (this.pendingWrites.size() <= MAX_BATCH_SIZE) {
+      var batch = this.pendingWrites;
+      this.pendingWrites = new LinkedHashMap<>();
+      this.inFlightWrites = batch;
+      return batch;
+    }
+
+    Map<String, PendingWrite<T>> batch = new LinkedHashMap<>();
+    var iterator = this.pendingWrites.entrySet().iterator();
+    while (batch.size() < MAX_BATCH_SIZE) {
+      var entry = iterator.next();
+      batch.put(entry.getKey(), entry.getValue());
+      iterator.remove();
+    }
+
+    this.inFlightWrites = batch;
+    return batch;
+  }
+
+  private boolean writeBatch(@NonNull Map<String, PendingWrite<T>> batch) {
+    try {
+      Map<String, Document> documents = new LinkedHashMap<>();
+      batch.forEach((key, pendingWrite) -> documents.put(key, pendingWrite.document()));
+      return this.databaseProvider.database(this.databaseName).insertAll(documents);
+    } catch (Exception exception) {
+      LOGGER.error("Unable to write {} pending entries into database {}", batch.size(), this.databaseName, exception);
+      return false;
+    }
+  }
+
+  private record PendingWrite<T>(@NonNull T value, @NonNull Document document) {
+
+  }
+}
@@ -22,7 +22,12 @@
 import com.github.benmanes.caffeine.cache.Scheduler;
 import eu.cloudnetservice.common.Named;
 import eu.cloudnetservice.driver.database.DatabaseProvider;
+import eu.cloudnetservice.driver.document.Document;
 import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
 import lombok.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,6 +47,7 @@ public abstract class NodeDatabaseProvider implements DatabaseProvider, Named, A
   };
 
   protected final Cache<String, LocalDatabase> databaseCache;
+  protected final Set<DatabaseWriteBehindQueue<?>> writeBehindQueues = ConcurrentHashMap.newKeySet();
 
   protected NodeDatabaseProvider(@NonNull RemovalListener<String, LocalDatabase> removalListener) {
     this.databaseCache = Caffeine.newBuilder()
@@ -56,6 +62,26 @@ protected NodeDatabaseProvider(@NonNull RemovalListener<String, LocalDatabase> r
   @Override
   public abstract @NonNull LocalDatabase database(@NonNull String name);
 
+  public @NonNull <T> DatabaseWriteBehindQueue<T> createWriteBehindQueue(
+    @NonNull String databaseName,
+    @NonNull Function<T, Document> serializer,
+    @NonNull ScheduledExecutorService flushExecutor
+  ) {
+    var queue = new DatabaseWriteBehindQueue<>(databaseName, this, serializer, flushExecutor);
+    this.writeBehindQueues.add(queue);
+    return queue;
+  }
+
+  public void flushWriteBehindQueues() {
+    for (var queue : this.writeBehindQueues) {
+      queue.flush();
+    }
+  }
+
+  void unregisterWriteBehindQueue(@NonNull DatabaseWriteBehindQueue<?> queue) {
+    this.writeBehindQueues.remove(queue);
+  }
+
   @Override
   public void close() throws Exception {
     this.databaseCache.invalidateAll();
@@ -52,7 +52,7 @@ public void close() {
 
   @Override
   public boolean insert(@NonNull String key, @NonNull Document document) {
-    return this.insertOrUpdate(key, document);
+    return this.measure(INSERT_LATENCY, () -> this.insertOrUpdate(key, document));
   }
 
   private boolean insert0(@NonNull String key, @NonNull Document document) {
@@ -62,6 +62,25 @@ private boolean insert0(@NonNull String key, @NonNull Document document) {
     ) != -1;
   }
 
+  @Override
+  public boolean insertAll(@NonNull Map<String, Document> documents) {
+    if (documents.isEmpty()) {
+      return true;
+    }
+
+    Collection<Object[]> parameters = new ArrayList<>(documents.size());
+    documents.forEach((key, document) -> parameters.add(
+      new Object[]{key, this.serializeDocumentToJsonString(document)}));
+    return this.measure(INSERT_ALL_LATENCY, () -> this.databaseProvider.executeBatchUpdate(
+      String.format(
+        "MERGE INTO `%s` (%s, %s) KEY (%s) VALUES (?, ?);",
+        this.name,
+        TABLE_COLUMN_KEY,
+        TABLE_COLUMN_VAL,
+        TABLE_COLUMN_KEY),
+      parameters) != -1);
+  }
+
   public boolean update0(String key, Document document) {
     return this.databaseProvider.executeUpdate(
       "UPDATE `" + this.name + "` SET " + TABLE_COLUMN_VAL + "=? WHERE " + TABLE_COLUMN_KEY + "=?",
@@ -75,16 +94,16 @@ public boolean insertOrUpdate(String key, Document document) {
 
   @Override
   public boolean contains(@NonNull String key) {
-    return this.databaseProvider.executeQuery(
+    return this.measure(CONTAINS_LATENCY, () -> this.databaseProvider.executeQuery(
       String.format("SELECT %s FROM `%s` WHERE %s = ?", TABLE_COLUMN_KEY, this.name, TABLE_COLUMN_KEY),
       ResultSet::next,
       false,
-      key);
+      key));
   }
 
   @Override
   public boolean delete(@NonNull String key) {
-    return this.delete0(key);
+    return this.measure(DELETE_LATENCY, () -> this.delete0(key));
   }
 
   public boolean delete0(String key) {
@@ -96,12 +115,12 @@ public boolean delete0(String key) {
 
   @Override
   public @Nullable Document get(@NonNull String key) {
-    return this.databaseProvider.executeQuery(
+    return this.measure(GET_LATENCY, () -> this.databaseProvider.executeQuery(
       String.format("SELECT %s FROM `%s` WHERE %s = ?", TABLE_COLUMN_VAL, this.name, TABLE_COLUMN_KEY),
       resultSet -> resultSet.next() ? DocumentFactory.json().parse(resultSet.getString(TABLE_COLUMN_VAL)) : null,
       null,
       key
-    );
+    ));
   }
 
   @Override
@@ -115,6 +115,25 @@ public int executeUpdate(@NonNull String query, @NonNull Object... objects) {
     }
   }
 
+  @Override
+  public int executeBatchUpdate(@NonNull String query, @NonNull Collection<Object[]> parameters) {
+    // the connection is shared between all databases, so the batch is not wrapped into a transaction which
+    // could otherwise include or roll back statements which were executed concurrently
+    try (var preparedStatement = this.connection().prepareStatement(query)) {
+      for (var objects : parameters) {
+        for (var i = 0; i < objects.length; i++) {
+          preparedStatement.setString(i + 1, objects[i].toString());
+        }
+        preparedStatement.addBatch();
+      }
+
+      return updatedRows(preparedStatement.executeBatch());
+    } catch (SQLException exception) {
+      LOGGER.error("Exception while executing database batch update", exception);
+      return -1;
+    }
+  }
+
   @Override
   public @UnknownNullability <T> T executeQuery(
     @NonNull String query,
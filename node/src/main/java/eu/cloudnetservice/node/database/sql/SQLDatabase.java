@@ -16,9 +16,19 @@
 
 package eu.cloudnetservice.node.database.sql;
 
+import com.google.common.collect.Iterables;
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.document.DocumentFactory;
 import eu.cloudnetservice.node.database.AbstractDatabase;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import lombok.NonNull;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 @Deprecated
 @ApiStatus.ScheduledForRemoval(inVersion = "4.1")
@@ -26,6 +36,7 @@ public abstract class SQLDatabase extends AbstractDatabase {
 
   protected static final String TABLE_COLUMN_KEY = "Name";
   protected static final String TABLE_COLUMN_VAL = "Document";
+  protected static final int MAX_KEYS_PER_QUERY = 500;
 
   protected final SQLDatabaseProvider databaseProvider;
 
@@ -33,4 +44,82 @@ public SQLDatabase(@NonNull SQLDatabaseProvider provider, @NonNull String name)
     super(name, provider);
     this.databaseProvider = provider;
   }
+
+  @Override
+  public @NonNull Map<String, Document> getAll(@NonNull Collection<String> keys) {
+    return this.measure(GET_ALL_LATENCY, () -> {
+      Map<String, Document> documents = new HashMap<>();
+      // split the keys to not exceed the parameter limit of the database
+      for (var chunk : Iterables.partition(keys, MAX_KEYS_PER_QUERY)) {
+        this.databaseProvider.executeQuery(
+          String.format(
+            "SELECT %s, %s FROM `%s` WHERE %s IN (%s);",
+            TABLE_COLUMN_KEY,
+            TABLE_COLUMN_VAL,
+            this.name,
+            TABLE_COLUMN_KEY,
+            String.join(", ", Collections.nCopies(chunk.size(), "?"))),
+          resultSet -> {
+            while (resultSet.next()) {
+              documents.put(
+                resultSet.getString(TABLE_COLUMN_KEY),
+                DocumentFactory.json().parse(resultSet.getString(TABLE_COLUMN_VAL)));
+            }
+
+            return null;
+          },
+          null,
+          chunk.toArray());
+      }
+
+      return documents;
+    });
+  }
+
+  @Override
+  protected @NonNull Map<String, Document> readKeyRange(@Nullable String afterKey, int limit) {
+    var query = afterKey == null
+      ? String.format("SELECT * FROM `%s` ORDER BY %s LIMIT %d;", this.name, TABLE_COLUMN_KEY, limit)
+      : String.format(
+        "SELECT * FROM `%s` WHERE %s > ? ORDER BY %s LIMIT %d;",
+        this.name,
+        TABLE_COLUMN_KEY,
+        TABLE_COLUMN_KEY,
+        limit);
+    Map<String, Document> entries = this.databaseProvider.executeQuery(
+      query,
+      resultSet -> {
+        Map<String, Document> result = new LinkedHashMap<>();
+        while (resultSet.next()) {
+          result.put(
+            resultSet.getString(TABLE_COLUMN_KEY),
+            DocumentFactory.json().parse(resultSet.getString(TABLE_COLUMN_VAL)));
+        }
+
+        return result;
+      },
+      null,
+      afterKey == null ? new Object[0] : new Object[]{afterKey});
+    if (entries == null) {
+      throw new IllegalStateException("Unable to read the entries of database " + this.name);
+    }
+
+    return entries;
+  }
+
+  @Override
+  public long deleteAll(@NonNull Collection<String> keys) {
+    if (keys.isEmpty()) {
+      return 0;
+    }
+
+    Collection<Object[]> parameters = new ArrayList<>(keys.size());
+    for (var key : keys) {
+      parameters.add(new Object[]{key});
+    }
+
+    return this.measure(DELETE_ALL_LATENCY, () -> Math.max(0L, this.databaseProvider.executeBatchUpdate(
+      String.format("DELETE FROM `%s` WHERE %s = ?;", this.name, TABLE_COLUMN_KEY),
+      parameters)));
+  }
 }
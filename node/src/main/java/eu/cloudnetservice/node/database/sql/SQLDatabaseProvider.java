@@ -22,6 +22,7 @@
 import io.vavr.CheckedFunction1;
 import java.sql.Connection;
 import java.sql.ResultSet;
+import java.util.Collection;
 import lombok.NonNull;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
@@ -55,6 +56,19 @@ public boolean containsDatabase(@NonNull String name) {
 
   public abstract int executeUpdate(@NonNull String query, @NonNull Object... objects);
 
+  public abstract int executeBatchUpdate(@NonNull String query, @NonNull Collection<Object[]> parameters);
+
+  protected static int updatedRows(int @NonNull [] updateCounts) {
+    var updatedRows = 0;
+    for (var updateCount : updateCounts) {
+      // drivers might not report the affected rows of a statement in a batch
+      if (updateCount > 0) {
+        updatedRows += updateCount;
+      }
+    }
+    return updatedRows;
+  }
+
   public abstract <T> @UnknownNullability T executeQuery(
     @NonNull String query,
     @NonNull CheckedFunction1<ResultSet, T> callback,
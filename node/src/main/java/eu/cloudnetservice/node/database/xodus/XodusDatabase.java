@@ -23,6 +23,7 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -50,30 +51,76 @@ protected XodusDatabase(@NonNull String name, @NonNull Store store, @NonNull Xod
 
   @Override
   public boolean insert(@NonNull String key, @NonNull Document document) {
-    return this.environment.computeInExclusiveTransaction(
+    return this.measure(INSERT_LATENCY, () -> this.environment.computeInExclusiveTransaction(
       txn -> this.store().put(
         txn,
         StringBinding.stringToEntry(key),
-        new ArrayByteIterable(this.serializeDocumentToJsonString(document).getBytes(StandardCharsets.UTF_8))));
+        new ArrayByteIterable(this.serializeDocumentToJsonString(document).getBytes(StandardCharsets.UTF_8)))));
+  }
+
+  @Override
+  public boolean insertAll(@NonNull Map<String, Document> documents) {
+    return this.measure(INSERT_ALL_LATENCY, () -> this.environment.computeInExclusiveTransaction(txn -> {
+      var store = this.store();
+      for (var entry : documents.entrySet()) {
+        var serializedDocument = this.serializeDocumentToJsonString(entry.getValue());
+        store.put(
+          txn,
+          StringBinding.stringToEntry(entry.getKey()),
+          new ArrayByteIterable(serializedDocument.getBytes(StandardCharsets.UTF_8)));
+      }
+      return true;
+    }));
+  }
+
+  @Override
+  public @NonNull Map<String, Document> getAll(@NonNull Collection<String> keys) {
+    return this.measure(GET_ALL_LATENCY, () -> this.environment.computeInReadonlyTransaction(txn -> {
+      var store = this.store();
+      Map<String, Document> documents = new HashMap<>();
+      for (var key : keys) {
+        var entry = store.get(txn, StringBinding.stringToEntry(key));
+        if (entry != null) {
+          documents.put(key, DocumentFactory.json().parse(entry.getBytesUnsafe()));
+        }
+      }
+      return documents;
+    }));
+  }
+
+  @Override
+  public long deleteAll(@NonNull Collection<String> keys) {
+    return this.measure(DELETE_ALL_LATENCY, () -> this.environment.computeInExclusiveTransaction(txn -> {
+      var store = this.store();
+      var deletedDocuments = 0L;
+      for (var key : keys) {
+        if (store.delete(txn, StringBinding.stringToEntry(key))) {
+          deletedDocuments++;
+        }
+      }
+      return deletedDocuments;
+    }));
   }
 
   @Override
   public boolean contains(@NonNull String key) {
-    return this.environment.computeInReadonlyTransaction(
-      txn -> this.store().get(txn, StringBinding.stringToEntry(key)) != null);
+    return this.measure(CONTAINS_LATENCY, () -> this.environment.computeInReadonlyTransaction(
+      txn -> this.store().get(txn, StringBinding.stringToEntry(key)) != null));
   }
 
   @Override
   public boolean delete(@NonNull String key) {
-    return this.environment.computeInTransaction(txn -> this.store().delete(txn, StringBinding.stringToEntry(key)));
+    return this.measure(
+      DELETE_LATENCY,
+      () -> this.environment.computeInTransaction(txn -> this.store().delete(txn, StringBinding.stringToEntry(key))));
   }
 
   @Override
   public @Nullable Document get(@NonNull String key) {
-    return this.environment.computeInReadonlyTransaction(txn -> {
+    return this.measure(GET_LATENCY, () -> this.environment.computeInReadonlyTransaction(txn -> {
       var entry = this.store().get(txn, StringBinding.stringToEntry(key));
       return entry == null ? null : DocumentFactory.json().parse(entry.getBytesUnsafe());
-    });
+    }));
   }
 
   @Override
@@ -192,6 +239,35 @@ protected void acceptWithCursor(@NonNull BiConsumer<String, Document> handler) {
     });
   }
 
+  @Override
+  protected @NonNull Map<String, Document> readKeyRange(@Nullable String afterKey, int limit) {
+    return this.environment.computeInReadonlyTransaction(txn -> {
+      Map<String, Document> result = new LinkedHashMap<>();
+      try (var cursor = this.store().openCursor(txn)) {
+        boolean hasEntry;
+        if (afterKey == null) {
+          hasEntry = cursor.getNext();
+        } else {
+          // the search moves the cursor to the first key which is equal to or greater than the given key
+          var afterEntry = StringBinding.stringToEntry(afterKey);
+          hasEntry = cursor.getSearchKeyRange(afterEntry) != null;
+          if (hasEntry && cursor.getKey().compareTo(afterEntry) == 0) {
+            hasEntry = cursor.getNext();
+          }
+        }
+
+        while (hasEntry && result.size() < limit) {
+          result.put(
+            StringBinding.entryToString(cursor.getKey()),
+            DocumentFactory.json().parse(cursor.getValue().getBytesUnsafe()));
+          hasEntry = cursor.getNext();
+        }
+      }
+
+      return result;
+    });
+  }
+
   protected @NonNull Store store() {
     return this.store.get();
   }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import eu.cloudnetservice.driver.metrics.MetricRegistry;
+import eu.cloudnetservice.driver.metrics.OpenMetricsFormat;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ScheduledExecutorService;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A small http endpoint which exposes the metrics of the node in the OpenMetrics text format on {@code /metrics}. The
+ * endpoint is disabled by default and must be enabled by setting the {@code cloudnet.metrics.enabled} system property
+ * to {@code true}. It binds to the loopback address by default, the address can be changed using the
+ * {@code cloudnet.metrics.host} and {@code cloudnet.metrics.port} system properties.
+ *
+ * @since 4.0
+ */
+@Singleton
+public final class MetricsHttpEndpoint {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MetricsHttpEndpoint.class);
+
+  private static final boolean ENABLED = Boolean.getBoolean("cloudnet.metrics.enabled");
+  private static final String HOST = System.getProperty("cloudnet.metrics.host", "127.0.0.1");
+  private static final int PORT = Integer.getInteger("cloudnet.metrics.port", 9464);
+
+  private final MetricRegistry metricRegistry;
+  private final ScheduledExecutorService taskScheduler;
+
+  private HttpServer httpServer;
+
+  @Inject
+  public MetricsHttpEndpoint(
+    @NonNull MetricRegistry metricRegistry,
+    @NonNull @Named("taskScheduler") ScheduledExecutorService taskScheduler
+  ) {
+    this.metricRegistry = metricRegistry;
+    this.taskScheduler = taskScheduler;
+  }
+
+  public synchronized void start() {
+    if (!ENABLED || this.httpServer != null) {
+      return;
+    }
+
+    try {
+      this.httpServer = HttpServer.create(new InetSocketAddress(HOST, PORT), 0);
+      this.httpServer.createContext("/metrics", this::handleScrape);
+
+      // scrapes are rare and cheap, they can be handled by the shared scheduler of the node
+      this.httpServer.setExecutor(this.taskScheduler);
+      this.httpServer.start();
+      LOGGER.debug("Exposing node metrics on http://{}:{}/metrics", HOST, PORT);
+    } catch (IOException exception) {
+      this.httpServer = null;
+      LOGGER.warn("Unable to bind metrics endpoint to {}:{}", HOST, PORT, exception);
+    }
+  }
+
+  public synchronized void stop() {
+    if (this.httpServer != null) {
+      this.httpServer.stop(0);
+      this.httpServer = null;
+    }
+  }
+
+  private void handleScrape(@NonNull HttpExchange exchange) throws IOException {
+    try (exchange) {
+      if (!"GET".equals(exchange.getRequestMethod())) {
+        exchange.sendResponseHeaders(405, -1);
+        return;
+      }
+
+      var response = OpenMetricsFormat.format(this.metricRegistry).getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().set("Content-Type", OpenMetricsFormat.CONTENT_TYPE);
+      exchange.sendResponseHeaders(200, response.length);
+      exchange.getResponseBody().write(response);
+    }
+  }
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.network;
+
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.service.ServiceInfoInterest;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.driver.service.ServiceInfoUpdateHeader;
+import eu.cloudnetservice.node.cluster.NodeServerProvider;
+import eu.cloudnetservice.node.service.CloudServiceManager;
+import jakarta.inject.Singleton;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Holds the precomputed channels to which channel messages are routed, grouped by the possible message targets, as well
+ * as the index of the service info interests of the local services. The routes are rebuilt lazily on the first lookup
+ * after they were invalidated, which must happen each time a service or node is registered, unregistered, connects or
+ * disconnects and each time a local service declares its service info interest. Between these changes, lookups return
+ * the same immutable channel collections without computing them for each message.
+ *
+ * @since 4.0
+ */
+@Singleton
+public final class NodeChannelRoutingTable {
+
+  private final AtomicLong generation = new AtomicLong();
+  private volatile Routes routes;
+
+  /**
+   * Invalidates the current routes, the next lookup rebuilds them from the current services and nodes.
+   */
+  public void invalidate() {
+    this.generation.incrementAndGet();
+  }
+
+  /**
+   * Get the current routes, rebuilding them from the given service manager and node provider if they were invalidated.
+   *
+   * @param serviceManager the service manager to get the services from when rebuilding the routes.
+   * @param nodeProvider   the node provider to get the nodes from when rebuilding the routes.
+   * @return the current routes.
+   * @throws NullPointerException if the given service manager or node provider is null.
+   */
+  public @NonNull Routes routes(@NonNull CloudServiceManager serviceManager, @NonNull NodeServerProvider nodeProvider) {
+    var generation = this.generation.get();
+    var routes = this.routes;
+    if (routes != null && routes.generation() == generation) {
+      return routes;
+    }
+
+    // the routes might be invalidated while building them, they will be rebuilt on the next lookup in that case
+    routes = buildRoutes(generation, serviceManager, nodeProvider);
+    this.routes = routes;
+    return routes;
+  }
+
+  private static @NonNull Routes buildRoutes(
+    long generation,
+    @NonNull CloudServiceManager serviceManager,
+    @NonNull NodeServerProvider nodeProvider
+  ) {
+    var local = new RouteBuilder();
+    var cluster = new RouteBuilder();
+    var interests = new InterestIndexBuilder();
+
+    // the channels of all connected nodes, only reachable if the message can be redirected into the cluster
+    for (var nodeServer : nodeProvider.nodeServers()) {
+      var channel = nodeServer.channel();
+      if (channel != null) {
+        cluster.all.add(channel);
+        cluster.nodes.add(channel);
+        cluster.byNode.put(nodeServer.name(), List.of(channel));
+      }
+    }
+
+    for (var service : serviceManager.services()) {
+      var serviceId = service.serviceId();
+      var localService = serviceManager.localCloudService(serviceId.uniqueId());
+      if (localService != null) {
+        // local services are only reachable through their own channel
+        var channel = localService.networkChannel();
+        if (channel != null) {
+          local.addService(service, channel, true);
+          cluster.addService(service, channel, true);
+          interests.addService(serviceId.uniqueId(), localService.serviceInfoInterest(), channel);
+        }
+      } else {
+        // remote services are reachable through the channel of the node they are running on
+        var nodeServer = nodeProvider.node(serviceId.nodeUniqueId());
+        var channel = nodeServer == null ? null : nodeServer.channel();
+        if (channel != null) {
+          cluster.addService(service, channel, false);
+        }
+      }
+    }
+
+    return new Routes(generation, local.build(), cluster.build(), interests.build());
+  }
+
+  /**
+   * The routes of channel messages at a specific point in time.
+   *
+   * @param generation the generation of the routes, used to detect if the routes were invalidated.
+   * @param local      the routes to use if a message should only be sent to local services.
+   * @param cluster    the routes to use if a message can be redirected to other nodes in the cluster.
+   * @param interests  the service info interests of the local services.
+   * @since 4.0
+   */
+  public record Routes(
+    long generation,
+    @NonNull RouteView local,
+    @NonNull RouteView cluster,
+    @NonNull InterestIndex interests
+  ) {
+
+    /**
+     * Get the route view to use depending on if a message is allowed to be redirected into the cluster.
+     *
+     * @param allowClusterRedirect if the message can be redirected to other nodes in the cluster.
+     * @return the route view to use for the message.
+     */
+    public @NonNull RouteView view(boolean allowClusterRedirect) {
+      return allowClusterRedirect ? this.cluster : this.local;
+    }
+  }
+
+  /**
+   * The channels to which messages are routed for each target, all returned collections are immutable.
+   *
+   * @since 4.0
+   */
+  public record RouteView(
+    @NonNull Collection<NetworkChannel> all,
+    @NonNull Collection<NetworkChannel> nodes,
+    @NonNull Map<String, Collection<NetworkChannel>> byNode,
+    @NonNull Map<String, Collection<NetworkChannel>> byService,
+    @NonNull Map<String, Collection<NetworkChannel>> byTask,
+    @NonNull Map<String, Collection<NetworkChannel>> byGroup,
+    @NonNull Map<String, Collection<NetworkChannel>> byEnvironment
+  ) {
+
+    public @NonNull Collection<NetworkChannel> node(@Nullable String name) {
+      return name == null ? this.nodes : this.byNode.getOrDefault(name, List.of());
+    }
+
+    public @NonNull Collection<NetworkChannel> service(@Nullable String name) {
+      return name == null ? this.all : this.byService.getOrDefault(name, List.of());
+    }
+
+    public @NonNull Collection<NetworkChannel> task(@NonNull String name) {
+      return this.byTask.getOrDefault(name, List.of());
+    }
+
+    public @NonNull Collection<NetworkChannel> group(@NonNull String name) {
+      return this.byGroup.getOrDefault(name, List.of());
+    }
+
+    public @NonNull Collection<NetworkChannel> environment(@NonNull String name) {
+      return this.byEnvironment.getOrDefault(name, List.of());
+    }
+  }
+
+  /**
+   * The channels of the local services indexed by the service info updates they are interested in, all collections are
+   * immutable.
+   *
+   * @param serviceChannels the channels of all local services.
+   * @param all             the channels of the local services which are interested in the updates of all services.
+   * @param byService       the channel of each local service by the unique id of the service.
+   * @param byTask          the channels of the local services interested in the services of a task.
+   * @param byGroup         the channels of the local services interested in the services of a group.
+   * @param byEnvironment   the channels of the local services interested in the services of an environment.
+   * @since 4.0
+   */
+  public record InterestIndex(
+    @NonNull Set<NetworkChannel> serviceChannels,
+    @NonNull Set<NetworkChannel> all,
+    @NonNull Map<UUID, NetworkChannel> byService,
+    @NonNull Map<String, Set<NetworkChannel>> byTask,
+    @NonNull Map<String, Set<NetworkChannel>> byGroup,
+    @NonNull Map<String, Set<NetworkChannel>> byEnvironment
+  ) {
+
+    /**
+     * Checks if the given channel should receive the described service info update. Channels which do not belong to a
+     * local service (for example node channels) receive all updates, local services receive the updates of their own
+     * service and of the services matching their declared interest.
+     *
+     * @param channel the channel to check.
+     * @param header  the routing header of the service info update.
+     * @return true if the update should be sent to the given channel, false otherwise.
+     * @throws NullPointerException if the given channel or header is null.
+     */
+    public boolean interested(@NonNull NetworkChannel channel, @NonNull ServiceInfoUpdateHeader header) {
+      if (!this.serviceChannels.contains(channel)
+        || this.all.contains(channel)
+        || channel.equals(this.byService.get(header.serviceUniqueId()))
+        || this.byTask.getOrDefault(header.taskName(), Set.of()).contains(channel)
+        || this.byEnvironment.getOrDefault(header.environmentName(), Set.of()).contains(channel)) {
+        return true;
+      }
+
+      for (var group : header.groups()) {
+        if (this.byGroup.getOrDefault(group, Set.of()).contains(channel)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  private static final class InterestIndexBuilder {
+
+    private final Set<NetworkChannel> serviceChannels = new HashSet<>();
+    private final Set<NetworkChannel> all = new HashSet<>();
+    private final Map<UUID, NetworkChannel> byService = new HashMap<>();
+    private final Map<String, Set<NetworkChannel>> byTask = new HashMap<>();
+    private final Map<String, Set<NetworkChannel>> byGroup = new HashMap<>();
+    private final Map<String, Set<NetworkChannel>> byEnvironment = new HashMap<>();
+
+    private void addService(
+      @NonNull UUID serviceId,
+      @NonNull ServiceInfoInterest interest,
+      @NonNull NetworkChannel channel
+    ) {
+      this.serviceChannels.add(channel);
+      this.byService.put(serviceId, channel);
+      if (interest.all()) {
+        this.all.add(channel);
+        return;
+      }
+
+      interest.tasks().forEach(task -> this.byTask.computeIfAbsent(task, _ -> new HashSet<>()).add(channel));
+      interest.groups().forEach(group -> this.byGroup.computeIfAbsent(group, _ -> new HashSet<>()).add(channel));
+      interest.environments().forEach(
+        environment -> this.byEnvironment.computeIfAbsent(environment, _ -> new HashSet<>()).add(channel));
+    }
+
+    private @NonNull InterestIndex build() {
+      return new InterestIndex(
+        Set.copyOf(this.serviceChannels),
+        Set.copyOf(this.all),
+        Map.copyOf(this.byService),
+        freeze(this.byTask),
+        freeze(this.byGroup),
+        freeze(this.byEnvironment));
+    }
+
+    private static @NonNull Map<String, Set<NetworkChannel>> freeze(
+      @NonNull Map<String, Set<NetworkChannel>> channels
+    ) {
+      Map<String, Set<NetworkChannel>> result = new HashMap<>();
+      channels.forEach((key, keyChannels) -> result.put(key, Set.copyOf(keyChannels)));
+      return Map.copyOf(result);
+    }
+  }
+
+  private static final class RouteBuilder {
+
+    private final Set<NetworkChannel> all = new LinkedHashSet<>();
+    private final Set<NetworkChannel> nodes = new LinkedHashSet<>();
+    private final Map<String, Collection<NetworkChannel>> byNode = new HashMap<>();
+    private final Map<String, Collection<NetworkChannel>> byService = new HashMap<>();
+    private final Map<String, Set<NetworkChannel>> byTask = new HashMap<>();
+    private final Map<String, Set<NetworkChannel>> byGroup = new HashMap<>();
+    private final Map<String, Set<NetworkChannel>> byEnvironment = new HashMap<>();
+
+    private void addService(@NonNull ServiceInfoSnapshot service, @NonNull NetworkChannel channel, boolean local) {
+      var serviceId = service.serviceId();
+      if (local) {
+        this.all.add(channel);
+      }
+
+      this.byService.put(serviceId.name(), List.of(channel));
+      this.byTask.computeIfAbsent(serviceId.taskName(), _ -> new LinkedHashSet<>()).add(channel);
+      this.byEnvironment.computeIfAbsent(serviceId.environmentName(), _ -> new LinkedHashSet<>()).add(channel);
+      for (var group : service.configuration().groups()) {
+        this.byGroup.computeIfAbsent(group, _ -> new LinkedHashSet<>()).add(channel);
+      }
+    }
+
+    private @NonNull RouteView build() {
+      return new RouteView(
+        List.copyOf(this.all),
+        List.copyOf(this.nodes),
+        Map.copyOf(this.byNode),
+        Map.copyOf(this.byService),
+        freeze(this.byTask),
+        freeze(this.byGroup),
+        freeze(this.byEnvironment));
+    }
+
+    private static @NonNull Map<String, Collection<NetworkChannel>> freeze(
+      @NonNull Map<String, Set<NetworkChannel>> channels
+    ) {
+      Map<String, Collection<NetworkChannel>> result = new HashMap<>();
+      channels.forEach((key, keyChannels) -> result.put(key, List.copyOf(keyChannels)));
+      return Map.copyOf(result);
+    }
+  }
+}
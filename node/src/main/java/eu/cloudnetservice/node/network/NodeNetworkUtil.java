@@ -22,6 +22,8 @@
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.chunk.defaults.ChunkedSessionRegistry;
 import eu.cloudnetservice.driver.network.chunk.defaults.factory.EventChunkHandlerFactory;
+import eu.cloudnetservice.driver.network.chunk.network.ChunkAcknowledgeListener;
+import eu.cloudnetservice.driver.network.chunk.network.ChunkSessionQueryListener;
 import eu.cloudnetservice.driver.network.chunk.network.ChunkedPacketListener;
 import eu.cloudnetservice.driver.network.def.NetworkConstants;
 import eu.cloudnetservice.driver.network.protocol.PacketListenerRegistry;
@@ -55,5 +57,12 @@ public void addDefaultPacketListeners(@NonNull PacketListenerRegistry registry)
       this.chunkedSessionRegistry,
       new EventChunkHandlerFactory(this.eventManager));
     registry.addListener(NetworkConstants.CHUNKED_PACKET_COM_CHANNEL, chunkedListener);
+    registry.addListener(NetworkConstants.CHUNKED_PACKET_EXTENDED_COM_CHANNEL, chunkedListener);
+    registry.addListener(
+      NetworkConstants.CHUNKED_PACKET_ACK_CHANNEL,
+      new ChunkAcknowledgeListener(this.chunkedSessionRegistry));
+    registry.addListener(
+      NetworkConstants.CHUNKED_PACKET_QUERY_CHANNEL,
+      new ChunkSessionQueryListener(this.chunkedSessionRegistry));
   }
 }
@@ -93,6 +93,10 @@ public void handleChannelMessage(@NonNull ChannelMessageReceiveEvent event) {
           }
         }
 
+        // compares the data digests of the sender with the local data and responds with the buckets which differ
+        case "sync_cluster_data_digest" -> event.binaryResponse(
+          this.dataSyncRegistry.compareClusterDigest(event.content()));
+
         // handles the response to a cluster data sync
         case "sync_cluster_data_response" -> this.dataSyncRegistry.handle(event.content(), true);
 
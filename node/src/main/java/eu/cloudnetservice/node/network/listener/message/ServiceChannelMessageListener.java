@@ -30,11 +30,16 @@
 import eu.cloudnetservice.driver.provider.CloudServiceFactory;
 import eu.cloudnetservice.driver.service.ServiceConfiguration;
 import eu.cloudnetservice.driver.service.ServiceCreateResult;
+import eu.cloudnetservice.driver.service.ServiceInfoInterest;
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.driver.service.ServiceInfoUpdateHeader;
 import eu.cloudnetservice.driver.service.ServiceLifeCycle;
+import eu.cloudnetservice.driver.service.log.ServiceLogFrames;
+import eu.cloudnetservice.driver.service.log.ServiceLogStreamReceiver;
 import eu.cloudnetservice.node.service.CloudServiceManager;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.util.Objects;
 import lombok.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,16 +52,19 @@ public final class ServiceChannelMessageListener {
   private final EventManager eventManager;
   private final CloudServiceManager serviceManager;
   private final CloudServiceFactory cloudServiceFactory;
+  private final ServiceLogStreamReceiver logStreamReceiver;
 
   @Inject
   public ServiceChannelMessageListener(
     @NonNull EventManager eventManager,
     @NonNull CloudServiceManager serviceManager,
-    @NonNull CloudServiceFactory cloudServiceFactory
+    @NonNull CloudServiceFactory cloudServiceFactory,
+    @NonNull ServiceLogStreamReceiver logStreamReceiver
   ) {
     this.eventManager = eventManager;
     this.serviceManager = serviceManager;
     this.cloudServiceFactory = cloudServiceFactory;
+    this.logStreamReceiver = logStreamReceiver;
   }
 
   @EventListener
@@ -115,10 +123,27 @@ public void handleChannelMessage(@NonNull ChannelMessageReceiveEvent event) {
 
         // update of a service in the network
         case "update_service_info" -> {
-          var snapshot = event.content().readObject(ServiceInfoSnapshot.class);
-          // update locally and call the event
-          this.serviceManager.handleServiceUpdate(snapshot, event.networkChannel());
-          this.eventManager.callEvent(new CloudServiceUpdateEvent(snapshot));
+          var snapshot = ServiceInfoUpdateHeader.readUpdate(event.content());
+          var localService = this.serviceManager.localCloudService(snapshot);
+          if (localService != null) {
+            // a local service published its snapshot, assign the next version and publish it to the network
+            localService.updateServiceInfoSnapshot(snapshot);
+            localService.publishServiceInfoSnapshot();
+            this.eventManager.callEvent(new CloudServiceUpdateEvent(localService.serviceInfo()));
+          } else {
+            // update locally and call the event
+            this.serviceManager.handleServiceUpdate(snapshot, event.networkChannel());
+            this.eventManager.callEvent(new CloudServiceUpdateEvent(snapshot));
+          }
+        }
+
+        // a local service declared which service info updates it is interested in
+        case "update_service_info_interest" -> {
+          var interest = event.content().readObject(ServiceInfoInterest.class);
+          var service = this.serviceManager.localCloudService(event.sender().name());
+          if (service != null) {
+            service.serviceInfoInterest(interest);
+          }
         }
 
         // update of a service lifecycle in the network
@@ -142,6 +167,15 @@ public void handleChannelMessage(@NonNull ChannelMessageReceiveEvent event) {
           this.eventManager.callEvent(eventChannel, new CloudServiceLogEntryEvent(snapshot, line, type));
         }
 
+        // a log stream session of a service was closed
+        case ServiceLogFrames.SESSION_CLOSE_MESSAGE -> this.logStreamReceiver.closeSession(event.content());
+
+        // a batch of log lines of a service, use the most recent known snapshot of the service for the events
+        case ServiceLogFrames.SESSION_LINES_MESSAGE -> this.logStreamReceiver.handleLines(event.content(), snapshot -> {
+          var currentSnapshot = this.serviceManager.service(snapshot.serviceId().uniqueId());
+          return Objects.requireNonNullElse(currentSnapshot, snapshot);
+        });
+
         // a deferred service start result is available, call the event
         case "deferred_service_event" -> {
           var creationId = event.content().readUniqueId();
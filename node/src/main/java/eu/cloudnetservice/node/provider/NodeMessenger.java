@@ -24,25 +24,25 @@
 import eu.cloudnetservice.driver.channel.ChannelMessageTarget;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.def.PacketServerChannelMessage;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.protocol.SharedPacket;
 import eu.cloudnetservice.driver.provider.CloudMessenger;
 import eu.cloudnetservice.driver.provider.defaults.DefaultMessenger;
-import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
 import eu.cloudnetservice.node.cluster.NodeServerProvider;
-import eu.cloudnetservice.node.service.CloudService;
+import eu.cloudnetservice.node.network.NodeChannelRoutingTable;
 import eu.cloudnetservice.node.service.CloudServiceManager;
+import eu.cloudnetservice.node.service.ServiceInfoUpdateRouter;
 import io.leangen.geantyref.TypeFactory;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.lang.reflect.Type;
 import java.time.Duration;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 import lombok.NonNull;
 
 @Singleton
@@ -53,14 +53,20 @@ public class NodeMessenger extends DefaultMessenger implements CloudMessenger {
 
   protected final NodeServerProvider nodeServerProvider;
   protected final CloudServiceManager cloudServiceManager;
+  protected final ServiceInfoUpdateRouter serviceInfoUpdateRouter;
+  protected final NodeChannelRoutingTable channelRoutingTable;
 
   @Inject
   public NodeMessenger(
     @NonNull NodeServerProvider nodeServerProvider,
-    @NonNull CloudServiceManager cloudServiceManager
+    @NonNull CloudServiceManager cloudServiceManager,
+    @NonNull ServiceInfoUpdateRouter serviceInfoUpdateRouter,
+    @NonNull NodeChannelRoutingTable channelRoutingTable
   ) {
     this.nodeServerProvider = nodeServerProvider;
     this.cloudServiceManager = cloudServiceManager;
+    this.serviceInfoUpdateRouter = serviceInfoUpdateRouter;
+    this.channelRoutingTable = channelRoutingTable;
   }
 
   @Override
@@ -83,23 +89,30 @@ public void sendChannelMessage(@NonNull ChannelMessage message) {
   public void sendChannelMessage(@NonNull ChannelMessage message, boolean allowClusterRedirect) {
     // find the target channels to send the message to
     var channels = this.findChannels(message.targets(), allowClusterRedirect);
-    for (var channel : channels) {
-      // acquire the message content for each channel we're sending the message to
-      // when writing the message content to the target buffer, the message is released
-      // that means when the message was written to all channels it's released unless someone acquired it before
-      message.content().acquire();
+    // service info updates are only sent to the services which are interested in them
+    if (this.serviceInfoUpdateRouter.routesMessage(message)) {
+      channels = this.serviceInfoUpdateRouter.filterChannels(message, channels);
+    }
 
-      // construct and send the packet
-      var packet = new PacketServerChannelMessage(message, false);
-      if (message.sendSync()) {
-        channel.sendPacketSync(packet);
-      } else {
-        channel.sendPacket(packet);
+    if (!channels.isEmpty()) {
+      // serialize the message once, the packet content is released after the message was written to all channels
+      // the message content itself is released while writing it into the packet content
+      Packet packet = new PacketServerChannelMessage(message, false);
+      if (channels.size() > 1) {
+        packet = new SharedPacket(packet, channels.size());
       }
-    }
 
-    // release the message now
-    message.content().release();
+      for (var channel : channels) {
+        if (message.sendSync()) {
+          channel.sendPacketSync(packet);
+        } else {
+          channel.sendPacket(packet);
+        }
+      }
+    } else {
+      // release the message now
+      message.content().release();
+    }
   }
 
   public @NonNull CompletableFuture<Collection<ChannelMessage>> sendChannelMessageQueryAsync(
@@ -148,139 +161,38 @@ public void sendChannelMessage(@NonNull ChannelMessage message, boolean allowClu
     @NonNull Collection<ChannelMessageTarget> targets,
     boolean allowClusterRedirect
   ) {
+    var routes = this.channelRoutingTable.routes(this.cloudServiceManager, this.nodeServerProvider);
+    var routeView = routes.view(allowClusterRedirect);
+
     // check if there is only one channel
     if (targets.size() == 1) {
       // get the target - we can suppress the nullable warning because we expect the collection to not contain null values
-      return this.findTargetChannels(Iterables.getOnlyElement(targets), allowClusterRedirect);
+      return this.findTargetChannels(Iterables.getOnlyElement(targets), routeView);
     } else {
       // filter all the channels for the targets
-      return targets.stream()
-        .flatMap(target -> this.findTargetChannels(target, allowClusterRedirect).stream())
-        .collect(Collectors.toSet());
+      Set<NetworkChannel> channels = new LinkedHashSet<>();
+      for (var target : targets) {
+        channels.addAll(this.findTargetChannels(target, routeView));
+      }
+      return channels;
     }
   }
 
   protected @NonNull Collection<NetworkChannel> findTargetChannels(
     @NonNull ChannelMessageTarget target,
-    boolean allowClusterRedirect
+    @NonNull NodeChannelRoutingTable.RouteView routeView
   ) {
-    switch (target.type()) {
+    return switch (target.type()) {
       // just include all known channels
-      case ALL -> {
-        Set<NetworkChannel> result = new HashSet<>();
-        // all local services
-        this.cloudServiceManager.localCloudServices().stream()
-          .map(CloudService::networkChannel)
-          .filter(Objects::nonNull)
-          .forEach(result::add);
-        // all connected nodes
-        if (allowClusterRedirect) {
-          result.addAll(this.nodeServerProvider.connectedNodeChannels());
-        }
-        return result;
-      }
-      case NODE -> {
-        // search for the matching node server
-        if (allowClusterRedirect) {
-          // check if a specific node server was selected or all node servers are targeted
-          if (target.name() == null) {
-            return this.nodeServerProvider.connectedNodeChannels();
-          }
-          // check if we know the target node server
-          var server = this.nodeServerProvider.node(target.name());
-          return server == null || server.channel() == null
-            ? Collections.emptySet()
-            : Collections.singleton(server.channel());
-        } else {
-          // not allowed to redirect the message
-          return Collections.emptySet();
-        }
-      }
-      case SERVICE -> {
-        // check if a specific service was requested
-        if (target.name() == null) {
-          // if no specific name is given just get all local channels
-          var channels = this.cloudServiceManager.localCloudServices().stream()
-            .map(CloudService::networkChannel)
-            .filter(Objects::nonNull)
-            .collect(Collectors.toSet());
-          // check if cluster redirect is allowed - add all connected node channels then
-          if (allowClusterRedirect) {
-            channels.addAll(this.nodeServerProvider.connectedNodeChannels());
-          }
-          // return here
-          return channels;
-        } else {
-          // check if the service is running locally - use the known channel then
-          var localService = this.cloudServiceManager.localCloudService(target.name());
-          if (localService != null) {
-            return localService.networkChannel() == null
-              ? Collections.emptySet()
-              : Collections.singleton(localService.networkChannel());
-          }
-        }
-        // check if we are allowed to redirect the message to the node running the service
-        if (allowClusterRedirect) {
-          // if no specific service is given just send it to all nodes
-          if (target.name() == null) {
-            return this.nodeServerProvider.connectedNodeChannels();
-          }
-          // check if we know the service from the cluster
-          var service = this.cloudServiceManager.serviceByName(target.name());
-          if (service != null) {
-            // check if we know the target node server to send the channel message to instead
-            var server = this.nodeServerProvider.node(service.serviceId().nodeUniqueId());
-            return server == null || server.channel() == null
-              ? Collections.emptySet()
-              : Collections.singleton(server.channel());
-          }
-        }
-        // unable to retrieve information about the target - just an empty set then
-        return Collections.emptySet();
-      }
-      case TASK -> {
-        // lookup all services of the given task
-        return this.filterChannels(
-          this.cloudServiceManager.servicesByTask(target.name()),
-          allowClusterRedirect);
-      }
-      case ENVIRONMENT -> {
-        // lookup all services of the given environment
-        return this.filterChannels(
-          this.cloudServiceManager.servicesByEnvironment(target.environment().name()),
-          allowClusterRedirect);
-      }
-      case GROUP -> {
-        // lookup all services of the given group
-        return this.filterChannels(
-          this.cloudServiceManager.servicesByGroup(target.name()),
-          allowClusterRedirect);
-      }
-      default -> throw new IllegalArgumentException("Unhandled ChannelMessageTarget.Type: " + target.type());
-    }
-  }
-
-  protected @NonNull Collection<NetworkChannel> filterChannels(
-    @NonNull Collection<ServiceInfoSnapshot> snapshots,
-    boolean allowClusterRedirect
-  ) {
-    return snapshots.stream()
-      .map(service -> {
-        // check if the service is running locally
-        var localService = this.cloudServiceManager.localCloudService(service.serviceId().name());
-        if (localService != null) {
-          return localService.networkChannel();
-        }
-        // check if we are allowed to redirect the message to the node running the service
-        if (allowClusterRedirect) {
-          // check if we know the node on which the service is running
-          var nodeServer = this.nodeServerProvider.node(service.serviceId().nodeUniqueId());
-          return nodeServer == null ? null : nodeServer.channel();
-        }
-        // no target found
-        return null;
-      })
-      .filter(Objects::nonNull)
-      .collect(Collectors.toSet());
+      case ALL -> routeView.all();
+      // a specific node or all nodes if no name is given
+      case NODE -> routeView.node(target.name());
+      // a specific service or all services and nodes if no name is given
+      case SERVICE -> routeView.service(target.name());
+      // all services of the given task, group or environment
+      case TASK -> routeView.task(target.name());
+      case GROUP -> routeView.group(target.name());
+      case ENVIRONMENT -> routeView.environment(target.environment().name());
+    };
   }
 }
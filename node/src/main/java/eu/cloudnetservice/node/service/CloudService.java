@@ -21,6 +21,7 @@
 import eu.cloudnetservice.driver.service.ServiceConfiguration;
 import eu.cloudnetservice.driver.service.ServiceDeployment;
 import eu.cloudnetservice.driver.service.ServiceId;
+import eu.cloudnetservice.driver.service.ServiceInfoInterest;
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
 import eu.cloudnetservice.driver.service.ServiceLifeCycle;
 import eu.cloudnetservice.driver.service.ServiceRemoteInclusion;
@@ -65,10 +66,18 @@ public interface CloudService extends SpecificCloudServiceProvider {
 
   @NonNull ServiceInfoSnapshot lastServiceInfoSnapshot();
 
+  @NonNull ServiceInfoInterest serviceInfoInterest();
+
+  @ApiStatus.Internal
+  void serviceInfoInterest(@NonNull ServiceInfoInterest interest);
+
   @NonNull ServiceConsoleLogCache serviceConsoleLogCache();
 
   boolean alive();
 
+  @ApiStatus.Internal
+  boolean warmUp();
+
   void publishServiceInfoSnapshot();
 
   @ApiStatus.Internal
@@ -87,6 +87,9 @@ void addServicePreparer(
   @NonNull
   @Unmodifiable Collection<String> defaultJvmOptions();
 
+  @ApiStatus.Internal
+  @NonNull ServicePortAllocator portAllocator();
+
   @ApiStatus.Internal
   void registerLocalService(@NonNull CloudService service);
 
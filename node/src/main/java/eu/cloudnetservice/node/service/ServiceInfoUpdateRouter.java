@@ -0,0 +1,138 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service;
+
+import eu.cloudnetservice.driver.channel.ChannelMessage;
+import eu.cloudnetservice.driver.channel.ChannelMessageTarget;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.def.NetworkConstants;
+import eu.cloudnetservice.driver.service.ServiceInfoUpdateHeader;
+import eu.cloudnetservice.node.cluster.NodeServerProvider;
+import eu.cloudnetservice.node.network.NodeChannelRoutingTable;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Routes service info updates only to the local services which declared an interest in the updated service, instead of
+ * sending each update to every connected service. Updates are always sent to all connected nodes, as the nodes need to
+ * know about all services in the cluster and route the update to their local services themselves.
+ * <p>
+ * The interested services are looked up in the interest index of the {@link NodeChannelRoutingTable}, using the routing
+ * header in front of the updated snapshot. The snapshot itself is not decoded for routing.
+ *
+ * @since 4.0
+ */
+@Singleton
+public final class ServiceInfoUpdateRouter {
+
+  public static final String UPDATE_SERVICE_INFO_MESSAGE = "update_service_info";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ServiceInfoUpdateRouter.class);
+
+  private final CloudServiceManager serviceManager;
+  private final NodeServerProvider nodeServerProvider;
+  private final NodeChannelRoutingTable channelRoutingTable;
+
+  private final LongAdder routedUpdates = new LongAdder();
+  private final LongAdder deliveries = new LongAdder();
+  private final LongAdder skippedDeliveries = new LongAdder();
+  private final LongAdder sentBytes = new LongAdder();
+  private final LongAdder savedBytes = new LongAdder();
+
+  @Inject
+  public ServiceInfoUpdateRouter(
+    @NonNull CloudServiceManager serviceManager,
+    @NonNull NodeServerProvider nodeServerProvider,
+    @NonNull NodeChannelRoutingTable channelRoutingTable
+  ) {
+    this.serviceManager = serviceManager;
+    this.nodeServerProvider = nodeServerProvider;
+    this.channelRoutingTable = channelRoutingTable;
+  }
+
+  public boolean routesMessage(@NonNull ChannelMessage message) {
+    return message.channel().equals(NetworkConstants.INTERNAL_MSG_CHANNEL)
+      && message.message().equals(UPDATE_SERVICE_INFO_MESSAGE)
+      && message.targets().stream().anyMatch(target -> target.type() == ChannelMessageTarget.Type.ALL);
+  }
+
+  public @NonNull Collection<NetworkChannel> filterChannels(
+    @NonNull ChannelMessage message,
+    @NonNull Collection<NetworkChannel> channels
+  ) {
+    // peek the routing header of the update without consuming the content
+    ServiceInfoUpdateHeader header;
+    var content = message.content();
+    try {
+      content.startTransaction();
+      header = content.readObject(ServiceInfoUpdateHeader.class);
+    } catch (Exception exception) {
+      LOGGER.debug("Unable to read service info update header for routing, sending it to all channels", exception);
+      return channels;
+    } finally {
+      content.redoTransaction();
+    }
+
+    var interests = this.channelRoutingTable.routes(this.serviceManager, this.nodeServerProvider).interests();
+    var updateSize = content.readableBytes();
+
+    // nothing to filter out if all local services are interested in all updates
+    if (interests.all().size() == interests.serviceChannels().size()) {
+      this.recordRouting(channels.size(), 0, updateSize);
+      return channels;
+    }
+
+    var targetChannels = channels.stream().filter(channel -> interests.interested(channel, header)).toList();
+    this.recordRouting(targetChannels.size(), channels.size() - targetChannels.size(), updateSize);
+    return targetChannels;
+  }
+
+  public @NonNull FanOutMetrics metrics() {
+    return new FanOutMetrics(
+      this.routedUpdates.sum(),
+      this.deliveries.sum(),
+      this.skippedDeliveries.sum(),
+      this.sentBytes.sum(),
+      this.savedBytes.sum());
+  }
+
+  private void recordRouting(int deliveries, int skippedDeliveries, int updateSize) {
+    this.routedUpdates.increment();
+    this.deliveries.add(deliveries);
+    this.skippedDeliveries.add(skippedDeliveries);
+    this.sentBytes.add((long) deliveries * updateSize);
+    this.savedBytes.add((long) skippedDeliveries * updateSize);
+  }
+
+  public record FanOutMetrics(
+    long routedUpdates,
+    long deliveries,
+    long skippedDeliveries,
+    long sentBytes,
+    long savedBytes
+  ) {
+
+    public double averageFanOut() {
+      return this.routedUpdates == 0 ? 0 : (double) this.deliveries / this.routedUpdates;
+    }
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service;
+
+import eu.cloudnetservice.node.util.NetworkUtil;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+
+/**
+ * Allocates the ports of local services. The ports used by registered services are tracked per host address in a
+ * bitmap. Allocated ports are leased until the service using them is registered, which prevents concurrent service
+ * creations from allocating the same port. Only the chosen port candidate is checked for availability on the system.
+ *
+ * @since 4.0
+ */
+public final class ServicePortAllocator {
+
+  private static final int MAX_PORT = 0xFFFF;
+  private static final long LEASE_MILLIS = Long.getLong("cloudnet.service.port-lease-millis", 120_000);
+
+  private final Map<String, HostPorts> hostPorts = new ConcurrentHashMap<>();
+
+  public int allocate(@NonNull String hostAddress, int startPort) {
+    var ports = this.hostPorts.computeIfAbsent(hostAddress, _ -> new HostPorts());
+    synchronized (ports) {
+      var currentTime = System.currentTimeMillis();
+      ports.expireLeases(currentTime);
+
+      var port = startPort;
+      while ((port = ports.nextFreePort(port)) <= MAX_PORT) {
+        // the port might be used by a process which is not managed by us
+        if (!NetworkUtil.isInUse(hostAddress, port)) {
+          ports.lease(port, currentTime + LEASE_MILLIS);
+          return port;
+        }
+        port++;
+      }
+
+      throw new IllegalStateException("No free port found for service, started at port: " + startPort);
+    }
+  }
+
+  public void reserve(@NonNull String hostAddress, int port) {
+    if (port >= 0 && port <= MAX_PORT) {
+      var ports = this.hostPorts.computeIfAbsent(hostAddress, _ -> new HostPorts());
+      synchronized (ports) {
+        ports.reserve(port);
+      }
+    }
+  }
+
+  public void release(@NonNull String hostAddress, int port) {
+    var ports = this.hostPorts.get(hostAddress);
+    if (ports != null && port >= 0 && port <= MAX_PORT) {
+      synchronized (ports) {
+        ports.release(port);
+      }
+    }
+  }
+
+  public boolean allocated(@NonNull String hostAddress, int port) {
+    var ports = this.hostPorts.get(hostAddress);
+    if (ports == null) {
+      return false;
+    }
+
+    synchronized (ports) {
+      ports.expireLeases(System.currentTimeMillis());
+      return ports.nextFreePort(port) != port;
+    }
+  }
+
+  private static final class HostPorts {
+
+    private final BitSet reservedPorts = new BitSet(MAX_PORT + 1);
+    private final BitSet leasedPorts = new BitSet(MAX_PORT + 1);
+    private final Map<Integer, Long> leaseExpirations = new HashMap<>();
+
+    private int nextFreePort(int startPort) {
+      var port = startPort;
+      while (true) {
+        port = this.reservedPorts.nextClearBit(port);
+        if (!this.leasedPorts.get(port)) {
+          return port;
+        }
+        port++;
+      }
+    }
+
+    private void lease(int port, long expiration) {
+      this.leasedPorts.set(port);
+      this.leaseExpirations.put(port, expiration);
+    }
+
+    private void reserve(int port) {
+      // the port is now used by a registered service, the lease is no longer needed
+      this.reservedPorts.set(port);
+      this.leasedPorts.clear(port);
+      this.leaseExpirations.remove(port);
+    }
+
+    private void release(int port) {
+      this.reservedPorts.clear(port);
+      this.leasedPorts.clear(port);
+      this.leaseExpirations.remove(port);
+    }
+
+    private void expireLeases(long currentTime) {
+      this.leaseExpirations.entrySet().removeIf(entry -> {
+        if (entry.getValue() <= currentTime) {
+          this.leasedPorts.clear(entry.getKey());
+          return true;
+        }
+        return false;
+      });
+    }
+  }
+}
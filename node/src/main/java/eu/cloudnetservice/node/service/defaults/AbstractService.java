@@ -17,7 +17,6 @@
 package eu.cloudnetservice.node.service.defaults;
 
 import com.google.common.base.Preconditions;
-import com.google.common.hash.Hashing;
 import com.google.common.net.InetAddresses;
 import eu.cloudnetservice.common.io.FileUtil;
 import eu.cloudnetservice.common.language.I18n;
@@ -30,6 +29,9 @@
 import eu.cloudnetservice.driver.document.Document;
 import eu.cloudnetservice.driver.event.EventManager;
 import eu.cloudnetservice.driver.event.events.service.CloudServiceLogEntryEvent;
+import eu.cloudnetservice.driver.jfr.ServicePrepareJfrEvent;
+import eu.cloudnetservice.driver.jfr.TemplateIOJfrEvent;
+import eu.cloudnetservice.driver.metrics.MetricRegistry;
 import eu.cloudnetservice.driver.network.HostAndPort;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
@@ -40,7 +42,9 @@
 import eu.cloudnetservice.driver.service.ServiceDeployment;
 import eu.cloudnetservice.driver.service.ServiceEnvironmentType;
 import eu.cloudnetservice.driver.service.ServiceId;
+import eu.cloudnetservice.driver.service.ServiceInfoInterest;
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.driver.service.ServiceInfoUpdateHeader;
 import eu.cloudnetservice.driver.service.ServiceLifeCycle;
 import eu.cloudnetservice.driver.service.ServiceRemoteInclusion;
 import eu.cloudnetservice.driver.service.ServiceTask;
@@ -55,31 +59,34 @@
 import eu.cloudnetservice.node.event.service.CloudServicePreLoadInclusionEvent;
 import eu.cloudnetservice.node.event.service.CloudServicePrePrepareEvent;
 import eu.cloudnetservice.node.event.service.CloudServiceTemplateLoadEvent;
+import eu.cloudnetservice.node.network.NodeChannelRoutingTable;
 import eu.cloudnetservice.node.service.CloudService;
 import eu.cloudnetservice.node.service.CloudServiceManager;
 import eu.cloudnetservice.node.service.ServiceConfigurationPreparer;
 import eu.cloudnetservice.node.service.ServiceConsoleLogCache;
+import eu.cloudnetservice.node.service.defaults.log.ServiceLogStream;
 import eu.cloudnetservice.node.version.ServiceVersionProvider;
 import java.net.Inet6Address;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiPredicate;
 import java.util.regex.Pattern;
-import kong.unirest.core.Unirest;
-import kong.unirest.core.UnirestException;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -90,7 +97,12 @@ public abstract class AbstractService implements CloudService {
   protected static final Logger LOGGER = LoggerFactory.getLogger(AbstractService.class);
 
   protected static final Path INCLUSION_TEMP_DIR = FileUtil.TEMP_DIR.resolve("inclusions");
+  private static final ServiceFileInstaller FILE_INSTALLER = new ServiceFileInstaller(
+    INCLUSION_TEMP_DIR,
+    Long.getLong("cloudnet.service.inclusion-cache-max-bytes", 512L * 1024 * 1024));
   protected static final Path WRAPPER_CONFIG_PATH = Path.of(".wrapper", "wrapper.json");
+  // sends each line as a separate message instead of streaming it, required for screens opened by older nodes
+  protected static final boolean LEGACY_SCREEN_LINES = Boolean.getBoolean("cloudnet.service.legacy-screen-lines");
   protected static final BiPredicate<String, Pattern> FILE_MATCHER_PREDICATE =
     (fileName, pattern) -> pattern.matcher(fileName).matches();
 
@@ -106,9 +118,13 @@ public abstract class AbstractService implements CloudService {
   protected final ServiceConfiguration serviceConfiguration;
   protected final ServiceVersionProvider serviceVersionProvider;
   protected final ServiceConfigurationPreparer serviceConfigurationPreparer;
+  protected final NodeChannelRoutingTable channelRoutingTable;
+  protected final ScheduledExecutorService taskScheduler;
 
   protected final Lock lifecycleLock = new ReentrantLock(true);
+  protected final Lock serviceInfoLock = new ReentrantLock();
   protected final Set<Tuple2<ChannelMessageTarget, String>> logTargets = ConcurrentHashMap.newKeySet();
+  protected final Map<Tuple2<ChannelMessageTarget, String>, ServiceLogStream> logStreams = new ConcurrentHashMap<>();
 
   protected final Queue<ServiceTemplate> waitingTemplates = new ConcurrentLinkedQueue<>();
   protected final Queue<ServiceDeployment> waitingDeployments = new ConcurrentLinkedQueue<>();
@@ -120,6 +136,8 @@ public abstract class AbstractService implements CloudService {
 
   protected volatile NetworkChannel networkChannel;
   protected volatile long connectionTimestamp = -1;
+  protected volatile CompletableFuture<Boolean> warmUpTask;
+  protected volatile ServiceInfoInterest serviceInfoInterest = ServiceInfoInterest.ALL;
 
   protected volatile ServiceInfoSnapshot lastServiceInfo;
   protected volatile ServiceInfoSnapshot currentServiceInfo;
@@ -132,7 +150,9 @@ protected AbstractService(
     @NonNull EventManager eventManager,
     @NonNull ServiceConsoleLogCache logCache,
     @NonNull ServiceVersionProvider versionProvider,
-    @NonNull ServiceConfigurationPreparer serviceConfigurationPreparer
+    @NonNull ServiceConfigurationPreparer serviceConfigurationPreparer,
+    @NonNull NodeChannelRoutingTable channelRoutingTable,
+    @NonNull ScheduledExecutorService taskScheduler
   ) {
     this.logCache = logCache;
     this.mainThread = tickLoop;
@@ -142,6 +162,8 @@ protected AbstractService(
     this.serviceConfiguration = configuration;
     this.serviceVersionProvider = versionProvider;
     this.serviceConfigurationPreparer = serviceConfigurationPreparer;
+    this.channelRoutingTable = channelRoutingTable;
+    this.taskScheduler = taskScheduler;
 
     this.connectionKey = StringUtil.generateRandomString(64);
     this.serviceDirectory = resolveServicePath(configuration.serviceId(), manager, configuration.staticService());
@@ -155,7 +177,8 @@ protected AbstractService(
       configuration,
       -1,
       ServiceLifeCycle.PREPARED,
-      configuration.propertyHolder().immutableCopy());
+      configuration.propertyHolder().immutableCopy(),
+      0);
     this.pushServiceInfoSnapshotUpdate(ServiceLifeCycle.PREPARED, false);
     this.initStandardServiceLogHandler();
 
@@ -264,7 +287,9 @@ protected void updateLifecycle(@NonNull ServiceLifeCycle lifeCycle, boolean swit
             // check if we can start the process now
             if (this.lifeCycle() == ServiceLifeCycle.PREPARED && this.canStartNow()) {
               this.prepareService();
+              var processPhase = this.beginPreparePhase();
               this.startProcess();
+              this.commitPreparePhase(processPhase, "process");
               // update the current service info
               this.pushServiceInfoSnapshotUpdate(ServiceLifeCycle.RUNNING);
               LOGGER.info(I18n.trans("cloudnet-service-post-start-message", this.serviceReplacement()));
@@ -283,6 +308,7 @@ protected void updateLifecycle(@NonNull ServiceLifeCycle lifeCycle, boolean swit
             } else if (this.lifeCycle() == ServiceLifeCycle.RUNNING) {
               this.stopProcess();
               this.doRemoveFilesAfterStop();
+              this.warmUpTask = null;
               // reset the service lifecycle to prepared
               this.pushServiceInfoSnapshotUpdate(ServiceLifeCycle.PREPARED);
             }
@@ -332,7 +358,7 @@ public void includeWaitingServiceTemplates() {
 
   @Override
   public void includeWaitingServiceTemplates(boolean force) {
-    this.waitingTemplates.stream()
+    var templates = this.waitingTemplates.stream()
       .filter(template -> {
         // always allow manual requests & non-static service copies
         if (force || !this.serviceConfiguration().staticService()) {
@@ -342,22 +368,24 @@ public void includeWaitingServiceTemplates(boolean force) {
         return template.alwaysCopyToStaticServices();
       })
       .sorted()
-      .forEachOrdered(template -> {
-        // remove the entry
-        this.waitingTemplates.remove(template);
-        // check if we should load the template
-        var storage = template.storage();
-        if (!this.eventManager.callEvent(new CloudServiceTemplateLoadEvent(this, storage, template)).cancelled()) {
-          // the event is not cancelled - copy the template
-          storage.pull(template, this.serviceDirectory);
-          // we've pulled the template
-          this.installedTemplates.add(template);
-        }
-      });
+      .toList();
+
+    // pull all templates concurrently, each template is pulled once the load event for it was called
+    var pulledTemplates = FILE_INSTALLER.pullTemplates(templates, this.serviceDirectory, template -> {
+      // remove the entry
+      this.waitingTemplates.remove(template);
+      // check if we should load the template
+      var storage = template.storage();
+      return !this.eventManager.callEvent(new CloudServiceTemplateLoadEvent(this, storage, template)).cancelled();
+    });
+    // all pulled templates count as installed, the same as when pulled sequentially
+    this.installedTemplates.addAll(pulledTemplates);
   }
 
   @Override
   public void includeWaitingServiceInclusions() {
+    Map<ServiceRemoteInclusion, CompletableFuture<Void>> downloads = new LinkedHashMap<>();
+
     ServiceRemoteInclusion inclusion;
     while ((inclusion = this.waitingRemoteInclusions.poll()) != null) {
       // check if we should load the inclusion
@@ -369,33 +397,67 @@ public void includeWaitingServiceInclusions() {
         var target = this.serviceDirectory.resolve(inclusion.destination());
         FileUtil.ensureChild(this.serviceDirectory, target);
 
-        try {
-          if (inclusion.cacheStrategy().equals(ServiceRemoteInclusion.KEEP_UNTIL_RESTART_STRATEGY)) {
-            // get a target path based on the download url
-            var encodedUrl = Hashing.murmur3_128().hashString(inclusion.url(), StandardCharsets.UTF_8).toString();
-            var destination = INCLUSION_TEMP_DIR.resolve(encodedUrl);
-            // download the file to the temp path if it does not exist
-            if (Files.notExists(destination)) {
-              this.downloadInclusionFile(inclusion, destination);
-            }
+        // start the download of the inclusion, all inclusions are downloaded concurrently
+        downloads.put(inclusion, FILE_INSTALLER.installInclusion(inclusion, target));
+      }
+    }
 
-            // copy the file from the temp path to the desired output path
-            FileUtil.copy(destination, target);
-          } else {
-            // download the file directly to the target path if caching is disabled
-            this.downloadInclusionFile(inclusion, target);
-          }
+    // wait for all downloads to complete
+    for (var entry : downloads.entrySet()) {
+      try {
+        entry.getValue().join();
+        // we've installed the inclusion successfully
+        this.installedInclusions.add(entry.getKey());
+      } catch (CompletionException exception) {
+        LOGGER.warn(
+          "Unable to download inclusion from {} to {}",
+          entry.getKey().url(),
+          entry.getKey().destination(),
+          exception.getCause());
+      }
+    }
+  }
 
-          // we've installed the inclusion successfully
-          this.installedInclusions.add(inclusion);
-        } catch (UnirestException exception) {
-          LOGGER.warn(
-            "Unable to download inclusion from {} to {}",
-            inclusion.url(),
-            target,
-            exception.getCause());
-        }
+  @Override
+  public boolean warmUp() {
+    CompletableFuture<Boolean> warmUpTask = new CompletableFuture<>();
+    try {
+      this.lifecycleLock.lock();
+      // only prepared services which weren't warmed up before can be warmed up
+      if (this.warmUpTask != null || this.lifeCycle() != ServiceLifeCycle.PREPARED) {
+        return false;
+      }
+      this.warmUpTask = warmUpTask;
+    } finally {
+      this.lifecycleLock.unlock();
+    }
+
+    // materialize the files without holding the lifecycle lock, only a start or delete of the service which happens
+    // while the service is warming up has to wait for the files
+    try {
+      this.materializeServiceFiles();
+      warmUpTask.complete(true);
+    } catch (RuntimeException exception) {
+      warmUpTask.complete(false);
+      throw exception;
+    }
+
+    try {
+      this.lifecycleLock.lock();
+      // the service was started or deleted while the files were materialized, it is no longer part of the pool
+      if (this.warmUpTask != warmUpTask || this.lifeCycle() != ServiceLifeCycle.PREPARED) {
+        return false;
       }
+
+      // mark the service as ready to be claimed from the warm pool & let the cluster know
+      var properties = this.currentServiceInfo.propertyHolder()
+        .mutableCopy()
+        .writeProperty(ServiceWarmPool.POOL_READY, true);
+      this.pushServiceInfoSnapshotUpdate(ServiceLifeCycle.PREPARED, properties, false);
+      this.publishServiceInfoSnapshot();
+      return true;
+    } finally {
+      this.lifecycleLock.unlock();
     }
   }
 
@@ -443,8 +505,16 @@ protected void doDelete() {
     this.removeAndExecuteDeployments();
     // remove the current directory if the service is not static
     if (!this.serviceConfiguration().staticService()) {
+      // the files of a running warm-up would be written into the deleted directory
+      var warmUpTask = this.warmUpTask;
+      if (warmUpTask != null) {
+        warmUpTask.join();
+      }
       FileUtil.delete(this.serviceDirectory);
     }
+    // close all log stream sessions, there will be no more lines
+    this.logStreams.values().forEach(ServiceLogStream::close);
+    this.logStreams.clear();
   }
 
   @Override
@@ -512,8 +582,11 @@ public void networkChannel(@Nullable NetworkChannel channel) {
     } else {
       this.connectionTimestamp = System.currentTimeMillis();
     }
-    // set the new channel
+    // set the new channel, the new connection has to declare its interest again
     this.networkChannel = channel;
+    this.serviceInfoInterest = ServiceInfoInterest.ALL;
+    // the service is now reachable through the new channel (or no longer reachable at all)
+    this.channelRoutingTable.invalidate();
     this.pushServiceInfoSnapshotUpdate(this.currentServiceInfo.lifeCycle(), false);
   }
 
@@ -522,13 +595,25 @@ public void networkChannel(@Nullable NetworkChannel channel) {
     return this.lastServiceInfo;
   }
 
+  @Override
+  public @NonNull ServiceInfoInterest serviceInfoInterest() {
+    return this.serviceInfoInterest;
+  }
+
+  @Override
+  public void serviceInfoInterest(@NonNull ServiceInfoInterest interest) {
+    this.serviceInfoInterest = interest;
+    // the services to which updates are routed changed
+    this.channelRoutingTable.invalidate();
+  }
+
   @Override
   public void publishServiceInfoSnapshot() {
     ChannelMessage.builder()
       .targetAll()
       .message("update_service_info")
       .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
-      .buffer(DataBuf.empty().writeObject(this.currentServiceInfo))
+      .buffer(ServiceInfoUpdateHeader.writeUpdate(this.currentServiceInfo))
       .build()
       .send();
   }
@@ -548,8 +633,23 @@ public void handleServiceRegister() {
 
   @Override
   public void updateServiceInfoSnapshot(@NonNull ServiceInfoSnapshot serviceInfoSnapshot) {
-    this.lastServiceInfo = this.currentServiceInfo;
-    this.currentServiceInfo = serviceInfoSnapshot;
+    this.serviceInfoLock.lock();
+    try {
+      // the version and lifecycle of the snapshot are assigned here, the snapshot might be created by the service
+      // itself which does not know about the updates made by the node in the meantime
+      this.lastServiceInfo = this.currentServiceInfo;
+      this.currentServiceInfo = new ServiceInfoSnapshot(
+        serviceInfoSnapshot.creationTime(),
+        serviceInfoSnapshot.address(),
+        serviceInfoSnapshot.processSnapshot(),
+        serviceInfoSnapshot.configuration(),
+        serviceInfoSnapshot.connectedTime(),
+        this.lastServiceInfo.lifeCycle(),
+        serviceInfoSnapshot.propertyHolder(),
+        this.lastServiceInfo.version() + 1);
+    } finally {
+      this.serviceInfoLock.unlock();
+    }
   }
 
   @Override
@@ -561,8 +661,22 @@ public void updateServiceInfoSnapshot(@NonNull ServiceInfoSnapshot serviceInfoSn
   public boolean toggleScreenEvents(@NonNull ChannelMessageSender channelMessageSender, @NonNull String channel) {
     var pair = new Tuple2<>(channelMessageSender.toTarget(), channel);
     if (this.logTargets.remove(pair)) {
+      // close the log stream session to the remote component, if any
+      var stream = this.logStreams.remove(pair);
+      if (stream != null) {
+        stream.close();
+      }
       return false;
     }
+
+    // remote components receive the log lines through a log stream session
+    if (!LEGACY_SCREEN_LINES && !pair.first().equals(ChannelMessageSender.self().toTarget())) {
+      this.logStreams.put(pair, ServiceLogStream.open(
+        pair.first(),
+        channel,
+        () -> this.currentServiceInfo,
+        this.taskScheduler));
+    }
     // this returns always true, just to inline it.
     return this.logTargets.add(pair);
   }
@@ -572,7 +686,9 @@ protected void executeDeployment(@NonNull ServiceDeployment deployment) {
     var storage = deployment.template().storage();
     if (!this.eventManager.callEvent(new CloudServiceDeploymentEvent(this, storage, deployment)).cancelled()) {
       // execute the deployment
-      storage.deployDirectory(deployment.template(), this.serviceDirectory, path -> {
+      var event = new TemplateIOJfrEvent();
+      event.begin();
+      event.success = storage.deployDirectory(deployment.template(), this.serviceDirectory, path -> {
         // normalize the name of the path
         var fileName = this.relativizePath(path);
 
@@ -586,6 +702,11 @@ protected void executeDeployment(@NonNull ServiceDeployment deployment) {
         var includes = deployment.includes();
         return includes.isEmpty() || includes.stream().anyMatch(input -> FILE_MATCHER_PREDICATE.test(fileName, input));
       });
+      if (event.shouldCommit()) {
+        event.template = deployment.template().toString();
+        event.operation = "deploy";
+        event.commit();
+      }
       // we've executed the deployment
       this.installedDeployments.add(deployment);
     }
@@ -629,17 +750,27 @@ protected void pushServiceInfoSnapshotUpdate(
     @Nullable Document properties,
     boolean sendUpdate
   ) {
-    // save the current service info
-    this.lastServiceInfo = this.currentServiceInfo;
-    // update the current info
-    this.currentServiceInfo = new ServiceInfoSnapshot(
-      this.lastServiceInfo.creationTime(),
-      this.lastServiceInfo.address(),
-      this.alive() ? this.lastServiceInfo.processSnapshot() : ProcessSnapshot.empty(),
-      this.lastServiceInfo.configuration(),
-      this.connectionTimestamp,
-      lifeCycle,
-      Objects.requireNonNullElse(properties, this.lastServiceInfo.propertyHolder()));
+    ServiceInfoSnapshot previousInfo;
+    ServiceInfoSnapshot updatedInfo;
+    this.serviceInfoLock.lock();
+    try {
+      // save the current service info
+      previousInfo = this.currentServiceInfo;
+      this.lastServiceInfo = previousInfo;
+      // update the current info
+      updatedInfo = new ServiceInfoSnapshot(
+        previousInfo.creationTime(),
+        previousInfo.address(),
+        this.alive() ? previousInfo.processSnapshot() : ProcessSnapshot.empty(),
+        previousInfo.configuration(),
+        this.connectionTimestamp,
+        lifeCycle,
+        Objects.requireNonNullElse(properties, previousInfo.propertyHolder()),
+        previousInfo.version() + 1);
+      this.currentServiceInfo = updatedInfo;
+    } finally {
+      this.serviceInfoLock.unlock();
+    }
     // remove the service in the local manager if the service was deleted
     if (lifeCycle == ServiceLifeCycle.DELETED) {
       this.cloudServiceManager.unregisterLocalService(this);
@@ -653,7 +784,7 @@ protected void pushServiceInfoSnapshotUpdate(
         .targetAll()
         .message("update_service_lifecycle")
         .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
-        .buffer(DataBuf.empty().writeObject(this.lastServiceInfo.lifeCycle()).writeObject(this.currentServiceInfo))
+        .buffer(DataBuf.empty().writeObject(previousInfo.lifeCycle()).writeObject(updatedInfo))
         .build()
         .send();
     }
@@ -688,30 +819,62 @@ protected boolean canStartNow() {
     return true;
   }
 
+  protected void leaveWarmPool() {
+    var snapshot = this.currentServiceInfo;
+    var claimed = ServiceWarmPool.poolMember(snapshot);
+    var properties = snapshot.propertyHolder();
+    if (!claimed && !properties.contains(ServiceWarmPool.POOL_READY.key())
+      && !properties.contains(ServiceWarmPool.POOL_CLAIMED.key())) {
+      // the service is not related to the warm pool at all
+      return;
+    }
+
+    // starting a pool member claims it from the pool, it must no longer be counted as a pool member when it returns
+    // into the prepared state later. the claimed marker is kept until the next start to record the claim
+    var configuration = snapshot.configuration();
+    if (claimed) {
+      configuration = ServiceConfiguration.builder(configuration)
+        .writeProperty(ServiceWarmPool.POOL_MEMBER, false)
+        .build();
+    }
+
+    var updatedProperties = properties.mutableCopy();
+    updatedProperties.removeProperty(ServiceWarmPool.POOL_READY);
+    if (claimed) {
+      updatedProperties.writeProperty(ServiceWarmPool.POOL_CLAIMED, true);
+    } else {
+      updatedProperties.removeProperty(ServiceWarmPool.POOL_CLAIMED);
+    }
+
+    this.updateServiceInfoSnapshot(new ServiceInfoSnapshot(
+      snapshot.creationTime(),
+      snapshot.address(),
+      snapshot.processSnapshot(),
+      configuration,
+      snapshot.connectedTime(),
+      snapshot.lifeCycle(),
+      updatedProperties));
+  }
+
   protected void prepareService() {
-    // initialize the service directory
-    var firstStartup = Files.notExists(this.serviceDirectory);
-    FileUtil.createDirectory(this.serviceDirectory);
-    FileUtil.createDirectory(this.pluginDirectory);
+    var prepareStartTime = System.nanoTime();
+    // materialize the service files, unless that already happened while the service was warming up. a service which
+    // is started while warming up waits for the warm-up instead of materializing the files concurrently
+    var warmUpTask = this.warmUpTask;
+    this.warmUpTask = null;
+    if (warmUpTask == null || !warmUpTask.join()) {
+      this.materializeServiceFiles();
+    }
+    this.leaveWarmPool();
 
     // load the ssl configuration if enabled
     var sslConfiguration = this.configuration.serverSSLConfig();
     var wrapperSslConfigDocument = this.prepareSslConfiguration(sslConfiguration);
 
-    // add all components
-    this.waitingTemplates.addAll(this.serviceConfiguration.templates());
-    this.waitingDeployments.addAll(this.serviceConfiguration.deployments());
-    this.waitingRemoteInclusions.addAll(this.serviceConfiguration.inclusions());
-
-    // initial service details are now ready, let the modules know that we're starting to prepare
-    this.eventManager.callEvent(new CloudServicePrePrepareEvent(this));
-
-    // load the inclusions
-    this.includeWaitingServiceInclusions();
-    // check if we should load the templates of the service
-    this.includeWaitingServiceTemplates(firstStartup);
     // update the service configuration
+    var configureEvent = this.beginPreparePhase();
     this.serviceConfigurationPreparer.configure(this);
+    this.commitPreparePhase(configureEvent, "configure");
     // write the configuration file for the service
     var listener = this.selectConnectListener(this.configuration.identity().listeners());
     Document.newJsonDocument()
@@ -723,6 +886,65 @@ protected void prepareService() {
       .writeTo(this.serviceDirectory.resolve(WRAPPER_CONFIG_PATH));
     // finished the prepare process
     this.eventManager.callEvent(new CloudServicePostPrepareEvent(this));
+    LOGGER.debug(
+      "Prepared service {} in {}ms",
+      this.serviceId().name(),
+      TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - prepareStartTime));
+  }
+
+  protected void materializeServiceFiles() {
+    // initialize the service directory
+    var firstStartup = Files.notExists(this.serviceDirectory);
+    FileUtil.createDirectory(this.serviceDirectory);
+    FileUtil.createDirectory(this.pluginDirectory);
+
+    // add all components
+    this.waitingTemplates.addAll(this.serviceConfiguration.templates());
+    this.waitingDeployments.addAll(this.serviceConfiguration.deployments());
+    this.waitingRemoteInclusions.addAll(this.serviceConfiguration.inclusions());
+
+    // initial service details are now ready, let the modules know that we're starting to prepare
+    this.eventManager.callEvent(new CloudServicePrePrepareEvent(this));
+
+    // load the inclusions
+    var inclusionStartTime = System.nanoTime();
+    var inclusionEvent = this.beginPreparePhase();
+    this.includeWaitingServiceInclusions();
+    this.commitPreparePhase(inclusionEvent, "inclusions");
+    // check if we should load the templates of the service
+    var templateStartTime = System.nanoTime();
+    var templateEvent = this.beginPreparePhase();
+    this.includeWaitingServiceTemplates(firstStartup);
+    this.commitPreparePhase(templateEvent, "templates");
+
+    var endTime = System.nanoTime();
+    LOGGER.debug(
+      "Installed files of service {} in {}ms (inclusions: {}ms, templates: {}ms)",
+      this.serviceId().name(),
+      TimeUnit.NANOSECONDS.toMillis(endTime - inclusionStartTime),
+      TimeUnit.NANOSECONDS.toMillis(templateStartTime - inclusionStartTime),
+      TimeUnit.NANOSECONDS.toMillis(endTime - templateStartTime));
+  }
+
+  protected @NonNull PreparePhase beginPreparePhase() {
+    var event = new ServicePrepareJfrEvent();
+    event.begin();
+    return new PreparePhase(event, System.nanoTime());
+  }
+
+  protected void commitPreparePhase(@NonNull PreparePhase preparePhase, @NonNull String phase) {
+    MetricRegistry.defaultRegistry().histogram(
+      "cloudnet_service_start_phase_seconds",
+      "The time it took to execute a phase of a service start",
+      "phase", phase
+    ).recordSince(preparePhase.startTime());
+
+    var event = preparePhase.event();
+    if (event.shouldCommit()) {
+      event.service = this.serviceId().name();
+      event.phase = phase;
+      event.commit();
+    }
   }
 
   protected @NonNull HostAndPort selectConnectListener(@NonNull List<HostAndPort> listeners) {
@@ -764,19 +986,6 @@ protected void prepareService() {
       .append("trustCertificatePath", relativeFilePath.toString());
   }
 
-  protected void downloadInclusionFile(@NonNull ServiceRemoteInclusion inclusion, @NonNull Path destination) {
-    // prepare the connection from which we load the inclusion
-    var request = Unirest.get(inclusion.url());
-    // put the given http headers
-    var headers = inclusion.readPropertyOrDefault(ServiceRemoteInclusion.HEADERS, Map.of());
-    for (var entry : headers.entrySet()) {
-      request.header(entry.getKey(), entry.getValue());
-    }
-
-    FileUtil.createDirectory(destination.getParent());
-    request.asFile(destination.toString(), StandardCopyOption.REPLACE_EXISTING);
-  }
-
   protected @NonNull Object[] serviceReplacement() {
     return new Object[]{
       this.serviceId().uniqueId(),
@@ -795,18 +1004,23 @@ protected void initStandardServiceLogHandler() {
             line,
             stderr ? CloudServiceLogEntryEvent.StreamType.STDERR : CloudServiceLogEntryEvent.StreamType.STDOUT));
         } else {
-          // the listener is listening remotely, send the line to the network component
-          ChannelMessage.builder()
-            .target(logTarget.first())
-            .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
-            .message("screen_new_line")
-            .buffer(DataBuf.empty()
-              .writeObject(this.currentServiceInfo)
-              .writeString(logTarget.second())
-              .writeString(line)
-              .writeBoolean(stderr))
-            .build()
-            .send();
+          // the listener is listening remotely, stream the line to the network component
+          var stream = this.logStreams.get(logTarget);
+          if (stream != null) {
+            stream.append(line, stderr);
+          } else {
+            ChannelMessage.builder()
+              .target(logTarget.first())
+              .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
+              .message("screen_new_line")
+              .buffer(DataBuf.empty()
+                .writeObject(this.currentServiceInfo)
+                .writeString(logTarget.second())
+                .writeString(line)
+                .writeBoolean(stderr))
+              .build()
+              .send();
+          }
         }
       }
     });
@@ -815,4 +1029,8 @@ protected void initStandardServiceLogHandler() {
   protected abstract void startProcess();
 
   protected abstract void stopProcess();
+
+  protected record PreparePhase(@NonNull ServicePrepareJfrEvent event, long startTime) {
+
+  }
 }
@@ -45,10 +45,12 @@
 import eu.cloudnetservice.node.cluster.sync.DataSyncHandler;
 import eu.cloudnetservice.node.cluster.sync.DataSyncRegistry;
 import eu.cloudnetservice.node.event.service.CloudServicePreForceStopEvent;
+import eu.cloudnetservice.node.network.NodeChannelRoutingTable;
 import eu.cloudnetservice.node.service.CloudService;
 import eu.cloudnetservice.node.service.CloudServiceManager;
 import eu.cloudnetservice.node.service.LocalCloudServiceFactory;
 import eu.cloudnetservice.node.service.ServiceConfigurationPreparer;
+import eu.cloudnetservice.node.service.ServicePortAllocator;
 import eu.cloudnetservice.node.service.defaults.config.BungeeConfigurationPreparer;
 import eu.cloudnetservice.node.service.defaults.config.LimboLoohpServiceConfigurationPreparer;
 import eu.cloudnetservice.node.service.defaults.config.NukkitConfigurationPreparer;
@@ -102,6 +104,7 @@ public class DefaultCloudServiceManager implements CloudServiceManager {
   protected final Collection<String> defaultJvmOptions;
   protected final NodeServerProvider nodeServerProvider;
   protected final CloudServiceFactory cloudServiceFactory;
+  protected final NodeChannelRoutingTable channelRoutingTable;
   protected final RPCImplementationBuilder.InstanceAllocator<? extends SpecificCloudServiceProvider> specificProviderAllocator;
 
   protected final Map<UUID, SpecificCloudServiceProvider> knownServices = new ConcurrentHashMap<>();
@@ -109,6 +112,7 @@ public class DefaultCloudServiceManager implements CloudServiceManager {
     .expireAfterWrite(Duration.ofMinutes(1))
     .build();
 
+  protected final ServicePortAllocator portAllocator = new ServicePortAllocator();
   protected final Map<String, LocalCloudServiceFactory> cloudServiceFactories = new ConcurrentHashMap<>();
   protected final Map<ServiceEnvironmentType, ServiceConfigurationPreparer> preparers = new ConcurrentHashMap<>();
 
@@ -121,10 +125,12 @@ public DefaultCloudServiceManager(
     @NonNull RPCHandlerRegistry handlerRegistry,
     @NonNull NodeServerProvider nodeServerProvider,
     @NonNull CloudServiceFactory cloudServiceFactory,
+    @NonNull NodeChannelRoutingTable channelRoutingTable,
     @NonNull @jakarta.inject.Named("consoleArgs") List<String> args
   ) {
     this.nodeServerProvider = nodeServerProvider;
     this.cloudServiceFactory = cloudServiceFactory;
+    this.channelRoutingTable = channelRoutingTable;
     this.defaultJvmOptions = Arrays.asList(args.remove(0).split(";;"));
 
     // init rpc
@@ -449,14 +455,28 @@ public int currentReservedMemory() {
       }).orElse(null);
   }
 
+  @Override
+  public @NonNull ServicePortAllocator portAllocator() {
+    return this.portAllocator;
+  }
+
   @Override
   public void registerLocalService(@NonNull CloudService service) {
-    this.knownServices.putIfAbsent(service.serviceId().uniqueId(), service);
+    if (this.knownServices.putIfAbsent(service.serviceId().uniqueId(), service) == null) {
+      // the port of the service is now in use, convert the lease into a reservation
+      var address = service.serviceInfo().address();
+      this.portAllocator.reserve(address.host(), address.port());
+      this.channelRoutingTable.invalidate();
+    }
   }
 
   @Override
   public void unregisterLocalService(@NonNull CloudService service) {
-    this.knownServices.remove(service.serviceId().uniqueId());
+    if (this.knownServices.remove(service.serviceId().uniqueId()) != null) {
+      var address = service.serviceInfo().address();
+      this.portAllocator.release(address.host(), address.port());
+      this.channelRoutingTable.invalidate();
+    }
   }
 
   @Override
@@ -473,7 +493,9 @@ public void registerUnacceptedService(@NonNull CloudService service) {
 
   @Override
   public void forceRemoveRegisteredService(@NonNull UUID uniqueId) {
-    this.knownServices.remove(uniqueId);
+    if (this.knownServices.remove(uniqueId) != null) {
+      this.channelRoutingTable.invalidate();
+    }
   }
 
   @Override
@@ -497,14 +519,20 @@ public void forceRemoveRegisteredService(@NonNull UUID uniqueId) {
 
     // register the service and return the new provider, unless some other thread registered the service
     var knownProvider = this.knownServices.putIfAbsent(serviceUniqueId, serviceProvider);
-    return knownProvider == null ? serviceProvider : null;
+    if (knownProvider == null) {
+      this.channelRoutingTable.invalidate();
+      return serviceProvider;
+    }
+    return null;
   }
 
   @Override
   public void handleServiceUpdate(@NonNull ServiceInfoSnapshot snapshot, @Nullable NetworkChannel source) {
     // deleted services were removed on the other node - remove it here too
     if (snapshot.lifeCycle() == ServiceLifeCycle.DELETED) {
-      this.knownServices.remove(snapshot.serviceId().uniqueId());
+      if (this.knownServices.remove(snapshot.serviceId().uniqueId()) != null) {
+        this.channelRoutingTable.invalidate();
+      }
       LOGGER.debug("Deleted cloud service {} after lifecycle change to deleted", snapshot.serviceId());
     } else {
       // register the service if the provider is available
@@ -568,10 +596,12 @@ public void handleServiceUpdate(@NonNull ServiceInfoSnapshot snapshot, @Nullable
       })
       .filter(Objects::nonNull)
       .min((left, right) -> {
-        // begin by comparing the heap memory usage
-        var chain = ComparisonChain.start().compare(
-          left.second().nodeInfoSnapshot().memoryUsagePercentage(),
-          right.second().nodeInfoSnapshot().memoryUsagePercentage());
+        // begin by preferring services which are already warmed up in the pool, then compare the heap memory usage
+        var chain = ComparisonChain.start()
+          .compareTrueFirst(ServiceWarmPool.readyPoolMember(left.first()), ServiceWarmPool.readyPoolMember(right.first()))
+          .compare(
+            left.second().nodeInfoSnapshot().memoryUsagePercentage(),
+            right.second().nodeInfoSnapshot().memoryUsagePercentage());
         // only include the cpu usage if both nodes can provide a value
         if (left.second().nodeInfoSnapshot().processSnapshot().systemCpuUsage() >= 0
           && right.second().nodeInfoSnapshot().processSnapshot().systemCpuUsage() >= 0) {
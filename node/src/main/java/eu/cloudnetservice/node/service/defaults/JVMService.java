@@ -30,6 +30,7 @@
 import eu.cloudnetservice.node.config.Configuration;
 import eu.cloudnetservice.node.event.service.CloudServicePostProcessStartEvent;
 import eu.cloudnetservice.node.event.service.CloudServicePreProcessStartEvent;
+import eu.cloudnetservice.node.network.NodeChannelRoutingTable;
 import eu.cloudnetservice.node.service.CloudServiceManager;
 import eu.cloudnetservice.node.service.ServiceConfigurationPreparer;
 import eu.cloudnetservice.node.service.ServiceConsoleLogCache;
@@ -46,6 +47,7 @@
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.jar.Attributes;
 import java.util.jar.JarFile;
@@ -80,7 +82,9 @@ public JVMService(
     @NonNull CloudServiceManager manager,
     @NonNull EventManager eventManager,
     @NonNull ServiceVersionProvider versionProvider,
-    @NonNull ServiceConfigurationPreparer serviceConfigurationPreparer
+    @NonNull ServiceConfigurationPreparer serviceConfigurationPreparer,
+    @NonNull NodeChannelRoutingTable channelRoutingTable,
+    @NonNull ScheduledExecutorService taskScheduler
   ) {
     var logCache = new ProcessServiceLogCache(nodeConfig, configuration.serviceId());
     this(
@@ -91,7 +95,9 @@ public JVMService(
       eventManager,
       logCache,
       versionProvider,
-      serviceConfigurationPreparer);
+      serviceConfigurationPreparer,
+      channelRoutingTable,
+      taskScheduler);
   }
 
   protected JVMService(
@@ -102,7 +108,9 @@ protected JVMService(
     @NonNull EventManager eventManager,
     @NonNull ServiceConsoleLogCache logCache,
     @NonNull ServiceVersionProvider versionProvider,
-    @NonNull ServiceConfigurationPreparer serviceConfigurationPreparer
+    @NonNull ServiceConfigurationPreparer serviceConfigurationPreparer,
+    @NonNull NodeChannelRoutingTable channelRoutingTable,
+    @NonNull ScheduledExecutorService taskScheduler
   ) {
     super(
       tickLoop,
@@ -112,7 +120,9 @@ protected JVMService(
       eventManager,
       logCache,
       versionProvider,
-      serviceConfigurationPreparer);
+      serviceConfigurationPreparer,
+      channelRoutingTable,
+      taskScheduler);
   }
 
   @Override
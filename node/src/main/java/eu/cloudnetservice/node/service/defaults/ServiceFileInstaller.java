@@ -0,0 +1,342 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.defaults;
+
+import com.google.common.hash.Hashing;
+import eu.cloudnetservice.common.concurrent.TaskUtil;
+import eu.cloudnetservice.common.io.FileUtil;
+import eu.cloudnetservice.driver.jfr.TemplateIOJfrEvent;
+import eu.cloudnetservice.driver.metrics.Histogram;
+import eu.cloudnetservice.driver.metrics.MetricRegistry;
+import eu.cloudnetservice.driver.service.ServiceRemoteInclusion;
+import eu.cloudnetservice.driver.service.ServiceTemplate;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import kong.unirest.core.Unirest;
+import kong.unirest.core.UnirestException;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Installs the inclusions and templates of services concurrently. The amount of concurrent inclusion downloads and
+ * template pulls is bounded and shared between all services of the node.
+ * <p>
+ * Inclusions with the keep until restart strategy are cached by their url and request headers, the cached file is
+ * revalidated using the ETag returned by the remote server. The cache is bounded in size, the least recently used
+ * entries are removed once the bound is exceeded. Concurrent requests for the same cached inclusion are joined into a
+ * single download. All other inclusions are downloaded on each installation. Templates are pulled in parallel into
+ * staging directories which are then merged into the service directory in template priority order, which keeps the
+ * override semantics of sequential pulls intact.
+ */
+final class ServiceFileInstaller {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ServiceFileInstaller.class);
+
+  private static final Path TEMPLATE_STAGING_DIR = FileUtil.TEMP_DIR.resolve("template-staging");
+  private static final int DOWNLOAD_PARALLELISM = Integer.getInteger("cloudnet.service.inclusion-parallelism", 4);
+  private static final int TEMPLATE_PARALLELISM = Integer.getInteger("cloudnet.service.template-parallelism", 4);
+  // cache entries which were used recently are never removed, they might still be copied into a service
+  private static final long MIN_CACHE_ENTRY_AGE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+  private static final Histogram INCLUSION_DOWNLOADS = MetricRegistry.defaultRegistry().histogram(
+    "cloudnet_service_inclusion_download_seconds",
+    "The time it took to download (or revalidate) a service inclusion");
+  private static final Histogram TEMPLATE_PULLS = MetricRegistry.defaultRegistry().histogram(
+    "cloudnet_service_template_pull_seconds",
+    "The time it took to pull a template into a service or staging directory");
+
+  private final Path inclusionCacheDirectory;
+  private final long maxInclusionCacheBytes;
+  private final Object cacheTrimLock = new Object();
+  private final Semaphore downloadPermits = new Semaphore(DOWNLOAD_PARALLELISM);
+  private final Semaphore templatePullPermits = new Semaphore(TEMPLATE_PARALLELISM);
+  private final Map<String, CompletableFuture<Path>> runningDownloads = new ConcurrentHashMap<>();
+
+  public ServiceFileInstaller(@NonNull Path inclusionCacheDirectory, long maxInclusionCacheBytes) {
+    this.inclusionCacheDirectory = inclusionCacheDirectory;
+    this.maxInclusionCacheBytes = maxInclusionCacheBytes;
+  }
+
+  public @NonNull CompletableFuture<Void> installInclusion(
+    @NonNull ServiceRemoteInclusion inclusion,
+    @NonNull Path target
+  ) {
+    return TaskUtil.runVirtualAsync(() -> {
+      if (inclusion.cacheStrategy().equals(ServiceRemoteInclusion.KEEP_UNTIL_RESTART_STRATEGY)) {
+        FileUtil.copy(this.fetchInclusion(inclusion), target);
+      } else {
+        // the inclusion should not be cached, download it directly to the target
+        this.downloadInclusion(inclusion, target, null);
+      }
+    });
+  }
+
+  public @NonNull List<ServiceTemplate> pullTemplates(
+    @NonNull List<ServiceTemplate> templates,
+    @NonNull Path serviceDirectory,
+    @NonNull Predicate<ServiceTemplate> loadFilter
+  ) {
+    List<ServiceTemplate> pulledTemplates = new ArrayList<>(templates.size());
+    List<CompletableFuture<Boolean>> pulls = new ArrayList<>(templates.size());
+    var stagingRoot = TEMPLATE_STAGING_DIR.resolve(UUID.randomUUID().toString());
+    try {
+      // check the templates in priority order and start the pull of each template once it should be loaded. the first
+      // template can be pulled directly into the service directory as all other templates are merged on top of it, all
+      // others are pulled into their own staging directory
+      for (var template : templates) {
+        if (loadFilter.test(template)) {
+          var index = pulledTemplates.size();
+          var target = index == 0 ? serviceDirectory : stagingRoot.resolve(Integer.toString(index));
+          pulledTemplates.add(template);
+          pulls.add(TaskUtil.supplyVirtualAsync(() -> this.pullTemplate(template, target)));
+        }
+      }
+
+      // merge the staging directories in priority order, later templates override files of the earlier ones
+      for (var index = 0; index < pulledTemplates.size(); index++) {
+        var template = pulledTemplates.get(index);
+        if (pulls.get(index).exceptionally(throwable -> {
+          LOGGER.error("Unable to pull template {} into {}", template, serviceDirectory, throwable);
+          return false;
+        }).join() && index != 0) {
+          this.mergeStagingDirectory(stagingRoot.resolve(Integer.toString(index)), serviceDirectory);
+        }
+      }
+    } finally {
+      FileUtil.delete(stagingRoot);
+    }
+
+    return pulledTemplates;
+  }
+
+  private boolean pullTemplate(@NonNull ServiceTemplate template, @NonNull Path target) {
+    this.templatePullPermits.acquireUninterruptibly();
+    var event = new TemplateIOJfrEvent();
+    var pullStartTime = System.nanoTime();
+    try {
+      event.begin();
+      FileUtil.createDirectory(target);
+      var pulled = template.storage().pull(template, target);
+      event.success = pulled;
+      return pulled;
+    } finally {
+      this.templatePullPermits.release();
+      TEMPLATE_PULLS.recordSince(pullStartTime);
+      if (event.shouldCommit()) {
+        event.template = template.toString();
+        event.operation = "pull";
+        event.commit();
+      }
+    }
+  }
+
+  private void mergeStagingDirectory(@NonNull Path stagingDirectory, @NonNull Path serviceDirectory) {
+    if (Files.notExists(stagingDirectory)) {
+      return;
+    }
+
+    FileUtil.walkFileTree(stagingDirectory, (_, current) -> {
+      var target = serviceDirectory.resolve(stagingDirectory.relativize(current).toString());
+      if (Files.isDirectory(current)) {
+        // directories are visited after their content, this keeps the empty directories of the template
+        FileUtil.createDirectory(target);
+      } else {
+        // moving is much cheaper than copying as the staging directory is on the same file system in most cases
+        FileUtil.createDirectory(target.getParent());
+        FileUtil.move(current, target, StandardCopyOption.REPLACE_EXISTING);
+      }
+    }, true);
+  }
+
+  static @NonNull String cacheKey(@NonNull ServiceRemoteInclusion inclusion) {
+    // the headers are part of the key as they might select the content, for example by authorizing the request
+    var hasher = Hashing.murmur3_128().newHasher().putString(inclusion.url(), StandardCharsets.UTF_8);
+    var headers = new TreeMap<>(inclusion.readPropertyOrDefault(ServiceRemoteInclusion.HEADERS, Map.of()));
+    for (var entry : headers.entrySet()) {
+      hasher
+        .putChar('\0')
+        .putString(entry.getKey(), StandardCharsets.UTF_8)
+        .putChar('\0')
+        .putString(entry.getValue(), StandardCharsets.UTF_8);
+    }
+    return hasher.hash().toString();
+  }
+
+  private @NonNull Path fetchInclusion(@NonNull ServiceRemoteInclusion inclusion) {
+    var cacheKey = cacheKey(inclusion);
+    var cachedFile = this.inclusionCacheDirectory.resolve(cacheKey);
+    var etagFile = this.inclusionCacheDirectory.resolve(cacheKey + ".etag");
+
+    // join the download of the same inclusion if one is already running
+    var download = this.runningDownloads.computeIfAbsent(
+      cacheKey,
+      _ -> TaskUtil.supplyVirtualAsync(() -> this.revalidateInclusion(inclusion, cachedFile, etagFile)));
+    try {
+      return download.join();
+    } finally {
+      if (this.runningDownloads.remove(cacheKey, download)) {
+        this.trimInclusionCache();
+      }
+    }
+  }
+
+  private void markCacheEntryUsed(@NonNull Path cachedFile) {
+    try {
+      Files.setLastModifiedTime(cachedFile, FileTime.fromMillis(System.currentTimeMillis()));
+    } catch (IOException exception) {
+      LOGGER.debug("Unable to update last usage of cached inclusion {}", cachedFile, exception);
+    }
+  }
+
+  void trimInclusionCache() {
+    synchronized (this.cacheTrimLock) {
+      // cache entries are named by the hash of their url and headers, etag and temporary download files contain a dot
+      List<CacheEntry> entries = new ArrayList<>();
+      try (var files = Files.list(this.inclusionCacheDirectory)) {
+        for (var file : (Iterable<Path>) files::iterator) {
+          if (file.getFileName().toString().indexOf('.') == -1 && Files.isRegularFile(file)) {
+            entries.add(new CacheEntry(file, Files.size(file), Files.getLastModifiedTime(file).toMillis()));
+          }
+        }
+      } catch (NoSuchFileException exception) {
+        return;
+      } catch (IOException exception) {
+        LOGGER.debug("Unable to list cached inclusions in {}", this.inclusionCacheDirectory, exception);
+        return;
+      }
+
+      var cacheSize = entries.stream().mapToLong(CacheEntry::size).sum();
+      if (cacheSize <= this.maxInclusionCacheBytes) {
+        return;
+      }
+
+      // remove the least recently used entries first, skipping the entries which are in use
+      entries.sort(Comparator.comparingLong(CacheEntry::lastUsed));
+      var minLastUsed = System.currentTimeMillis() - MIN_CACHE_ENTRY_AGE_MILLIS;
+      for (var entry : entries) {
+        if (cacheSize <= this.maxInclusionCacheBytes) {
+          break;
+        }
+
+        var cacheKey = entry.file().getFileName().toString();
+        if (entry.lastUsed() < minLastUsed && !this.runningDownloads.containsKey(cacheKey)) {
+          FileUtil.delete(entry.file());
+          FileUtil.delete(entry.file().resolveSibling(cacheKey + ".etag"));
+          cacheSize -= entry.size();
+        }
+      }
+    }
+  }
+
+  private @NonNull Path revalidateInclusion(
+    @NonNull ServiceRemoteInclusion inclusion,
+    @NonNull Path cachedFile,
+    @NonNull Path etagFile
+  ) {
+    try {
+      return this.downloadInclusion(inclusion, cachedFile, etagFile);
+    } catch (RuntimeException exception) {
+      // the inclusion should be kept until the node restarts, use the cached file if the remote is not available
+      if (Files.exists(cachedFile)) {
+        LOGGER.debug("Unable to revalidate inclusion {}, using the cached file", inclusion.url(), exception);
+        this.markCacheEntryUsed(cachedFile);
+        return cachedFile;
+      }
+      throw exception;
+    }
+  }
+
+  private @NonNull Path downloadInclusion(
+    @NonNull ServiceRemoteInclusion inclusion,
+    @NonNull Path targetFile,
+    @Nullable Path etagFile
+  ) {
+    this.downloadPermits.acquireUninterruptibly();
+    var downloadStartTime = System.nanoTime();
+    try {
+      // prepare the connection from which we load the inclusion
+      var request = Unirest.get(inclusion.url());
+      // put the given http headers
+      var headers = inclusion.readPropertyOrDefault(ServiceRemoteInclusion.HEADERS, Map.of());
+      for (var entry : headers.entrySet()) {
+        request.header(entry.getKey(), entry.getValue());
+      }
+
+      // only download the file if it changed since the last download
+      if (etagFile != null && Files.exists(targetFile) && Files.exists(etagFile)) {
+        request.header("If-None-Match", Files.readString(etagFile));
+      }
+
+      FileUtil.createDirectory(targetFile.getParent());
+      var tempFile = targetFile.resolveSibling(targetFile.getFileName() + "." + UUID.randomUUID());
+      var response = request.asFile(tempFile.toString(), StandardCopyOption.REPLACE_EXISTING);
+
+      // the cached file is still up-to-date
+      if (etagFile != null && response.getStatus() == 304) {
+        FileUtil.delete(tempFile);
+        this.markCacheEntryUsed(targetFile);
+        return targetFile;
+      }
+
+      if (!response.isSuccess()) {
+        FileUtil.delete(tempFile);
+        throw new UnirestException("Unexpected response status " + response.getStatus() + " from " + inclusion.url());
+      }
+
+      // move the file to the target and remember the etag for the next download (if given)
+      FileUtil.move(tempFile, targetFile, StandardCopyOption.REPLACE_EXISTING);
+      if (etagFile != null) {
+        var etag = response.getHeaders().getFirst("ETag");
+        if (etag == null || etag.isBlank()) {
+          FileUtil.delete(etagFile);
+        } else {
+          Files.writeString(etagFile, etag);
+        }
+      }
+
+      return targetFile;
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    } finally {
+      this.downloadPermits.release();
+      INCLUSION_DOWNLOADS.recordSince(downloadStartTime);
+    }
+  }
+
+  private record CacheEntry(@NonNull Path file, long size, long lastUsed) {
+
+  }
+}
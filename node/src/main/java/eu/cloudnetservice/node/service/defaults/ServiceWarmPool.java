@@ -0,0 +1,285 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.defaults;
+
+import eu.cloudnetservice.driver.document.property.DocProperty;
+import eu.cloudnetservice.driver.event.EventListener;
+import eu.cloudnetservice.driver.event.EventManager;
+import eu.cloudnetservice.driver.event.events.service.CloudServiceLifecycleChangeEvent;
+import eu.cloudnetservice.driver.provider.CloudServiceFactory;
+import eu.cloudnetservice.driver.provider.ServiceTaskProvider;
+import eu.cloudnetservice.driver.service.ServiceConfiguration;
+import eu.cloudnetservice.driver.service.ServiceCreateResult;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.driver.service.ServiceLifeCycle;
+import eu.cloudnetservice.driver.service.ServiceTask;
+import eu.cloudnetservice.node.TickLoop;
+import eu.cloudnetservice.node.cluster.NodeServerProvider;
+import eu.cloudnetservice.node.event.service.CloudServiceCreateEvent;
+import eu.cloudnetservice.node.event.service.CloudServicePostLifecycleEvent;
+import eu.cloudnetservice.node.service.CloudServiceManager;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps a configurable amount of fully prepared services per task around, so that a start request can claim a service
+ * which already has all templates and inclusions installed instead of creating and preparing one on demand.
+ * <p>
+ * The head node creates the pool members based on the {@link #POOL_SIZE} property of a task. The node which picks up
+ * the pool member warms it up in the background and marks it as {@link #POOL_READY} in the service properties once all
+ * files are materialized. {@link DefaultCloudServiceManager#selectOrCreateService(ServiceTask)} prefers ready pool
+ * members over all other prepared services, starting the service therefore claims it from the pool.
+ *
+ * @since 4.0
+ */
+@Singleton
+public final class ServiceWarmPool {
+
+  /**
+   * The task property holding the amount of services which should be kept warm for the task, 0 disables the pool.
+   */
+  public static final DocProperty<Integer> POOL_SIZE = DocProperty.property("warmPoolSize", Integer.class)
+    .withDefault(0);
+  /**
+   * The service property which marks a service as a member of the warm pool of its task.
+   */
+  public static final DocProperty<Boolean> POOL_MEMBER = DocProperty.property("warmPoolMember", Boolean.class)
+    .withDefault(false);
+  /**
+   * The service property which is set once a pool member has all of its files materialized and is ready to be claimed.
+   */
+  public static final DocProperty<Boolean> POOL_READY = DocProperty.property("warmPoolReady", Boolean.class)
+    .withDefault(false);
+  /**
+   * The service property which is set when a service was started by claiming it from the warm pool. The pool member
+   * marker is removed from the service configuration when it is claimed, a claimed service is no longer a pool member.
+   */
+  public static final DocProperty<Boolean> POOL_CLAIMED = DocProperty.property("warmPoolClaimed", Boolean.class)
+    .withDefault(false);
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ServiceWarmPool.class);
+  // the amount of services which are warmed up at the same time, each warm-up downloads all files of a service
+  private static final int WARM_UP_THREADS = Integer.getInteger("cloudnet.service.warm-pool.warm-up-threads", 2);
+
+  private final TickLoop mainThread;
+  private final EventManager eventManager;
+  private final ServiceTaskProvider taskProvider;
+  private final CloudServiceManager serviceManager;
+  private final CloudServiceFactory serviceFactory;
+  private final NodeServerProvider nodeServerProvider;
+
+  private final AtomicBoolean started = new AtomicBoolean();
+  private final Map<String, TaskPool> taskPools = new ConcurrentHashMap<>();
+
+  private final AtomicLong warmUps = new AtomicLong();
+  private final AtomicLong failedWarmUps = new AtomicLong();
+  private final AtomicLong totalWarmUpMillis = new AtomicLong();
+
+  private volatile ExecutorService warmUpExecutor;
+  private volatile CompletableFuture<Void> refillTask;
+
+  @Inject
+  public ServiceWarmPool(
+    @NonNull TickLoop mainThread,
+    @NonNull EventManager eventManager,
+    @NonNull ServiceTaskProvider taskProvider,
+    @NonNull CloudServiceManager serviceManager,
+    @NonNull CloudServiceFactory serviceFactory,
+    @NonNull NodeServerProvider nodeServerProvider
+  ) {
+    this.mainThread = mainThread;
+    this.eventManager = eventManager;
+    this.taskProvider = taskProvider;
+    this.serviceManager = serviceManager;
+    this.serviceFactory = serviceFactory;
+    this.nodeServerProvider = nodeServerProvider;
+  }
+
+  public static boolean poolMember(@NonNull ServiceInfoSnapshot snapshot) {
+    return snapshot.configuration().readProperty(POOL_MEMBER);
+  }
+
+  public static boolean readyPoolMember(@NonNull ServiceInfoSnapshot snapshot) {
+    return snapshot.lifeCycle() == ServiceLifeCycle.PREPARED
+      && poolMember(snapshot)
+      && snapshot.readProperty(POOL_READY);
+  }
+
+  public void start() {
+    if (this.started.compareAndSet(false, true)) {
+      this.warmUpExecutor = Executors.newFixedThreadPool(
+        WARM_UP_THREADS,
+        Thread.ofPlatform().daemon().name("service-warm-pool-", 0).factory());
+      this.eventManager.registerListener(this);
+      // refill the pools once per second, the same rate the task min service count is checked
+      this.refillTask = this.mainThread.scheduleTask(() -> {
+        this.refillPools();
+        return null;
+      }, TickLoop.TPS);
+    }
+  }
+
+  public void stop() {
+    if (this.started.compareAndSet(true, false)) {
+      this.eventManager.unregisterListener(this);
+      this.refillTask.cancel(false);
+      this.warmUpExecutor.shutdownNow();
+    }
+  }
+
+  public @NonNull PoolMetrics metrics(@NonNull ServiceTask task) {
+    var pool = this.taskPools.get(task.name());
+    var pooled = 0;
+    var ready = 0;
+    for (var service : this.serviceManager.servicesByTask(task.name())) {
+      if (service.lifeCycle() == ServiceLifeCycle.PREPARED && poolMember(service)) {
+        pooled++;
+        if (service.readProperty(POOL_READY)) {
+          ready++;
+        }
+      }
+    }
+
+    return new PoolMetrics(
+      task.readProperty(POOL_SIZE),
+      pooled,
+      ready,
+      pool == null ? 0 : pool.claims.get(),
+      pool == null ? 0 : pool.misses.get());
+  }
+
+  public long completedWarmUps() {
+    return this.warmUps.get();
+  }
+
+  public long failedWarmUps() {
+    return this.failedWarmUps.get();
+  }
+
+  public long averageWarmUpMillis() {
+    var warmUps = this.warmUps.get();
+    return warmUps == 0 ? 0 : this.totalWarmUpMillis.get() / warmUps;
+  }
+
+  @EventListener
+  public void handleLocalServiceCreate(@NonNull CloudServiceCreateEvent event) {
+    // only warm up services which were created to be a pool member
+    var service = event.service();
+    if (!poolMember(service.serviceInfo())) {
+      return;
+    }
+
+    this.warmUpExecutor.execute(() -> {
+      var startTime = System.currentTimeMillis();
+      try {
+        if (service.warmUp()) {
+          this.warmUps.incrementAndGet();
+          this.totalWarmUpMillis.addAndGet(System.currentTimeMillis() - startTime);
+          LOGGER.debug("Warmed up pooled service {}", service.serviceId().name());
+        }
+      } catch (Exception exception) {
+        this.failedWarmUps.incrementAndGet();
+        LOGGER.warn("Unable to warm up pooled service {}", service.serviceId().name(), exception);
+      }
+    });
+  }
+
+  @EventListener
+  public void handleLocalLifecycleChange(@NonNull CloudServicePostLifecycleEvent event) {
+    this.recordServiceStart(event.serviceInfo(), event.newLifeCycle());
+  }
+
+  @EventListener
+  public void handleRemoteLifecycleChange(@NonNull CloudServiceLifecycleChangeEvent event) {
+    this.recordServiceStart(event.serviceInfo(), event.newLifeCycle());
+  }
+
+  private void recordServiceStart(@NonNull ServiceInfoSnapshot snapshot, @NonNull ServiceLifeCycle lifeCycle) {
+    if (lifeCycle != ServiceLifeCycle.RUNNING) {
+      return;
+    }
+
+    // only record starts of tasks that have a pool configured
+    var pool = this.taskPools.get(snapshot.serviceId().taskName());
+    if (pool != null) {
+      if (snapshot.readProperty(POOL_CLAIMED)) {
+        pool.claims.incrementAndGet();
+      } else {
+        pool.misses.incrementAndGet();
+      }
+    }
+  }
+
+  void refillPools() {
+    // only the head node is allowed to create services
+    if (!this.nodeServerProvider.localNode().head()) {
+      return;
+    }
+
+    for (var task : this.taskProvider.serviceTasks()) {
+      int poolSize = task.readProperty(POOL_SIZE);
+      if (poolSize <= 0) {
+        this.taskPools.remove(task.name());
+        continue;
+      }
+
+      var pool = this.taskPools.computeIfAbsent(task.name(), _ -> new TaskPool());
+      if (task.maintenance() || pool.pendingCreations.get() > 0) {
+        continue;
+      }
+
+      // count the prepared pool members of the task, claimed members are no longer prepared
+      var pooledServices = this.serviceManager.servicesByTask(task.name()).stream()
+        .filter(service -> service.lifeCycle() == ServiceLifeCycle.PREPARED)
+        .filter(ServiceWarmPool::poolMember)
+        .count();
+      if (pooledServices < poolSize) {
+        // create only one pool member per task and tick, the same way the min service count is handled
+        pool.pendingCreations.incrementAndGet();
+        var configuration = ServiceConfiguration.builder(task).writeProperty(POOL_MEMBER, true).build();
+        this.serviceFactory.createCloudServiceAsync(configuration).whenComplete((result, throwable) -> {
+          pool.pendingCreations.decrementAndGet();
+          if (throwable != null || result.state() != ServiceCreateResult.State.CREATED) {
+            LOGGER.debug("Unable to create warm pool service for task {}", task.name(), throwable);
+          }
+        });
+      }
+    }
+  }
+
+  public record PoolMetrics(int targetSize, int pooled, int ready, long claims, long misses) {
+
+  }
+
+  private static final class TaskPool {
+
+    private final AtomicLong claims = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicInteger pendingCreations = new AtomicInteger();
+  }
+}
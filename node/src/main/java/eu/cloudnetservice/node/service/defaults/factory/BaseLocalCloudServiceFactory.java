@@ -20,6 +20,7 @@
 import eu.cloudnetservice.node.config.Configuration;
 import eu.cloudnetservice.node.service.CloudServiceManager;
 import eu.cloudnetservice.node.service.LocalCloudServiceFactory;
+import eu.cloudnetservice.node.service.ServicePortAllocator;
 import eu.cloudnetservice.node.util.NetworkUtil;
 import eu.cloudnetservice.node.version.ServiceVersionProvider;
 import java.util.Objects;
@@ -102,31 +103,23 @@ protected int findFreeServicePort(
     @NonNull ServiceConfiguration configuration,
     @NonNull String hostAddress
   ) {
-    // increase the port number until we found a port
-    var port = configuration.port();
-    while (this.isPortInUse(manager, hostAddress, port)) {
-      port++;
-
-      // stop if the port exceeds the possible port range
-      if (port > 0xFFFF) {
-        throw new IllegalStateException("No free port found for service, started at port: " + configuration.port());
-      }
-    }
-
-    // use the next free, available port
-    return port;
+    // lease the next port which is neither used by a local service nor by another process
+    return manager.portAllocator().allocate(hostAddress, configuration.port());
   }
 
+  /**
+   * Checks if the given port is used by a local service or by another process on the given host.
+   *
+   * @param manager     the service manager which holds the port allocator of the local services.
+   * @param hostAddress the host address to check the port on.
+   * @param port        the port to check.
+   * @return true if the port is in use, false otherwise.
+   * @throws NullPointerException if the given manager or host address is null.
+   * @deprecated ports are allocated by the {@link ServicePortAllocator} of the service manager, use
+   * {@link #findFreeServicePort(CloudServiceManager, ServiceConfiguration, String)} instead.
+   */
+  @Deprecated
   protected boolean isPortInUse(@NonNull CloudServiceManager manager, @NonNull String hostAddress, int port) {
-    // check if any local service has the port
-    for (var cloudService : manager.localCloudServices()) {
-      var address = cloudService.serviceInfo().address();
-      if (address.host().equals(hostAddress) && address.port() == port) {
-        return true;
-      }
-    }
-
-    // validate that the port is free
-    return NetworkUtil.isInUse(hostAddress, port);
+    return manager.portAllocator().allocated(hostAddress, port) || NetworkUtil.isInUse(hostAddress, port);
   }
 }
@@ -20,12 +20,15 @@
 import eu.cloudnetservice.driver.service.ServiceConfiguration;
 import eu.cloudnetservice.node.TickLoop;
 import eu.cloudnetservice.node.config.Configuration;
+import eu.cloudnetservice.node.network.NodeChannelRoutingTable;
 import eu.cloudnetservice.node.service.CloudService;
 import eu.cloudnetservice.node.service.CloudServiceManager;
 import eu.cloudnetservice.node.service.defaults.JVMService;
 import eu.cloudnetservice.node.version.ServiceVersionProvider;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
+import java.util.concurrent.ScheduledExecutorService;
 import lombok.NonNull;
 
 @Singleton
@@ -34,6 +37,8 @@ public class JVMLocalCloudServiceFactory extends BaseLocalCloudServiceFactory {
   protected final TickLoop mainThread;
   protected final EventManager eventManager;
   protected final CloudServiceManager cloudServiceManager;
+  protected final NodeChannelRoutingTable channelRoutingTable;
+  protected final ScheduledExecutorService taskScheduler;
 
   @Inject
   public JVMLocalCloudServiceFactory(
@@ -41,12 +46,16 @@ public JVMLocalCloudServiceFactory(
     @NonNull Configuration nodeConfig,
     @NonNull CloudServiceManager cloudServiceManager,
     @NonNull EventManager eventManager,
-    @NonNull ServiceVersionProvider versionProvider
+    @NonNull ServiceVersionProvider versionProvider,
+    @NonNull NodeChannelRoutingTable channelRoutingTable,
+    @NonNull @Named("taskScheduler") ScheduledExecutorService taskScheduler
   ) {
     super(nodeConfig, versionProvider);
     this.mainThread = tickLoop;
     this.eventManager = eventManager;
     this.cloudServiceManager = cloudServiceManager;
+    this.channelRoutingTable = channelRoutingTable;
+    this.taskScheduler = taskScheduler;
   }
 
   @Override
@@ -66,7 +75,9 @@ public JVMLocalCloudServiceFactory(
       manager,
       this.eventManager,
       this.versionProvider,
-      preparer);
+      preparer,
+      this.channelRoutingTable,
+      this.taskScheduler);
   }
 
   @Override
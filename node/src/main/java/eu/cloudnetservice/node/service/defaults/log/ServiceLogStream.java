@@ -0,0 +1,137 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.defaults.log;
+
+import eu.cloudnetservice.driver.channel.ChannelMessage;
+import eu.cloudnetservice.driver.channel.ChannelMessageTarget;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.def.NetworkConstants;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.driver.service.log.ServiceLogFrames;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.NonNull;
+
+/**
+ * A log stream session to a remote component which listens to the log lines of a service. The lines are coalesced
+ * during a short window and sent in batches to the target, which reduces the overhead of high-volume log tailing. The
+ * information about the service is sent along with the first batch and refreshed regularly, there is no separate
+ * message to open a session.
+ *
+ * @since 4.0
+ */
+public final class ServiceLogStream {
+
+  private static final long COALESCE_WINDOW_MILLIS = Long.getLong("cloudnet.service.log-stream-window-millis", 50);
+  private static final int MAX_BATCH_FRAMES = Integer.getInteger("cloudnet.service.log-stream-max-batch", 512);
+
+  private final UUID sessionId = UUID.randomUUID();
+  private final String eventChannel;
+  private final ChannelMessageTarget target;
+  private final Supplier<ServiceInfoSnapshot> snapshotSupplier;
+  private final ScheduledExecutorService flushExecutor;
+
+  private List<ServiceLogFrames.Frame> pendingFrames = new ArrayList<>();
+  private long sequence;
+  private long lastHeaderSent = -1;
+  private boolean flushScheduled;
+  private boolean closed;
+
+  private ServiceLogStream(
+    @NonNull ChannelMessageTarget target,
+    @NonNull String eventChannel,
+    @NonNull Supplier<ServiceInfoSnapshot> snapshotSupplier,
+    @NonNull ScheduledExecutorService flushExecutor
+  ) {
+    this.target = target;
+    this.eventChannel = eventChannel;
+    this.snapshotSupplier = snapshotSupplier;
+    this.flushExecutor = flushExecutor;
+  }
+
+  public static @NonNull ServiceLogStream open(
+    @NonNull ChannelMessageTarget target,
+    @NonNull String eventChannel,
+    @NonNull Supplier<ServiceInfoSnapshot> snapshotSupplier,
+    @NonNull ScheduledExecutorService flushExecutor
+  ) {
+    return new ServiceLogStream(target, eventChannel, snapshotSupplier, flushExecutor);
+  }
+
+  public synchronized void append(@NonNull String line, boolean stderr) {
+    if (this.closed) {
+      return;
+    }
+
+    this.pendingFrames.add(new ServiceLogFrames.Frame(System.currentTimeMillis(), stderr, line));
+    if (this.pendingFrames.size() >= MAX_BATCH_FRAMES) {
+      // the batch is full, send it directly without waiting for the window to pass
+      this.flush();
+    } else if (!this.flushScheduled) {
+      this.flushScheduled = true;
+      this.flushExecutor.schedule(this::flush, COALESCE_WINDOW_MILLIS, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  public synchronized void close() {
+    if (!this.closed) {
+      this.flush();
+      this.closed = true;
+
+      // the receiver only knows about the session if at least one batch was sent
+      if (this.sequence > 0) {
+        this.sendMessage(ServiceLogFrames.SESSION_CLOSE_MESSAGE, DataBuf.empty().writeUniqueId(this.sessionId));
+      }
+    }
+  }
+
+  private synchronized void flush() {
+    this.flushScheduled = false;
+    if (this.closed || this.pendingFrames.isEmpty()) {
+      return;
+    }
+
+    // include the header into the first batch and refresh it from time to time, so that the receiver is able to
+    // restore the session in case it expired due to inactivity
+    ServiceLogFrames.Header header = null;
+    var now = System.currentTimeMillis();
+    if (this.lastHeaderSent == -1 || now - this.lastHeaderSent >= ServiceLogFrames.HEADER_REFRESH_INTERVAL_MILLIS) {
+      this.lastHeaderSent = now;
+      header = new ServiceLogFrames.Header(this.snapshotSupplier.get(), this.eventChannel);
+    }
+
+    var frames = this.pendingFrames;
+    this.pendingFrames = new ArrayList<>();
+    this.sendMessage(
+      ServiceLogFrames.SESSION_LINES_MESSAGE,
+      ServiceLogFrames.encode(this.sessionId, this.sequence++, header, frames));
+  }
+
+  private void sendMessage(@NonNull String message, @NonNull DataBuf content) {
+    ChannelMessage.builder()
+      .target(this.target)
+      .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
+      .message(message)
+      .buffer(content)
+      .build()
+      .send();
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.cluster.sync;
+
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.node.console.Console;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import lombok.NonNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class DefaultDataSyncRegistryTest {
+
+  private static final int PLAYER_COUNT = 50_000;
+
+  private final Map<UUID, TestPlayer> localPlayers = new HashMap<>();
+  private final Map<UUID, TestPlayer> remotePlayers = new HashMap<>();
+
+  private DataSyncRegistry localRegistry;
+  private DataSyncRegistry remoteRegistry;
+
+  private static @NonNull DataSyncRegistry createRegistry(@NonNull Map<UUID, TestPlayer> players) {
+    var registry = new DefaultDataSyncRegistry(Mockito.mock(Console.class));
+    registry.registerHandler(DataSyncHandler.<TestPlayer>builder()
+      .key("players")
+      .nameExtractor(player -> player.uniqueId().toString())
+      .converter(new DataSyncHandler.DataConverter<>() {
+        @Override
+        public void write(@NonNull DataBuf.Mutable target, @NonNull TestPlayer data) {
+          target.writeUniqueId(data.uniqueId()).writeString(data.name()).writeLong(data.lastLogin());
+        }
+
+        @Override
+        public @NonNull TestPlayer parse(@NonNull DataBuf input) {
+          return new TestPlayer(input.readUniqueId(), input.readString(), input.readLong());
+        }
+      })
+      .writer(player -> players.put(player.uniqueId(), player))
+      .currentGetter(player -> players.get(player.uniqueId()))
+      .dataCollector(players::values)
+      .build());
+    return registry;
+  }
+
+  @BeforeEach
+  void setupPlayers() {
+    this.localPlayers.clear();
+    this.remotePlayers.clear();
+
+    for (var i = 0; i < PLAYER_COUNT; i++) {
+      var player = new TestPlayer(UUID.randomUUID(), "Player" + i, i);
+      this.localPlayers.put(player.uniqueId(), player);
+      this.remotePlayers.put(player.uniqueId(), player);
+    }
+
+    this.localRegistry = createRegistry(this.localPlayers);
+    this.remoteRegistry = createRegistry(this.remotePlayers);
+  }
+
+  @Test
+  void testIdenticalDataSendsNothing() {
+    var differences = this.exchangeDigests();
+    Assertions.assertEquals(0, differences.readableBytes());
+
+    // only the force flag is written if there is nothing to sync
+    var data = this.localRegistry.prepareClusterData(false, differences);
+    Assertions.assertEquals(Byte.BYTES, data.readableBytes());
+  }
+
+  @Test
+  void testOnlyChangedPlayersAreSent() {
+    // change a few players and add a new one on the local node
+    var changedPlayers = this.localPlayers.values().stream().limit(5).toList();
+    for (var player : changedPlayers) {
+      this.localPlayers.put(player.uniqueId(), new TestPlayer(player.uniqueId(), player.name(), -1));
+    }
+
+    var newPlayer = new TestPlayer(UUID.randomUUID(), "NewPlayer", 0);
+    this.localPlayers.put(newPlayer.uniqueId(), newPlayer);
+
+    var data = this.localRegistry.prepareClusterData(true, this.exchangeDigests());
+    var fullData = this.localRegistry.prepareClusterData(true);
+    // at most 6 out of 256 buckets differ, so the data must be way smaller than the full data
+    Assertions.assertTrue(data.readableBytes() * 20 < fullData.readableBytes());
+
+    // apply the data and ensure that the remote is in sync afterwards
+    this.remoteRegistry.handle(data, data.readBoolean());
+    Assertions.assertEquals(this.localPlayers, this.remotePlayers);
+    Assertions.assertEquals(0, this.exchangeDigests().readableBytes());
+  }
+
+  @Test
+  void testPlayersOnlyKnownRemotelyAreKept() {
+    var remoteOnlyPlayer = new TestPlayer(UUID.randomUUID(), "RemotePlayer", 0);
+    this.remotePlayers.put(remoteOnlyPlayer.uniqueId(), remoteOnlyPlayer);
+
+    // only the bucket of the remote only player differs
+    var data = this.localRegistry.prepareClusterData(true, this.exchangeDigests());
+    var fullData = this.localRegistry.prepareClusterData(true);
+    Assertions.assertTrue(data.readableBytes() * 20 < fullData.readableBytes());
+
+    // applying the data must not remove the player which is only known to the remote
+    this.remoteRegistry.handle(data, data.readBoolean());
+    Assertions.assertEquals(remoteOnlyPlayer, this.remotePlayers.get(remoteOnlyPlayer.uniqueId()));
+    Assertions.assertEquals(PLAYER_COUNT + 1, this.remotePlayers.size());
+  }
+
+  private @NonNull DataBuf exchangeDigests() {
+    var digest = this.localRegistry.prepareClusterDigest(handler -> true);
+    return this.remoteRegistry.compareClusterDigest(digest);
+  }
+
+  private record TestPlayer(@NonNull UUID uniqueId, @NonNull String name, long lastLogin) {
+
+  }
+}
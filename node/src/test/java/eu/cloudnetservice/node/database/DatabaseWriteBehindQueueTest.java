@@ -0,0 +1,167 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.database;
+
+import eu.cloudnetservice.common.io.FileUtil;
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.node.database.h2.H2DatabaseProvider;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class DatabaseWriteBehindQueueTest {
+
+  private static final String DATABASE_NAME = "write_behind";
+
+  private H2DatabaseProvider databaseProvider;
+  private LocalDatabase database;
+  private ScheduledExecutorService flushExecutor;
+  private DatabaseWriteBehindQueue<StringBuilder> queue;
+
+  @BeforeEach
+  void setup() throws Exception {
+    var baseDirectory = Path.of("build", "tmp", "h2-write-behind");
+    FileUtil.delete(baseDirectory);
+
+    // spy the database to be able to inject failures and delays into the bulk inserts
+    this.databaseProvider = Mockito.spy(new H2DatabaseProvider(baseDirectory.resolve("db").toString()));
+    this.databaseProvider.init();
+    this.database = Mockito.spy(this.databaseProvider.database(DATABASE_NAME));
+    Mockito.doReturn(this.database).when(this.databaseProvider).database(DATABASE_NAME);
+
+    this.flushExecutor = Executors.newSingleThreadScheduledExecutor();
+    this.queue = this.databaseProvider.createWriteBehindQueue(
+      DATABASE_NAME,
+      value -> Document.newJsonDocument().append("value", value.toString()),
+      this.flushExecutor);
+  }
+
+  @AfterEach
+  void closeEnvironment() throws Exception {
+    this.queue.close();
+    this.flushExecutor.shutdownNow();
+    this.databaseProvider.close();
+  }
+
+  private String storedValue(String key) {
+    var document = this.database.get(key);
+    return document == null ? null : document.getString("value");
+  }
+
+  @Test
+  void testWritesAreCoalesced() {
+    this.queue.enqueue("a", new StringBuilder("1"));
+    this.queue.enqueue("a", new StringBuilder("2"));
+    this.queue.enqueue("b", new StringBuilder("3"));
+    Assertions.assertEquals(2, this.queue.pendingCount());
+
+    this.queue.flush();
+    Assertions.assertEquals(0, this.queue.pendingCount());
+    Assertions.assertEquals("2", this.storedValue("a"));
+    Assertions.assertEquals("3", this.storedValue("b"));
+
+    // both keys were written in a single bulk insert
+    Mockito.verify(this.database, Mockito.times(1)).insertAll(Mockito.anyMap());
+  }
+
+  @Test
+  void testValueIsSnapshotOnEnqueue() {
+    var value = new StringBuilder("before");
+    this.queue.enqueue("a", value);
+    value.append("-after");
+
+    this.queue.flush();
+    Assertions.assertEquals("before", this.storedValue("a"));
+  }
+
+  @Test
+  void testPendingReadsThrough() {
+    Assertions.assertNull(this.queue.pending("a"));
+
+    var value = new StringBuilder("1");
+    this.queue.enqueue("a", value);
+    Assertions.assertSame(value, this.queue.pending("a"));
+
+    this.queue.flush();
+    Assertions.assertNull(this.queue.pending("a"));
+    Assertions.assertEquals("1", this.storedValue("a"));
+  }
+
+  @Test
+  void testFailedBatchIsRequeuedWithoutReplacingNewerValues() {
+    // fail the first insert, while it is running a newer value for a gets queued
+    Mockito.doAnswer(invocation -> {
+      this.queue.enqueue("a", new StringBuilder("newer"));
+      return false;
+    }).doCallRealMethod().when(this.database).insertAll(Mockito.anyMap());
+
+    this.queue.enqueue("a", new StringBuilder("older"));
+    this.queue.enqueue("b", new StringBuilder("b"));
+    this.queue.flush();
+
+    Assertions.assertEquals(2, this.queue.pendingCount());
+    Assertions.assertEquals("newer", this.queue.pending("a").toString());
+    Assertions.assertEquals("b", this.queue.pending("b").toString());
+    Assertions.assertNull(this.storedValue("a"));
+
+    this.queue.flush();
+    Assertions.assertEquals(0, this.queue.pendingCount());
+    Assertions.assertEquals("newer", this.storedValue("a"));
+    Assertions.assertEquals("b", this.storedValue("b"));
+  }
+
+  @Test
+  void testDiscardWaitsForInFlightFlush() throws Exception {
+    var insertStarted = new CountDownLatch(1);
+    var releaseInsert = new CountDownLatch(1);
+    Mockito.doAnswer(invocation -> {
+      insertStarted.countDown();
+      releaseInsert.await();
+      return invocation.callRealMethod();
+    }).when(this.database).insertAll(Mockito.anyMap());
+
+    this.queue.enqueue("a", new StringBuilder("1"));
+    var flush = CompletableFuture.runAsync(this.queue::flush);
+    Assertions.assertTrue(insertStarted.await(5, TimeUnit.SECONDS));
+
+    // the entry is in flight, it is not pending anymore but still readable through the queue
+    Assertions.assertEquals(0, this.queue.pendingCount());
+    Assertions.assertEquals("1", this.queue.pending("a").toString());
+
+    // the discard must not complete before the in-flight write, otherwise a following delete could be overwritten
+    var discard = CompletableFuture.runAsync(() -> this.queue.discard("a"));
+    Thread.sleep(200);
+    Assertions.assertFalse(discard.isDone());
+
+    releaseInsert.countDown();
+    flush.get(5, TimeUnit.SECONDS);
+    discard.get(5, TimeUnit.SECONDS);
+
+    // the caller can now safely delete the entry
+    Assertions.assertTrue(this.database.delete("a"));
+    Assertions.assertNull(this.queue.pending("a"));
+    Assertions.assertNull(this.storedValue("a"));
+  }
+}
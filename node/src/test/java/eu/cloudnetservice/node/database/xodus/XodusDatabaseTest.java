@@ -20,8 +20,11 @@
 import eu.cloudnetservice.driver.document.Document;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -131,6 +134,50 @@ void testBasicDatabaseOperations() {
     Assertions.assertFalse(database.delete("1234"));
   }
 
+  @Test
+  void testBulkOperations() {
+    var database = this.databaseProvider.database("test");
+    Assertions.assertNotNull(database);
+
+    Assertions.assertTrue(database.insertAll(Map.of()));
+    Assertions.assertTrue(database.getAll(List.of()).isEmpty());
+    Assertions.assertEquals(0, database.deleteAll(List.of()));
+
+    // insert enough entries to split the key lookups into multiple queries
+    var entries = 1234;
+    Map<String, Document> documents = new HashMap<>();
+    for (var i = 0; i < entries; i++) {
+      documents.put(UUID.randomUUID().toString(), Document.newJsonDocument().append("index", i));
+    }
+
+    Assertions.assertTrue(database.insertAll(documents));
+    Assertions.assertEquals(entries, database.documentCount());
+
+    // missing keys are not included in the result
+    List<String> keys = new ArrayList<>(documents.keySet());
+    keys.add("missing_1");
+    keys.add("missing_2");
+    var readDocuments = database.getAll(keys);
+    Assertions.assertEquals(entries, readDocuments.size());
+    documents.forEach((key, document) -> Assertions.assertEquals(
+      document.getInt("index"),
+      readDocuments.get(key).getInt("index")));
+
+    // inserting existing keys replaces the documents
+    var replacedKey = keys.getFirst();
+    Assertions.assertTrue(database.insertAll(Map.of(replacedKey, Document.newJsonDocument().append("index", -1))));
+    Assertions.assertEquals(entries, database.documentCount());
+    Assertions.assertEquals(-1, database.get(replacedKey).getInt("index"));
+
+    // only existing documents are counted as deleted
+    List<String> deletedKeys = new ArrayList<>(keys.subList(0, 600));
+    deletedKeys.add("missing_1");
+    Assertions.assertEquals(600, database.deleteAll(deletedKeys));
+    Assertions.assertEquals(entries - 600, database.documentCount());
+    Assertions.assertTrue(database.getAll(deletedKeys).isEmpty());
+    Assertions.assertEquals(entries - 600, database.getAll(keys).size());
+  }
+
   @Test
   void testChunkedDataRead() {
     var database = this.databaseProvider.database("test");
@@ -165,4 +212,39 @@ void testChunkedDataRead() {
     Assertions.assertEquals(expectedReadCounts, readsCalled);
     Assertions.assertTrue(keys.isEmpty());
   }
+
+  @Test
+  void testStreamedDataRead() {
+    var database = this.databaseProvider.database("test");
+    Assertions.assertNotNull(database);
+
+    // fill in some data, every third entry is marked
+    var entries = 1235;
+    Set<String> keys = new HashSet<>();
+    for (var i = 0; i < entries; i++) {
+      var key = UUID.randomUUID().toString();
+
+      keys.add(key);
+      database.insert(key, Document.newJsonDocument().append("marked", String.valueOf(i % 3 == 0)));
+    }
+
+    Set<String> streamedKeys = new HashSet<>();
+    try (var cursor = database.stream(Map.of(), 50)) {
+      while (cursor.hasNext()) {
+        Assertions.assertTrue(streamedKeys.add(cursor.next().getKey()));
+      }
+    }
+
+    Assertions.assertEquals(keys, streamedKeys);
+
+    var markedEntries = 0;
+    try (var cursor = database.stream(Map.of("marked", "true"), 50)) {
+      while (cursor.hasNext()) {
+        Assertions.assertEquals("true", cursor.next().getValue().getString("marked"));
+        markedEntries++;
+      }
+    }
+
+    Assertions.assertEquals((entries + 2) / 3, markedEntries);
+  }
 }
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.network;
+
+import eu.cloudnetservice.driver.channel.ChannelMessageTarget;
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.network.HostAndPort;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.service.ProcessSnapshot;
+import eu.cloudnetservice.driver.service.ServiceConfiguration;
+import eu.cloudnetservice.driver.service.ServiceEnvironmentType;
+import eu.cloudnetservice.driver.service.ServiceInfoInterest;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.driver.service.ServiceLifeCycle;
+import eu.cloudnetservice.driver.service.ServiceTask;
+import eu.cloudnetservice.node.cluster.NodeServer;
+import eu.cloudnetservice.node.cluster.NodeServerProvider;
+import eu.cloudnetservice.node.service.CloudService;
+import eu.cloudnetservice.node.service.CloudServiceManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mockito;
+
+public class NodeChannelRoutingTableTest {
+
+  private static final ServiceTask LOBBY = ServiceTask.builder()
+    .name("Lobby")
+    .groups(Set.of("Lobby", "Global"))
+    .serviceEnvironmentType(ServiceEnvironmentType.MINECRAFT_SERVER)
+    .build();
+  private static final ServiceTask PROXY = ServiceTask.builder()
+    .name("Proxy")
+    .groups(Set.of("Proxy", "Global"))
+    .serviceEnvironmentType(ServiceEnvironmentType.BUNGEECORD)
+    .build();
+
+  private final List<NodeServer> nodeServers = new ArrayList<>();
+  private final List<ServiceInfoSnapshot> services = new ArrayList<>();
+  private final Map<UUID, CloudService> localServices = new HashMap<>();
+
+  private CloudServiceManager serviceManager;
+  private NodeServerProvider nodeProvider;
+  private NodeChannelRoutingTable routingTable;
+
+  @BeforeEach
+  void setUp() {
+    this.serviceManager = Mockito.mock(CloudServiceManager.class);
+    this.nodeProvider = Mockito.mock(NodeServerProvider.class);
+    this.routingTable = new NodeChannelRoutingTable();
+
+    // the local node has no channel, Node-3 is known but not connected
+    this.node("Node-1", null);
+    var secondNodeChannel = this.node("Node-2", Mockito.mock(NetworkChannel.class));
+    this.node("Node-3", null);
+
+    this.localService(LOBBY, 1, Mockito.mock(NetworkChannel.class));
+    this.localService(LOBBY, 2, null);
+    this.remoteService(LOBBY, 3, "Node-2");
+    this.remoteService(PROXY, 1, "Node-3");
+    this.remoteService(PROXY, 2, "Node-2");
+    this.remoteService(PROXY, 3, "Node-4");
+    this.localService(PROXY, 4, Mockito.mock(NetworkChannel.class));
+
+    Mockito.when(this.serviceManager.services()).thenReturn(this.services);
+    Mockito.when(this.serviceManager.localCloudServices()).thenAnswer(_ -> this.localServices.values());
+    Mockito.when(this.serviceManager.localCloudService(Mockito.any(UUID.class)))
+      .thenAnswer(invocation -> this.localServices.get(invocation.<UUID>getArgument(0)));
+    Mockito.when(this.serviceManager.localCloudService(Mockito.anyString()))
+      .thenAnswer(invocation -> this.localServices.values().stream()
+        .filter(service -> service.serviceId().name().equals(invocation.getArgument(0)))
+        .findFirst()
+        .orElse(null));
+    Mockito.when(this.serviceManager.serviceByName(Mockito.anyString()))
+      .thenAnswer(invocation -> this.services.stream()
+        .filter(service -> service.name().equals(invocation.getArgument(0)))
+        .findFirst()
+        .orElse(null));
+    Mockito.when(this.serviceManager.servicesByTask(Mockito.anyString()))
+      .thenAnswer(invocation -> this.services.stream()
+        .filter(service -> service.serviceId().taskName().equals(invocation.getArgument(0)))
+        .toList());
+    Mockito.when(this.serviceManager.servicesByGroup(Mockito.anyString()))
+      .thenAnswer(invocation -> this.services.stream()
+        .filter(service -> service.configuration().groups().contains(invocation.<String>getArgument(0)))
+        .toList());
+    Mockito.when(this.serviceManager.servicesByEnvironment(Mockito.anyString()))
+      .thenAnswer(invocation -> this.services.stream()
+        .filter(service -> service.serviceId().environmentName().equals(invocation.getArgument(0)))
+        .toList());
+
+    Mockito.when(this.nodeProvider.nodeServers()).thenReturn(this.nodeServers);
+    Mockito.when(this.nodeProvider.node(Mockito.anyString()))
+      .thenAnswer(invocation -> this.nodeServers.stream()
+        .filter(server -> server.name().equals(invocation.getArgument(0)))
+        .findFirst()
+        .orElse(null));
+    Mockito.when(this.nodeProvider.connectedNodeChannels()).thenReturn(List.of(secondNodeChannel));
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  void testRoutesMatchChannelFiltering(boolean allowClusterRedirect) {
+    var targets = new ArrayList<ChannelMessageTarget>();
+    targets.add(ChannelMessageTarget.of(ChannelMessageTarget.Type.ALL, null));
+    targets.add(ChannelMessageTarget.of(ChannelMessageTarget.Type.NODE, null));
+    targets.add(ChannelMessageTarget.of(ChannelMessageTarget.Type.SERVICE, null));
+    for (var node : List.of("Node-1", "Node-2", "Node-3", "Node-4")) {
+      targets.add(ChannelMessageTarget.of(ChannelMessageTarget.Type.NODE, node));
+    }
+    for (var service : List.of("Lobby-1", "Lobby-2", "Lobby-3", "Proxy-1", "Proxy-2", "Proxy-3", "Proxy-4", "Hub-1")) {
+      targets.add(ChannelMessageTarget.of(ChannelMessageTarget.Type.SERVICE, service));
+    }
+    for (var task : List.of("Lobby", "Proxy", "Hub")) {
+      targets.add(ChannelMessageTarget.of(ChannelMessageTarget.Type.TASK, task));
+    }
+    for (var group : List.of("Lobby", "Proxy", "Global", "Hub")) {
+      targets.add(ChannelMessageTarget.of(ChannelMessageTarget.Type.GROUP, group));
+    }
+    targets.add(ChannelMessageTarget.environment(ServiceEnvironmentType.MINECRAFT_SERVER));
+    targets.add(ChannelMessageTarget.environment(ServiceEnvironmentType.BUNGEECORD));
+    targets.add(ChannelMessageTarget.environment(ServiceEnvironmentType.VELOCITY));
+
+    var view = this.routingTable.routes(this.serviceManager, this.nodeProvider).view(allowClusterRedirect);
+    for (var target : targets) {
+      Assertions.assertEquals(
+        this.filterTargetChannels(target, allowClusterRedirect),
+        Set.copyOf(route(view, target)),
+        () -> "Channels of " + target + " differ");
+    }
+  }
+
+  @Test
+  void testRoutesAreCachedUntilInvalidated() {
+    var routes = this.routingTable.routes(this.serviceManager, this.nodeProvider);
+    Assertions.assertSame(routes, this.routingTable.routes(this.serviceManager, this.nodeProvider));
+
+    // connect the second lobby service, the cached routes must not see the change until invalidated
+    var channel = Mockito.mock(NetworkChannel.class);
+    var lobby = this.serviceManager.localCloudService("Lobby-2");
+    Mockito.when(lobby.networkChannel()).thenReturn(channel);
+    Assertions.assertTrue(this.routingTable.routes(this.serviceManager, this.nodeProvider).local().service("Lobby-2")
+      .isEmpty());
+
+    this.routingTable.invalidate();
+    var rebuilt = this.routingTable.routes(this.serviceManager, this.nodeProvider);
+    Assertions.assertNotSame(routes, rebuilt);
+    Assertions.assertEquals(List.of(channel), List.copyOf(rebuilt.local().service("Lobby-2")));
+    Assertions.assertTrue(rebuilt.local().task("Lobby").contains(channel));
+  }
+
+  private NetworkChannel node(String name, NetworkChannel channel) {
+    var server = Mockito.mock(NodeServer.class);
+    Mockito.when(server.name()).thenReturn(name);
+    Mockito.when(server.channel()).thenReturn(channel);
+    this.nodeServers.add(server);
+    return channel;
+  }
+
+  private void localService(ServiceTask task, int id, NetworkChannel channel) {
+    var snapshot = this.remoteService(task, id, "Node-1");
+    var service = Mockito.mock(CloudService.class);
+    Mockito.when(service.serviceId()).thenReturn(snapshot.serviceId());
+    Mockito.when(service.networkChannel()).thenReturn(channel);
+    Mockito.when(service.serviceInfoInterest()).thenReturn(ServiceInfoInterest.ALL);
+    this.localServices.put(snapshot.serviceId().uniqueId(), service);
+  }
+
+  private ServiceInfoSnapshot remoteService(ServiceTask task, int id, String node) {
+    var snapshot = new ServiceInfoSnapshot(
+      System.currentTimeMillis(),
+      new HostAndPort("127.0.0.1", 44955),
+      ProcessSnapshot.empty(),
+      ServiceConfiguration.builder(task).taskId(id).node(node).build(),
+      -1,
+      ServiceLifeCycle.RUNNING,
+      Document.newJsonDocument());
+    this.services.add(snapshot);
+    return snapshot;
+  }
+
+  private static Collection<NetworkChannel> route(NodeChannelRoutingTable.RouteView view, ChannelMessageTarget target) {
+    return switch (target.type()) {
+      case ALL -> view.all();
+      case NODE -> view.node(target.name());
+      case SERVICE -> view.service(target.name());
+      case TASK -> view.task(target.name());
+      case GROUP -> view.group(target.name());
+      case ENVIRONMENT -> view.environment(target.environment().name());
+    };
+  }
+
+  // the channel lookup done for each message before the routes were precomputed, used as reference
+  private Set<NetworkChannel> filterTargetChannels(ChannelMessageTarget target, boolean allowClusterRedirect) {
+    return switch (target.type()) {
+      case ALL -> {
+        Set<NetworkChannel> result = this.localChannels();
+        if (allowClusterRedirect) {
+          result.addAll(this.nodeProvider.connectedNodeChannels());
+        }
+        yield result;
+      }
+      case NODE -> {
+        if (!allowClusterRedirect) {
+          yield Set.of();
+        }
+        if (target.name() == null) {
+          yield Set.copyOf(this.nodeProvider.connectedNodeChannels());
+        }
+        yield this.nodeChannel(target.name());
+      }
+      case SERVICE -> {
+        if (target.name() == null) {
+          Set<NetworkChannel> result = this.localChannels();
+          if (allowClusterRedirect) {
+            result.addAll(this.nodeProvider.connectedNodeChannels());
+          }
+          yield result;
+        }
+        var localService = this.serviceManager.localCloudService(target.name());
+        if (localService != null) {
+          yield localService.networkChannel() == null ? Set.of() : Set.of(localService.networkChannel());
+        }
+        var service = this.serviceManager.serviceByName(target.name());
+        yield allowClusterRedirect && service != null ? this.nodeChannel(service.serviceId().nodeUniqueId()) : Set.of();
+      }
+      case TASK -> this.filterChannels(this.serviceManager.servicesByTask(target.name()), allowClusterRedirect);
+      case GROUP -> this.filterChannels(this.serviceManager.servicesByGroup(target.name()), allowClusterRedirect);
+      case ENVIRONMENT -> this.filterChannels(
+        this.serviceManager.servicesByEnvironment(target.environment().name()),
+        allowClusterRedirect);
+    };
+  }
+
+  private Set<NetworkChannel> filterChannels(Collection<ServiceInfoSnapshot> snapshots, boolean allowClusterRedirect) {
+    Set<NetworkChannel> result = new HashSet<>();
+    for (var snapshot : snapshots) {
+      var localService = this.serviceManager.localCloudService(snapshot.serviceId().name());
+      if (localService != null) {
+        result.add(localService.networkChannel());
+      } else if (allowClusterRedirect) {
+        var nodeServer = this.nodeProvider.node(snapshot.serviceId().nodeUniqueId());
+        result.add(nodeServer == null ? null : nodeServer.channel());
+      }
+    }
+    result.remove(null);
+    return result;
+  }
+
+  private Set<NetworkChannel> localChannels() {
+    Set<NetworkChannel> result = new HashSet<>();
+    this.serviceManager.localCloudServices().stream()
+      .map(CloudService::networkChannel)
+      .filter(Objects::nonNull)
+      .forEach(result::add);
+    return result;
+  }
+
+  private Set<NetworkChannel> nodeChannel(String name) {
+    var server = this.nodeProvider.node(name);
+    return server == null || server.channel() == null ? Set.of() : Set.of(server.channel());
+  }
+}
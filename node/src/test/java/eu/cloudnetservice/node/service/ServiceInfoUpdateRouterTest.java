@@ -0,0 +1,174 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service;
+
+import eu.cloudnetservice.driver.DriverEnvironment;
+import eu.cloudnetservice.driver.channel.ChannelMessage;
+import eu.cloudnetservice.driver.channel.ChannelMessageSender;
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.network.HostAndPort;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.def.NetworkConstants;
+import eu.cloudnetservice.driver.service.ProcessSnapshot;
+import eu.cloudnetservice.driver.service.ServiceConfiguration;
+import eu.cloudnetservice.driver.service.ServiceEnvironmentType;
+import eu.cloudnetservice.driver.service.ServiceInfoInterest;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.driver.service.ServiceInfoUpdateHeader;
+import eu.cloudnetservice.driver.service.ServiceLifeCycle;
+import eu.cloudnetservice.driver.service.ServiceTask;
+import eu.cloudnetservice.node.cluster.NodeServerProvider;
+import eu.cloudnetservice.node.network.NodeChannelRoutingTable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class ServiceInfoUpdateRouterTest {
+
+  private static final ChannelMessageSender SENDER = ChannelMessageSender.of("Lobby-1", DriverEnvironment.WRAPPER);
+
+  private final ServiceInfoSnapshot updatedService = snapshot();
+
+  private final List<ServiceInfoSnapshot> services = new ArrayList<>();
+
+  private CloudServiceManager serviceManager;
+  private NodeChannelRoutingTable routingTable;
+  private ServiceInfoUpdateRouter router;
+
+  @BeforeEach
+  void setUp() {
+    this.serviceManager = Mockito.mock(CloudServiceManager.class);
+    Mockito.when(this.serviceManager.services()).thenReturn(this.services);
+
+    this.routingTable = new NodeChannelRoutingTable();
+    this.router = new ServiceInfoUpdateRouter(
+      this.serviceManager,
+      Mockito.mock(NodeServerProvider.class),
+      this.routingTable);
+  }
+
+  @Test
+  void testOnlyServiceInfoUpdatesToAllAreRouted() {
+    Assertions.assertTrue(this.router.routesMessage(this.updateMessage("update_service_info", true)));
+    Assertions.assertFalse(this.router.routesMessage(this.updateMessage("update_service_lifecycle", true)));
+    Assertions.assertFalse(this.router.routesMessage(this.updateMessage("update_service_info", false)));
+  }
+
+  @Test
+  void testUninterestedServicesAreFilteredOut() {
+    var nodeChannel = Mockito.mock(NetworkChannel.class);
+    var allChannel = Mockito.mock(NetworkChannel.class);
+    var groupChannel = Mockito.mock(NetworkChannel.class);
+    var otherGroupChannel = Mockito.mock(NetworkChannel.class);
+    var noneChannel = Mockito.mock(NetworkChannel.class);
+    var selfChannel = Mockito.mock(NetworkChannel.class);
+
+    this.localService(snapshot(), allChannel, ServiceInfoInterest.ALL);
+    this.localService(snapshot(), groupChannel, ServiceInfoInterest.groups("Lobby"));
+    this.localService(snapshot(), otherGroupChannel, ServiceInfoInterest.groups("Proxy"));
+    this.localService(snapshot(), noneChannel, ServiceInfoInterest.NONE);
+    this.localService(this.updatedService, selfChannel, ServiceInfoInterest.NONE);
+
+    var message = this.updateMessage("update_service_info", true);
+    var channels = List.of(nodeChannel, allChannel, groupChannel, otherGroupChannel, noneChannel, selfChannel);
+    var targetChannels = this.router.filterChannels(message, channels);
+
+    // nodes always get the update, the updated service always gets its own update
+    Assertions.assertEquals(List.of(nodeChannel, allChannel, groupChannel, selfChannel), List.copyOf(targetChannels));
+    // the content of the message must not be consumed by the routing
+    var routedService = ServiceInfoUpdateHeader.readUpdate(message.content());
+    Assertions.assertEquals(this.updatedService.serviceId(), routedService.serviceId());
+
+    var metrics = this.router.metrics();
+    Assertions.assertEquals(1, metrics.routedUpdates());
+    Assertions.assertEquals(4, metrics.deliveries());
+    Assertions.assertEquals(2, metrics.skippedDeliveries());
+  }
+
+  @Test
+  void testAllChannelsReceiveUpdatesWithoutNarrowedInterests() {
+    var firstChannel = Mockito.mock(NetworkChannel.class);
+    var secondChannel = Mockito.mock(NetworkChannel.class);
+    this.localService(snapshot(), firstChannel, ServiceInfoInterest.ALL);
+    this.localService(snapshot(), secondChannel, ServiceInfoInterest.ALL);
+
+    var channels = List.of(firstChannel, secondChannel);
+    var message = this.updateMessage("update_service_info", true);
+    Assertions.assertSame(channels, this.router.filterChannels(message, channels));
+    Assertions.assertEquals(0, this.router.metrics().skippedDeliveries());
+  }
+
+  @Test
+  void testDeclaredInterestsAreIndexedAfterInvalidation() {
+    var nodeChannel = Mockito.mock(NetworkChannel.class);
+    var serviceChannel = Mockito.mock(NetworkChannel.class);
+    var service = this.localService(snapshot(), serviceChannel, ServiceInfoInterest.NONE);
+
+    var channels = List.of(nodeChannel, serviceChannel);
+    var message = this.updateMessage("update_service_info", true);
+    Assertions.assertEquals(List.of(nodeChannel), this.router.filterChannels(message, channels));
+
+    // the routing table is invalidated by the service when it declares a new interest
+    Mockito.when(service.serviceInfoInterest()).thenReturn(ServiceInfoInterest.tasks("Lobby"));
+    this.routingTable.invalidate();
+    Assertions.assertEquals(channels, this.router.filterChannels(message, channels));
+  }
+
+  private ChannelMessage updateMessage(String message, boolean targetAll) {
+    var builder = ChannelMessage.builder()
+      .sender(SENDER)
+      .message(message)
+      .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
+      .buffer(ServiceInfoUpdateHeader.writeUpdate(this.updatedService));
+    return (targetAll ? builder.targetAll() : builder.targetNode("Node-1")).build();
+  }
+
+  private CloudService localService(
+    ServiceInfoSnapshot snapshot,
+    NetworkChannel channel,
+    ServiceInfoInterest interest
+  ) {
+    var service = Mockito.mock(CloudService.class);
+    Mockito.when(service.networkChannel()).thenReturn(channel);
+    Mockito.when(service.serviceInfoInterest()).thenReturn(interest);
+    Mockito.when(service.serviceId()).thenReturn(snapshot.serviceId());
+
+    this.services.add(snapshot);
+    Mockito.when(this.serviceManager.localCloudService(snapshot.serviceId().uniqueId())).thenReturn(service);
+    return service;
+  }
+
+  private static ServiceInfoSnapshot snapshot() {
+    var task = ServiceTask.builder()
+      .name("Lobby")
+      .groups(Set.of("Lobby"))
+      .serviceEnvironmentType(ServiceEnvironmentType.MINECRAFT_SERVER)
+      .build();
+    return new ServiceInfoSnapshot(
+      System.currentTimeMillis(),
+      new HostAndPort("127.0.0.1", 44955),
+      ProcessSnapshot.empty(),
+      ServiceConfiguration.builder(task).build(),
+      -1,
+      ServiceLifeCycle.RUNNING,
+      Document.newJsonDocument());
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service;
+
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+public class ServicePortAllocatorTest {
+
+  private static final String HOST = "127.0.0.1";
+  private static final int START_PORT = 46_000;
+
+  @Test
+  void testLeasedPortsAreNotAllocatedTwice() {
+    var allocator = new ServicePortAllocator();
+    var first = allocator.allocate(HOST, START_PORT);
+    var second = allocator.allocate(HOST, START_PORT);
+
+    Assertions.assertTrue(second > first);
+    Assertions.assertTrue(allocator.allocated(HOST, first));
+    Assertions.assertTrue(allocator.allocated(HOST, second));
+  }
+
+  @Test
+  void testReservedPortsAreSkipped() {
+    var allocator = new ServicePortAllocator();
+    var port = allocator.allocate(HOST, START_PORT);
+    allocator.release(HOST, port);
+
+    allocator.reserve(HOST, port);
+    Assertions.assertTrue(allocator.allocated(HOST, port));
+    Assertions.assertNotEquals(port, allocator.allocate(HOST, port));
+  }
+
+  @Test
+  void testReleasedPortsCanBeAllocatedAgain() {
+    var allocator = new ServicePortAllocator();
+    var port = allocator.allocate(HOST, START_PORT);
+    allocator.reserve(HOST, port);
+    allocator.release(HOST, port);
+
+    Assertions.assertFalse(allocator.allocated(HOST, port));
+    Assertions.assertEquals(port, allocator.allocate(HOST, port));
+  }
+
+  @Test
+  void testPortsUsedByOtherProcessesAreSkipped() throws Exception {
+    var allocator = new ServicePortAllocator();
+    try (var socket = new ServerSocket()) {
+      socket.bind(new InetSocketAddress(HOST, 0));
+      var usedPort = socket.getLocalPort();
+
+      Assertions.assertFalse(allocator.allocated(HOST, usedPort));
+      Assertions.assertNotEquals(usedPort, allocator.allocate(HOST, usedPort));
+    }
+  }
+
+  @Test
+  void testPortsAreTrackedPerHost() {
+    var allocator = new ServicePortAllocator();
+    var port = allocator.allocate(HOST, START_PORT);
+
+    Assertions.assertTrue(allocator.allocated(HOST, port));
+    Assertions.assertFalse(allocator.allocated("127.0.0.2", port));
+  }
+
+  @Test
+  @Timeout(30)
+  void testConcurrentAllocationsAreUnique() {
+    var allocator = new ServicePortAllocator();
+    List<CompletableFuture<List<Integer>>> futures = new ArrayList<>();
+    try (var executor = Executors.newFixedThreadPool(8)) {
+      for (var i = 0; i < 8; i++) {
+        futures.add(CompletableFuture.supplyAsync(
+          () -> IntStream.range(0, 20).mapToObj(_ -> allocator.allocate(HOST, START_PORT)).toList(),
+          executor));
+      }
+    }
+
+    var ports = new HashSet<Integer>();
+    for (var future : futures) {
+      ports.addAll(future.join());
+    }
+    Assertions.assertEquals(8 * 20, ports.size());
+  }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.defaults;
+
+import com.sun.net.httpserver.HttpServer;
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.service.ServiceRemoteInclusion;
+import eu.cloudnetservice.driver.service.ServiceTemplate;
+import eu.cloudnetservice.driver.template.TemplateStorage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+public class ServiceFileInstallerTest {
+
+  @TempDir
+  private Path tempDirectory;
+
+  @Test
+  void testTemplatesAreMergedInPriorityOrder() throws IOException {
+    var installer = new ServiceFileInstaller(this.tempDirectory.resolve("cache"), Long.MAX_VALUE);
+    var serviceDirectory = this.tempDirectory.resolve("service");
+
+    List<ServiceTemplate> templates = new ArrayList<>();
+    for (var index = 0; index < 4; index++) {
+      templates.add(this.mockTemplate(index));
+    }
+    var pulledTemplates = installer.pullTemplates(templates, serviceDirectory, _ -> true);
+
+    Assertions.assertEquals(templates, pulledTemplates);
+    // the template with the highest priority wins, even if it finished pulling before the other templates
+    Assertions.assertEquals("3", Files.readString(serviceDirectory.resolve("shared.txt")));
+    for (var index = 0; index < 4; index++) {
+      var uniqueFile = serviceDirectory.resolve("plugins").resolve("template-" + index + ".txt");
+      Assertions.assertEquals(Integer.toString(index), Files.readString(uniqueFile));
+    }
+  }
+
+  @Test
+  void testTemplatesAreFilteredInPriorityOrder() throws IOException {
+    var installer = new ServiceFileInstaller(this.tempDirectory.resolve("cache"), Long.MAX_VALUE);
+    var serviceDirectory = this.tempDirectory.resolve("service");
+
+    List<ServiceTemplate> templates = new ArrayList<>();
+    for (var index = 0; index < 4; index++) {
+      templates.add(this.mockTemplate(index));
+    }
+
+    List<ServiceTemplate> filteredTemplates = new ArrayList<>();
+    var pulledTemplates = installer.pullTemplates(templates, serviceDirectory, template -> {
+      filteredTemplates.add(template);
+      return template != templates.get(3);
+    });
+
+    // the filter is called once per template in order, rejected templates are not pulled
+    Assertions.assertEquals(templates, filteredTemplates);
+    Assertions.assertEquals(templates.subList(0, 3), pulledTemplates);
+    Assertions.assertEquals("2", Files.readString(serviceDirectory.resolve("shared.txt")));
+    Assertions.assertTrue(Files.notExists(serviceDirectory.resolve("plugins").resolve("template-3.txt")));
+    Mockito.verify(templates.get(3), Mockito.never()).storage();
+  }
+
+  @Test
+  void testEmptyTemplateDirectoriesAreKept() {
+    var installer = new ServiceFileInstaller(this.tempDirectory.resolve("cache"), Long.MAX_VALUE);
+    var serviceDirectory = this.tempDirectory.resolve("service");
+
+    var emptyDirectoryTemplate = Mockito.mock(ServiceTemplate.class);
+    var storage = Mockito.mock(TemplateStorage.class);
+    Mockito.when(emptyDirectoryTemplate.storage()).thenReturn(storage);
+    Mockito.when(storage.pull(Mockito.eq(emptyDirectoryTemplate), Mockito.any(Path.class))).then(invocation -> {
+      Path target = invocation.getArgument(1);
+      Files.createDirectories(target.resolve("world").resolve("region"));
+      return true;
+    });
+
+    installer.pullTemplates(List.of(this.mockTemplate(0), emptyDirectoryTemplate), serviceDirectory, _ -> true);
+
+    Assertions.assertTrue(Files.isDirectory(serviceDirectory.resolve("world").resolve("region")));
+  }
+
+  @Test
+  void testInclusionCacheKeyIncludesHeaders() {
+    var inclusion = ServiceRemoteInclusion.builder()
+      .url("https://example.com/plugin.jar")
+      .destination("plugins/plugin.jar")
+      .build();
+    var authorizedInclusion = ServiceRemoteInclusion.builder(inclusion)
+      .properties(Document.newJsonDocument().writeProperty(ServiceRemoteInclusion.HEADERS, Map.of("Token", "a")))
+      .build();
+    var otherAuthorizedInclusion = ServiceRemoteInclusion.builder(inclusion)
+      .properties(Document.newJsonDocument().writeProperty(ServiceRemoteInclusion.HEADERS, Map.of("Token", "b")))
+      .build();
+
+    var cacheKey = ServiceFileInstaller.cacheKey(inclusion);
+    Assertions.assertNotEquals(cacheKey, ServiceFileInstaller.cacheKey(authorizedInclusion));
+    Assertions.assertNotEquals(
+      ServiceFileInstaller.cacheKey(authorizedInclusion),
+      ServiceFileInstaller.cacheKey(otherAuthorizedInclusion));
+    Assertions.assertEquals(cacheKey, ServiceFileInstaller.cacheKey(ServiceRemoteInclusion.builder(inclusion).build()));
+  }
+
+  @Test
+  void testUncachedInclusionsAreDownloadedEachTime() throws IOException {
+    var requests = new AtomicInteger();
+    var server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/plugin.jar", exchange -> {
+      var content = Integer.toString(requests.incrementAndGet()).getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().add("ETag", "\"plugin\"");
+      exchange.sendResponseHeaders(200, content.length);
+      exchange.getResponseBody().write(content);
+      exchange.close();
+    });
+    server.start();
+
+    try {
+      var cacheDirectory = this.tempDirectory.resolve("cache");
+      var installer = new ServiceFileInstaller(cacheDirectory, Long.MAX_VALUE);
+      var inclusion = ServiceRemoteInclusion.builder()
+        .url("http://127.0.0.1:" + server.getAddress().getPort() + "/plugin.jar")
+        .destination("plugins/plugin.jar")
+        .build();
+
+      var target = this.tempDirectory.resolve("service").resolve("plugins").resolve("plugin.jar");
+      installer.installInclusion(inclusion, target).orTimeout(30, TimeUnit.SECONDS).join();
+      installer.installInclusion(inclusion, target).orTimeout(30, TimeUnit.SECONDS).join();
+
+      // no cache entry is created and the inclusion is downloaded again
+      Assertions.assertEquals(2, requests.get());
+      Assertions.assertEquals("2", Files.readString(target));
+      Assertions.assertTrue(Files.notExists(cacheDirectory.resolve(ServiceFileInstaller.cacheKey(inclusion))));
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  @Test
+  void testConcurrentInclusionDownloadsAreJoined() throws IOException {
+    var requests = new AtomicInteger();
+    var server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/plugin.jar", exchange -> {
+      requests.incrementAndGet();
+      try {
+        // keep the download running long enough for all installations to join it
+        Thread.sleep(500);
+      } catch (InterruptedException _) {
+        Thread.currentThread().interrupt();
+      }
+
+      var content = "plugin".getBytes(StandardCharsets.UTF_8);
+      exchange.sendResponseHeaders(200, content.length);
+      exchange.getResponseBody().write(content);
+      exchange.close();
+    });
+    server.start();
+
+    try {
+      var installer = new ServiceFileInstaller(this.tempDirectory.resolve("cache"), Long.MAX_VALUE);
+      var inclusion = ServiceRemoteInclusion.builder()
+        .url("http://127.0.0.1:" + server.getAddress().getPort() + "/plugin.jar")
+        .destination("plugins/plugin.jar")
+        .cacheStrategy(ServiceRemoteInclusion.KEEP_UNTIL_RESTART_STRATEGY)
+        .build();
+
+      List<CompletableFuture<Void>> installations = new ArrayList<>();
+      for (var index = 0; index < 5; index++) {
+        var target = this.tempDirectory.resolve("service-" + index).resolve("plugins").resolve("plugin.jar");
+        installations.add(installer.installInclusion(inclusion, target));
+      }
+      CompletableFuture.allOf(installations.toArray(CompletableFuture[]::new)).orTimeout(30, TimeUnit.SECONDS).join();
+
+      Assertions.assertEquals(1, requests.get());
+      for (var index = 0; index < 5; index++) {
+        var target = this.tempDirectory.resolve("service-" + index).resolve("plugins").resolve("plugin.jar");
+        Assertions.assertEquals("plugin", Files.readString(target));
+      }
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  @Test
+  void testInclusionCacheIsTrimmedToBound() throws IOException {
+    var cacheDirectory = this.tempDirectory.resolve("cache");
+    Files.createDirectories(cacheDirectory);
+
+    var oldTime = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1);
+    for (var index = 0; index < 4; index++) {
+      var entry = cacheDirectory.resolve("entry" + index);
+      Files.writeString(entry, "0123456789");
+      Files.writeString(cacheDirectory.resolve("entry" + index + ".etag"), "etag");
+      Files.setLastModifiedTime(entry, FileTime.fromMillis(oldTime + index));
+    }
+    // recently used entries must be kept, even if they exceed the bound
+    Files.writeString(cacheDirectory.resolve("recent"), "0123456789");
+
+    new ServiceFileInstaller(cacheDirectory, 25).trimInclusionCache();
+
+    Assertions.assertTrue(Files.notExists(cacheDirectory.resolve("entry0")));
+    Assertions.assertTrue(Files.notExists(cacheDirectory.resolve("entry0.etag")));
+    Assertions.assertTrue(Files.notExists(cacheDirectory.resolve("entry1")));
+    Assertions.assertTrue(Files.notExists(cacheDirectory.resolve("entry2")));
+    Assertions.assertTrue(Files.exists(cacheDirectory.resolve("entry3")));
+    Assertions.assertTrue(Files.exists(cacheDirectory.resolve("entry3.etag")));
+    Assertions.assertTrue(Files.exists(cacheDirectory.resolve("recent")));
+  }
+
+  private ServiceTemplate mockTemplate(int index) {
+    var storage = Mockito.mock(TemplateStorage.class);
+    var template = Mockito.mock(ServiceTemplate.class);
+    Mockito.when(template.storage()).thenReturn(storage);
+    Mockito.when(storage.pull(Mockito.eq(template), Mockito.any(Path.class))).then(invocation -> {
+      // finish the pulls in a random order
+      Thread.sleep(ThreadLocalRandom.current().nextInt(50));
+
+      Path target = invocation.getArgument(1);
+      try {
+        Files.createDirectories(target.resolve("plugins"));
+        Files.writeString(target.resolve("shared.txt"), Integer.toString(index));
+        Files.writeString(target.resolve("plugins").resolve("template-" + index + ".txt"), Integer.toString(index));
+      } catch (IOException exception) {
+        throw new UncheckedIOException(exception);
+      }
+      return true;
+    });
+    return template;
+  }
+}
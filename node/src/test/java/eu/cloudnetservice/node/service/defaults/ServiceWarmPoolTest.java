@@ -0,0 +1,153 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.defaults;
+
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.event.EventManager;
+import eu.cloudnetservice.driver.event.events.service.CloudServiceLifecycleChangeEvent;
+import eu.cloudnetservice.driver.network.HostAndPort;
+import eu.cloudnetservice.driver.provider.CloudServiceFactory;
+import eu.cloudnetservice.driver.provider.ServiceTaskProvider;
+import eu.cloudnetservice.driver.service.ProcessSnapshot;
+import eu.cloudnetservice.driver.service.ServiceConfiguration;
+import eu.cloudnetservice.driver.service.ServiceCreateResult;
+import eu.cloudnetservice.driver.service.ServiceEnvironmentType;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.driver.service.ServiceLifeCycle;
+import eu.cloudnetservice.driver.service.ServiceTask;
+import eu.cloudnetservice.node.TickLoop;
+import eu.cloudnetservice.node.cluster.LocalNodeServer;
+import eu.cloudnetservice.node.cluster.NodeServerProvider;
+import eu.cloudnetservice.node.service.CloudServiceManager;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+public class ServiceWarmPoolTest {
+
+  private static final ServiceTask TASK = ServiceTask.builder()
+    .name("Lobby")
+    .serviceEnvironmentType(ServiceEnvironmentType.MINECRAFT_SERVER)
+    .writeProperty(ServiceWarmPool.POOL_SIZE, 2)
+    .build();
+
+  private CloudServiceManager serviceManager;
+  private CloudServiceFactory serviceFactory;
+  private ServiceWarmPool serviceWarmPool;
+
+  @BeforeEach
+  void setUp() {
+    var localNode = Mockito.mock(LocalNodeServer.class);
+    Mockito.when(localNode.head()).thenReturn(true);
+    var nodeServerProvider = Mockito.mock(NodeServerProvider.class);
+    Mockito.when(nodeServerProvider.localNode()).thenReturn(localNode);
+
+    var taskProvider = Mockito.mock(ServiceTaskProvider.class);
+    Mockito.when(taskProvider.serviceTasks()).thenReturn(List.of(TASK));
+
+    this.serviceManager = Mockito.mock(CloudServiceManager.class);
+    this.serviceFactory = Mockito.mock(CloudServiceFactory.class);
+    Mockito.when(this.serviceFactory.createCloudServiceAsync(Mockito.any()))
+      .thenReturn(CompletableFuture.completedFuture(ServiceCreateResult.FAILED));
+
+    this.serviceWarmPool = new ServiceWarmPool(
+      Mockito.mock(TickLoop.class),
+      Mockito.mock(EventManager.class),
+      taskProvider,
+      this.serviceManager,
+      this.serviceFactory,
+      nodeServerProvider);
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.serviceWarmPool.stop();
+  }
+
+  @Test
+  void testRefillCreatesMissingPoolMember() {
+    Mockito.when(this.serviceManager.servicesByTask("Lobby"))
+      .thenReturn(List.of(snapshot(ServiceLifeCycle.PREPARED, true, false)));
+    this.serviceWarmPool.refillPools();
+
+    var configurationCaptor = ArgumentCaptor.forClass(ServiceConfiguration.class);
+    Mockito.verify(this.serviceFactory).createCloudServiceAsync(configurationCaptor.capture());
+    Assertions.assertTrue(configurationCaptor.getValue().readProperty(ServiceWarmPool.POOL_MEMBER));
+  }
+
+  @Test
+  void testRefillSkipsFullPool() {
+    Mockito.when(this.serviceManager.servicesByTask("Lobby")).thenReturn(List.of(
+      snapshot(ServiceLifeCycle.PREPARED, true, false),
+      snapshot(ServiceLifeCycle.PREPARED, true, false)));
+    this.serviceWarmPool.refillPools();
+
+    Mockito.verify(this.serviceFactory, Mockito.never()).createCloudServiceAsync(Mockito.any());
+  }
+
+  @Test
+  void testClaimedServicesAreNoPoolMembers() {
+    // both services were claimed and returned into the prepared state after stopping
+    Mockito.when(this.serviceManager.servicesByTask("Lobby")).thenReturn(List.of(
+      snapshot(ServiceLifeCycle.PREPARED, false, true),
+      snapshot(ServiceLifeCycle.PREPARED, false, true)));
+    this.serviceWarmPool.refillPools();
+
+    Mockito.verify(this.serviceFactory).createCloudServiceAsync(Mockito.any());
+    Assertions.assertEquals(0, this.serviceWarmPool.metrics(TASK).pooled());
+  }
+
+  @Test
+  void testClaimsAndMissesAreRecorded() {
+    Mockito.when(this.serviceManager.servicesByTask("Lobby")).thenReturn(List.of());
+    this.serviceWarmPool.refillPools();
+
+    this.serviceWarmPool.handleRemoteLifecycleChange(new CloudServiceLifecycleChangeEvent(
+      ServiceLifeCycle.PREPARED,
+      snapshot(ServiceLifeCycle.RUNNING, false, true)));
+    this.serviceWarmPool.handleRemoteLifecycleChange(new CloudServiceLifecycleChangeEvent(
+      ServiceLifeCycle.PREPARED,
+      snapshot(ServiceLifeCycle.RUNNING, false, false)));
+    this.serviceWarmPool.handleRemoteLifecycleChange(new CloudServiceLifecycleChangeEvent(
+      ServiceLifeCycle.RUNNING,
+      snapshot(ServiceLifeCycle.STOPPED, false, true)));
+
+    var metrics = this.serviceWarmPool.metrics(TASK);
+    Assertions.assertEquals(1, metrics.claims());
+    Assertions.assertEquals(1, metrics.misses());
+  }
+
+  private static ServiceInfoSnapshot snapshot(ServiceLifeCycle lifeCycle, boolean poolMember, boolean claimed) {
+    var configuration = ServiceConfiguration.builder(TASK)
+      .writeProperty(ServiceWarmPool.POOL_MEMBER, poolMember)
+      .build();
+    var properties = Document.newJsonDocument().writeProperty(ServiceWarmPool.POOL_CLAIMED, claimed);
+    return new ServiceInfoSnapshot(
+      System.currentTimeMillis(),
+      new HostAndPort("127.0.0.1", 44955),
+      ProcessSnapshot.empty(),
+      configuration,
+      -1,
+      lifeCycle,
+      properties);
+  }
+}
@@ -19,11 +19,14 @@
 import dev.derklaro.aerogel.Order;
 import eu.cloudnetservice.common.language.I18n;
 import eu.cloudnetservice.driver.event.EventManager;
+import eu.cloudnetservice.driver.jfr.RollingFlightRecording;
 import eu.cloudnetservice.driver.module.DefaultModuleProviderHandler;
 import eu.cloudnetservice.driver.module.ModuleProvider;
 import eu.cloudnetservice.driver.network.NetworkClient;
 import eu.cloudnetservice.driver.network.chunk.defaults.ChunkedSessionRegistry;
 import eu.cloudnetservice.driver.network.chunk.defaults.factory.EventChunkHandlerFactory;
+import eu.cloudnetservice.driver.network.chunk.network.ChunkAcknowledgeListener;
+import eu.cloudnetservice.driver.network.chunk.network.ChunkSessionQueryListener;
 import eu.cloudnetservice.driver.network.chunk.network.ChunkedPacketListener;
 import eu.cloudnetservice.driver.network.def.NetworkConstants;
 import eu.cloudnetservice.wrapper.configuration.WrapperConfiguration;
@@ -42,6 +45,7 @@
 import jakarta.inject.Named;
 import jakarta.inject.Provider;
 import java.io.File;
+import java.io.IOException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.file.Path;
@@ -67,6 +71,7 @@
 public final class Wrapper {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(Wrapper.class);
+  private static final Path FLIGHT_RECORDING_DUMP_PATH = Path.of(".wrapper", "flight-recording.jfr");
 
   @Inject
   @Order(100)
@@ -75,6 +80,27 @@ private void initI18n() {
     I18n.language(System.getProperty("cloudnet.wrapper.messages.language", "en_US"));
   }
 
+  @Inject
+  @Order(120)
+  private void startFlightRecording(@NonNull WrapperConfiguration configuration) {
+    var recordingConfiguration = configuration.flightRecording();
+    if (recordingConfiguration != null) {
+      var recording = RollingFlightRecording.start(recordingConfiguration);
+      if (recording != null) {
+        // dump the recorded data when the service stops, allows to analyze why the service was slow before stopping
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+          try {
+            recording.dump(FLIGHT_RECORDING_DUMP_PATH);
+          } catch (IOException exception) {
+            LOGGER.debug("Unable to dump flight recording", exception);
+          } finally {
+            recording.close();
+          }
+        }));
+      }
+    }
+  }
+
   @Inject
   @Order(150)
   private void initProviderAndLoadModules(
@@ -122,14 +148,22 @@ private void connectToNode(
 
     // set a new current snapshot with the connected time
     serviceInfoHolder.setup();
+    // the node resets the service info interest of the service for each new connection
+    serviceInfoHolder.republishServiceInfoInterest();
 
     // remove the auth listener
     networkClient.packetRegistry().removeListeners(NetworkConstants.INTERNAL_AUTHORIZATION_CHANNEL);
 
     // add the runtime packet listeners
+    var chunkedListener = new ChunkedPacketListener(chunkedSessionRegistry, new EventChunkHandlerFactory(eventManager));
+    networkClient.packetRegistry().addListener(NetworkConstants.CHUNKED_PACKET_COM_CHANNEL, chunkedListener);
+    networkClient.packetRegistry().addListener(NetworkConstants.CHUNKED_PACKET_EXTENDED_COM_CHANNEL, chunkedListener);
+    networkClient.packetRegistry().addListener(
+      NetworkConstants.CHUNKED_PACKET_ACK_CHANNEL,
+      new ChunkAcknowledgeListener(chunkedSessionRegistry));
     networkClient.packetRegistry().addListener(
-      NetworkConstants.CHUNKED_PACKET_COM_CHANNEL,
-      new ChunkedPacketListener(chunkedSessionRegistry, new EventChunkHandlerFactory(eventManager)));
+      NetworkConstants.CHUNKED_PACKET_QUERY_CHANNEL,
+      new ChunkSessionQueryListener(chunkedSessionRegistry));
     networkClient.packetRegistry().addListener(
       NetworkConstants.CHANNEL_MESSAGING_CHANNEL,
       PacketServerChannelMessageListener.class);
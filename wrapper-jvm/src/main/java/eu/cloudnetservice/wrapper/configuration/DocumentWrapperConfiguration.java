@@ -18,19 +18,22 @@
 
 import dev.derklaro.aerogel.auto.Factory;
 import eu.cloudnetservice.driver.document.DocumentFactory;
+import eu.cloudnetservice.driver.jfr.FlightRecordingConfiguration;
 import eu.cloudnetservice.driver.network.HostAndPort;
 import eu.cloudnetservice.driver.network.ssl.SSLConfiguration;
 import eu.cloudnetservice.driver.service.ServiceConfiguration;
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
 import java.nio.file.Path;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 public record DocumentWrapperConfiguration(
   @NonNull String connectionKey,
   @NonNull HostAndPort targetListener,
   @NonNull SSLConfiguration sslConfiguration,
   @NonNull ServiceInfoSnapshot serviceInfoSnapshot,
-  @NonNull ServiceConfiguration serviceConfiguration) implements WrapperConfiguration {
+  @NonNull ServiceConfiguration serviceConfiguration,
+  @Nullable FlightRecordingConfiguration flightRecording) implements WrapperConfiguration {
 
   private static final Path WRAPPER_CONFIG_PATH = Path.of(
     System.getProperty("cloudnet.wrapper.config.path", ".wrapper/wrapper.json"));
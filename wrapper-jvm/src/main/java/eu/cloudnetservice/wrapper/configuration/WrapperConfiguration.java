@@ -16,12 +16,14 @@
 
 package eu.cloudnetservice.wrapper.configuration;
 
+import eu.cloudnetservice.driver.jfr.FlightRecordingConfiguration;
 import eu.cloudnetservice.driver.network.HostAndPort;
 import eu.cloudnetservice.driver.network.ssl.SSLConfiguration;
 import eu.cloudnetservice.driver.service.ServiceConfiguration;
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
 import jakarta.inject.Singleton;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Represents the configuration which is passed from a node instance to the wrapper in form of a file before starting.
@@ -66,4 +68,12 @@ public interface WrapperConfiguration {
    * @return the ssl configuration to apply to all client connection of this wrapper.
    */
   @NonNull SSLConfiguration sslConfiguration();
+
+  /**
+   * Get the configuration of the continuous flight recording which should be started by the wrapper. This method
+   * returns null if the node did not request a recording for this wrapper.
+   *
+   * @return the configuration of the flight recording to start, null if no recording should be started.
+   */
+  @Nullable FlightRecordingConfiguration flightRecording();
 }
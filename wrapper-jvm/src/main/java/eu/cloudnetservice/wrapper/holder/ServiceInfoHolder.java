@@ -17,6 +17,7 @@
 package eu.cloudnetservice.wrapper.holder;
 
 import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.service.ServiceInfoInterest;
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
 import lombok.NonNull;
 
@@ -97,4 +98,29 @@ public interface ServiceInfoHolder {
    * @throws NullPointerException if the given service snapshot is null.
    */
   void publishServiceInfoUpdate(@NonNull ServiceInfoSnapshot serviceInfoSnapshot);
+
+  /**
+   * Get the service info updates this service is currently receiving. Until an interest is declared using
+   * {@link #declareServiceInfoInterest(ServiceInfoInterest)}, the updates of all services are received.
+   *
+   * @return the service info updates this service is currently receiving.
+   */
+  @NonNull ServiceInfoInterest serviceInfoInterest();
+
+  /**
+   * Declares that this service is interested in the service info updates of all services matching the given interest.
+   * All declared interests are merged, the node stops sending updates which do not match any declared interest once
+   * the first interest was declared. Updates of this service are always received.
+   *
+   * @param interest the interest to add to the interests of this service.
+   * @throws NullPointerException if the given interest is null.
+   */
+  void declareServiceInfoInterest(@NonNull ServiceInfoInterest interest);
+
+  /**
+   * Sends the interest which was declared by this service to the node again. This is required after the connection to
+   * the node was (re-)established, as the node resets the interest of a service when a new connection is set. This
+   * method does nothing if no interest was declared yet.
+   */
+  void republishServiceInfoInterest();
 }
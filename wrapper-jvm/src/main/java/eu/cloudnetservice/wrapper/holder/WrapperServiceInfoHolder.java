@@ -24,7 +24,9 @@
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.def.NetworkConstants;
 import eu.cloudnetservice.driver.service.ProcessSnapshot;
+import eu.cloudnetservice.driver.service.ServiceInfoInterest;
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.driver.service.ServiceInfoUpdateHeader;
 import eu.cloudnetservice.driver.service.ServiceLifeCycle;
 import eu.cloudnetservice.driver.util.VarHandleUtil;
 import eu.cloudnetservice.wrapper.configuration.WrapperConfiguration;
@@ -67,6 +69,9 @@ public final class WrapperServiceInfoHolder implements ServiceInfoHolder {
   private final EventManager eventManager;
   private final WrapperConfiguration configuration;
 
+  // null until the first interest was declared
+  private volatile ServiceInfoInterest serviceInfoInterest;
+
   // both of these fields are only accessed from the associated var handles
   @SuppressWarnings({"FieldCanBeLocal", "unused", "FieldMayBeFinal"})
   private ServiceInfoSnapshot lastServiceInfoSnapshot;
@@ -96,7 +101,8 @@ public void setup() {
       suppliedServiceSnapshot.configuration(),
       System.currentTimeMillis(),
       ServiceLifeCycle.RUNNING,
-      suppliedServiceSnapshot.propertyHolder());
+      suppliedServiceSnapshot.propertyHolder(),
+      suppliedServiceSnapshot.version());
   }
 
   /**
@@ -140,7 +146,8 @@ public void setup() {
       this.configuration.serviceConfiguration(),
       info.connectedTime(),
       ServiceLifeCycle.RUNNING,
-      event.propertyHolder().immutableCopy());
+      event.propertyHolder().immutableCopy(),
+      info.version());
   }
 
   /**
@@ -166,17 +173,71 @@ public void publishServiceInfoUpdate() {
    */
   @Override
   public void publishServiceInfoUpdate(@NonNull ServiceInfoSnapshot serviceInfoSnapshot) {
-    // add configuration stuff when updating the current service snapshot
-    if (this.configuration.serviceConfiguration().serviceId().equals(serviceInfoSnapshot.serviceId())) {
+    var serviceId = this.configuration.serviceConfiguration().serviceId();
+    var builder = ChannelMessage.builder();
+    if (serviceId.equals(serviceInfoSnapshot.serviceId())) {
+      // add configuration stuff when updating the current service snapshot. the update is sent to the node managing
+      // this service, which assigns the next snapshot version and sends the update to all nodes and services
       this.configureServiceInfoSnapshot(serviceInfoSnapshot);
+      builder.targetNode(serviceId.nodeUniqueId());
+    } else {
+      // send the update to all nodes and services
+      builder.targetAll();
     }
 
-    // send the update to all nodes and services
-    ChannelMessage.builder()
-      .targetAll()
+    builder
       .message("update_service_info")
       .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
-      .buffer(DataBuf.empty().writeObject(serviceInfoSnapshot))
+      .buffer(ServiceInfoUpdateHeader.writeUpdate(serviceInfoSnapshot))
+      .build()
+      .send();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull ServiceInfoInterest serviceInfoInterest() {
+    var interest = this.serviceInfoInterest;
+    return interest == null ? ServiceInfoInterest.ALL : interest;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized void declareServiceInfoInterest(@NonNull ServiceInfoInterest interest) {
+    var currentInterest = this.serviceInfoInterest;
+    var newInterest = currentInterest == null ? interest : currentInterest.merge(interest);
+    this.serviceInfoInterest = newInterest;
+
+    // inform the node about the new interest of this service
+    this.sendServiceInfoInterest(newInterest);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized void republishServiceInfoInterest() {
+    var interest = this.serviceInfoInterest;
+    if (interest != null) {
+      this.sendServiceInfoInterest(interest);
+    }
+  }
+
+  /**
+   * Sends the given interest of this service to the node which is responsible for this service.
+   *
+   * @param interest the interest to send to the node.
+   * @throws NullPointerException if the given interest is null.
+   */
+  private void sendServiceInfoInterest(@NonNull ServiceInfoInterest interest) {
+    ChannelMessage.builder()
+      .targetNode(this.configuration.serviceConfiguration().serviceId().nodeUniqueId())
+      .message("update_service_info_interest")
+      .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
+      .buffer(DataBuf.empty().writeObject(interest))
       .build()
       .send();
   }
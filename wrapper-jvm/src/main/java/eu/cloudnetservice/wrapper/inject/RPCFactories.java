@@ -19,6 +19,7 @@
 import dev.derklaro.aerogel.auto.Factory;
 import eu.cloudnetservice.driver.ComponentInfo;
 import eu.cloudnetservice.driver.database.DatabaseProvider;
+import eu.cloudnetservice.driver.event.EventManager;
 import eu.cloudnetservice.driver.network.NetworkClient;
 import eu.cloudnetservice.driver.network.rpc.defaults.generation.RPCInternalInstanceFactory;
 import eu.cloudnetservice.driver.network.rpc.factory.RPCFactory;
@@ -29,13 +30,22 @@
 import eu.cloudnetservice.driver.provider.ServiceTaskProvider;
 import eu.cloudnetservice.driver.template.TemplateStorageProvider;
 import eu.cloudnetservice.wrapper.database.WrapperDatabaseProvider;
+import eu.cloudnetservice.wrapper.holder.ServiceInfoHolder;
 import eu.cloudnetservice.wrapper.provider.WrapperTemplateStorageProvider;
+import eu.cloudnetservice.wrapper.provider.replicated.ReplicatedCloudServiceProvider;
+import eu.cloudnetservice.wrapper.provider.replicated.ReplicatedGroupConfigurationProvider;
+import eu.cloudnetservice.wrapper.provider.replicated.ReplicatedServiceTaskProvider;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
+import java.util.concurrent.ScheduledExecutorService;
 import lombok.NonNull;
 
 @SuppressWarnings("unused")
 final class RPCFactories {
 
+  // opt-in as the replicated providers keep a copy of all services, tasks and groups in memory
+  private static final boolean REPLICATED_PROVIDERS = Boolean.getBoolean("cloudnet.wrapper.replicated-providers");
+
   private RPCFactories() {
     throw new UnsupportedOperationException();
   }
@@ -57,26 +67,42 @@ private RPCFactories() {
   @Singleton
   public static @NonNull ServiceTaskProvider provideServiceTaskProvider(
     @NonNull RPCFactory factory,
-    @NonNull NetworkClient networkClient
+    @NonNull NetworkClient networkClient,
+    @NonNull EventManager eventManager,
+    @NonNull @Named("taskScheduler") ScheduledExecutorService taskScheduler
   ) {
-    return factory.newRPCBasedImplementationBuilder(ServiceTaskProvider.class)
+    var provider = factory.newRPCBasedImplementationBuilder(ServiceTaskProvider.class)
       .implementConcreteMethods()
       .targetComponent(networkClient)
       .generateImplementation()
       .allocate();
+
+    // answer the reads locally if requested
+    if (REPLICATED_PROVIDERS) {
+      return new ReplicatedServiceTaskProvider(provider, eventManager, taskScheduler);
+    }
+    return provider;
   }
 
   @Factory
   @Singleton
   public static @NonNull GroupConfigurationProvider provideGroupConfigurationProvider(
     @NonNull RPCFactory factory,
-    @NonNull NetworkClient networkClient
+    @NonNull NetworkClient networkClient,
+    @NonNull EventManager eventManager,
+    @NonNull @Named("taskScheduler") ScheduledExecutorService taskScheduler
   ) {
-    return factory.newRPCBasedImplementationBuilder(GroupConfigurationProvider.class)
+    var provider = factory.newRPCBasedImplementationBuilder(GroupConfigurationProvider.class)
       .implementConcreteMethods()
       .targetComponent(networkClient)
       .generateImplementation()
       .allocate();
+
+    // answer the reads locally if requested
+    if (REPLICATED_PROVIDERS) {
+      return new ReplicatedGroupConfigurationProvider(provider, eventManager, taskScheduler);
+    }
+    return provider;
   }
 
   @Factory
@@ -96,13 +122,22 @@ private RPCFactories() {
   @Singleton
   public static @NonNull CloudServiceProvider provideCloudServiceProvider(
     @NonNull RPCFactory factory,
-    @NonNull NetworkClient networkClient
+    @NonNull NetworkClient networkClient,
+    @NonNull EventManager eventManager,
+    @NonNull ServiceInfoHolder serviceInfoHolder,
+    @NonNull @Named("taskScheduler") ScheduledExecutorService taskScheduler
   ) {
-    return factory.newRPCBasedImplementationBuilder(CloudServiceProvider.class)
+    var provider = factory.newRPCBasedImplementationBuilder(CloudServiceProvider.class)
       .implementConcreteMethods()
       .targetComponent(networkClient)
       .generateImplementation()
       .allocate();
+
+    // answer the reads locally if requested
+    if (REPLICATED_PROVIDERS) {
+      return new ReplicatedCloudServiceProvider(provider, serviceInfoHolder, eventManager, taskScheduler);
+    }
+    return provider;
   }
 
   @Factory
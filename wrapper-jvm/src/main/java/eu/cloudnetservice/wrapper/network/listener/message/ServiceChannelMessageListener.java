@@ -28,8 +28,12 @@
 import eu.cloudnetservice.driver.network.def.NetworkConstants;
 import eu.cloudnetservice.driver.service.ServiceCreateResult;
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.driver.service.ServiceInfoUpdateHeader;
 import eu.cloudnetservice.driver.service.ServiceLifeCycle;
+import eu.cloudnetservice.driver.service.log.ServiceLogFrames;
+import eu.cloudnetservice.driver.service.log.ServiceLogStreamReceiver;
 import eu.cloudnetservice.wrapper.holder.ServiceInfoHolder;
+import java.util.function.UnaryOperator;
 import lombok.NonNull;
 
 public final class ServiceChannelMessageListener {
@@ -38,13 +42,14 @@ public final class ServiceChannelMessageListener {
   public void handleChannelMessage(
     @NonNull ChannelMessageReceiveEvent event,
     @NonNull EventManager eventManager,
-    @NonNull ServiceInfoHolder serviceInfoHolder
+    @NonNull ServiceInfoHolder serviceInfoHolder,
+    @NonNull ServiceLogStreamReceiver logStreamReceiver
   ) {
     if (event.channel().equals(NetworkConstants.INTERNAL_MSG_CHANNEL)) {
       switch (event.message()) {
         // update of a service in the network
         case "update_service_info" -> {
-          var snapshot = event.content().readObject(ServiceInfoSnapshot.class);
+          var snapshot = ServiceInfoUpdateHeader.readUpdate(event.content());
           // update locally and call the event
           eventManager.callEvent(new CloudServiceUpdateEvent(snapshot));
         }
@@ -82,6 +87,14 @@ public void handleChannelMessage(
           eventManager.callEvent(eventChannel, new CloudServiceLogEntryEvent(snapshot, line, type));
         }
 
+        // a log stream session of a service was closed
+        case ServiceLogFrames.SESSION_CLOSE_MESSAGE -> logStreamReceiver.closeSession(event.content());
+
+        // a batch of log lines of a service
+        case ServiceLogFrames.SESSION_LINES_MESSAGE -> logStreamReceiver.handleLines(
+          event.content(),
+          UnaryOperator.identity());
+
         // a deferred service start result is available, call the event
         case "deferred_service_event" -> {
           var creationId = event.content().readUniqueId();
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.wrapper.provider.replicated;
+
+import eu.cloudnetservice.driver.event.EventListener;
+import eu.cloudnetservice.driver.event.EventManager;
+import eu.cloudnetservice.driver.event.InvocationOrder;
+import eu.cloudnetservice.driver.event.events.network.NetworkChannelCloseEvent;
+import eu.cloudnetservice.driver.event.events.service.CloudServiceLifecycleChangeEvent;
+import eu.cloudnetservice.driver.event.events.service.CloudServiceUpdateEvent;
+import eu.cloudnetservice.driver.provider.CloudServiceProvider;
+import eu.cloudnetservice.driver.provider.SpecificCloudServiceProvider;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.driver.service.ServiceLifeCycle;
+import eu.cloudnetservice.wrapper.holder.ServiceInfoHolder;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+/**
+ * A cloud service provider which answers reads from a local copy of the service snapshots, which is kept up-to-date by
+ * the service updates sent by the node. Snapshots are versioned by the node managing the service, updates which are
+ * older than the known snapshot of a service are ignored. This also applies to the updates of this service, which are
+ * published through the node and sent back with the version assigned by it.
+ * <p>
+ * The node only sends the updates of services matching the declared service info interest of this service. The local
+ * copy is therefore only used while this service is interested in the updates of all services.
+ *
+ * @since 4.0
+ */
+public final class ReplicatedCloudServiceProvider implements CloudServiceProvider {
+
+  private final CloudServiceProvider remoteProvider;
+  private final ServiceInfoHolder serviceInfoHolder;
+  private final ReplicatedEntries<UUID, ServiceInfoSnapshot> services;
+
+  public ReplicatedCloudServiceProvider(
+    @NonNull CloudServiceProvider remoteProvider,
+    @NonNull ServiceInfoHolder serviceInfoHolder,
+    @NonNull EventManager eventManager,
+    @NonNull Executor syncExecutor
+  ) {
+    this.remoteProvider = remoteProvider;
+    this.serviceInfoHolder = serviceInfoHolder;
+    this.services = new ReplicatedEntries<>(
+      snapshot -> snapshot.serviceId().uniqueId(),
+      ServiceInfoSnapshot::version,
+      remoteProvider::services,
+      syncExecutor);
+    eventManager.registerListener(this);
+  }
+
+  @Override
+  public @NonNull SpecificCloudServiceProvider serviceProvider(@NonNull UUID serviceUniqueId) {
+    return this.remoteProvider.serviceProvider(serviceUniqueId);
+  }
+
+  @Override
+  public @NonNull SpecificCloudServiceProvider serviceProviderByName(@NonNull String serviceName) {
+    return this.remoteProvider.serviceProviderByName(serviceName);
+  }
+
+  @Override
+  public @UnmodifiableView @NonNull Collection<ServiceInfoSnapshot> services() {
+    return this.useLocalCopy() ? this.services.values() : this.remoteProvider.services();
+  }
+
+  @Override
+  public @UnmodifiableView @NonNull Collection<ServiceInfoSnapshot> runningServices() {
+    return this.useLocalCopy()
+      ? this.filterServices(snapshot -> snapshot.lifeCycle() == ServiceLifeCycle.RUNNING)
+      : this.remoteProvider.runningServices();
+  }
+
+  @Override
+  public @UnmodifiableView @NonNull Collection<ServiceInfoSnapshot> servicesByTask(@NonNull String taskName) {
+    return this.useLocalCopy()
+      ? this.filterServices(snapshot -> snapshot.serviceId().taskName().equals(taskName))
+      : this.remoteProvider.servicesByTask(taskName);
+  }
+
+  @Override
+  public @UnmodifiableView @NonNull Collection<ServiceInfoSnapshot> servicesByEnvironment(@NonNull String environment) {
+    return this.useLocalCopy()
+      ? this.filterServices(snapshot -> snapshot.serviceId().environmentName().equals(environment))
+      : this.remoteProvider.servicesByEnvironment(environment);
+  }
+
+  @Override
+  public @UnmodifiableView @NonNull Collection<ServiceInfoSnapshot> servicesByGroup(@NonNull String group) {
+    return this.useLocalCopy()
+      ? this.filterServices(snapshot -> snapshot.configuration().groups().contains(group))
+      : this.remoteProvider.servicesByGroup(group);
+  }
+
+  @Override
+  public int serviceCount() {
+    return this.useLocalCopy() ? this.services.values().size() : this.remoteProvider.serviceCount();
+  }
+
+  @Override
+  public int serviceCountByGroup(@NonNull String group) {
+    return this.useLocalCopy()
+      ? this.filterServices(snapshot -> snapshot.configuration().groups().contains(group)).size()
+      : this.remoteProvider.serviceCountByGroup(group);
+  }
+
+  @Override
+  public int serviceCountByTask(@NonNull String taskName) {
+    return this.useLocalCopy()
+      ? this.filterServices(snapshot -> snapshot.serviceId().taskName().equals(taskName)).size()
+      : this.remoteProvider.serviceCountByTask(taskName);
+  }
+
+  @Override
+  public @Nullable ServiceInfoSnapshot serviceByName(@NonNull String name) {
+    if (this.useLocalCopy()) {
+      return this.services.values().stream().filter(snapshot -> snapshot.name().equals(name)).findFirst().orElse(null);
+    }
+    return this.remoteProvider.serviceByName(name);
+  }
+
+  @Override
+  public @Nullable ServiceInfoSnapshot service(@NonNull UUID uniqueId) {
+    return this.useLocalCopy() ? this.services.get(uniqueId) : this.remoteProvider.service(uniqueId);
+  }
+
+  @EventListener(order = InvocationOrder.FIRST)
+  public void handleServiceUpdate(@NonNull CloudServiceUpdateEvent event) {
+    this.services.put(event.serviceInfo());
+  }
+
+  @EventListener(order = InvocationOrder.FIRST)
+  public void handleServiceLifecycleChange(@NonNull CloudServiceLifecycleChangeEvent event) {
+    if (event.newLifeCycle() == ServiceLifeCycle.DELETED) {
+      this.services.remove(event.serviceInfo());
+    } else {
+      this.services.put(event.serviceInfo());
+    }
+  }
+
+  @EventListener
+  public void handleChannelClose(@NonNull NetworkChannelCloseEvent event) {
+    // updates might get lost while the connection is down
+    this.services.invalidate();
+  }
+
+  private boolean useLocalCopy() {
+    return this.serviceInfoHolder.serviceInfoInterest().all() && this.services.synced();
+  }
+
+  private @NonNull Collection<ServiceInfoSnapshot> filterServices(@NonNull Predicate<ServiceInfoSnapshot> filter) {
+    return this.services.values().stream().filter(filter).toList();
+  }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.wrapper.provider.replicated;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A local copy of entries which are replicated from the node. Each entry holds the version of the value, entries with
+ * an older version than the known one are ignored. Removed entries are kept as tombstones for a while to prevent that
+ * an update which is received delayed re-adds the entry, a tombstone also wins against an update with the same
+ * version. Entries without a version extractor are unversioned, the latest update always wins for them.
+ * <p>
+ * The entries are only used to answer reads while they are synced. They are listed from the node on the first read
+ * and each time after they were invalidated, for example because the connection to the node was lost and updates might
+ * have been missed. Reads which are made while the entries are not synced must be answered remotely.
+ *
+ * @param <K> the type of the entry keys.
+ * @param <V> the type of the entry values.
+ * @since 4.0
+ */
+final class ReplicatedEntries<K, V> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReplicatedEntries.class);
+
+  private static final long TOMBSTONE_TTL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+  private final Function<V, K> keyExtractor;
+  private final ToLongFunction<V> versionExtractor;
+  private final Supplier<Collection<V>> remoteValues;
+  private final Executor syncExecutor;
+
+  private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+  private final AtomicBoolean syncing = new AtomicBoolean();
+  private final AtomicLong generation = new AtomicLong();
+
+  private volatile boolean synced;
+
+  public ReplicatedEntries(
+    @NonNull Function<V, K> keyExtractor,
+    @Nullable ToLongFunction<V> versionExtractor,
+    @NonNull Supplier<Collection<V>> remoteValues,
+    @NonNull Executor syncExecutor
+  ) {
+    this.keyExtractor = keyExtractor;
+    this.versionExtractor = versionExtractor;
+    this.remoteValues = remoteValues;
+    this.syncExecutor = syncExecutor;
+  }
+
+  public boolean synced() {
+    if (this.synced) {
+      return true;
+    }
+
+    // list the entries in the background, the current read must be answered remotely
+    if (this.syncing.compareAndSet(false, true)) {
+      this.syncExecutor.execute(this::resync);
+    }
+    return false;
+  }
+
+  public void invalidate() {
+    this.generation.incrementAndGet();
+    this.synced = false;
+  }
+
+  public @Nullable V get(@NonNull K key) {
+    var entry = this.entries.get(key);
+    return entry == null ? null : entry.value();
+  }
+
+  public @NonNull Collection<V> values() {
+    return this.entries.values().stream().map(Entry::value).filter(Objects::nonNull).toList();
+  }
+
+  public void put(@NonNull V value) {
+    var version = this.version(value);
+    this.entries.merge(
+      this.keyExtractor.apply(value),
+      new Entry<>(value, version, System.nanoTime()),
+      (current, updated) -> this.keepCurrent(current, version) ? current : updated);
+  }
+
+  public void remove(@NonNull V value) {
+    // unversioned entries need no tombstone, there is no version to order the updates by
+    if (this.versionExtractor == null) {
+      this.entries.remove(this.keyExtractor.apply(value));
+      return;
+    }
+
+    var updateTime = System.nanoTime();
+    var version = this.version(value);
+    this.entries.merge(
+      this.keyExtractor.apply(value),
+      new Entry<>(null, version, updateTime),
+      (current, removed) -> current.version() > version ? current : removed);
+
+    // drop the tombstones which are no longer needed to order the updates
+    this.entries.values().removeIf(entry -> entry.value() == null
+      && updateTime - entry.updateTime() > TOMBSTONE_TTL_NANOS);
+  }
+
+  private void replaceAll(@NonNull Collection<V> values, long syncStart) {
+    Map<K, V> listedValues = new HashMap<>();
+    for (var value : values) {
+      listedValues.put(this.keyExtractor.apply(value), value);
+    }
+
+    // entries which were updated while listing the values are newer than the listed values and must be kept
+    listedValues.forEach((key, value) -> {
+      var version = this.version(value);
+      this.entries.merge(
+        key,
+        new Entry<>(value, version, syncStart),
+        (current, listed) -> current.updateTime() - syncStart > 0 || current.version() > version ? current : listed);
+    });
+    this.entries.entrySet().removeIf(entry -> !listedValues.containsKey(entry.getKey())
+      && syncStart - entry.getValue().updateTime() > 0);
+  }
+
+  private long version(@NonNull V value) {
+    return this.versionExtractor == null ? 0 : this.versionExtractor.applyAsLong(value);
+  }
+
+  private boolean keepCurrent(@NonNull Entry<V> current, long version) {
+    if (this.versionExtractor == null) {
+      return false;
+    }
+
+    // a removed entry does not come back with the same version, resolve ties in favour of the removal
+    return current.version() > version || (current.version() == version && current.value() == null);
+  }
+
+  private void resync() {
+    try {
+      var generation = this.generation.get();
+      var syncStart = System.nanoTime();
+      this.replaceAll(this.remoteValues.get(), syncStart);
+
+      // the entries might have been invalidated while listing them, in that case the listed values are already stale
+      if (this.generation.get() == generation) {
+        this.synced = true;
+      }
+    } catch (Exception exception) {
+      LOGGER.debug("Unable to sync replicated provider entries, retrying on the next read", exception);
+    } finally {
+      this.syncing.set(false);
+    }
+  }
+
+  private record Entry<V>(@Nullable V value, long version, long updateTime) {
+
+  }
+}
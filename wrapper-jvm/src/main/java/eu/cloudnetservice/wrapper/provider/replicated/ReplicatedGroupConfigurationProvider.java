@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.wrapper.provider.replicated;
+
+import eu.cloudnetservice.driver.event.EventListener;
+import eu.cloudnetservice.driver.event.EventManager;
+import eu.cloudnetservice.driver.event.InvocationOrder;
+import eu.cloudnetservice.driver.event.events.group.GroupConfigurationAddEvent;
+import eu.cloudnetservice.driver.event.events.group.GroupConfigurationRemoveEvent;
+import eu.cloudnetservice.driver.event.events.network.NetworkChannelCloseEvent;
+import eu.cloudnetservice.driver.provider.GroupConfigurationProvider;
+import eu.cloudnetservice.driver.service.GroupConfiguration;
+import java.util.Collection;
+import java.util.concurrent.Executor;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+/**
+ * A group configuration provider which answers reads from a local copy of the groups, which is kept up-to-date by the
+ * group updates sent by the node. All writes are made through the given remote provider.
+ *
+ * @since 4.0
+ */
+public final class ReplicatedGroupConfigurationProvider implements GroupConfigurationProvider {
+
+  private final GroupConfigurationProvider remoteProvider;
+  private final ReplicatedEntries<String, GroupConfiguration> groups;
+
+  public ReplicatedGroupConfigurationProvider(
+    @NonNull GroupConfigurationProvider remoteProvider,
+    @NonNull EventManager eventManager,
+    @NonNull Executor syncExecutor
+  ) {
+    this.remoteProvider = remoteProvider;
+    this.groups = new ReplicatedEntries<>(
+      GroupConfiguration::name,
+      null,
+      remoteProvider::groupConfigurations,
+      syncExecutor);
+    eventManager.registerListener(this);
+  }
+
+  @Override
+  public void reload() {
+    this.remoteProvider.reload();
+    this.groups.invalidate();
+  }
+
+  @Override
+  public @UnmodifiableView @NonNull Collection<GroupConfiguration> groupConfigurations() {
+    return this.groups.synced() ? this.groups.values() : this.remoteProvider.groupConfigurations();
+  }
+
+  @Override
+  public @Nullable GroupConfiguration groupConfiguration(@NonNull String name) {
+    return this.groups.synced() ? this.groups.get(name) : this.remoteProvider.groupConfiguration(name);
+  }
+
+  @Override
+  public boolean addGroupConfiguration(@NonNull GroupConfiguration groupConfiguration) {
+    return this.remoteProvider.addGroupConfiguration(groupConfiguration);
+  }
+
+  @Override
+  public void removeGroupConfigurationByName(@NonNull String name) {
+    this.remoteProvider.removeGroupConfigurationByName(name);
+  }
+
+  @Override
+  public void removeGroupConfiguration(@NonNull GroupConfiguration groupConfiguration) {
+    this.remoteProvider.removeGroupConfiguration(groupConfiguration);
+  }
+
+  @EventListener(order = InvocationOrder.FIRST)
+  public void handleGroupAdd(@NonNull GroupConfigurationAddEvent event) {
+    this.groups.put(event.configuration());
+  }
+
+  @EventListener(order = InvocationOrder.FIRST)
+  public void handleGroupRemove(@NonNull GroupConfigurationRemoveEvent event) {
+    this.groups.remove(event.configuration());
+  }
+
+  @EventListener
+  public void handleChannelClose(@NonNull NetworkChannelCloseEvent event) {
+    // updates might get lost while the connection is down
+    this.groups.invalidate();
+  }
+}
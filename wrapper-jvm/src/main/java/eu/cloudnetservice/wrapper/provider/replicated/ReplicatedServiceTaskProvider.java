@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.wrapper.provider.replicated;
+
+import eu.cloudnetservice.driver.event.EventListener;
+import eu.cloudnetservice.driver.event.EventManager;
+import eu.cloudnetservice.driver.event.InvocationOrder;
+import eu.cloudnetservice.driver.event.events.network.NetworkChannelCloseEvent;
+import eu.cloudnetservice.driver.event.events.task.ServiceTaskAddEvent;
+import eu.cloudnetservice.driver.event.events.task.ServiceTaskRemoveEvent;
+import eu.cloudnetservice.driver.provider.ServiceTaskProvider;
+import eu.cloudnetservice.driver.service.ServiceTask;
+import java.util.Collection;
+import java.util.concurrent.Executor;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+/**
+ * A service task provider which answers reads from a local copy of the tasks, which is kept up-to-date by the task
+ * updates sent by the node. All writes are made through the given remote provider.
+ *
+ * @since 4.0
+ */
+public final class ReplicatedServiceTaskProvider implements ServiceTaskProvider {
+
+  private final ServiceTaskProvider remoteProvider;
+  private final ReplicatedEntries<String, ServiceTask> tasks;
+
+  public ReplicatedServiceTaskProvider(
+    @NonNull ServiceTaskProvider remoteProvider,
+    @NonNull EventManager eventManager,
+    @NonNull Executor syncExecutor
+  ) {
+    this.remoteProvider = remoteProvider;
+    this.tasks = new ReplicatedEntries<>(ServiceTask::name, null, remoteProvider::serviceTasks, syncExecutor);
+    eventManager.registerListener(this);
+  }
+
+  @Override
+  public void reload() {
+    this.remoteProvider.reload();
+    this.tasks.invalidate();
+  }
+
+  @Override
+  public @UnmodifiableView @NonNull Collection<ServiceTask> serviceTasks() {
+    return this.tasks.synced() ? this.tasks.values() : this.remoteProvider.serviceTasks();
+  }
+
+  @Override
+  public @Nullable ServiceTask serviceTask(@NonNull String name) {
+    return this.tasks.synced() ? this.tasks.get(name) : this.remoteProvider.serviceTask(name);
+  }
+
+  @Override
+  public boolean addServiceTask(@NonNull ServiceTask serviceTask) {
+    return this.remoteProvider.addServiceTask(serviceTask);
+  }
+
+  @Override
+  public void removeServiceTaskByName(@NonNull String name) {
+    this.remoteProvider.removeServiceTaskByName(name);
+  }
+
+  @Override
+  public void removeServiceTask(@NonNull ServiceTask serviceTask) {
+    this.remoteProvider.removeServiceTask(serviceTask);
+  }
+
+  @EventListener(order = InvocationOrder.FIRST)
+  public void handleTaskAdd(@NonNull ServiceTaskAddEvent event) {
+    this.tasks.put(event.task());
+  }
+
+  @EventListener(order = InvocationOrder.FIRST)
+  public void handleTaskRemove(@NonNull ServiceTaskRemoveEvent event) {
+    this.tasks.remove(event.task());
+  }
+
+  @EventListener
+  public void handleChannelClose(@NonNull NetworkChannelCloseEvent event) {
+    // updates might get lost while the connection is down
+    this.tasks.invalidate();
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.wrapper.provider.replicated;
+
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.event.EventManager;
+import eu.cloudnetservice.driver.event.events.service.CloudServiceLifecycleChangeEvent;
+import eu.cloudnetservice.driver.event.events.service.CloudServiceUpdateEvent;
+import eu.cloudnetservice.driver.network.HostAndPort;
+import eu.cloudnetservice.driver.provider.CloudServiceProvider;
+import eu.cloudnetservice.driver.service.ProcessSnapshot;
+import eu.cloudnetservice.driver.service.ServiceConfiguration;
+import eu.cloudnetservice.driver.service.ServiceEnvironmentType;
+import eu.cloudnetservice.driver.service.ServiceInfoInterest;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.driver.service.ServiceLifeCycle;
+import eu.cloudnetservice.driver.service.ServiceTask;
+import eu.cloudnetservice.wrapper.holder.ServiceInfoHolder;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class ReplicatedCloudServiceProviderTest {
+
+  private static final ServiceConfiguration CONFIGURATION = ServiceConfiguration.builder(ServiceTask.builder()
+      .name("Lobby")
+      .serviceEnvironmentType(ServiceEnvironmentType.MINECRAFT_SERVER)
+      .build())
+    .build();
+
+  private ReplicatedCloudServiceProvider provider;
+
+  private static ServiceInfoSnapshot snapshot(ServiceLifeCycle lifeCycle, int onlineCount, long version) {
+    return new ServiceInfoSnapshot(
+      1000,
+      new HostAndPort("127.0.0.1", 44955),
+      ProcessSnapshot.empty(),
+      CONFIGURATION,
+      -1,
+      lifeCycle,
+      Document.newJsonDocument().append("onlineCount", onlineCount),
+      version);
+  }
+
+  @BeforeEach
+  void setUp() {
+    var remoteProvider = Mockito.mock(CloudServiceProvider.class);
+    Mockito.when(remoteProvider.services()).thenReturn(List.of());
+
+    var serviceInfoHolder = Mockito.mock(ServiceInfoHolder.class);
+    Mockito.when(serviceInfoHolder.serviceInfoInterest()).thenReturn(ServiceInfoInterest.ALL);
+
+    this.provider = new ReplicatedCloudServiceProvider(
+      remoteProvider,
+      serviceInfoHolder,
+      Mockito.mock(EventManager.class),
+      Runnable::run);
+    // the first read lists the services from the node
+    this.provider.services();
+  }
+
+  @Test
+  void testOutOfOrderUpdatesOfTheSameService() {
+    // both updates keep the creation time of the snapshot, only the version tells which one is newer
+    var newer = snapshot(ServiceLifeCycle.RUNNING, 5, 4);
+    var older = snapshot(ServiceLifeCycle.RUNNING, 3, 3);
+
+    this.provider.handleServiceUpdate(new CloudServiceUpdateEvent(newer));
+    this.provider.handleServiceUpdate(new CloudServiceUpdateEvent(older));
+
+    var service = this.provider.service(CONFIGURATION.serviceId().uniqueId());
+    Assertions.assertNotNull(service);
+    Assertions.assertEquals(4, service.version());
+    Assertions.assertEquals(5, service.propertyHolder().getInt("onlineCount"));
+  }
+
+  @Test
+  void testDelayedUpdateDoesNotRevertDeletion() {
+    var running = snapshot(ServiceLifeCycle.RUNNING, 5, 4);
+    var deleted = snapshot(ServiceLifeCycle.DELETED, 5, 6);
+
+    this.provider.handleServiceLifecycleChange(new CloudServiceLifecycleChangeEvent(ServiceLifeCycle.STOPPED, deleted));
+    this.provider.handleServiceUpdate(new CloudServiceUpdateEvent(running));
+
+    Assertions.assertNull(this.provider.service(CONFIGURATION.serviceId().uniqueId()));
+    Assertions.assertTrue(this.provider.services().isEmpty());
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.wrapper.provider.replicated;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ReplicatedEntriesTest {
+
+  private static ReplicatedEntries<String, Value> versioned(Supplier<Collection<Value>> remoteValues) {
+    return new ReplicatedEntries<>(Value::key, Value::version, remoteValues, ForkJoinPool.commonPool());
+  }
+
+  private static void awaitSync(ReplicatedEntries<?, ?> entries) throws InterruptedException {
+    var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!entries.synced()) {
+      Assertions.assertTrue(System.nanoTime() < deadline, "entries did not sync in time");
+      Thread.sleep(10);
+    }
+  }
+
+  @Test
+  void testOlderVersionsAreIgnored() {
+    var entries = versioned(List::of);
+    entries.put(new Value("a", 2, "second"));
+    entries.put(new Value("a", 1, "first"));
+    Assertions.assertEquals("second", entries.get("a").data());
+
+    // updates with the same version replace the entry, they are re-deliveries of the same update
+    entries.put(new Value("a", 2, "second-updated"));
+    Assertions.assertEquals("second-updated", entries.get("a").data());
+
+    entries.put(new Value("a", 3, "third"));
+    Assertions.assertEquals("third", entries.get("a").data());
+  }
+
+  @Test
+  void testTombstonePreventsDelayedReAdd() {
+    var entries = versioned(List::of);
+    entries.put(new Value("a", 5, "running"));
+    entries.remove(new Value("a", 5, "deleted"));
+    Assertions.assertNull(entries.get("a"));
+    Assertions.assertTrue(entries.values().isEmpty());
+
+    // delayed updates with the same or an older version must not re-add the removed entry
+    entries.put(new Value("a", 5, "delayed"));
+    entries.put(new Value("a", 4, "older"));
+    Assertions.assertNull(entries.get("a"));
+    Assertions.assertTrue(entries.values().isEmpty());
+
+    // a newer version is a new value
+    entries.put(new Value("a", 6, "newer"));
+    Assertions.assertEquals("newer", entries.get("a").data());
+  }
+
+  @Test
+  void testOlderRemovalIsIgnored() {
+    var entries = versioned(List::of);
+    entries.put(new Value("a", 5, "current"));
+    entries.remove(new Value("a", 4, "stale"));
+    Assertions.assertEquals("current", entries.get("a").data());
+  }
+
+  @Test
+  void testUnversionedEntriesCanBeReAdded() {
+    var entries = new ReplicatedEntries<String, Value>(Value::key, null, List::of, ForkJoinPool.commonPool());
+    entries.put(new Value("group", 0, "created"));
+    entries.remove(new Value("group", 0, "deleted"));
+    Assertions.assertNull(entries.get("group"));
+
+    // a group or task can be re-created with the same name right after it was deleted
+    entries.put(new Value("group", 0, "re-created"));
+    Assertions.assertEquals("re-created", entries.get("group").data());
+  }
+
+  @Test
+  void testSyncReplacesEntries() throws InterruptedException {
+    var entries = versioned(() -> List.of(new Value("a", 1, "listed"), new Value("b", 1, "listed")));
+    entries.put(new Value("stale", 1, "stale"));
+
+    awaitSync(entries);
+    Assertions.assertEquals("listed", entries.get("a").data());
+    Assertions.assertEquals("listed", entries.get("b").data());
+    Assertions.assertNull(entries.get("stale"));
+    Assertions.assertEquals(2, entries.values().size());
+  }
+
+  @Test
+  void testUpdatesDuringSyncAreKept() throws InterruptedException {
+    var entries = new AtomicReference<ReplicatedEntries<String, Value>>();
+    var replicated = versioned(() -> {
+      // updates which are received while listing are newer than the listed values
+      entries.get().put(new Value("a", 1, "updated"));
+      entries.get().put(new Value("new", 1, "created"));
+      entries.get().remove(new Value("b", 1, "removed"));
+      return List.of(new Value("a", 1, "listed"), new Value("b", 1, "listed"));
+    });
+    entries.set(replicated);
+
+    awaitSync(replicated);
+    Assertions.assertEquals("updated", replicated.get("a").data());
+    Assertions.assertEquals("created", replicated.get("new").data());
+    Assertions.assertNull(replicated.get("b"));
+  }
+
+  @Test
+  void testInvalidationDuringSyncRequiresResync() throws InterruptedException {
+    var listings = new AtomicInteger();
+    var entries = new AtomicReference<ReplicatedEntries<String, Value>>();
+    var replicated = versioned(() -> {
+      // the connection is lost while the first listing is running, the listed values might be stale
+      var listing = listings.incrementAndGet();
+      if (listing == 1) {
+        entries.get().invalidate();
+      }
+      return List.of(new Value("a", 1, "listed-" + listing));
+    });
+    entries.set(replicated);
+
+    awaitSync(replicated);
+    Assertions.assertEquals(2, listings.get());
+    Assertions.assertEquals("listed-2", replicated.get("a").data());
+  }
+
+  private record Value(String key, long version, String data) {
+
+  }
+}